@@ -0,0 +1,96 @@
+package com.innerfriends.userprofilepicture.benchmark.hazelcast;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.infrastructure.hazelcast.HazelcastCachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.infrastructure.hazelcast.HazelcastUserProfilePictureIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the serialized size and the ser/de time of the cached profile pictures, as stored today and with the
+ * java.io.Serializable baseline. Sizes are printed once per trial.
+ * Run with: java -jar benchmark/target/benchmarks.jar HazelcastCachedUserProfilePicturesSerializationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HazelcastCachedUserProfilePicturesSerializationBenchmark {
+
+    private static final String USER_PSEUDO = "userPseudo";
+
+    @Param({"1", "50", "500"})
+    public int nbOfVersions;
+
+    private SerializationService serializationService;
+    private HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures;
+    private JavaSerializedCachedUserProfilePictures javaSerializedCachedUserProfilePictures;
+    private Data hazelcastCachedUserProfilePicturesData;
+    private Data javaSerializedCachedUserProfilePicturesData;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        final HazelcastCachedUserProfilePictures.Builder builder = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo(USER_PSEUDO);
+        final List<JavaSerializedUserProfilePictureIdentifier> javaSerializedUserProfilePictureIdentifiers = new ArrayList<>(nbOfVersions);
+        for (int version = 0; version < nbOfVersions; version++) {
+            final String versionId = versionId(version);
+            builder.addProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                    .setUserPseudo(USER_PSEUDO)
+                    .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                    .setVersionId(versionId)
+                    .build());
+            javaSerializedUserProfilePictureIdentifiers.add(new JavaSerializedUserProfilePictureIdentifier(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, versionId));
+        }
+        hazelcastCachedUserProfilePictures = builder
+                .setFeaturedUserProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo(USER_PSEUDO)
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId(versionId(0))
+                        .build())
+                .build();
+        javaSerializedCachedUserProfilePictures = new JavaSerializedCachedUserProfilePictures();
+        javaSerializedCachedUserProfilePictures.userPseudo = USER_PSEUDO;
+        javaSerializedCachedUserProfilePictures.userProfilePictureIdentifiers = javaSerializedUserProfilePictureIdentifiers;
+        javaSerializedCachedUserProfilePictures.featuredUserProfilePictureIdentifier = new JavaSerializedUserProfilePictureIdentifier(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, versionId(0));
+        hazelcastCachedUserProfilePicturesData = serializationService.toData(hazelcastCachedUserProfilePictures);
+        javaSerializedCachedUserProfilePicturesData = serializationService.toData(javaSerializedCachedUserProfilePictures);
+        System.out.printf("%n%d versions: %d bytes serialized, %d bytes with the java.io.Serializable baseline%n",
+                nbOfVersions, hazelcastCachedUserProfilePicturesData.totalSize(), javaSerializedCachedUserProfilePicturesData.totalSize());
+    }
+
+    @Benchmark
+    public Data serialize() {
+        return serializationService.toData(hazelcastCachedUserProfilePictures);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializationService.toObject(hazelcastCachedUserProfilePicturesData);
+    }
+
+    @Benchmark
+    public Data serializeJavaSerializedBaseline() {
+        return serializationService.toData(javaSerializedCachedUserProfilePictures);
+    }
+
+    @Benchmark
+    public Object deserializeJavaSerializedBaseline() {
+        return serializationService.toObject(javaSerializedCachedUserProfilePicturesData);
+    }
+
+    private static String versionId(final int version) {
+        // S3 version ids are 32 chars long
+        return String.format("%032d", version);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.innerfriends.userprofilepicture.benchmark.hazelcast;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Baseline: the cache value layout as it was stored with java.io.Serializable.
+ */
+public final class JavaSerializedCachedUserProfilePictures implements Serializable {
+
+    public String userPseudo;
+    public List<JavaSerializedUserProfilePictureIdentifier> userProfilePictureIdentifiers;
+    public String nextPageCursor;
+    public Map<String, List<JavaSerializedUserProfilePictureIdentifier>> nextPages;
+    public JavaSerializedUserProfilePictureIdentifier featuredUserProfilePictureIdentifier;
+
+}
@@ -0,0 +1,22 @@
+package com.innerfriends.userprofilepicture.benchmark.hazelcast;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+
+import java.io.Serializable;
+
+/**
+ * Baseline: the cached identifier layout as it was stored with java.io.Serializable.
+ */
+public final class JavaSerializedUserProfilePictureIdentifier implements Serializable {
+
+    public String userPseudo;
+    public SupportedMediaType mediaType;
+    public String versionId;
+
+    public JavaSerializedUserProfilePictureIdentifier(final String userPseudo, final SupportedMediaType mediaType, final String versionId) {
+        this.userPseudo = userPseudo;
+        this.mediaType = mediaType;
+        this.versionId = versionId;
+    }
+
+}
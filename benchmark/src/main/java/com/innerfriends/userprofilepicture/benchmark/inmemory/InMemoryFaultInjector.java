@@ -0,0 +1,43 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import io.smallrye.mutiny.Uni;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Delays every call by a fixed latency, then fails a share of them given by the error rate, to make the in-memory
+ * adapters behave like remote ones under load.
+ */
+public final class InMemoryFaultInjector {
+
+    private final Duration latency;
+    private final Double errorRate;
+
+    public InMemoryFaultInjector(final Long latencyInMillis, final Double errorRate, final String name) {
+        if (Objects.requireNonNull(latencyInMillis) < 0) {
+            throw new IllegalArgumentException(name + " latency in millis must be positive or zero, got " + latencyInMillis);
+        }
+        if (Objects.requireNonNull(errorRate) < 0.0 || errorRate > 1.0) {
+            throw new IllegalArgumentException(name + " error rate must be between 0 and 1, got " + errorRate);
+        }
+        this.latency = Duration.ofMillis(latencyInMillis);
+        this.errorRate = errorRate;
+    }
+
+    public <T> Uni<T> inject(final Supplier<Uni<T>> call, final Supplier<? extends Throwable> failure) {
+        final Uni<T> injected = Uni.createFrom()
+                .deferred(() -> errorRate > 0.0 && ThreadLocalRandom.current().nextDouble() < errorRate
+                        ? Uni.createFrom().<T>failure(failure.get())
+                        : call.get());
+        if (latency.isZero()) {
+            return injected;
+        }
+        return Uni.createFrom().item(Boolean.TRUE)
+                .onItem().delayIt().by(latency)
+                .chain(() -> injected);
+    }
+
+}
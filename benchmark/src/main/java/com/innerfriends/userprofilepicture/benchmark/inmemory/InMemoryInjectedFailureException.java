@@ -0,0 +1,12 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+/**
+ * Failure injected in an in-memory adapter which has no domain exception to fail with.
+ */
+public class InMemoryInjectedFailureException extends RuntimeException {
+
+    public InMemoryInjectedFailureException() {
+        super("Injected failure");
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.LockAcquisitionTimeoutException;
+import com.innerfriends.userprofilepicture.domain.LockMechanism;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.unchecked.Unchecked;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Same read/write lock as the Hazelcast one, on a local Semaphore per user pseudo: a shared holder takes one permit, an
+ * exclusive holder takes all of them, waits are bounded from the subscription and run on a dedicated executor, permits
+ * acquired for a cancelled subscriber are released.
+ * The semaphores are fair: a waiting exclusive holder is served before the shared holders arriving after it.
+ */
+public class InMemoryLockMechanism implements LockMechanism {
+
+    private enum AcquisitionState {
+        PENDING, ACQUIRED, CANCELLED
+    }
+
+    private final InMemoryFaultInjector faultInjector;
+    private final Integer maxSharedHolders;
+    private final Long acquisitionTimeoutInMillis;
+    private final ExecutorService lockExecutorService;
+    private final Map<String, Semaphore> semaphores;
+
+    public InMemoryLockMechanism(final Long latencyInMillis,
+                                 final Double errorRate,
+                                 final Integer maxSharedHolders,
+                                 final Long acquisitionTimeoutInMillis,
+                                 final Integer executorPoolSize) {
+        this.faultInjector = new InMemoryFaultInjector(latencyInMillis, errorRate, "lock");
+        this.maxSharedHolders = Objects.requireNonNull(maxSharedHolders);
+        this.acquisitionTimeoutInMillis = Objects.requireNonNull(acquisitionTimeoutInMillis);
+        this.lockExecutorService = Executors.newFixedThreadPool(Objects.requireNonNull(executorPoolSize));
+        this.semaphores = new ConcurrentHashMap<>();
+    }
+
+    public void shutdown() {
+        lockExecutorService.shutdown();
+    }
+
+    @Override
+    public Uni<Void> lock(final UserPseudo userPseudo) {
+        return acquire(userPseudo, maxSharedHolders);
+    }
+
+    @Override
+    public Uni<Void> unlock(final UserPseudo userPseudo) {
+        return release(userPseudo, maxSharedHolders);
+    }
+
+    @Override
+    public Uni<Void> lockShared(final UserPseudo userPseudo) {
+        return acquire(userPseudo, 1);
+    }
+
+    @Override
+    public Uni<Void> unlockShared(final UserPseudo userPseudo) {
+        return release(userPseudo, 1);
+    }
+
+    private Uni<Void> acquire(final UserPseudo userPseudo, final int permits) {
+        return faultInjector.inject(() -> {
+            final long deadlineInMillis = System.currentTimeMillis() + acquisitionTimeoutInMillis;
+            final AtomicReference<AcquisitionState> state = new AtomicReference<>(AcquisitionState.PENDING);
+            return Uni.createFrom()
+                    .item(Unchecked.supplier(() -> {
+                        if (state.get() == AcquisitionState.CANCELLED) {
+                            return (Void) null;
+                        }
+                        final long remainingMillis = Math.max(0L, deadlineInMillis - System.currentTimeMillis());
+                        if (!semaphore(userPseudo).tryAcquire(permits, remainingMillis, TimeUnit.MILLISECONDS)) {
+                            throw new LockAcquisitionTimeoutException(userPseudo);
+                        }
+                        if (!state.compareAndSet(AcquisitionState.PENDING, AcquisitionState.ACQUIRED)) {
+                            semaphore(userPseudo).release(permits);
+                        }
+                        return (Void) null;
+                    }))
+                    .runSubscriptionOn(lockExecutorService)
+                    .onCancellation()
+                    .invoke(() -> {
+                        if (!state.compareAndSet(AcquisitionState.PENDING, AcquisitionState.CANCELLED)) {
+                            semaphore(userPseudo).release(permits);
+                        }
+                    });
+        }, () -> new LockAcquisitionTimeoutException(userPseudo));
+    }
+
+    private Uni<Void> release(final UserPseudo userPseudo, final int permits) {
+        // never fails: a lost release would leak permits for the rest of the run
+        return Uni.createFrom()
+                .item(() -> {
+                    semaphore(userPseudo).release(permits);
+                    return (Void) null;
+                });
+    }
+
+    private Semaphore semaphore(final UserPseudo userPseudo) {
+        return semaphores.computeIfAbsent(userPseudo.pseudo(), pseudo -> new Semaphore(maxSharedHolders, true));
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.PageCursor;
+
+import java.util.Objects;
+
+/**
+ * Offset of the first version of the page in the versions of a user, newest first.
+ */
+public final class InMemoryPageCursor implements PageCursor {
+
+    private final Integer offset;
+
+    public InMemoryPageCursor(final Integer offset) {
+        this.offset = Objects.requireNonNull(offset);
+    }
+
+    public static Integer offset(final PageCursor pageCursor) throws NumberFormatException {
+        return pageCursor == null ? 0 : Integer.valueOf(pageCursor.value());
+    }
+
+    @Override
+    public String value() {
+        return offset.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InMemoryPageCursor)) return false;
+        InMemoryPageCursor that = (InMemoryPageCursor) o;
+        return Objects.equals(offset, that.offset);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset);
+    }
+
+}
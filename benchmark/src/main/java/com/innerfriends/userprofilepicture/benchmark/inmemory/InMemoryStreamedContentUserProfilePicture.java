@@ -0,0 +1,43 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.Multi;
+
+import java.util.Objects;
+
+public final class InMemoryStreamedContentUserProfilePicture implements StreamedContentUserProfilePicture {
+
+    private final UserProfilePictureIdentifier userProfilePictureIdentifier;
+    private final byte[] picture;
+
+    public InMemoryStreamedContentUserProfilePicture(final UserProfilePictureIdentifier userProfilePictureIdentifier, final byte[] picture) {
+        this.userProfilePictureIdentifier = Objects.requireNonNull(userProfilePictureIdentifier);
+        this.picture = Objects.requireNonNull(picture);
+    }
+
+    @Override
+    public Multi<byte[]> picture() {
+        return Multi.createFrom().item(picture);
+    }
+
+    @Override
+    public Long contentLength() {
+        return (long) picture.length;
+    }
+
+    @Override
+    public UserPseudo userPseudo() {
+        return userProfilePictureIdentifier.userPseudo();
+    }
+
+    @Override
+    public SupportedMediaType mediaType() {
+        return userProfilePictureIdentifier.mediaType();
+    }
+
+    @Override
+    public VersionId versionId() {
+        return userProfilePictureIdentifier.versionId();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class InMemoryUserProfilPictureFeaturedRepository implements UserProfilPictureFeaturedRepository {
+
+    private final InMemoryFaultInjector faultInjector;
+    private final Map<String, UserProfilePictureIdentifier> featuredByUserPseudo;
+
+    public InMemoryUserProfilPictureFeaturedRepository(final Long latencyInMillis,
+                                                       final Double errorRate) {
+        this.faultInjector = new InMemoryFaultInjector(latencyInMillis, errorRate, "featured");
+        this.featuredByUserPseudo = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Uni<UserProfilePictureIdentifier> getFeatured(final UserPseudo userPseudo) throws NoUserProfilPictureFeaturedYetException, UserProfilPictureFeaturedRepositoryException {
+        return faultInjector.inject(() -> {
+            final UserProfilePictureIdentifier featured = featuredByUserPseudo.get(userPseudo.pseudo());
+            if (featured == null) {
+                return Uni.createFrom().failure(new NoUserProfilPictureFeaturedYetException(userPseudo));
+            }
+            return Uni.createFrom().item(featured);
+        }, UserProfilPictureFeaturedRepositoryException::new);
+    }
+
+    @Override
+    public Uni<List<UserProfilePictureIdentifier>> getAllFeatured(final Set<UserPseudo> userPseudos) throws UserProfilPictureFeaturedRepositoryException {
+        return faultInjector.inject(() -> Uni.createFrom().item(userPseudos.stream()
+                .map(userPseudo -> featuredByUserPseudo.get(userPseudo.pseudo()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())), UserProfilPictureFeaturedRepositoryException::new);
+    }
+
+    @Override
+    public Uni<UserProfilePictureIdentifier> markAsFeatured(final UserProfilePictureIdentifier profilePictureIdentifier) throws UserProfilPictureFeaturedRepositoryException {
+        return faultInjector.inject(() -> {
+            final UserProfilePictureIdentifier featured = new InMemoryUserProfilePictureIdentifier(profilePictureIdentifier);
+            featuredByUserPseudo.put(featured.userPseudo().pseudo(), featured);
+            return Uni.createFrom().item(featured);
+        }, UserProfilPictureFeaturedRepositoryException::new);
+    }
+
+}
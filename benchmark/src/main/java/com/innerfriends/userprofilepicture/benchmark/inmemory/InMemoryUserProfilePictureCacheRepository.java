@@ -0,0 +1,157 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import com.innerfriends.userprofilepicture.infrastructure.hazelcast.HazelcastCachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.infrastructure.hazelcast.HazelcastEntryTimeToLive;
+import com.innerfriends.userprofilepicture.infrastructure.hazelcast.HazelcastUserProfilePictureIdentifier;
+import io.smallrye.mutiny.Uni;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the mutations of the Hazelcast entry processors on a local map. Each mutation works on a copy of the cached
+ * value, so callers never see a value changing under their feet, like with the deserialized copies of a remote map.
+ * Entries never expire, cached absences do.
+ */
+public class InMemoryUserProfilePictureCacheRepository implements UserProfilePictureCacheRepository {
+
+    private final InMemoryFaultInjector faultInjector;
+    private final HazelcastEntryTimeToLive entryTimeToLive;
+    private final Integer listPageSize;
+    private final Integer maxNextPages;
+    private final Map<String, HazelcastCachedUserProfilePictures> cachedUserProfilePicturesByUserPseudo;
+
+    public InMemoryUserProfilePictureCacheRepository(final Long latencyInMillis,
+                                                     final Double errorRate,
+                                                     final Long absenceTimeToLiveSeconds,
+                                                     final Integer listPageSize,
+                                                     final Integer maxNextPages) {
+        this.faultInjector = new InMemoryFaultInjector(latencyInMillis, errorRate, "cache");
+        this.entryTimeToLive = new HazelcastEntryTimeToLive(0L, 0L, absenceTimeToLiveSeconds);
+        this.listPageSize = Objects.requireNonNull(listPageSize);
+        this.maxNextPages = Objects.requireNonNull(maxNextPages);
+        this.cachedUserProfilePicturesByUserPseudo = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> get(final UserPseudo userPseudo) throws UserProfileNotInCacheException {
+        return get(userPseudo, UnaryOperator.identity());
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> get(final UserPseudo userPseudo, final SupportedMediaType mediaType,
+                                              final PageCursor pageCursor) throws UserProfileNotInCacheException {
+        return get(userPseudo, cachedUserProfilePictures -> cachedUserProfilePictures.page(mediaType, value(pageCursor)));
+    }
+
+    private Uni<CachedUserProfilePictures> get(final UserPseudo userPseudo, final UnaryOperator<HazelcastCachedUserProfilePictures> view) {
+        return faultInjector.inject(() -> {
+            final HazelcastCachedUserProfilePictures cachedUserProfilePictures = cachedUserProfilePicturesByUserPseudo.get(userPseudo.pseudo());
+            if (cachedUserProfilePictures == null) {
+                return Uni.createFrom().failure(new UserProfilePicturesNotInCacheException(userPseudo));
+            }
+            return Uni.createFrom().item(view.apply(cachedUserProfilePictures));
+        }, InMemoryInjectedFailureException::new);
+    }
+
+    @Override
+    public Uni<List<CachedUserProfilePictures>> getAll(final Set<UserPseudo> userPseudos) {
+        return faultInjector.inject(() -> Uni.createFrom().item(userPseudos.stream()
+                .map(userPseudo -> cachedUserProfilePicturesByUserPseudo.get(userPseudo.pseudo()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.<CachedUserProfilePictures>toList())), InMemoryInjectedFailureException::new);
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> store(final UserPseudo userPseudo, final SupportedMediaType mediaType,
+                                                final PageCursor pageCursor, final UserProfilePictures userProfilePictures) {
+        if (!userProfilePictures.canBeStoredInCache()) {
+            // a featured picture in error when retrieved must be retrieved again on next call
+            return Uni.createFrom().nullItem();
+        }
+        final String[] versionIds = userProfilePictures.userProfilePictures().stream()
+                .map(picture -> picture.versionId().version())
+                .toArray(String[]::new);
+        return faultInjector.inject(() -> Uni.createFrom().item(
+                mutate(userPseudo, cachedUserProfilePictures -> cachedUserProfilePictures.replaceAllProfilePictureIdentifiers(
+                        value(pageCursor), mediaType, versionIds, value(userProfilePictures.nextPageCursor()), maxNextPages))
+                        .page(mediaType, value(pageCursor))), InMemoryInjectedFailureException::new);
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> storeNewVersion(final UserPseudo userPseudo, final UserProfilePictureIdentifier newVersion) {
+        final HazelcastUserProfilePictureIdentifier newUserProfilePictureIdentifier = new HazelcastUserProfilePictureIdentifier(newVersion);
+        return faultInjector.inject(() -> Uni.createFrom().item(
+                mutate(userPseudo, cachedUserProfilePictures -> cachedUserProfilePictures.addNewProfilePictureIdentifier(newUserProfilePictureIdentifier, listPageSize))),
+                InMemoryInjectedFailureException::new);
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> storeFeatured(final UserPseudo userPseudo, final UserProfilePictureIdentifier featured) {
+        final HazelcastUserProfilePictureIdentifier featuredUserProfilePictureIdentifier = new HazelcastUserProfilePictureIdentifier(featured);
+        return faultInjector.inject(() -> Uni.createFrom().item(
+                mutate(userPseudo, cachedUserProfilePictures -> cachedUserProfilePictures.setFeaturedUserProfilePictureIdentifier(featuredUserProfilePictureIdentifier))),
+                InMemoryInjectedFailureException::new);
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> storeLastAsFeatured(final UserPseudo userPseudo, final UserProfilePictureIdentifier last) {
+        final HazelcastUserProfilePictureIdentifier lastUserProfilePictureIdentifier = new HazelcastUserProfilePictureIdentifier(last);
+        return faultInjector.inject(() -> Uni.createFrom().item(
+                mutate(userPseudo, cachedUserProfilePictures -> cachedUserProfilePictures.setLastAsFeatured(lastUserProfilePictureIdentifier))),
+                InMemoryInjectedFailureException::new);
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> storeAbsence(final UserPseudo userPseudo, final SupportedMediaType mediaType,
+                                                       final CachedUserProfilePictures.Absence absence) {
+        return faultInjector.inject(() -> Uni.createFrom().item(
+                mutate(userPseudo, cachedUserProfilePictures -> cachedUserProfilePictures.featured() != null ? cachedUserProfilePictures
+                        : cachedUserProfilePictures.setAbsence(absence, mediaType, entryTimeToLive.absenceExpirationMillis(System.currentTimeMillis())))),
+                InMemoryInjectedFailureException::new);
+    }
+
+    @Override
+    public Uni<Void> evict(final UserPseudo userPseudo) {
+        return faultInjector.inject(() -> {
+            cachedUserProfilePicturesByUserPseudo.remove(userPseudo.pseudo());
+            return Uni.createFrom().voidItem();
+        }, InMemoryInjectedFailureException::new)
+                .onFailure()
+                .recoverWithNull();
+    }
+
+    private HazelcastCachedUserProfilePictures mutate(final UserPseudo userPseudo, final UnaryOperator<HazelcastCachedUserProfilePictures> mutation) {
+        return cachedUserProfilePicturesByUserPseudo.compute(userPseudo.pseudo(), (pseudo, cachedUserProfilePictures) ->
+                mutation.apply(cachedUserProfilePictures != null ? copy(cachedUserProfilePictures)
+                        : HazelcastCachedUserProfilePictures.newBuilder().setUserPseudo(pseudo).build()));
+    }
+
+    private static HazelcastCachedUserProfilePictures copy(final HazelcastCachedUserProfilePictures cachedUserProfilePictures) {
+        // version id arrays and pages are replaced and never modified: only the pages map needs a copy
+        final HazelcastCachedUserProfilePictures copy = new HazelcastCachedUserProfilePictures();
+        copy.userPseudo = cachedUserProfilePictures.userPseudo;
+        copy.mediaType = cachedUserProfilePictures.mediaType;
+        copy.versionIds = cachedUserProfilePictures.versionIds;
+        copy.nextPageCursor = cachedUserProfilePictures.nextPageCursor;
+        copy.nextPages = cachedUserProfilePictures.nextPages == null ? null : new LinkedHashMap<>(cachedUserProfilePictures.nextPages);
+        copy.featuredUserProfilePictureIdentifier = cachedUserProfilePictures.featuredUserProfilePictureIdentifier;
+        copy.featuredIsLast = cachedUserProfilePictures.featuredIsLast;
+        copy.absence = cachedUserProfilePictures.absence;
+        copy.absenceMediaType = cachedUserProfilePictures.absenceMediaType;
+        copy.absenceExpirationMillis = cachedUserProfilePictures.absenceExpirationMillis;
+        return copy;
+    }
+
+    private static String value(final PageCursor pageCursor) {
+        return pageCursor == null ? null : pageCursor.value();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.*;
+
+import java.util.Objects;
+
+public final class InMemoryUserProfilePictureIdentifier implements UserProfilePictureSaved {
+
+    private final String userPseudo;
+    private final SupportedMediaType mediaType;
+    private final String versionId;
+
+    public InMemoryUserProfilePictureIdentifier(final String userPseudo, final SupportedMediaType mediaType, final String versionId) {
+        this.userPseudo = Objects.requireNonNull(userPseudo);
+        this.mediaType = Objects.requireNonNull(mediaType);
+        this.versionId = Objects.requireNonNull(versionId);
+    }
+
+    public InMemoryUserProfilePictureIdentifier(final UserProfilePictureIdentifier userProfilePictureIdentifier) {
+        this(userProfilePictureIdentifier.userPseudo().pseudo(),
+                userProfilePictureIdentifier.mediaType(),
+                userProfilePictureIdentifier.versionId().version());
+    }
+
+    @Override
+    public UserPseudo userPseudo() {
+        return () -> userPseudo;
+    }
+
+    @Override
+    public SupportedMediaType mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public VersionId versionId() {
+        return () -> versionId;
+    }
+
+    @Override
+    public boolean isFeatured() {
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InMemoryUserProfilePictureIdentifier)) return false;
+        InMemoryUserProfilePictureIdentifier that = (InMemoryUserProfilePictureIdentifier) o;
+        return Objects.equals(userPseudo, that.userPseudo) &&
+                mediaType == that.mediaType &&
+                Objects.equals(versionId, that.versionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userPseudo, mediaType, versionId);
+    }
+
+}
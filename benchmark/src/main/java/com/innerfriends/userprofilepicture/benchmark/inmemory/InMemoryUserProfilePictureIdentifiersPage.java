@@ -0,0 +1,31 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.PageCursor;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifier;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifiersPage;
+
+import java.util.List;
+import java.util.Objects;
+
+public final class InMemoryUserProfilePictureIdentifiersPage implements UserProfilePictureIdentifiersPage {
+
+    private final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers;
+    private final PageCursor nextPageCursor;
+
+    public InMemoryUserProfilePictureIdentifiersPage(final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers,
+                                                     final Integer nextOffset) {
+        this.userProfilePictureIdentifiers = Objects.requireNonNull(userProfilePictureIdentifiers);
+        this.nextPageCursor = nextOffset == null ? null : new InMemoryPageCursor(nextOffset);
+    }
+
+    @Override
+    public List<UserProfilePictureIdentifier> userProfilePictureIdentifiers() {
+        return userProfilePictureIdentifiers;
+    }
+
+    @Override
+    public PageCursor nextPageCursor() {
+        return nextPageCursor;
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.Uni;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the last versions of each user pseudo and media type, newest first, like a versioned bucket would list them.
+ * Older versions are dropped past max versions so a long load test does not exhaust the heap.
+ */
+public class InMemoryUserProfilePictureRepository implements UserProfilePictureRepository {
+
+    private final InMemoryFaultInjector faultInjector;
+    private final Integer listPageSize;
+    private final Integer maxVersions;
+    private final Map<String, List<UserProfilePictureIdentifier>> versionsByObjectKey;
+    private final Map<UserProfilePictureIdentifier, byte[]> contents;
+
+    public InMemoryUserProfilePictureRepository(final Long latencyInMillis,
+                                                final Double errorRate,
+                                                final Integer maxVersions,
+                                                final Integer listPageSize) {
+        this.faultInjector = new InMemoryFaultInjector(latencyInMillis, errorRate, "repository");
+        if (Objects.requireNonNull(maxVersions) <= 0) {
+            throw new IllegalArgumentException("repository max versions must be positive, got " + maxVersions);
+        }
+        this.maxVersions = maxVersions;
+        this.listPageSize = Objects.requireNonNull(listPageSize);
+        this.versionsByObjectKey = new ConcurrentHashMap<>();
+        this.contents = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Uni<UserProfilePictureSaved> save(final UserPseudo userPseudo, final InputStream picture, final SupportedMediaType mediaType) throws UserProfilePictureRepositoryException {
+        return faultInjector.inject(() -> {
+            final byte[] content;
+            try (picture) {
+                content = picture.readAllBytes();
+            } catch (final IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+            final InMemoryUserProfilePictureIdentifier saved = new InMemoryUserProfilePictureIdentifier(userPseudo.pseudo(), mediaType,
+                    UUID.randomUUID().toString().replace("-", ""));
+            contents.put(saved, content);
+            versionsByObjectKey.compute(objectKey(userPseudo, mediaType), (objectKey, versions) -> {
+                final List<UserProfilePictureIdentifier> newVersions = new ArrayList<>();
+                newVersions.add(saved);
+                if (versions != null) {
+                    newVersions.addAll(versions);
+                }
+                while (newVersions.size() > maxVersions) {
+                    contents.remove(newVersions.remove(newVersions.size() - 1));
+                }
+                return List.copyOf(newVersions);
+            });
+            return Uni.createFrom().item((UserProfilePictureSaved) saved);
+        }, UserProfilePictureRepositoryException::new)
+                .onFailure(UncheckedIOException.class)
+                .transform(exception -> new UserProfilePictureRepositoryException());
+    }
+
+    @Override
+    public Uni<UserProfilePictureIdentifier> getLast(final UserPseudo userPseudo, final SupportedMediaType mediaType) throws UserProfilePictureNotAvailableYetException, UserProfilePictureRepositoryException {
+        return faultInjector.inject(() -> {
+            final List<UserProfilePictureIdentifier> versions = versions(userPseudo, mediaType);
+            if (versions.isEmpty()) {
+                return Uni.createFrom().failure(new UserProfilePictureNotAvailableYetException(userPseudo));
+            }
+            return Uni.createFrom().item(versions.get(0));
+        }, UserProfilePictureRepositoryException::new);
+    }
+
+    @Override
+    public Uni<UserProfilePictureIdentifiersPage> listByUserPseudo(final UserPseudo userPseudo, final SupportedMediaType mediaType, final PageCursor pageCursor) throws UserProfilePicturesPageCursorInvalidException, UserProfilePictureRepositoryException {
+        return faultInjector.inject(() -> {
+            final List<UserProfilePictureIdentifier> versions = versions(userPseudo, mediaType);
+            final int offset;
+            try {
+                offset = InMemoryPageCursor.offset(pageCursor);
+            } catch (final NumberFormatException numberFormatException) {
+                return Uni.createFrom().failure(new UserProfilePicturesPageCursorInvalidException(userPseudo));
+            }
+            if (offset < 0 || (offset > 0 && offset >= versions.size())) {
+                return Uni.createFrom().failure(new UserProfilePicturesPageCursorInvalidException(userPseudo));
+            }
+            final int nextOffset = Math.min(offset + listPageSize, versions.size());
+            return Uni.createFrom().item((UserProfilePictureIdentifiersPage) new InMemoryUserProfilePictureIdentifiersPage(
+                    versions.subList(offset, nextOffset),
+                    nextOffset < versions.size() ? nextOffset : null));
+        }, UserProfilePictureRepositoryException::new);
+    }
+
+    @Override
+    public Uni<StreamedContentUserProfilePicture> streamContentByVersionId(final UserProfilePictureIdentifier userProfilePictureIdentifier) throws UserProfilePictureVersionUnknownException, UserProfilePictureRepositoryException {
+        return faultInjector.inject(() -> content(userProfilePictureIdentifier)
+                .map(content -> new InMemoryStreamedContentUserProfilePicture(userProfilePictureIdentifier, content)),
+                UserProfilePictureRepositoryException::new);
+    }
+
+    private Uni<byte[]> content(final UserProfilePictureIdentifier userProfilePictureIdentifier) {
+        final byte[] content = contents.get(new InMemoryUserProfilePictureIdentifier(userProfilePictureIdentifier));
+        if (content == null) {
+            return Uni.createFrom().failure(new UserProfilePictureVersionUnknownException(userProfilePictureIdentifier));
+        }
+        return Uni.createFrom().item(content);
+    }
+
+    private List<UserProfilePictureIdentifier> versions(final UserPseudo userPseudo, final SupportedMediaType mediaType) {
+        return versionsByObjectKey.getOrDefault(objectKey(userPseudo, mediaType), List.of());
+    }
+
+    private static String objectKey(final UserPseudo userPseudo, final SupportedMediaType mediaType) {
+        return userPseudo.pseudo() + "/" + mediaType.name();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.innerfriends.userprofilepicture.benchmark.usecase;
+
+import com.innerfriends.userprofilepicture.domain.*;
+
+/**
+ * Returns what the use case produced so the benchmark measures the use case and not the HTTP mapping.
+ */
+public final class IdentityResponseTransformer implements ResponseTransformer<Object> {
+
+    @Override
+    public Object toResponse(final StreamedContentUserProfilePicture streamedContentUserProfilePicture) {
+        return streamedContentUserProfilePicture;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilePictureSaved profilePictureSaved) {
+        return profilePictureSaved;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilePictureIdentifier userProfilePictureIdentifiers) {
+        return userProfilePictureIdentifiers;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilePictures userProfilePictures) {
+        return userProfilePictures;
+    }
+
+    @Override
+    public Object toResponse(final FeaturedUserProfilePictures featuredUserProfilePictures) {
+        return featuredUserProfilePictures;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilePictureNotAvailableYetException userProfilePictureNotAvailableYetException) {
+        return userProfilePictureNotAvailableYetException;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilePictureVersionUnknownException userProfilePictureVersionUnknownException) {
+        return userProfilePictureVersionUnknownException;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilePicturesPageCursorInvalidException userProfilePicturesPageCursorInvalidException) {
+        return userProfilePicturesPageCursorInvalidException;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilePictureRepositoryException userProfilePictureRepositoryException) {
+        return userProfilePictureRepositoryException;
+    }
+
+    @Override
+    public Object toResponse(final UserProfilPictureFeaturedRepositoryException userProfilPictureFeaturedRepositoryException) {
+        return userProfilPictureFeaturedRepositoryException;
+    }
+
+    @Override
+    public Object toResponse(final LockAcquisitionTimeoutException lockAcquisitionTimeoutException) {
+        return lockAcquisitionTimeoutException;
+    }
+
+    @Override
+    public Object toResponse(final Throwable throwable) {
+        return throwable;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.innerfriends.userprofilepicture.benchmark.usecase;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictureSaved;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import com.innerfriends.userprofilepicture.domain.usecase.*;
+import com.innerfriends.userprofilepicture.benchmark.inmemory.InMemoryLockMechanism;
+import com.innerfriends.userprofilepicture.benchmark.inmemory.InMemoryUserProfilPictureFeaturedRepository;
+import com.innerfriends.userprofilepicture.benchmark.inmemory.InMemoryUserProfilePictureCacheRepository;
+import com.innerfriends.userprofilepicture.benchmark.inmemory.InMemoryUserProfilePictureRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives every use case through the in-memory adapters without latency, so the measure is the cost of the use case
+ * chains themselves:
+ * - CACHE_HIT: the pictures list and the featured one are served from the cache,
+ * - CACHE_MISS: every cache call fails, every call goes to the repositories,
+ * - REPOSITORY_ERROR: the repositories and the cache fail, every call goes through the error recovery.
+ * Run with: java -jar benchmark/target/benchmarks.jar UseCaseBenchmark -prof gc
+ * the gc profiler reports the allocation per operation as gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UseCaseBenchmark {
+
+    public enum Scenario {
+
+        CACHE_HIT(0.0, 0.0),
+
+        CACHE_MISS(0.0, 1.0),
+
+        REPOSITORY_ERROR(1.0, 1.0);
+
+        private final Double repositoriesErrorRate;
+        private final Double cacheErrorRate;
+
+        Scenario(final Double repositoriesErrorRate, final Double cacheErrorRate) {
+            this.repositoriesErrorRate = repositoriesErrorRate;
+            this.cacheErrorRate = cacheErrorRate;
+        }
+
+    }
+
+    private static final UserPseudo USER_PSEUDO = () -> "userPseudo";
+    private static final byte[] PICTURE = new byte[1024];
+    private static final Long NO_LATENCY = 0L;
+    private static final Integer MAX_VERSIONS = 50;
+
+    @Param({"CACHE_HIT", "CACHE_MISS", "REPOSITORY_ERROR"})
+    public Scenario scenario;
+
+    private final IdentityResponseTransformer responseTransformer = new IdentityResponseTransformer();
+    private GetFeaturedUserProfilePictureUseCase<Object> getFeaturedUserProfilePictureUseCase;
+    private ListUserProfilPicturesUseCase<Object> listUserProfilPicturesUseCase;
+    private SaveUserProfilePictureUseCase<Object> saveUserProfilePictureUseCase;
+    private GetUserProfilePictureByVersionUseCase<Object> getUserProfilePictureByVersionUseCase;
+    private MarkUserProfilePictureAsFeaturedUseCase<Object> markUserProfilePictureAsFeaturedUseCase;
+    private GetFeaturedUserProfilePicturesUseCase<Object> getFeaturedUserProfilePicturesUseCase;
+    private InMemoryLockMechanism lockMechanism;
+    private ByteArrayInputStream picture;
+    private GetFeaturedUserProfilePictureCommand getFeaturedUserProfilePictureCommand;
+    private ListUserProfilPicturesCommand listUserProfilPicturesCommand;
+    private SaveUserProfilePictureCommand saveUserProfilePictureCommand;
+    private GetUserUserProfilePictureByVersionCommand getUserUserProfilePictureByVersionCommand;
+    private MarkUserProfilePictureAsFeaturedCommand markUserProfilePictureAsFeaturedCommand;
+    private GetFeaturedUserProfilePicturesCommand getFeaturedUserProfilePicturesCommand;
+
+    @Setup
+    public void setup() {
+        final InMemoryUserProfilePictureRepository userProfilePictureRepository = new InMemoryUserProfilePictureRepository(NO_LATENCY, 0.0, MAX_VERSIONS, MAX_VERSIONS);
+        final InMemoryUserProfilPictureFeaturedRepository userProfilPictureFeaturedRepository = new InMemoryUserProfilPictureFeaturedRepository(NO_LATENCY, 0.0);
+        // absences never expire within a benchmark run
+        final InMemoryUserProfilePictureCacheRepository userProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(NO_LATENCY, scenario.cacheErrorRate, 0L, MAX_VERSIONS, 0);
+        lockMechanism = new InMemoryLockMechanism(NO_LATENCY, 0.0, 1024, 1000L, 1);
+        final UserProfilePictureSaved saved = userProfilePictureRepository.save(USER_PSEUDO, new ByteArrayInputStream(PICTURE), SupportedMediaType.IMAGE_JPEG)
+                .await().indefinitely();
+        picture = new ByteArrayInputStream(PICTURE);
+        getFeaturedUserProfilePictureCommand = new GetFeaturedUserProfilePictureCommand(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG);
+        listUserProfilPicturesCommand = new ListUserProfilPicturesCommand(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG);
+        saveUserProfilePictureCommand = new SaveUserProfilePictureCommand(USER_PSEUDO, picture, SupportedMediaType.IMAGE_JPEG);
+        getUserUserProfilePictureByVersionCommand = new GetUserUserProfilePictureByVersionCommand(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, saved.versionId());
+        markUserProfilePictureAsFeaturedCommand = new MarkUserProfilePictureAsFeaturedCommand(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, saved.versionId());
+        getFeaturedUserProfilePicturesCommand = new GetFeaturedUserProfilePicturesCommand(Set.of(USER_PSEUDO), SupportedMediaType.IMAGE_JPEG);
+        markUserProfilePictureAsFeaturedUseCase = new MarkUserProfilePictureAsFeaturedUseCase<>(userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
+        listUserProfilPicturesUseCase = new ListUserProfilPicturesUseCase<>(userProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism, userProfilPictureFeaturedRepository);
+        // warms the cache up: featured first, the listing keeps it
+        markUserProfilePictureAsFeatured();
+        listUserProfilPictures();
+        final InMemoryUserProfilePictureRepository benchmarkedUserProfilePictureRepository = scenario.repositoriesErrorRate > 0.0
+                ? new InMemoryUserProfilePictureRepository(NO_LATENCY, scenario.repositoriesErrorRate, MAX_VERSIONS, MAX_VERSIONS) : userProfilePictureRepository;
+        final InMemoryUserProfilPictureFeaturedRepository benchmarkedUserProfilPictureFeaturedRepository = scenario.repositoriesErrorRate > 0.0
+                ? new InMemoryUserProfilPictureFeaturedRepository(NO_LATENCY, scenario.repositoriesErrorRate) : userProfilPictureFeaturedRepository;
+        getFeaturedUserProfilePictureUseCase = new GetFeaturedUserProfilePictureUseCase<>(benchmarkedUserProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism, benchmarkedUserProfilPictureFeaturedRepository);
+        listUserProfilPicturesUseCase = new ListUserProfilPicturesUseCase<>(benchmarkedUserProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism, benchmarkedUserProfilPictureFeaturedRepository);
+        saveUserProfilePictureUseCase = new SaveUserProfilePictureUseCase<>(benchmarkedUserProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism);
+        getUserProfilePictureByVersionUseCase = new GetUserProfilePictureByVersionUseCase<>(benchmarkedUserProfilePictureRepository);
+        markUserProfilePictureAsFeaturedUseCase = new MarkUserProfilePictureAsFeaturedUseCase<>(benchmarkedUserProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
+        getFeaturedUserProfilePicturesUseCase = new GetFeaturedUserProfilePicturesUseCase<>(benchmarkedUserProfilePictureRepository, userProfilePictureCacheRepository, benchmarkedUserProfilPictureFeaturedRepository);
+    }
+
+    @TearDown
+    public void tearDown() {
+        lockMechanism.shutdown();
+    }
+
+    @Benchmark
+    public Object getFeaturedUserProfilePicture() {
+        return getFeaturedUserProfilePictureUseCase.execute(getFeaturedUserProfilePictureCommand, responseTransformer)
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Object listUserProfilPictures() {
+        return listUserProfilPicturesUseCase.execute(listUserProfilPicturesCommand, responseTransformer)
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Object saveUserProfilePicture() {
+        picture.reset();
+        return saveUserProfilePictureUseCase.execute(saveUserProfilePictureCommand, responseTransformer)
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Object getUserProfilePictureByVersion() {
+        return getUserProfilePictureByVersionUseCase.execute(getUserUserProfilePictureByVersionCommand, responseTransformer)
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Object markUserProfilePictureAsFeatured() {
+        return markUserProfilePictureAsFeaturedUseCase.execute(markUserProfilePictureAsFeaturedCommand, responseTransformer)
+                .await().indefinitely();
+    }
+
+    @Benchmark
+    public Object getFeaturedUserProfilePictures() {
+        return getFeaturedUserProfilePicturesUseCase.execute(getFeaturedUserProfilePicturesCommand, responseTransformer)
+                .await().indefinitely();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InMemoryFaultInjectorTest {
+
+    @Test
+    public void should_call_through_when_no_fault_is_injected() {
+        // Given
+        final InMemoryFaultInjector inMemoryFaultInjector = new InMemoryFaultInjector(0L, 0.0, "test");
+
+        // When
+        final Uni<String> uni = inMemoryFaultInjector.inject(() -> Uni.createFrom().item("item"), IllegalStateException::new);
+
+        // Then
+        final UniAssertSubscriber<String> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.assertCompleted().assertItem("item");
+    }
+
+    @Test
+    public void should_fail_every_call_when_error_rate_is_one() {
+        // Given
+        final InMemoryFaultInjector inMemoryFaultInjector = new InMemoryFaultInjector(0L, 1.0, "test");
+
+        // When
+        final Uni<String> uni = inMemoryFaultInjector.inject(() -> Uni.createFrom().item("item"), IllegalStateException::new);
+
+        // Then
+        final UniAssertSubscriber<String> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.assertFailedWith(IllegalStateException.class);
+    }
+
+    @Test
+    public void should_delay_calls_by_latency() {
+        // Given
+        final InMemoryFaultInjector inMemoryFaultInjector = new InMemoryFaultInjector(100L, 0.0, "test");
+        final long start = System.nanoTime();
+
+        // When
+        final String item = inMemoryFaultInjector.inject(() -> Uni.createFrom().item("item"), IllegalStateException::new)
+                .await().atMost(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(item).isEqualTo("item");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    public void should_reject_error_rate_out_of_range() {
+        assertThatThrownBy(() -> new InMemoryFaultInjector(0L, 1.5, "test"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_reject_negative_latency() {
+        assertThatThrownBy(() -> new InMemoryFaultInjector(-1L, 0.0, "test"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
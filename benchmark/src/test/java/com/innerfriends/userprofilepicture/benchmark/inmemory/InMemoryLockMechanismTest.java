@@ -0,0 +1,113 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.LockAcquisitionTimeoutException;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class InMemoryLockMechanismTest {
+
+    private static final UserPseudo USER_PSEUDO = () -> "pseudo";
+
+    private final InMemoryLockMechanism inMemoryLockMechanism = new InMemoryLockMechanism(0L, 0.0, 2, 100L, 2);
+
+    @AfterEach
+    public void tearDown() {
+        inMemoryLockMechanism.shutdown();
+    }
+
+    @Test
+    public void should_share_lock_between_shared_holders() {
+        // Given
+        inMemoryLockMechanism.lockShared(USER_PSEUDO).await().indefinitely();
+
+        // When
+        final UniAssertSubscriber<Void> subscriber = inMemoryLockMechanism.lockShared(USER_PSEUDO)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.awaitItem(Duration.ofSeconds(5)).assertCompleted();
+    }
+
+    @Test
+    public void should_time_out_acquiring_exclusive_lock_while_shared_lock_is_held() {
+        // Given
+        inMemoryLockMechanism.lockShared(USER_PSEUDO).await().indefinitely();
+
+        // When
+        final UniAssertSubscriber<Void> subscriber = inMemoryLockMechanism.lock(USER_PSEUDO)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.awaitFailure(Duration.ofSeconds(5)).assertFailedWith(LockAcquisitionTimeoutException.class);
+    }
+
+    @Test
+    public void should_acquire_exclusive_lock_once_released() {
+        // Given
+        inMemoryLockMechanism.lock(USER_PSEUDO).await().indefinitely();
+        inMemoryLockMechanism.unlock(USER_PSEUDO).await().indefinitely();
+
+        // When
+        final UniAssertSubscriber<Void> subscriber = inMemoryLockMechanism.lock(USER_PSEUDO)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.awaitItem(Duration.ofSeconds(5)).assertCompleted();
+    }
+
+    @Test
+    public void should_release_permits_acquired_for_a_cancelled_subscriber() throws Exception {
+        // Given
+        final InMemoryLockMechanism cancellableLockMechanism = new InMemoryLockMechanism(0L, 0.0, 2, 1000L, 2);
+        cancellableLockMechanism.lock(USER_PSEUDO).await().indefinitely();
+        final UniAssertSubscriber<Void> cancelledSubscriber = cancellableLockMechanism.lockShared(USER_PSEUDO)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        Thread.sleep(50L);
+        cancelledSubscriber.cancel();
+
+        try {
+            // When
+            cancellableLockMechanism.unlock(USER_PSEUDO).await().indefinitely();
+
+            // Then
+            final UniAssertSubscriber<Void> subscriber = cancellableLockMechanism.lock(USER_PSEUDO)
+                    .subscribe().withSubscriber(UniAssertSubscriber.create());
+            subscriber.awaitItem(Duration.ofSeconds(5)).assertCompleted();
+        } finally {
+            cancellableLockMechanism.shutdown();
+        }
+    }
+
+    @Test
+    public void should_acquire_exclusive_lock_while_shared_holders_keep_arriving() throws Exception {
+        // Given
+        final InMemoryLockMechanism preferringLockMechanism = new InMemoryLockMechanism(0L, 0.0, 1024, 1000L, 16);
+        final ScheduledExecutorService sharedHolders = Executors.newSingleThreadScheduledExecutor();
+        sharedHolders.scheduleAtFixedRate(() -> preferringLockMechanism.lockShared(USER_PSEUDO)
+                .onItem().delayIt().by(Duration.ofMillis(30))
+                .onItem().transformToUni(ignored -> preferringLockMechanism.unlockShared(USER_PSEUDO))
+                .subscribe().with(ignored -> {}, failure -> {}), 0L, 10L, TimeUnit.MILLISECONDS);
+        Thread.sleep(100L);
+
+        try {
+            // When
+            final UniAssertSubscriber<Void> subscriber = preferringLockMechanism.lock(USER_PSEUDO)
+                    .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+            // Then
+            subscriber.awaitItem(Duration.ofSeconds(5)).assertCompleted();
+            preferringLockMechanism.unlock(USER_PSEUDO).await().indefinitely();
+        } finally {
+            sharedHolders.shutdownNow();
+            preferringLockMechanism.shutdown();
+        }
+    }
+
+}
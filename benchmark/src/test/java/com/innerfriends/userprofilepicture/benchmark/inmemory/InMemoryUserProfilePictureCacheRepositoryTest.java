@@ -0,0 +1,160 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class InMemoryUserProfilePictureCacheRepositoryTest {
+
+    private static final UserPseudo USER_PSEUDO = () -> "pseudo";
+
+    @Test
+    public void should_fail_when_user_is_not_in_cache() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 0.0, 60L, 50, 4);
+
+        // When
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertFailedWith(UserProfilePicturesNotInCacheException.class);
+    }
+
+    @Test
+    public void should_store_versions_then_new_version_then_featured() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 0.0, 60L, 50, 4);
+        final UserProfilePictures userProfilePictures = userProfilePictures(new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v0"));
+        final InMemoryUserProfilePictureIdentifier newVersion = new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v1");
+        inMemoryUserProfilePictureCacheRepository.store(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, null, userProfilePictures).await().indefinitely();
+        final CachedUserProfilePictures beforeNewVersion = inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO).await().indefinitely();
+
+        // When
+        inMemoryUserProfilePictureCacheRepository.storeNewVersion(USER_PSEUDO, newVersion).await().indefinitely();
+        inMemoryUserProfilePictureCacheRepository.storeFeatured(USER_PSEUDO, newVersion).await().indefinitely();
+
+        // Then
+        final CachedUserProfilePictures cachedUserProfilePictures = inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO).await().indefinitely();
+        assertThat(cachedUserProfilePictures.userProfilePictureIdentifiers())
+                .extracting(userProfilePictureIdentifier -> userProfilePictureIdentifier.versionId().version())
+                .containsExactly("v1", "v0");
+        assertThat(cachedUserProfilePictures.featured().versionId().version()).isEqualTo("v1");
+        assertThat(beforeNewVersion.userProfilePictureIdentifiers()).hasSize(1);
+        assertThat(beforeNewVersion.hasFeaturedInCache()).isFalse();
+    }
+
+    @Test
+    public void should_not_store_pictures_which_can_not_be_stored_in_cache() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 0.0, 60L, 50, 4);
+        final UserProfilePictures userProfilePictures = mock(UserProfilePictures.class);
+        doReturn(false).when(userProfilePictures).canBeStoredInCache();
+
+        // When
+        inMemoryUserProfilePictureCacheRepository.store(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, null, userProfilePictures).await().indefinitely();
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.assertFailedWith(UserProfilePicturesNotInCacheException.class);
+    }
+
+    @Test
+    public void should_store_absence_until_a_new_version_is_stored() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 0.0, 60L, 50, 4);
+        inMemoryUserProfilePictureCacheRepository.storeAbsence(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, CachedUserProfilePictures.Absence.NO_PICTURES_YET).await().indefinitely();
+        final CachedUserProfilePictures beforeNewVersion = inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO).await().indefinitely();
+
+        // When
+        inMemoryUserProfilePictureCacheRepository.storeNewVersion(USER_PSEUDO, new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v0"))
+                .await().indefinitely();
+
+        // Then
+        assertThat(beforeNewVersion.hasNoPicturesYetInCache(SupportedMediaType.IMAGE_JPEG)).isTrue();
+        assertThat(inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO).await().indefinitely().hasNoFeaturedYetInCache()).isFalse();
+    }
+
+    @Test
+    public void should_store_last_as_featured_until_a_new_version_is_stored() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 0.0, 60L, 50, 4);
+        inMemoryUserProfilePictureCacheRepository.storeLastAsFeatured(USER_PSEUDO, new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v0"))
+                .await().indefinitely();
+        final CachedUserProfilePictures beforeNewVersion = inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO).await().indefinitely();
+
+        // When
+        inMemoryUserProfilePictureCacheRepository.storeNewVersion(USER_PSEUDO, new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v1"))
+                .await().indefinitely();
+
+        // Then
+        assertThat(beforeNewVersion.featured()).isNull();
+        assertThat(beforeNewVersion.lastAsFeatured().versionId().version()).isEqualTo("v0");
+        assertThat(inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO).await().indefinitely().lastAsFeatured()).isNull();
+    }
+
+    @Test
+    public void should_evict() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 0.0, 60L, 50, 4);
+        inMemoryUserProfilePictureCacheRepository.storeFeatured(USER_PSEUDO, new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v0"))
+                .await().indefinitely();
+
+        // When
+        inMemoryUserProfilePictureCacheRepository.evict(USER_PSEUDO).await().indefinitely();
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = inMemoryUserProfilePictureCacheRepository.get(USER_PSEUDO)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.assertFailedWith(UserProfilePicturesNotInCacheException.class);
+    }
+
+    @Test
+    public void should_fail_when_an_error_is_injected() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 1.0, 60L, 50, 4);
+
+        // When
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = inMemoryUserProfilePictureCacheRepository.storeFeatured(USER_PSEUDO,
+                new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v0"))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertFailedWith(InMemoryInjectedFailureException.class, "Injected failure");
+    }
+
+    @Test
+    public void should_get_all_return_only_cached_user_profile_pictures() {
+        // Given
+        final InMemoryUserProfilePictureCacheRepository inMemoryUserProfilePictureCacheRepository = new InMemoryUserProfilePictureCacheRepository(0L, 0.0, 60L, 50, 4);
+        inMemoryUserProfilePictureCacheRepository.storeFeatured(USER_PSEUDO, new InMemoryUserProfilePictureIdentifier("pseudo", SupportedMediaType.IMAGE_JPEG, "v0"))
+                .await().indefinitely();
+
+        // When
+        final List<CachedUserProfilePictures> cachedUserProfilePictures = inMemoryUserProfilePictureCacheRepository.getAll(Set.of(USER_PSEUDO, () -> "unknown"))
+                .await().indefinitely();
+
+        // Then
+        assertThat(cachedUserProfilePictures)
+                .extracting(cached -> cached.featured().versionId().version())
+                .containsExactly("v0");
+    }
+
+    private static UserProfilePictures userProfilePictures(final UserProfilePictureIdentifier userProfilePictureIdentifier) {
+        final UserProfilePicture userProfilePicture = mock(UserProfilePicture.class);
+        doReturn(userProfilePictureIdentifier.mediaType()).when(userProfilePicture).mediaType();
+        doReturn(userProfilePictureIdentifier.versionId()).when(userProfilePicture).versionId();
+        final UserProfilePictures userProfilePictures = mock(UserProfilePictures.class);
+        doReturn(true).when(userProfilePictures).canBeStoredInCache();
+        doReturn(List.of(userProfilePicture)).when(userProfilePictures).userProfilePictures();
+        return userProfilePictures;
+    }
+
+}
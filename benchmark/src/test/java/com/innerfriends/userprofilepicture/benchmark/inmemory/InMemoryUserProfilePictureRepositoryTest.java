@@ -0,0 +1,135 @@
+package com.innerfriends.userprofilepicture.benchmark.inmemory;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryUserProfilePictureRepositoryTest {
+
+    private static final UserPseudo USER_PSEUDO = () -> "pseudo";
+
+    @Test
+    public void should_save_and_stream_content_of_a_version() {
+        // Given
+        final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository = new InMemoryUserProfilePictureRepository(0L, 0.0, 1000, 50);
+        final UserProfilePictureSaved saved = save(inMemoryUserProfilePictureRepository, "picture");
+
+        // When
+        final UniAssertSubscriber<StreamedContentUserProfilePicture> subscriber = inMemoryUserProfilePictureRepository.streamContentByVersionId(saved)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted();
+        assertThat(subscriber.getItem().picture().collect().asList().await().indefinitely()).containsExactly("picture".getBytes());
+        assertThat(subscriber.getItem().contentLength()).isEqualTo(7L);
+        assertThat(subscriber.getItem().versionId().version()).isEqualTo(saved.versionId().version());
+    }
+
+    @Test
+    public void should_get_last_saved_version() {
+        // Given
+        final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository = new InMemoryUserProfilePictureRepository(0L, 0.0, 1000, 50);
+        save(inMemoryUserProfilePictureRepository, "first");
+        final UserProfilePictureSaved last = save(inMemoryUserProfilePictureRepository, "last");
+
+        // When
+        final UniAssertSubscriber<UserProfilePictureIdentifier> subscriber = inMemoryUserProfilePictureRepository.getLast(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(last);
+    }
+
+    @Test
+    public void should_fail_getting_last_version_when_none_saved() {
+        // Given
+        final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository = new InMemoryUserProfilePictureRepository(0L, 0.0, 1000, 50);
+
+        // When
+        final UniAssertSubscriber<UserProfilePictureIdentifier> subscriber = inMemoryUserProfilePictureRepository.getLast(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertFailedWith(UserProfilePictureNotAvailableYetException.class);
+    }
+
+    @Test
+    public void should_list_versions_newest_first_by_page() {
+        // Given
+        final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository = new InMemoryUserProfilePictureRepository(0L, 0.0, 1000, 2);
+        final UserProfilePictureSaved first = save(inMemoryUserProfilePictureRepository, "first");
+        final UserProfilePictureSaved second = save(inMemoryUserProfilePictureRepository, "second");
+        final UserProfilePictureSaved third = save(inMemoryUserProfilePictureRepository, "third");
+
+        // When
+        final UserProfilePictureIdentifiersPage firstPage = inMemoryUserProfilePictureRepository.listByUserPseudo(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, null)
+                .await().indefinitely();
+        final UserProfilePictureIdentifiersPage secondPage = inMemoryUserProfilePictureRepository.listByUserPseudo(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, firstPage.nextPageCursor())
+                .await().indefinitely();
+
+        // Then
+        assertThat(versions(firstPage)).containsExactly(third.versionId().version(), second.versionId().version());
+        assertThat(firstPage.nextPageCursor()).isEqualTo(new InMemoryPageCursor(2));
+        assertThat(versions(secondPage)).containsExactly(first.versionId().version());
+        assertThat(secondPage.nextPageCursor()).isNull();
+    }
+
+    @Test
+    public void should_fail_listing_with_an_invalid_page_cursor() {
+        // Given
+        final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository = new InMemoryUserProfilePictureRepository(0L, 0.0, 1000, 50);
+
+        // When
+        final UniAssertSubscriber<UserProfilePictureIdentifiersPage> subscriber = inMemoryUserProfilePictureRepository.listByUserPseudo(USER_PSEUDO, SupportedMediaType.IMAGE_JPEG, () -> "invalid")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertFailedWith(UserProfilePicturesPageCursorInvalidException.class);
+    }
+
+    @Test
+    public void should_drop_oldest_versions_past_max_versions() {
+        // Given
+        final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository = new InMemoryUserProfilePictureRepository(0L, 0.0, 1, 50);
+        final UserProfilePictureSaved dropped = save(inMemoryUserProfilePictureRepository, "dropped");
+        save(inMemoryUserProfilePictureRepository, "kept");
+
+        // When
+        final UniAssertSubscriber<StreamedContentUserProfilePicture> subscriber = inMemoryUserProfilePictureRepository.streamContentByVersionId(dropped)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertFailedWith(UserProfilePictureVersionUnknownException.class);
+    }
+
+    @Test
+    public void should_fail_with_a_repository_exception_when_an_error_is_injected() {
+        // Given
+        final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository = new InMemoryUserProfilePictureRepository(0L, 1.0, 1000, 50);
+
+        // When
+        final UniAssertSubscriber<UserProfilePictureSaved> subscriber = inMemoryUserProfilePictureRepository.save(USER_PSEUDO, new ByteArrayInputStream("picture".getBytes()), SupportedMediaType.IMAGE_JPEG)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertFailedWith(UserProfilePictureRepositoryException.class);
+    }
+
+    private static UserProfilePictureSaved save(final InMemoryUserProfilePictureRepository inMemoryUserProfilePictureRepository, final String picture) {
+        return inMemoryUserProfilePictureRepository.save(USER_PSEUDO, new ByteArrayInputStream(picture.getBytes()), SupportedMediaType.IMAGE_JPEG)
+                .await().indefinitely();
+    }
+
+    private static List<String> versions(final UserProfilePictureIdentifiersPage userProfilePictureIdentifiersPage) {
+        return userProfilePictureIdentifiersPage.userProfilePictureIdentifiers().stream()
+                .map(userProfilePictureIdentifier -> userProfilePictureIdentifier.versionId().version())
+                .collect(Collectors.toList());
+    }
+
+}
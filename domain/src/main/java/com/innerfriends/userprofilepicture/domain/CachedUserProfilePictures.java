@@ -5,16 +5,50 @@ import java.util.stream.Collectors;
 
 public interface CachedUserProfilePictures extends UserProfilePictures {
 
+    /**
+     * Outcome of a lookup known to be empty: cached for a short time so repeated reads of a new or inactive user do not
+     * query the backends again. Any write of the user clears it. A user has a single cached absence: no pictures yet
+     * replaces no featured yet, so a lookup in another media type looks the featured picture up again.
+     */
+    enum Absence {
+        NO_FEATURED_YET,
+        NO_PICTURES_YET
+    }
+
     UserPseudo userPseudo();
 
     List<? extends UserProfilePictureIdentifier> userProfilePictureIdentifiers();
 
     UserProfilePictureIdentifier featured();
 
+    /**
+     * Last picture cached as effective featured picture while none has been selected yet. Never exposed as featured.
+     */
+    UserProfilePictureIdentifier lastAsFeatured();
+
+    Absence absence();
+
+    /**
+     * Media type looked up when the absence was found: no pictures yet only holds for this media type.
+     */
+    SupportedMediaType absenceMediaType();
+
     default boolean hasFeaturedInCache() {
         return featured() != null;
     }
 
+    default boolean hasLastAsFeaturedInCache(final SupportedMediaType mediaType) {
+        return lastAsFeatured() != null && lastAsFeatured().mediaType() == mediaType;
+    }
+
+    default boolean hasNoFeaturedYetInCache() {
+        return absence() == Absence.NO_FEATURED_YET;
+    }
+
+    default boolean hasNoPicturesYetInCache(final SupportedMediaType mediaType) {
+        return absence() == Absence.NO_PICTURES_YET && absenceMediaType() == mediaType;
+    }
+
     default boolean hasUserProfilePictureIdentifiersInCache() {
         return userProfilePictureIdentifiers() != null;
     }
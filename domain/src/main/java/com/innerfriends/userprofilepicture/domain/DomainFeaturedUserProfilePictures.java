@@ -0,0 +1,31 @@
+package com.innerfriends.userprofilepicture.domain;
+
+import java.util.List;
+import java.util.Objects;
+
+public final class DomainFeaturedUserProfilePictures implements FeaturedUserProfilePictures {
+
+    private final List<UserProfilePictureIdentifier> featuredUserProfilePictures;
+
+    public DomainFeaturedUserProfilePictures(final List<UserProfilePictureIdentifier> featuredUserProfilePictures) {
+        this.featuredUserProfilePictures = Objects.requireNonNull(featuredUserProfilePictures);
+    }
+
+    @Override
+    public List<? extends UserProfilePictureIdentifier> featuredUserProfilePictures() {
+        return featuredUserProfilePictures;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DomainFeaturedUserProfilePictures)) return false;
+        DomainFeaturedUserProfilePictures that = (DomainFeaturedUserProfilePictures) o;
+        return Objects.equals(featuredUserProfilePictures, that.featuredUserProfilePictures);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(featuredUserProfilePictures);
+    }
+}
@@ -9,10 +9,12 @@ public final class DomainUserProfilePictures implements UserProfilePictures {
 
     private final List<DomainUserProfilePicture> domainUserProfilePictures;
     private final FeatureState featureState;
+    private final PageCursor nextPageCursor;
 
     private DomainUserProfilePictures(final Builder builder) {
-        this.domainUserProfilePictures = Objects.requireNonNull(builder.domainUserProfilePictures);
         this.featureState = Objects.requireNonNull(builder.featureState);
+        this.domainUserProfilePictures = Objects.requireNonNull(builder.domainUserProfilePictures());
+        this.nextPageCursor = builder.nextPageCursor;
     }
 
     public static Builder newBuilder() {
@@ -21,45 +23,60 @@ public final class DomainUserProfilePictures implements UserProfilePictures {
 
     public static final class Builder {
 
-        private List<DomainUserProfilePicture> domainUserProfilePictures;
+        private List<UserProfilePictureIdentifier> userProfilePictureIdentifiers;
+        private UserProfilePictureIdentifier featured;
         private FeatureState featureState;
+        private PageCursor nextPageCursor;
 
         public Builder withFeaturedStateNotSelectedYet(final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers) {
-            final int nbOfUserProfilePictureIdentifiers = userProfilePictureIdentifiers.size();
-            this.domainUserProfilePictures = IntStream.range(0, nbOfUserProfilePictureIdentifiers)
-                    .mapToObj(index -> {
-                        if (index == nbOfUserProfilePictureIdentifiers - 1) {
-                            return new DomainUserProfilePicture(userProfilePictureIdentifiers.get(index), true);
-                        } else {
-                            return new DomainUserProfilePicture(userProfilePictureIdentifiers.get(index), false);
-                        }
-                    })
-                    .collect(Collectors.toList());
+            this.userProfilePictureIdentifiers = userProfilePictureIdentifiers;
             this.featureState = FeatureState.NOT_SELECTED_YET;
             return this;
         }
 
         public Builder withFeaturedStateSelected(final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers,
                                                  final UserProfilePictureIdentifier featured) {
-            this.domainUserProfilePictures = userProfilePictureIdentifiers.stream()
-                    .map(userProfilePictureIdentifier -> new DomainUserProfilePicture(userProfilePictureIdentifier, featured))
-                    .collect(Collectors.toList());
+            this.userProfilePictureIdentifiers = userProfilePictureIdentifiers;
+            this.featured = featured;
             this.featureState = FeatureState.SELECTED;
             return this;
         }
 
         public Builder withFeaturedStateInErrorWhenRetrieving(final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers) {
-            this.domainUserProfilePictures = userProfilePictureIdentifiers.stream()
-                    .map(userProfilePictureIdentifier -> new DomainUserProfilePicture(userProfilePictureIdentifier, false))
-                    .collect(Collectors.toList());
+            this.userProfilePictureIdentifiers = userProfilePictureIdentifiers;
             this.featureState = FeatureState.IN_ERROR_WHEN_RETRIEVING;
             return this;
         }
 
+        public Builder withNextPageCursor(final PageCursor nextPageCursor) {
+            this.nextPageCursor = nextPageCursor;
+            return this;
+        }
+
         public DomainUserProfilePictures build() {
             return new DomainUserProfilePictures(this);
         }
 
+        private List<DomainUserProfilePicture> domainUserProfilePictures() {
+            switch (featureState) {
+                case NOT_SELECTED_YET:
+                    // the oldest picture is only known on the last page
+                    final int nbOfUserProfilePictureIdentifiers = userProfilePictureIdentifiers.size();
+                    return IntStream.range(0, nbOfUserProfilePictureIdentifiers)
+                            .mapToObj(index -> new DomainUserProfilePicture(userProfilePictureIdentifiers.get(index),
+                                    nextPageCursor == null && index == nbOfUserProfilePictureIdentifiers - 1))
+                            .collect(Collectors.toList());
+                case SELECTED:
+                    return userProfilePictureIdentifiers.stream()
+                            .map(userProfilePictureIdentifier -> new DomainUserProfilePicture(userProfilePictureIdentifier, featured))
+                            .collect(Collectors.toList());
+                default:
+                    return userProfilePictureIdentifiers.stream()
+                            .map(userProfilePictureIdentifier -> new DomainUserProfilePicture(userProfilePictureIdentifier, false))
+                            .collect(Collectors.toList());
+            }
+        }
+
     }
 
     @Override
@@ -72,17 +89,23 @@ public final class DomainUserProfilePictures implements UserProfilePictures {
         return domainUserProfilePictures;
     }
 
+    @Override
+    public PageCursor nextPageCursor() {
+        return nextPageCursor;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DomainUserProfilePictures)) return false;
         DomainUserProfilePictures that = (DomainUserProfilePictures) o;
         return Objects.equals(domainUserProfilePictures, that.domainUserProfilePictures) &&
-                featureState == that.featureState;
+                featureState == that.featureState &&
+                Objects.equals(nextPageCursor, that.nextPageCursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(domainUserProfilePictures, featureState);
+        return Objects.hash(domainUserProfilePictures, featureState, nextPageCursor);
     }
 }
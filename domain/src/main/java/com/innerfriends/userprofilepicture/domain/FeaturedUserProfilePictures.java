@@ -0,0 +1,9 @@
+package com.innerfriends.userprofilepicture.domain;
+
+import java.util.List;
+
+public interface FeaturedUserProfilePictures {
+
+    List<? extends UserProfilePictureIdentifier> featuredUserProfilePictures();
+
+}
@@ -0,0 +1,16 @@
+package com.innerfriends.userprofilepicture.domain;
+
+import java.util.Objects;
+
+public class LockAcquisitionTimeoutException extends RuntimeException {
+
+    private final UserPseudo userPseudo;
+
+    public LockAcquisitionTimeoutException(final UserPseudo userPseudo) {
+        this.userPseudo = Objects.requireNonNull(userPseudo);
+    }
+
+    public UserPseudo userPseudo() {
+        return userPseudo;
+    }
+}
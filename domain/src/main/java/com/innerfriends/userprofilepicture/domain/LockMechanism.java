@@ -8,4 +8,8 @@ public interface LockMechanism {
 
     Uni<Void> unlock(UserPseudo userPseudo);
 
+    Uni<Void> lockShared(UserPseudo userPseudo);
+
+    Uni<Void> unlockShared(UserPseudo userPseudo);
+
 }
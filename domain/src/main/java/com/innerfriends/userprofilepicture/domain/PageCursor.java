@@ -0,0 +1,7 @@
+package com.innerfriends.userprofilepicture.domain;
+
+public interface PageCursor {
+
+    String value();
+
+}
@@ -2,7 +2,7 @@ package com.innerfriends.userprofilepicture.domain;
 
 public interface ResponseTransformer<R> {
 
-    R toResponse(ContentUserProfilePicture contentProfilePicture);
+    R toResponse(StreamedContentUserProfilePicture streamedContentUserProfilePicture);
 
     R toResponse(UserProfilePictureSaved profilePictureSaved);
 
@@ -10,14 +10,20 @@ public interface ResponseTransformer<R> {
 
     R toResponse(UserProfilePictures userProfilePictures);
 
+    R toResponse(FeaturedUserProfilePictures featuredUserProfilePictures);
+
     R toResponse(UserProfilePictureNotAvailableYetException userProfilePictureNotAvailableYetException);
 
     R toResponse(UserProfilePictureVersionUnknownException userProfilePictureVersionUnknownException);
 
+    R toResponse(UserProfilePicturesPageCursorInvalidException userProfilePicturesPageCursorInvalidException);
+
     R toResponse(UserProfilePictureRepositoryException userProfilePictureRepositoryException);
 
     R toResponse(UserProfilPictureFeaturedRepositoryException userProfilPictureFeaturedRepositoryException);
 
+    R toResponse(LockAcquisitionTimeoutException lockAcquisitionTimeoutException);
+
     R toResponse(Throwable throwable);
 
 }
@@ -0,0 +1,11 @@
+package com.innerfriends.userprofilepicture.domain;
+
+import io.smallrye.mutiny.Multi;
+
+public interface StreamedContentUserProfilePicture extends UserProfilePictureIdentifier {
+
+    Multi<byte[]> picture();
+
+    Long contentLength();
+
+}
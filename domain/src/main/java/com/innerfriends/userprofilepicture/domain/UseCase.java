@@ -2,7 +2,7 @@ package com.innerfriends.userprofilepicture.domain;
 
 import io.smallrye.mutiny.Uni;
 
-public interface UseCase<R, C extends UseCaseCommand> {
+public interface UseCase<R, C> {
 
     Uni<R> execute(C command, ResponseTransformer<R> responseTransformer);
 
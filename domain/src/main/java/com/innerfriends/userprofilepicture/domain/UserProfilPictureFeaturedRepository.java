@@ -2,11 +2,20 @@ package com.innerfriends.userprofilepicture.domain;
 
 import io.smallrye.mutiny.Uni;
 
+import java.util.List;
+import java.util.Set;
+
 public interface UserProfilPictureFeaturedRepository {
 
     Uni<UserProfilePictureIdentifier> getFeatured(UserPseudo userPseudo)
             throws NoUserProfilPictureFeaturedYetException, UserProfilPictureFeaturedRepositoryException;
 
+    /**
+     * Returns the featured pictures found, pseudos without featured picture yet are absent from the result.
+     */
+    Uni<List<UserProfilePictureIdentifier>> getAllFeatured(Set<UserPseudo> userPseudos)
+            throws UserProfilPictureFeaturedRepositoryException;
+
     Uni<UserProfilePictureIdentifier> markAsFeatured(UserProfilePictureIdentifier profilePictureIdentifier)
             throws UserProfilPictureFeaturedRepositoryException;
 
@@ -2,14 +2,27 @@ package com.innerfriends.userprofilepicture.domain;
 
 import io.smallrye.mutiny.Uni;
 
+import java.util.List;
+import java.util.Set;
+
 public interface UserProfilePictureCacheRepository {
 
     Uni<CachedUserProfilePictures> get(UserPseudo userPseudo) throws UserProfileNotInCacheException;
 
-    Uni<CachedUserProfilePictures> store(UserPseudo userPseudo, UserProfilePictures userProfilePictures);
+    Uni<CachedUserProfilePictures> get(UserPseudo userPseudo, SupportedMediaType mediaType, PageCursor pageCursor) throws UserProfileNotInCacheException;
+
+    Uni<List<CachedUserProfilePictures>> getAll(Set<UserPseudo> userPseudos);
+
+    Uni<CachedUserProfilePictures> store(UserPseudo userPseudo, SupportedMediaType mediaType, PageCursor pageCursor, UserProfilePictures userProfilePictures);
+
+    Uni<CachedUserProfilePictures> storeNewVersion(UserPseudo userPseudo, UserProfilePictureIdentifier newVersion);
 
     Uni<CachedUserProfilePictures> storeFeatured(UserPseudo userPseudo, UserProfilePictureIdentifier featured);
 
+    Uni<CachedUserProfilePictures> storeLastAsFeatured(UserPseudo userPseudo, UserProfilePictureIdentifier last);
+
+    Uni<CachedUserProfilePictures> storeAbsence(UserPseudo userPseudo, SupportedMediaType mediaType, CachedUserProfilePictures.Absence absence);
+
     Uni<Void> evict(UserPseudo userPseudo);
 
 }
@@ -0,0 +1,15 @@
+package com.innerfriends.userprofilepicture.domain;
+
+import java.util.List;
+
+public interface UserProfilePictureIdentifiersPage {
+
+    List<UserProfilePictureIdentifier> userProfilePictureIdentifiers();
+
+    PageCursor nextPageCursor();
+
+    default boolean hasNextPage() {
+        return nextPageCursor() != null;
+    }
+
+}
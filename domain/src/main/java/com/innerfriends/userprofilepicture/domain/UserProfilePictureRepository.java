@@ -2,16 +2,19 @@ package com.innerfriends.userprofilepicture.domain;
 
 import io.smallrye.mutiny.Uni;
 
-import java.util.List;
+import java.io.InputStream;
 
 public interface UserProfilePictureRepository {
 
-    Uni<UserProfilePictureSaved> save(UserPseudo userPseudo, byte[] picture, SupportedMediaType mediaType) throws UserProfilePictureRepositoryException;
+    /**
+     * The picture is closed once saved, or once failed to be.
+     */
+    Uni<UserProfilePictureSaved> save(UserPseudo userPseudo, InputStream picture, SupportedMediaType mediaType) throws UserProfilePictureRepositoryException;
 
     Uni<UserProfilePictureIdentifier> getLast(UserPseudo userPseudo, SupportedMediaType mediaType) throws UserProfilePictureNotAvailableYetException, UserProfilePictureRepositoryException;
 
-    Uni<List<UserProfilePictureIdentifier>> listByUserPseudo(UserPseudo userPseudo, SupportedMediaType mediaType) throws UserProfilePictureRepositoryException;
+    Uni<UserProfilePictureIdentifiersPage> listByUserPseudo(UserPseudo userPseudo, SupportedMediaType mediaType, PageCursor pageCursor) throws UserProfilePicturesPageCursorInvalidException, UserProfilePictureRepositoryException;
 
-    Uni<ContentUserProfilePicture> getContentByVersionId(UserProfilePictureIdentifier userProfilePictureIdentifier) throws UserProfilePictureVersionUnknownException, UserProfilePictureRepositoryException;
+    Uni<StreamedContentUserProfilePicture> streamContentByVersionId(UserProfilePictureIdentifier userProfilePictureIdentifier) throws UserProfilePictureVersionUnknownException, UserProfilePictureRepositoryException;
 
 }
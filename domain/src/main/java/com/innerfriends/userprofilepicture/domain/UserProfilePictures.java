@@ -39,6 +39,12 @@ public interface UserProfilePictures {
 
     List<? extends UserProfilePicture> userProfilePictures();
 
+    PageCursor nextPageCursor();
+
+    default boolean hasNextPage() {
+        return nextPageCursor() != null;
+    }
+
     default boolean canBeStoredInCache() {
         return featureState().canBeStoredInCache();
     }
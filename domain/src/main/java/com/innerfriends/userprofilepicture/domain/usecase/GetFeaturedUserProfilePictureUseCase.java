@@ -26,32 +26,76 @@ public class GetFeaturedUserProfilePictureUseCase<R> implements UseCase<R, GetFe
     public Uni<R> execute(final GetFeaturedUserProfilePictureCommand command,
                           final ResponseTransformer<R> responseTransformer) {
         return Uni.createFrom()
-                .deferred(() -> lockMechanism.lock(command.userPseudo()))
-                .chain(() -> userProfilePictureCacheRepository.get(command.userPseudo()))
-                .map(cachedUserProfilePictures -> {
-                    if (cachedUserProfilePictures.hasFeaturedInCache()) {
-                        return responseTransformer.toResponse(cachedUserProfilePictures.featured());
-                    }
-                    throw new UserProfileFeaturedNotInCacheException(command.userPseudo());
-                })
+                .deferred(() -> lockMechanism.lockShared(command.userPseudo()))
+                .chain(() -> userProfilePictureCacheRepository.get(command.userPseudo())
+                        .onFailure()
+                        .recoverWithNull()
+                        .chain(cachedUserProfilePictures -> {
+                            if (cachedUserProfilePictures == null) {
+                                return featured(command);
+                            }
+                            if (cachedUserProfilePictures.hasFeaturedInCache()) {
+                                return Uni.createFrom().item(cachedUserProfilePictures.featured());
+                            }
+                            if (cachedUserProfilePictures.hasLastAsFeaturedInCache(command.mediaType())) {
+                                return Uni.createFrom().item(cachedUserProfilePictures.lastAsFeatured());
+                            }
+                            if (cachedUserProfilePictures.hasNoPicturesYetInCache(command.mediaType())) {
+                                return Uni.createFrom().failure(new UserProfilePictureNotAvailableYetException(command.userPseudo()));
+                            }
+                            if (cachedUserProfilePictures.hasNoFeaturedYetInCache()) {
+                                return last(command);
+                            }
+                            return featured(command);
+                        })
+                        .map(userProfilePictureIdentifier -> responseTransformer.toResponse(userProfilePictureIdentifier))
+                        .onFailure(UserProfilePictureNotAvailableYetException.class)
+                        .recoverWithItem(profilePictureNotAvailableYetException -> responseTransformer.toResponse((UserProfilePictureNotAvailableYetException) profilePictureNotAvailableYetException))
+                        .onFailure(UserProfilePictureRepositoryException.class)
+                        .recoverWithItem(userProfilePictureRepositoryException -> responseTransformer.toResponse((UserProfilePictureRepositoryException) userProfilePictureRepositoryException))
+                        .onFailure()
+                        .recoverWithItem(exception -> responseTransformer.toResponse(exception))
+                        .onTermination()
+                        .call(() -> lockMechanism.unlockShared(command.userPseudo())
+                                .onFailure().recoverWithNull()))
+                .onFailure(LockAcquisitionTimeoutException.class)
+                .recoverWithItem(lockAcquisitionTimeoutException -> responseTransformer.toResponse((LockAcquisitionTimeoutException) lockAcquisitionTimeoutException))
                 .onFailure()
-                .recoverWithUni(() ->
-                                Uni.createFrom()
-                                        .deferred(() -> userProfilPictureFeaturedRepository.getFeatured(command.userPseudo()))
-                                        .chain(userProfilePictureIdentifier -> userProfilePictureCacheRepository.storeFeatured(command.userPseudo(), userProfilePictureIdentifier))
-                                        .map(cachedUserProfilePictures -> cachedUserProfilePictures.featured())
-                                        .onFailure()
-                                        .recoverWithUni(() -> userProfilePictureRepository.getLast(command.userPseudo(), command.mediaType()))
-                                        .map(userProfilePictureIdentifier -> responseTransformer.toResponse(userProfilePictureIdentifier))
-                                        .onFailure(UserProfilePictureNotAvailableYetException.class)
-                                        .recoverWithItem(profilePictureNotAvailableYetException -> responseTransformer.toResponse((UserProfilePictureNotAvailableYetException) profilePictureNotAvailableYetException))
-                                        .onFailure(UserProfilePictureRepositoryException.class)
-                                        .recoverWithItem(userProfilePictureRepositoryException -> responseTransformer.toResponse((UserProfilePictureRepositoryException) userProfilePictureRepositoryException))
-                                        .onFailure()
-                                        .recoverWithItem(exception -> responseTransformer.toResponse(exception))
-                )
-                .onTermination()
-                .invoke(() -> lockMechanism.unlock(command.userPseudo()));
+                .recoverWithItem(exception -> responseTransformer.toResponse(exception));
+    }
+
+    private Uni<UserProfilePictureIdentifier> featured(final GetFeaturedUserProfilePictureCommand command) {
+        return Uni.createFrom()
+                .deferred(() -> userProfilPictureFeaturedRepository.getFeatured(command.userPseudo()))
+                .chain(userProfilePictureIdentifier -> userProfilePictureCacheRepository.storeFeatured(command.userPseudo(), userProfilePictureIdentifier))
+                .map(cachedUserProfilePictures -> cachedUserProfilePictures.featured())
+                .onFailure(NoUserProfilPictureFeaturedYetException.class)
+                .call(() -> storeAbsence(command, CachedUserProfilePictures.Absence.NO_FEATURED_YET))
+                .onFailure()
+                .recoverWithUni(() -> last(command));
+    }
+
+    private Uni<UserProfilePictureIdentifier> last(final GetFeaturedUserProfilePictureCommand command) {
+        return userProfilePictureRepository.getLast(command.userPseudo(), command.mediaType())
+                .call(userProfilePictureIdentifier -> storeLastAsFeatured(command, userProfilePictureIdentifier))
+                .onFailure(UserProfilePictureNotAvailableYetException.class)
+                .call(() -> storeAbsence(command, CachedUserProfilePictures.Absence.NO_PICTURES_YET));
+    }
+
+    private Uni<CachedUserProfilePictures> storeLastAsFeatured(final GetFeaturedUserProfilePictureCommand command,
+                                                               final UserProfilePictureIdentifier last) {
+        // flagged apart from a selected featured picture: it is dropped as soon as a new version is saved
+        return Uni.createFrom()
+                .deferred(() -> userProfilePictureCacheRepository.storeLastAsFeatured(command.userPseudo(), last))
+                .onFailure().recoverWithNull();
+    }
+
+    private Uni<CachedUserProfilePictures> storeAbsence(final GetFeaturedUserProfilePictureCommand command,
+                                                        final CachedUserProfilePictures.Absence absence) {
+        // a negative result not cached is only looked up again on next call
+        return Uni.createFrom()
+                .deferred(() -> userProfilePictureCacheRepository.storeAbsence(command.userPseudo(), command.mediaType(), absence))
+                .onFailure().recoverWithNull();
     }
 
 }
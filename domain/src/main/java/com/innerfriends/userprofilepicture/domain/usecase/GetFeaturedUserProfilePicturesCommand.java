@@ -0,0 +1,43 @@
+package com.innerfriends.userprofilepicture.domain.usecase;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+public final class GetFeaturedUserProfilePicturesCommand {
+
+    private final Set<UserPseudo> userPseudos;
+
+    private final SupportedMediaType mediaType;
+
+    public GetFeaturedUserProfilePicturesCommand(final Set<UserPseudo> userPseudos, final SupportedMediaType mediaType) {
+        this.userPseudos = Collections.unmodifiableSet(new LinkedHashSet<>(Objects.requireNonNull(userPseudos)));
+        this.mediaType = Objects.requireNonNull(mediaType);
+    }
+
+    public Set<UserPseudo> userPseudos() {
+        return userPseudos;
+    }
+
+    public SupportedMediaType mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GetFeaturedUserProfilePicturesCommand)) return false;
+        GetFeaturedUserProfilePicturesCommand that = (GetFeaturedUserProfilePicturesCommand) o;
+        return Objects.equals(userPseudos, that.userPseudos) &&
+                mediaType == that.mediaType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userPseudos, mediaType);
+    }
+}
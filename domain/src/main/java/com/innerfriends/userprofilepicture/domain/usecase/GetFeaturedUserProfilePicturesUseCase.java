@@ -0,0 +1,101 @@
+package com.innerfriends.userprofilepicture.domain.usecase;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.Uni;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the featured pictures of many pseudos without lock nor cache write. A pseudo without any picture, or whose
+ * lookup failed, is absent from the response.
+ */
+public class GetFeaturedUserProfilePicturesUseCase<R> implements UseCase<R, GetFeaturedUserProfilePicturesCommand> {
+
+    private final UserProfilePictureRepository userProfilePictureRepository;
+    private final UserProfilePictureCacheRepository userProfilePictureCacheRepository;
+    private final UserProfilPictureFeaturedRepository userProfilPictureFeaturedRepository;
+
+    public GetFeaturedUserProfilePicturesUseCase(final UserProfilePictureRepository userProfilePictureRepository,
+                                                 final UserProfilePictureCacheRepository userProfilePictureCacheRepository,
+                                                 final UserProfilPictureFeaturedRepository userProfilPictureFeaturedRepository) {
+        this.userProfilePictureRepository = Objects.requireNonNull(userProfilePictureRepository);
+        this.userProfilePictureCacheRepository = Objects.requireNonNull(userProfilePictureCacheRepository);
+        this.userProfilPictureFeaturedRepository = Objects.requireNonNull(userProfilPictureFeaturedRepository);
+    }
+
+    @Override
+    public Uni<R> execute(final GetFeaturedUserProfilePicturesCommand command,
+                          final ResponseTransformer<R> responseTransformer) {
+        final Map<String, UserProfilePictureIdentifier> featuredByUserPseudo = new LinkedHashMap<>();
+        final Set<String> noFeaturedYet = new HashSet<>();
+        command.userPseudos().forEach(userPseudo -> featuredByUserPseudo.put(userPseudo.pseudo(), null));
+        return Uni.createFrom()
+                .deferred(() -> userProfilePictureCacheRepository.getAll(command.userPseudos()))
+                .onFailure()
+                .recoverWithItem(Collections::emptyList)
+                .chain(cachedUserProfilePictures -> {
+                    cachedUserProfilePictures.forEach(cached -> {
+                        if (cached.hasFeaturedInCache()) {
+                            featuredByUserPseudo.replace(cached.userPseudo().pseudo(), cached.featured());
+                        } else if (cached.hasLastAsFeaturedInCache(command.mediaType())) {
+                            featuredByUserPseudo.replace(cached.userPseudo().pseudo(), cached.lastAsFeatured());
+                        } else if (cached.hasNoPicturesYetInCache(command.mediaType())) {
+                            featuredByUserPseudo.remove(cached.userPseudo().pseudo());
+                        } else if (cached.hasNoFeaturedYetInCache()) {
+                            noFeaturedYet.add(cached.userPseudo().pseudo());
+                        }
+                    });
+                    final Set<UserPseudo> notInCache = notResolvedYet(command, featuredByUserPseudo);
+                    notInCache.removeIf(userPseudo -> noFeaturedYet.contains(userPseudo.pseudo()));
+                    // no round trip when everything is resolved
+                    return notInCache.isEmpty() ? Uni.createFrom().item(Collections.<UserProfilePictureIdentifier>emptyList())
+                            : Uni.createFrom()
+                                    .deferred(() -> userProfilPictureFeaturedRepository.getAllFeatured(notInCache))
+                                    .onFailure()
+                                    .recoverWithItem(() -> {
+                                        // their last picture is not their featured one
+                                        notInCache.forEach(userPseudo -> featuredByUserPseudo.remove(userPseudo.pseudo()));
+                                        return Collections.emptyList();
+                                    });
+                })
+                .chain(featuredUserProfilePictures -> {
+                    featuredUserProfilePictures
+                            .forEach(featured -> featuredByUserPseudo.replace(featured.userPseudo().pseudo(), featured));
+                    return lasts(notResolvedYet(command, featuredByUserPseudo), command.mediaType());
+                })
+                .map(lasts -> {
+                    lasts.forEach(last -> featuredByUserPseudo.replace(last.userPseudo().pseudo(), last));
+                    return responseTransformer.toResponse(new DomainFeaturedUserProfilePictures(featuredByUserPseudo.values().stream()
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList())));
+                })
+                .onFailure()
+                .recoverWithItem(exception -> responseTransformer.toResponse(exception));
+    }
+
+    private static Set<UserPseudo> notResolvedYet(final GetFeaturedUserProfilePicturesCommand command,
+                                                       final Map<String, UserProfilePictureIdentifier> featuredByUserPseudo) {
+        return command.userPseudos().stream()
+                .filter(userPseudo -> featuredByUserPseudo.containsKey(userPseudo.pseudo()) && featuredByUserPseudo.get(userPseudo.pseudo()) == null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private Uni<List<UserProfilePictureIdentifier>> lasts(final Set<UserPseudo> userPseudos, final SupportedMediaType mediaType) {
+        if (userPseudos.isEmpty()) {
+            return Uni.createFrom().item(Collections.emptyList());
+        }
+        final List<Uni<UserProfilePictureIdentifier>> lasts = userPseudos.stream()
+                .map(userPseudo -> Uni.createFrom()
+                        .deferred(() -> userProfilePictureRepository.getLast(userPseudo, mediaType))
+                        .onFailure()
+                        .recoverWithNull())
+                .collect(Collectors.toList());
+        return Uni.combine().all().unis(lasts)
+                .combinedWith(items -> items.stream()
+                        .filter(Objects::nonNull)
+                        .map(UserProfilePictureIdentifier.class::cast)
+                        .collect(Collectors.toList()));
+    }
+
+}
@@ -8,28 +8,22 @@ import java.util.Objects;
 public class GetUserProfilePictureByVersionUseCase<R> implements UseCase<R, GetUserUserProfilePictureByVersionCommand> {
 
     private final UserProfilePictureRepository userProfilePictureRepository;
-    private final LockMechanism lockMechanism;
 
-    public GetUserProfilePictureByVersionUseCase(final UserProfilePictureRepository userProfilePictureRepository,
-                                                 final LockMechanism lockMechanism) {
+    public GetUserProfilePictureByVersionUseCase(final UserProfilePictureRepository userProfilePictureRepository) {
         this.userProfilePictureRepository = Objects.requireNonNull(userProfilePictureRepository);
-        this.lockMechanism = Objects.requireNonNull(lockMechanism);
     }
 
     @Override
     public Uni<R> execute(final GetUserUserProfilePictureByVersionCommand command,
                           final ResponseTransformer<R> responseTransformer) {
         return Uni.createFrom()
-                .deferred(() -> lockMechanism.lock(command.userPseudo()))
-                .chain(() -> userProfilePictureRepository.getContentByVersionId(command))
-                .map(contentProfilePicture -> responseTransformer.toResponse(contentProfilePicture))
+                .deferred(() -> userProfilePictureRepository.streamContentByVersionId(command))
+                .map(streamedContentUserProfilePicture -> responseTransformer.toResponse(streamedContentUserProfilePicture))
                 .onFailure(UserProfilePictureVersionUnknownException.class)
                 .recoverWithItem(profilePictureVersionUnknownException -> responseTransformer.toResponse((UserProfilePictureVersionUnknownException) profilePictureVersionUnknownException))
                 .onFailure(UserProfilePictureRepositoryException.class)
                 .recoverWithItem(userProfilePictureRepositoryException -> responseTransformer.toResponse((UserProfilePictureRepositoryException) userProfilePictureRepositoryException))
                 .onFailure()
-                .recoverWithItem(exception -> responseTransformer.toResponse(exception))
-                .onTermination()
-                .invoke(() -> lockMechanism.unlock(command.userPseudo()));
+                .recoverWithItem(exception -> responseTransformer.toResponse(exception));
     }
 }
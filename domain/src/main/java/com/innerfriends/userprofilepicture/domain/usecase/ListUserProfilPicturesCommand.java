@@ -1,5 +1,6 @@
 package com.innerfriends.userprofilepicture.domain.usecase;
 
+import com.innerfriends.userprofilepicture.domain.PageCursor;
 import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UseCaseCommand;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
@@ -12,9 +13,18 @@ public final class ListUserProfilPicturesCommand implements UseCaseCommand {
 
     private final SupportedMediaType mediaType;
 
+    private final PageCursor pageCursor;
+
     public ListUserProfilPicturesCommand(final UserPseudo userPseudo, final SupportedMediaType mediaType) {
         this.userPseudo = Objects.requireNonNull(userPseudo);
         this.mediaType = Objects.requireNonNull(mediaType);
+        this.pageCursor = null;
+    }
+
+    public ListUserProfilPicturesCommand(final UserPseudo userPseudo, final SupportedMediaType mediaType, final PageCursor pageCursor) {
+        this.userPseudo = Objects.requireNonNull(userPseudo);
+        this.mediaType = Objects.requireNonNull(mediaType);
+        this.pageCursor = Objects.requireNonNull(pageCursor);
     }
 
     @Override
@@ -26,17 +36,26 @@ public final class ListUserProfilPicturesCommand implements UseCaseCommand {
         return mediaType;
     }
 
+    public PageCursor pageCursor() {
+        return pageCursor;
+    }
+
+    public boolean isFirstPage() {
+        return pageCursor == null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ListUserProfilPicturesCommand)) return false;
         ListUserProfilPicturesCommand that = (ListUserProfilPicturesCommand) o;
         return Objects.equals(userPseudo, that.userPseudo) &&
-                mediaType == that.mediaType;
+                mediaType == that.mediaType &&
+                Objects.equals(pageCursor, that.pageCursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(userPseudo, mediaType);
+        return Objects.hash(userPseudo, mediaType, pageCursor);
     }
 }
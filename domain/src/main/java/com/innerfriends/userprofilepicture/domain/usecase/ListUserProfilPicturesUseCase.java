@@ -4,6 +4,7 @@ import com.innerfriends.userprofilepicture.domain.*;
 import io.smallrye.mutiny.Uni;
 
 import java.util.Objects;
+import java.util.function.Function;
 
 public class ListUserProfilPicturesUseCase<R> implements UseCase<R, ListUserProfilPicturesCommand> {
 
@@ -11,6 +12,7 @@ public class ListUserProfilPicturesUseCase<R> implements UseCase<R, ListUserProf
     private final UserProfilePictureCacheRepository userProfilePictureCacheRepository;
     private final LockMechanism lockMechanism;
     private final UserProfilPictureFeaturedRepository userProfilPictureFeaturedRepository;
+    private final SingleFlight<ListUserProfilPicturesCommand, UserProfilePictures> singleFlight;
 
     public ListUserProfilPicturesUseCase(final UserProfilePictureRepository userProfilePictureRepository,
                                          final UserProfilePictureCacheRepository userProfilePictureCacheRepository,
@@ -20,47 +22,64 @@ public class ListUserProfilPicturesUseCase<R> implements UseCase<R, ListUserProf
         this.userProfilePictureCacheRepository = Objects.requireNonNull(userProfilePictureCacheRepository);
         this.lockMechanism = Objects.requireNonNull(lockMechanism);
         this.userProfilPictureFeaturedRepository = Objects.requireNonNull(userProfilPictureFeaturedRepository);
+        this.singleFlight = new SingleFlight<>();
     }
 
     @Override
     public Uni<R> execute(final ListUserProfilPicturesCommand command,
                           final ResponseTransformer<R> responseTransformer) {
         return Uni.createFrom()
-                .deferred(() -> lockMechanism.lock(command.userPseudo()))
-                .chain(() -> userProfilePictureCacheRepository.get(command.userPseudo()))
-                .map(cachedUserProfilePictures -> {
-                    if (cachedUserProfilePictures.hasUserProfilePictureIdentifiersInCache()) {
-                        return responseTransformer.toResponse(cachedUserProfilePictures);
-                    }
-                    throw new UserProfilePicturesNotInCacheException(command.userPseudo());
-                })
-                .onFailure()
-                .recoverWithUni(() ->
-                        Uni.createFrom()
-                                .deferred(() -> userProfilePictureRepository.listByUserPseudo(command.userPseudo(), command.mediaType()))
-                                .chain(userProfilePictureIdentifiers -> userProfilPictureFeaturedRepository.getFeatured(command.userPseudo())
-                                        .map(featuredUserProfilePictureIdentifier -> DomainUserProfilePictures.newBuilder()
-                                                .withFeaturedStateSelected(userProfilePictureIdentifiers, featuredUserProfilePictureIdentifier).build())
-                                        .onFailure(NoUserProfilPictureFeaturedYetException.class)
-                                        .recoverWithItem(() -> DomainUserProfilePictures.newBuilder()
-                                                .withFeaturedStateNotSelectedYet(userProfilePictureIdentifiers).build())
-                                        .onFailure(UserProfilPictureFeaturedRepositoryException.class)
-                                        .recoverWithItem(() -> DomainUserProfilePictures.newBuilder()
-                                                .withFeaturedStateInErrorWhenRetrieving(userProfilePictureIdentifiers).build())
+                .deferred(() -> lockMechanism.lockShared(command.userPseudo()))
+                .chain(() -> userProfilePictureCacheRepository.get(command.userPseudo(), command.mediaType(), command.pageCursor())
+                        .map(cachedUserProfilePictures -> {
+                            if (cachedUserProfilePictures.hasUserProfilePictureIdentifiersInCache()) {
+                                return responseTransformer.toResponse(cachedUserProfilePictures);
+                            }
+                            throw new UserProfilePicturesNotInCacheException(command.userPseudo());
+                        })
+                        .onFailure()
+                        .recoverWithUni(() ->
+                                singleFlight.execute(command, () -> Uni.combine().all()
+                                        .unis(userProfilePictureRepository.listByUserPseudo(command.userPseudo(), command.mediaType(), command.pageCursor()),
+                                                featuredUserProfilePictures(command))
+                                        .combinedWith((userProfilePictureIdentifiersPage, featuredUserProfilePictures) -> featuredUserProfilePictures.apply(userProfilePictureIdentifiersPage)))
+                                        // stored by each caller under its own lock, never by a rebuild whose callers have all left
+                                        .chain(userProfilePictures -> userProfilePictureCacheRepository.store(command.userPseudo(), command.mediaType(), command.pageCursor(), userProfilePictures)
+                                                .onItemOrFailure().transform((item, exception) -> userProfilePictures))
+                                        .map(domainUserProfilePictures -> responseTransformer.toResponse(domainUserProfilePictures))
+                                        .onFailure(UserProfilePicturesPageCursorInvalidException.class)
+                                        .recoverWithItem(userProfilePicturesPageCursorInvalidException -> responseTransformer.toResponse((UserProfilePicturesPageCursorInvalidException) userProfilePicturesPageCursorInvalidException))
+                                        .onFailure(UserProfilePictureRepositoryException.class)
+                                        .recoverWithItem(userProfilePictureRepositoryException -> responseTransformer.toResponse((UserProfilePictureRepositoryException) userProfilePictureRepositoryException))
                                         .onFailure()
-                                        .recoverWithItem(() -> DomainUserProfilePictures.newBuilder()
-                                                .withFeaturedStateInErrorWhenRetrieving(userProfilePictureIdentifiers).build())
-                                )
-                                .chain(userProfilePictures -> userProfilePictureCacheRepository.store(command.userPseudo(), userProfilePictures)
-                                        .onItemOrFailure().transform((item, exception) -> userProfilePictures))
-                                .map(domainUserProfilePictures -> responseTransformer.toResponse(domainUserProfilePictures))
-                                .onFailure(UserProfilePictureRepositoryException.class)
-                                .recoverWithItem(userProfilePictureRepositoryException -> responseTransformer.toResponse((UserProfilePictureRepositoryException) userProfilePictureRepositoryException))
-                                .onFailure()
-                                .recoverWithItem(exception -> responseTransformer.toResponse(exception))
-                )
-                .onTermination()
-                .invoke(() -> lockMechanism.unlock(command.userPseudo()));
+                                        .recoverWithItem(exception -> responseTransformer.toResponse(exception))
+                        )
+                        .onTermination()
+                        .call(() -> lockMechanism.unlockShared(command.userPseudo())
+                                .onFailure().recoverWithNull()))
+                .onFailure(LockAcquisitionTimeoutException.class)
+                .recoverWithItem(lockAcquisitionTimeoutException -> responseTransformer.toResponse((LockAcquisitionTimeoutException) lockAcquisitionTimeoutException))
+                .onFailure()
+                .recoverWithItem(exception -> responseTransformer.toResponse(exception));
+    }
+
+    private Uni<Function<UserProfilePictureIdentifiersPage, UserProfilePictures>> featuredUserProfilePictures(final ListUserProfilPicturesCommand command) {
+        return userProfilPictureFeaturedRepository.getFeatured(command.userPseudo())
+                .<Function<UserProfilePictureIdentifiersPage, UserProfilePictures>>map(featuredUserProfilePictureIdentifier -> userProfilePictureIdentifiersPage -> DomainUserProfilePictures.newBuilder()
+                        .withFeaturedStateSelected(userProfilePictureIdentifiersPage.userProfilePictureIdentifiers(), featuredUserProfilePictureIdentifier)
+                        .withNextPageCursor(userProfilePictureIdentifiersPage.nextPageCursor()).build())
+                .onFailure(NoUserProfilPictureFeaturedYetException.class)
+                .recoverWithItem(() -> userProfilePictureIdentifiersPage -> DomainUserProfilePictures.newBuilder()
+                        .withFeaturedStateNotSelectedYet(userProfilePictureIdentifiersPage.userProfilePictureIdentifiers())
+                        .withNextPageCursor(userProfilePictureIdentifiersPage.nextPageCursor()).build())
+                .onFailure(UserProfilPictureFeaturedRepositoryException.class)
+                .recoverWithItem(() -> userProfilePictureIdentifiersPage -> DomainUserProfilePictures.newBuilder()
+                        .withFeaturedStateInErrorWhenRetrieving(userProfilePictureIdentifiersPage.userProfilePictureIdentifiers())
+                        .withNextPageCursor(userProfilePictureIdentifiersPage.nextPageCursor()).build())
+                .onFailure()
+                .recoverWithItem(() -> userProfilePictureIdentifiersPage -> DomainUserProfilePictures.newBuilder()
+                        .withFeaturedStateInErrorWhenRetrieving(userProfilePictureIdentifiersPage.userProfilePictureIdentifiers())
+                        .withNextPageCursor(userProfilePictureIdentifiersPage.nextPageCursor()).build());
     }
 
 }
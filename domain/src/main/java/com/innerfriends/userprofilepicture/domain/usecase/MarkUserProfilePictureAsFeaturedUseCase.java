@@ -23,16 +23,22 @@ public class MarkUserProfilePictureAsFeaturedUseCase<R> implements UseCase<R, Ma
     public Uni<R> execute(final MarkUserProfilePictureAsFeaturedCommand command, final ResponseTransformer<R> responseTransformer) {
         return Uni.createFrom()
                 .deferred(() -> lockMechanism.lock(command.userPseudo()))
-                .chain(() -> userProfilPictureFeaturedRepository.markAsFeatured(command))
-                .chain(userProfilePictureIdentifier -> userProfilePictureCacheRepository.evict(command.userPseudo())
-                        .onItemOrFailure().transform((item, exception) -> userProfilePictureIdentifier))
-                .map(userProfilePictureIdentifier -> responseTransformer.toResponse(userProfilePictureIdentifier))
-                .onFailure(UserProfilPictureFeaturedRepositoryException.class)
-                .recoverWithItem(userProfilPictureFeaturedRepositoryException -> responseTransformer.toResponse((UserProfilPictureFeaturedRepositoryException) userProfilPictureFeaturedRepositoryException))
-                .onFailure(RuntimeException.class)
-                .recoverWithItem(userProfilPictureFeaturedRepositoryException -> responseTransformer.toResponse(userProfilPictureFeaturedRepositoryException))
-                .onTermination()
-                .invoke(() -> lockMechanism.unlock(command.userPseudo()));
+                .chain(() -> userProfilPictureFeaturedRepository.markAsFeatured(command)
+                        .chain(userProfilePictureIdentifier -> userProfilePictureCacheRepository.storeFeatured(command.userPseudo(), userProfilePictureIdentifier)
+                                .onFailure().call(() -> userProfilePictureCacheRepository.evict(command.userPseudo()))
+                                .onItemOrFailure().transform((item, exception) -> userProfilePictureIdentifier))
+                        .map(userProfilePictureIdentifier -> responseTransformer.toResponse(userProfilePictureIdentifier))
+                        .onFailure(UserProfilPictureFeaturedRepositoryException.class)
+                        .recoverWithItem(userProfilPictureFeaturedRepositoryException -> responseTransformer.toResponse((UserProfilPictureFeaturedRepositoryException) userProfilPictureFeaturedRepositoryException))
+                        .onFailure(RuntimeException.class)
+                        .recoverWithItem(userProfilPictureFeaturedRepositoryException -> responseTransformer.toResponse(userProfilPictureFeaturedRepositoryException))
+                        .onTermination()
+                        .call(() -> lockMechanism.unlock(command.userPseudo())
+                                .onFailure().recoverWithNull()))
+                .onFailure(LockAcquisitionTimeoutException.class)
+                .recoverWithItem(lockAcquisitionTimeoutException -> responseTransformer.toResponse((LockAcquisitionTimeoutException) lockAcquisitionTimeoutException))
+                .onFailure()
+                .recoverWithItem(exception -> responseTransformer.toResponse(exception));
     }
 
 }
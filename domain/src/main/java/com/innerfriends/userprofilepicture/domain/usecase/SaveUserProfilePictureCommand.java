@@ -4,18 +4,19 @@ import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UseCaseCommand;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 
-import java.util.Arrays;
+import java.io.InputStream;
 import java.util.Objects;
 
 public final class SaveUserProfilePictureCommand implements UseCaseCommand {
 
     private final UserPseudo userPseudo;
 
-    private final byte[] picture;
+    // a stream has no value to compare: left out of equals and hashCode
+    private final InputStream picture;
 
     private final SupportedMediaType mediaType;
 
-    public SaveUserProfilePictureCommand(final UserPseudo userPseudo, final byte[] picture, final SupportedMediaType mediaType) {
+    public SaveUserProfilePictureCommand(final UserPseudo userPseudo, final InputStream picture, final SupportedMediaType mediaType) {
         this.userPseudo = Objects.requireNonNull(userPseudo);
         this.picture = Objects.requireNonNull(picture);
         this.mediaType = Objects.requireNonNull(mediaType);
@@ -26,7 +27,7 @@ public final class SaveUserProfilePictureCommand implements UseCaseCommand {
         return userPseudo;
     }
 
-    public byte[] picture() {
+    public InputStream picture() {
         return picture;
     }
 
@@ -40,14 +41,11 @@ public final class SaveUserProfilePictureCommand implements UseCaseCommand {
         if (!(o instanceof SaveUserProfilePictureCommand)) return false;
         SaveUserProfilePictureCommand that = (SaveUserProfilePictureCommand) o;
         return Objects.equals(userPseudo, that.userPseudo) &&
-                Arrays.equals(picture, that.picture) &&
                 mediaType == that.mediaType;
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(userPseudo, mediaType);
-        result = 31 * result + Arrays.hashCode(picture);
-        return result;
+        return Objects.hash(userPseudo, mediaType);
     }
 }
@@ -24,16 +24,22 @@ public class SaveUserProfilePictureUseCase<R> implements UseCase<R, SaveUserProf
                           final ResponseTransformer<R> responseTransformer) {
         return Uni.createFrom()
                 .deferred(() -> lockMechanism.lock(command.userPseudo()))
-                .chain(() -> userProfilePictureRepository.save(command.userPseudo(), command.picture(), command.mediaType()))
-                .chain(profilePictureSaved -> userProfilePictureCacheRepository.evict(command.userPseudo())
-                        .onItemOrFailure().transform((item, exception) -> profilePictureSaved))
-                .map(profilePictureSaved -> responseTransformer.toResponse(profilePictureSaved))
-                .onFailure(UserProfilePictureRepositoryException.class)
-                .recoverWithItem(userProfilePictureRepositoryException -> responseTransformer.toResponse((UserProfilePictureRepositoryException) userProfilePictureRepositoryException))
+                .chain(() -> userProfilePictureRepository.save(command.userPseudo(), command.picture(), command.mediaType())
+                        .chain(profilePictureSaved -> userProfilePictureCacheRepository.storeNewVersion(command.userPseudo(), profilePictureSaved)
+                                .onFailure().call(() -> userProfilePictureCacheRepository.evict(command.userPseudo()))
+                                .onItemOrFailure().transform((item, exception) -> profilePictureSaved))
+                        .map(profilePictureSaved -> responseTransformer.toResponse(profilePictureSaved))
+                        .onFailure(UserProfilePictureRepositoryException.class)
+                        .recoverWithItem(userProfilePictureRepositoryException -> responseTransformer.toResponse((UserProfilePictureRepositoryException) userProfilePictureRepositoryException))
+                        .onFailure()
+                        .recoverWithItem(exception -> responseTransformer.toResponse(exception))
+                        .onTermination()
+                        .call(() -> lockMechanism.unlock(command.userPseudo())
+                                .onFailure().recoverWithNull()))
+                .onFailure(LockAcquisitionTimeoutException.class)
+                .recoverWithItem(lockAcquisitionTimeoutException -> responseTransformer.toResponse((LockAcquisitionTimeoutException) lockAcquisitionTimeoutException))
                 .onFailure()
-                .recoverWithItem(exception -> responseTransformer.toResponse(exception))
-                .onTermination()
-                .invoke(() -> lockMechanism.unlock(command.userPseudo()));
+                .recoverWithItem(exception -> responseTransformer.toResponse(exception));
     }
 
 }
@@ -0,0 +1,39 @@
+package com.innerfriends.userprofilepicture.domain.usecase;
+
+import io.smallrye.mutiny.Uni;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions sharing the same key: only the first one subscribes to the supplied Uni, the others
+ * wait for its outcome. The key is released as soon as the shared Uni terminates or one of its subscribers cancels, so
+ * later executions never join a Uni left running by a subscriber gone.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Uni<V>> inFlight;
+
+    public SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    public Uni<V> execute(final K key, final Supplier<Uni<? extends V>> supplier) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(supplier);
+        return Uni.createFrom()
+                .deferred(() -> {
+                    final Uni<V> shared = inFlight.computeIfAbsent(key, k -> Uni.createFrom()
+                            .deferred(supplier)
+                            .onTermination()
+                            .invoke(() -> inFlight.remove(k))
+                            .memoize().indefinitely());
+                    return shared
+                            .onCancellation()
+                            .invoke(() -> inFlight.remove(key, shared));
+                });
+    }
+
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 public class CachedUserProfilePicturesTest {
@@ -57,4 +58,46 @@ public class CachedUserProfilePicturesTest {
         verify(cachedUserProfilePictures, times(1)).userProfilePictureIdentifiers();
     }
 
+    @Test
+    public void should_have_last_as_featured_in_cache_for_its_media_type_only() {
+        // Given
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        final UserProfilePictureIdentifier last = mock(UserProfilePictureIdentifier.class);
+        doReturn(SupportedMediaType.IMAGE_JPEG).when(last).mediaType();
+        doReturn(last).when(cachedUserProfilePictures).lastAsFeatured();
+        when(cachedUserProfilePictures.hasLastAsFeaturedInCache(any())).thenCallRealMethod();
+
+        // When && Then
+        assertThat(cachedUserProfilePictures.hasLastAsFeaturedInCache(SupportedMediaType.IMAGE_JPEG)).isTrue();
+        assertThat(cachedUserProfilePictures.hasLastAsFeaturedInCache(mock(SupportedMediaType.class))).isFalse();
+    }
+
+    @Test
+    public void should_have_no_pictures_yet_in_cache_for_its_media_type_only() {
+        // Given
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(CachedUserProfilePictures.Absence.NO_PICTURES_YET).when(cachedUserProfilePictures).absence();
+        doReturn(SupportedMediaType.IMAGE_JPEG).when(cachedUserProfilePictures).absenceMediaType();
+        when(cachedUserProfilePictures.hasNoPicturesYetInCache(any())).thenCallRealMethod();
+
+        // When && Then
+        assertThat(cachedUserProfilePictures.hasNoPicturesYetInCache(SupportedMediaType.IMAGE_JPEG)).isTrue();
+        assertThat(cachedUserProfilePictures.hasNoPicturesYetInCache(mock(SupportedMediaType.class))).isFalse();
+    }
+
+    @Test
+    public void should_have_no_featured_yet_in_cache_only_when_cached_absence_is_no_featured_yet() {
+        // Given
+        final CachedUserProfilePictures noFeaturedYet = mock(CachedUserProfilePictures.class);
+        doReturn(CachedUserProfilePictures.Absence.NO_FEATURED_YET).when(noFeaturedYet).absence();
+        when(noFeaturedYet.hasNoFeaturedYetInCache()).thenCallRealMethod();
+        final CachedUserProfilePictures noPicturesYet = mock(CachedUserProfilePictures.class);
+        doReturn(CachedUserProfilePictures.Absence.NO_PICTURES_YET).when(noPicturesYet).absence();
+        when(noPicturesYet.hasNoFeaturedYetInCache()).thenCallRealMethod();
+
+        // When && Then
+        assertThat(noFeaturedYet.hasNoFeaturedYetInCache()).isTrue();
+        assertThat(noPicturesYet.hasNoFeaturedYetInCache()).isFalse();
+    }
+
 }
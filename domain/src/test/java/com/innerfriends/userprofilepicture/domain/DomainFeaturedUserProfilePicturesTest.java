@@ -0,0 +1,21 @@
+package com.innerfriends.userprofilepicture.domain;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+public class DomainFeaturedUserProfilePicturesTest {
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(DomainFeaturedUserProfilePictures.class).verify();
+    }
+
+    @Test
+    public void should_fail_fast_when_featured_user_profile_pictures_is_null() {
+        assertThatThrownBy(() -> new DomainFeaturedUserProfilePictures(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+}
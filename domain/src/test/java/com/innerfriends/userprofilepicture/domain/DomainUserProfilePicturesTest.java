@@ -83,6 +83,45 @@ public class DomainUserProfilePicturesTest {
         );
     }
 
+    @Test
+    public void should_not_mark_last_user_profile_picture_as_featured_when_featured_state_not_selected_yet_and_next_page_exists() {
+        // Given
+        final PageCursor nextPageCursor = () -> "next";
+
+        // When
+        final DomainUserProfilePictures actual = DomainUserProfilePictures.newBuilder()
+                .withFeaturedStateNotSelectedYet(buildUserProfilePictureIdentifiers())
+                .withNextPageCursor(nextPageCursor)
+                .build();
+
+        // Then
+        assertThat(actual.featureState()).isEqualTo(UserProfilePictures.FeatureState.NOT_SELECTED_YET);
+        assertThat(actual.userProfilePictures()).isEqualTo(
+                List.of(
+                        new DomainUserProfilePicture(new TestUserProfilePictureIdentifier("v1"), false),
+                        new DomainUserProfilePicture(new TestUserProfilePictureIdentifier("v2"), false),
+                        new DomainUserProfilePicture(new TestUserProfilePictureIdentifier("v3"), false)
+                )
+        );
+        assertThat(actual.nextPageCursor()).isEqualTo(nextPageCursor);
+        assertThat(actual.hasNextPage()).isTrue();
+    }
+
+    @Test
+    public void should_not_have_next_page_when_built_without_next_page_cursor() {
+        // Given
+
+        // When
+        final DomainUserProfilePictures actual = DomainUserProfilePictures.newBuilder()
+                .withFeaturedStateSelected(buildUserProfilePictureIdentifiers(),
+                        new TestUserProfilePictureIdentifier("v2"))
+                .build();
+
+        // Then
+        assertThat(actual.nextPageCursor()).isNull();
+        assertThat(actual.hasNextPage()).isFalse();
+    }
+
     private List<UserProfilePictureIdentifier> buildUserProfilePictureIdentifiers() {
         return List.of(new TestUserProfilePictureIdentifier("v1"),
                 new TestUserProfilePictureIdentifier("v2"),
@@ -42,7 +42,8 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
         doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
 
         // When
         final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePictureUseCase.execute(
@@ -52,12 +53,12 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        verify(lockMechanism, times(1)).lock(userPseudo);
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
         verify(userProfilePictureCacheRepository, times(1)).get(any());
         verify(cachedUserProfilePictures, times(1)).hasFeaturedInCache();
         verify(cachedUserProfilePictures, times(1)).featured();
         verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
-        verify(lockMechanism, times(1)).unlock(userPseudo);
+        verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
@@ -75,7 +76,8 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
         doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).storeFeatured(userPseudo, userProfilePictureIdentifier);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
 
         // When
@@ -86,12 +88,12 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
         inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
         inOrder.verify(userProfilePictureCacheRepository, times(1)).storeFeatured(any(), any(UserProfilePictureIdentifier.class));
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verify(cachedUserProfilePictures, times(1)).featured();
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
     }
@@ -104,11 +106,14 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
         final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
         doReturn(Uni.createFrom().failure(new NoUserProfilPictureFeaturedYetException(userPseudo))).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).storeAbsence(userPseudo, supportedMediaType, CachedUserProfilePictures.Absence.NO_FEATURED_YET);
         doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilePictureRepository).getLast(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).storeLastAsFeatured(userPseudo, userProfilePictureIdentifier);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
 
         // When
@@ -119,12 +124,14 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
         inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeAbsence(userPseudo, supportedMediaType, CachedUserProfilePictures.Absence.NO_FEATURED_YET);
         inOrder.verify(userProfilePictureRepository, times(1)).getLast(any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeLastAsFeatured(userPseudo, userProfilePictureIdentifier);
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
@@ -137,10 +144,12 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
         doReturn(Uni.createFrom().failure(new UserProfilPictureFeaturedRepositoryException())).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilePictureRepository).getLast(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).storeLastAsFeatured(userPseudo, userProfilePictureIdentifier);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
 
         // When
@@ -151,12 +160,13 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
         inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
         inOrder.verify(userProfilePictureRepository, times(1)).getLast(any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeLastAsFeatured(userPseudo, userProfilePictureIdentifier);
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
@@ -169,10 +179,12 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
         doReturn(Uni.createFrom().failure(new UserProfilPictureFeaturedRepositoryException())).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         doReturn(Uni.createFrom().failure(userProfilePictureNotAvailableYetException)).when(userProfilePictureRepository).getLast(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).storeAbsence(userPseudo, supportedMediaType, CachedUserProfilePictures.Absence.NO_PICTURES_YET);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureNotAvailableYetException);
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
 
         // When
@@ -183,12 +195,13 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
         inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
         inOrder.verify(userProfilePictureRepository, times(1)).getLast(any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeAbsence(userPseudo, supportedMediaType, CachedUserProfilePictures.Absence.NO_PICTURES_YET);
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureNotAvailableYetException.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
@@ -204,7 +217,8 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureRepositoryException);
         doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
 
         // When
@@ -215,13 +229,192 @@ public class GetFeaturedUserProfilePictureUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
         inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
         inOrder.verify(userProfilePictureRepository, times(1)).getLast(any(), any());
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureRepositoryException.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
+    @Test
+    public void should_get_last_user_profile_picture_from_cache_when_cached_as_featured_for_the_media_type() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(true).when(cachedUserProfilePictures).hasLastAsFeaturedInCache(SupportedMediaType.IMAGE_JPEG);
+        doReturn(userProfilePictureIdentifier).when(cachedUserProfilePictures).lastAsFeatured();
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePictureUseCase.execute(
+                new GetFeaturedUserProfilePictureCommand(userPseudo, SupportedMediaType.IMAGE_JPEG),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).get(any());
+        verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
+        verify(lockMechanism, times(1)).unlockShared(userPseudo);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, lockMechanism);
+    }
+
+    @Test
+    public void should_get_last_user_profile_picture_without_querying_featured_repository_when_no_featured_yet_is_cached() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(true).when(cachedUserProfilePictures).hasNoFeaturedYetInCache();
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
+        doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilePictureRepository).getLast(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).storeLastAsFeatured(userPseudo, userProfilePictureIdentifier);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePictureUseCase.execute(
+                new GetFeaturedUserProfilePictureCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).get(any());
+        verify(userProfilePictureRepository, times(1)).getLast(any(), any());
+        verify(userProfilePictureCacheRepository, times(1)).storeLastAsFeatured(userPseudo, userProfilePictureIdentifier);
+        verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
+        verify(lockMechanism, times(1)).unlockShared(userPseudo);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, lockMechanism);
+    }
+
+    @Test
+    public void should_get_featured_user_profile_picture_when_no_pictures_yet_is_cached_for_another_media_type() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(CachedUserProfilePictures.Absence.NO_PICTURES_YET).when(cachedUserProfilePictures).absence();
+        doReturn(SupportedMediaType.IMAGE_JPEG).when(cachedUserProfilePictures).absenceMediaType();
+        when(cachedUserProfilePictures.hasNoPicturesYetInCache(any())).thenCallRealMethod();
+        when(cachedUserProfilePictures.hasNoFeaturedYetInCache()).thenCallRealMethod();
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
+        doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        final CachedUserProfilePictures storedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(userProfilePictureIdentifier).when(storedUserProfilePictures).featured();
+        doReturn(Uni.createFrom().item(storedUserProfilePictures)).when(userProfilePictureCacheRepository).storeFeatured(userPseudo, userProfilePictureIdentifier);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePictureUseCase.execute(
+                new GetFeaturedUserProfilePictureCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).get(any());
+        verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(userPseudo);
+        verify(userProfilePictureCacheRepository, times(1)).storeFeatured(userPseudo, userProfilePictureIdentifier);
+        verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
+        verify(lockMechanism, times(1)).unlockShared(userPseudo);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, lockMechanism);
+    }
+
+    @Test
+    public void should_respond_not_available_yet_without_querying_repositories_when_no_pictures_yet_is_cached() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(true).when(cachedUserProfilePictures).hasNoFeaturedYetInCache();
+        doReturn(true).when(cachedUserProfilePictures).hasNoPicturesYetInCache(supportedMediaType);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(any(UserProfilePictureNotAvailableYetException.class));
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePictureUseCase.execute(
+                new GetFeaturedUserProfilePictureCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).get(any());
+        verify(testResponseTransformer).toResponse(any(UserProfilePictureNotAvailableYetException.class));
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
+        verify(lockMechanism, times(1)).unlockShared(userPseudo);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, lockMechanism);
+    }
+
+    @Test
+    public void should_respond_even_when_the_absence_cannot_be_cached() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).get(userPseudo);
+        doReturn(Uni.createFrom().failure(new NoUserProfilPictureFeaturedYetException(userPseudo))).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        doReturn(Uni.createFrom().failure(new RuntimeException())).when(userProfilePictureCacheRepository).storeAbsence(userPseudo, supportedMediaType, CachedUserProfilePictures.Absence.NO_FEATURED_YET);
+        doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilePictureRepository).getLast(userPseudo, supportedMediaType);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePictureUseCase.execute(
+                new GetFeaturedUserProfilePictureCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).storeAbsence(userPseudo, supportedMediaType, CachedUserProfilePictures.Absence.NO_FEATURED_YET);
+        verify(userProfilePictureRepository, times(1)).getLast(any(), any());
+    }
+
+    @Test
+    public void should_handle_lock_acquisition_timeout_exception() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final LockAcquisitionTimeoutException lockAcquisitionTimeoutException = new LockAcquisitionTimeoutException(userPseudo);
+        doReturn(Uni.createFrom().failure(lockAcquisitionTimeoutException)).when(lockMechanism).lockShared(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePictureUseCase.execute(
+                new GetFeaturedUserProfilePictureCommand(userPseudo, mock(SupportedMediaType.class)),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
+        verify(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository,
+                userProfilPictureFeaturedRepository, lockMechanism);
+    }
+
 }
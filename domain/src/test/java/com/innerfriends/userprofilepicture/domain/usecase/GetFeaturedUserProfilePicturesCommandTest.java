@@ -0,0 +1,53 @@
+package com.innerfriends.userprofilepicture.domain.usecase;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class GetFeaturedUserProfilePicturesCommandTest {
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(GetFeaturedUserProfilePicturesCommand.class).verify();
+    }
+
+    @Test
+    public void should_fail_fast_when_user_pseudos_is_null() {
+        assertThatThrownBy(() -> new GetFeaturedUserProfilePicturesCommand(null, mock(SupportedMediaType.class)))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_fail_fast_when_media_type_is_null() {
+        assertThatThrownBy(() -> new GetFeaturedUserProfilePicturesCommand(Set.of(), null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_return_user_pseudos() {
+        // Given
+        final UserPseudo givenUserPseudo = mock(UserPseudo.class);
+
+        // When && Then
+        assertThat(new GetFeaturedUserProfilePicturesCommand(Set.of(givenUserPseudo), mock(SupportedMediaType.class)).userPseudos())
+                .containsExactly(givenUserPseudo);
+    }
+
+    @Test
+    public void should_return_media_type() {
+        // Given
+        final SupportedMediaType givenMediaType = mock(SupportedMediaType.class);
+
+        // When && Then
+        assertThat(new GetFeaturedUserProfilePicturesCommand(Set.of(), givenMediaType).mediaType())
+                .isEqualTo(givenMediaType);
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.innerfriends.userprofilepicture.domain.usecase;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class GetFeaturedUserProfilePicturesUseCaseTest {
+
+    private UserProfilePictureRepository userProfilePictureRepository;
+    private UserProfilePictureCacheRepository userProfilePictureCacheRepository;
+    private UserProfilPictureFeaturedRepository userProfilPictureFeaturedRepository;
+    private GetFeaturedUserProfilePicturesUseCase<Response> getFeaturedUserProfilePicturesUseCase;
+    private TestResponseTransformer testResponseTransformer;
+
+    private final UserPseudo inCache = () -> "inCache";
+    private final UserPseudo featured = () -> "featured";
+    private final UserPseudo notFeaturedYet = () -> "notFeaturedYet";
+    private final UserPseudo withoutPicture = () -> "withoutPicture";
+
+    @BeforeEach
+    public void setup() {
+        userProfilePictureRepository = mock(UserProfilePictureRepository.class);
+        userProfilePictureCacheRepository = mock(UserProfilePictureCacheRepository.class);
+        userProfilPictureFeaturedRepository = mock(UserProfilPictureFeaturedRepository.class);
+        getFeaturedUserProfilePicturesUseCase = new GetFeaturedUserProfilePicturesUseCase<>(userProfilePictureRepository,
+                userProfilePictureCacheRepository, userProfilPictureFeaturedRepository);
+        testResponseTransformer = mock(TestResponseTransformer.class);
+    }
+
+    @Test
+    public void should_resolve_from_cache_then_featured_repository_then_last_picture() {
+        // Given
+        final Set<UserPseudo> userPseudos = new LinkedHashSet<>(List.of(inCache, featured, notFeaturedYet, withoutPicture));
+        final UserProfilePictureIdentifier inCacheIdentifier = identifier(inCache);
+        final UserProfilePictureIdentifier featuredIdentifier = identifier(featured);
+        final UserProfilePictureIdentifier notFeaturedYetIdentifier = identifier(notFeaturedYet);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(inCache).when(cachedUserProfilePictures).userPseudo();
+        doReturn(true).when(cachedUserProfilePictures).hasFeaturedInCache();
+        doReturn(inCacheIdentifier).when(cachedUserProfilePictures).featured();
+        doReturn(Uni.createFrom().item(List.of(cachedUserProfilePictures))).when(userProfilePictureCacheRepository).getAll(userPseudos);
+        doReturn(Uni.createFrom().item(List.of(featuredIdentifier))).when(userProfilPictureFeaturedRepository)
+                .getAllFeatured(Set.of(featured, notFeaturedYet, withoutPicture));
+        doReturn(Uni.createFrom().item(notFeaturedYetIdentifier)).when(userProfilePictureRepository).getLast(notFeaturedYet, SupportedMediaType.IMAGE_JPEG);
+        doReturn(Uni.createFrom().failure(new UserProfilePictureNotAvailableYetException(withoutPicture))).when(userProfilePictureRepository)
+                .getLast(withoutPicture, SupportedMediaType.IMAGE_JPEG);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(
+                new DomainFeaturedUserProfilePictures(List.of(inCacheIdentifier, featuredIdentifier, notFeaturedYetIdentifier)));
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePicturesUseCase.execute(
+                new GetFeaturedUserProfilePicturesCommand(userPseudos, SupportedMediaType.IMAGE_JPEG), testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).getAll(any());
+        verify(userProfilPictureFeaturedRepository, times(1)).getAllFeatured(any());
+        verify(userProfilePictureRepository, times(2)).getLast(any(), any());
+        verify(testResponseTransformer, times(1)).toResponse(any(FeaturedUserProfilePictures.class));
+        verifyNoMoreInteractions(userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, testResponseTransformer);
+    }
+
+    @Test
+    public void should_resolve_last_picture_cached_as_featured_for_the_media_type() {
+        // Given
+        final Set<UserPseudo> userPseudos = new LinkedHashSet<>(List.of(notFeaturedYet));
+        final UserProfilePictureIdentifier notFeaturedYetIdentifier = identifier(notFeaturedYet);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(notFeaturedYet).when(cachedUserProfilePictures).userPseudo();
+        doReturn(true).when(cachedUserProfilePictures).hasLastAsFeaturedInCache(SupportedMediaType.IMAGE_JPEG);
+        doReturn(notFeaturedYetIdentifier).when(cachedUserProfilePictures).lastAsFeatured();
+        doReturn(Uni.createFrom().item(List.of(cachedUserProfilePictures))).when(userProfilePictureCacheRepository).getAll(userPseudos);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(new DomainFeaturedUserProfilePictures(List.of(notFeaturedYetIdentifier)));
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePicturesUseCase.execute(
+                new GetFeaturedUserProfilePicturesCommand(userPseudos, SupportedMediaType.IMAGE_JPEG), testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).getAll(any());
+        verify(testResponseTransformer, times(1)).toResponse(any(FeaturedUserProfilePictures.class));
+        verifyNoMoreInteractions(userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, testResponseTransformer);
+    }
+
+    @Test
+    public void should_honor_absences_cached() {
+        // Given
+        final Set<UserPseudo> userPseudos = new LinkedHashSet<>(List.of(notFeaturedYet, withoutPicture));
+        final UserProfilePictureIdentifier notFeaturedYetIdentifier = identifier(notFeaturedYet);
+        final CachedUserProfilePictures notFeaturedYetCached = mock(CachedUserProfilePictures.class);
+        doReturn(notFeaturedYet).when(notFeaturedYetCached).userPseudo();
+        doReturn(true).when(notFeaturedYetCached).hasNoFeaturedYetInCache();
+        final CachedUserProfilePictures withoutPictureCached = mock(CachedUserProfilePictures.class);
+        doReturn(withoutPicture).when(withoutPictureCached).userPseudo();
+        doReturn(true).when(withoutPictureCached).hasNoFeaturedYetInCache();
+        doReturn(true).when(withoutPictureCached).hasNoPicturesYetInCache(SupportedMediaType.IMAGE_JPEG);
+        doReturn(Uni.createFrom().item(List.of(notFeaturedYetCached, withoutPictureCached))).when(userProfilePictureCacheRepository).getAll(userPseudos);
+        doReturn(Uni.createFrom().item(notFeaturedYetIdentifier)).when(userProfilePictureRepository).getLast(notFeaturedYet, SupportedMediaType.IMAGE_JPEG);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(new DomainFeaturedUserProfilePictures(List.of(notFeaturedYetIdentifier)));
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePicturesUseCase.execute(
+                new GetFeaturedUserProfilePicturesCommand(userPseudos, SupportedMediaType.IMAGE_JPEG), testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).getAll(any());
+        verify(userProfilePictureRepository, times(1)).getLast(notFeaturedYet, SupportedMediaType.IMAGE_JPEG);
+        verify(testResponseTransformer, times(1)).toResponse(any(FeaturedUserProfilePictures.class));
+        verifyNoMoreInteractions(userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, testResponseTransformer);
+    }
+
+    @Test
+    public void should_not_call_repositories_when_everything_is_in_cache() {
+        // Given
+        final UserProfilePictureIdentifier inCacheIdentifier = identifier(inCache);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(inCache).when(cachedUserProfilePictures).userPseudo();
+        doReturn(true).when(cachedUserProfilePictures).hasFeaturedInCache();
+        doReturn(inCacheIdentifier).when(cachedUserProfilePictures).featured();
+        doReturn(Uni.createFrom().item(List.of(cachedUserProfilePictures))).when(userProfilePictureCacheRepository).getAll(Set.of(inCache));
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(new DomainFeaturedUserProfilePictures(List.of(inCacheIdentifier)));
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePicturesUseCase.execute(
+                new GetFeaturedUserProfilePicturesCommand(Set.of(inCache), SupportedMediaType.IMAGE_JPEG), testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verifyNoInteractions(userProfilePictureRepository, userProfilPictureFeaturedRepository);
+    }
+
+    @Test
+    public void should_leave_out_pseudos_whose_featured_lookup_failed() {
+        // Given
+        doReturn(Uni.createFrom().failure(new RuntimeException())).when(userProfilePictureCacheRepository).getAll(Set.of(featured));
+        doReturn(Uni.createFrom().failure(new UserProfilPictureFeaturedRepositoryException())).when(userProfilPictureFeaturedRepository)
+                .getAllFeatured(Set.of(featured));
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(new DomainFeaturedUserProfilePictures(List.of()));
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = getFeaturedUserProfilePicturesUseCase.execute(
+                new GetFeaturedUserProfilePicturesCommand(Set.of(featured), SupportedMediaType.IMAGE_JPEG), testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verifyNoInteractions(userProfilePictureRepository);
+    }
+
+    private static UserProfilePictureIdentifier identifier(final UserPseudo userPseudo) {
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        doReturn(userPseudo).when(userProfilePictureIdentifier).userPseudo();
+        return userProfilePictureIdentifier;
+    }
+
+}
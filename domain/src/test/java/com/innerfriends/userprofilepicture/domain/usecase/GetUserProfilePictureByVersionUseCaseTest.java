@@ -15,30 +15,27 @@ public class GetUserProfilePictureByVersionUseCaseTest {
     private UserProfilePictureRepository userProfilePictureRepository;
     private GetUserProfilePictureByVersionUseCase<Response> getUserProfilePictureByVersionUseCase;
     private TestResponseTransformer testResponseTransformer;
-    private LockMechanism lockMechanism;
 
     @BeforeEach
     public void setup() {
         userProfilePictureRepository = mock(UserProfilePictureRepository.class);
-        lockMechanism = mock(LockMechanism.class);
-        getUserProfilePictureByVersionUseCase = new GetUserProfilePictureByVersionUseCase<>(userProfilePictureRepository, lockMechanism);
+        getUserProfilePictureByVersionUseCase = new GetUserProfilePictureByVersionUseCase<>(userProfilePictureRepository);
         testResponseTransformer = mock(TestResponseTransformer.class);
     }
 
     @Test
-    public void should_get_featured_user_profile_picture() {
+    public void should_stream_user_profile_picture_content() {
         // Given
         final UserPseudo userPseudo = mock(UserPseudo.class);
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final VersionId versionId = mock(VersionId.class);
         final GetUserUserProfilePictureByVersionCommand getUserProfilePictureByVersionCommand = new GetUserUserProfilePictureByVersionCommand(userPseudo, supportedMediaType, versionId);
-        final ContentUserProfilePicture contentProfilePicture = mock(ContentUserProfilePicture.class);
+        final StreamedContentUserProfilePicture streamedContentUserProfilePicture = mock(StreamedContentUserProfilePicture.class);
 
-        doReturn(Uni.createFrom().item(contentProfilePicture)).when(userProfilePictureRepository).getContentByVersionId(getUserProfilePictureByVersionCommand);
+        doReturn(Uni.createFrom().item(streamedContentUserProfilePicture)).when(userProfilePictureRepository).streamContentByVersionId(getUserProfilePictureByVersionCommand);
         final Response response = mock(Response.class);
-        doReturn(response).when(testResponseTransformer).toResponse(contentProfilePicture);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
-        final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, lockMechanism);
+        doReturn(response).when(testResponseTransformer).toResponse(streamedContentUserProfilePicture);
+        final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository);
 
         // When
         final UniAssertSubscriber<Response> subscriber = getUserProfilePictureByVersionUseCase.execute(
@@ -48,19 +45,16 @@ public class GetUserProfilePictureByVersionUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureRepository, times(1)).getContentByVersionId(any());
-        inOrder.verify(testResponseTransformer).toResponse(any(ContentUserProfilePicture.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
-        verifyNoMoreInteractions(testResponseTransformer, lockMechanism);
+        inOrder.verify(userProfilePictureRepository, times(1)).streamContentByVersionId(any());
+        inOrder.verify(testResponseTransformer).toResponse(any(StreamedContentUserProfilePicture.class));
+        verifyNoMoreInteractions(testResponseTransformer);
     }
 
     @Test
     public void should_handle_profile_picture_version_unknown_exception() {
         // Given
         final UserProfilePictureVersionUnknownException userProfilePictureVersionUnknownException = mock(UserProfilePictureVersionUnknownException.class);
-        doReturn(Uni.createFrom().failure(userProfilePictureVersionUnknownException)).when(userProfilePictureRepository).getContentByVersionId(any());
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(any());
+        doReturn(Uni.createFrom().failure(userProfilePictureVersionUnknownException)).when(userProfilePictureRepository).streamContentByVersionId(any());
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureVersionUnknownException);
 
@@ -72,19 +66,16 @@ public class GetUserProfilePictureByVersionUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        verify(lockMechanism, times(1)).lock(any());
-        verify(userProfilePictureRepository, times(1)).getContentByVersionId(any());
+        verify(userProfilePictureRepository, times(1)).streamContentByVersionId(any());
         verify(testResponseTransformer).toResponse(any(UserProfilePictureVersionUnknownException.class));
-        verify(lockMechanism, times(1)).unlock(any());
-        verifyNoMoreInteractions(testResponseTransformer, lockMechanism);
+        verifyNoMoreInteractions(testResponseTransformer);
     }
 
     @Test
     public void should_handle_user_profile_picture_repository_exception() {
         // Given
         final UserProfilePictureRepositoryException userProfilePictureRepositoryException = mock(UserProfilePictureRepositoryException.class);
-        doReturn(Uni.createFrom().failure(userProfilePictureRepositoryException)).when(userProfilePictureRepository).getContentByVersionId(any());
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(any());
+        doReturn(Uni.createFrom().failure(userProfilePictureRepositoryException)).when(userProfilePictureRepository).streamContentByVersionId(any());
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureRepositoryException);
 
@@ -96,19 +87,16 @@ public class GetUserProfilePictureByVersionUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        verify(lockMechanism, times(1)).lock(any());
-        verify(userProfilePictureRepository, times(1)).getContentByVersionId(any());
+        verify(userProfilePictureRepository, times(1)).streamContentByVersionId(any());
         verify(testResponseTransformer).toResponse(any(UserProfilePictureRepositoryException.class));
-        verify(lockMechanism, times(1)).unlock(any());
-        verifyNoMoreInteractions(testResponseTransformer, lockMechanism);
+        verifyNoMoreInteractions(testResponseTransformer);
     }
 
     @Test
     public void should_handle_runtime_exception() {
         // Given
         final RuntimeException runtimeException = new RuntimeException();
-        doReturn(Uni.createFrom().failure(runtimeException)).when(userProfilePictureRepository).getContentByVersionId(any());
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(any());
+        doReturn(Uni.createFrom().failure(runtimeException)).when(userProfilePictureRepository).streamContentByVersionId(any());
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(runtimeException);
 
@@ -120,11 +108,9 @@ public class GetUserProfilePictureByVersionUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        verify(lockMechanism, times(1)).lock(any());
-        verify(userProfilePictureRepository, times(1)).getContentByVersionId(any());
+        verify(userProfilePictureRepository, times(1)).streamContentByVersionId(any());
         verify(testResponseTransformer).toResponse(any(RuntimeException.class));
-        verify(lockMechanism, times(1)).unlock(any());
-        verifyNoMoreInteractions(testResponseTransformer, lockMechanism);
+        verifyNoMoreInteractions(testResponseTransformer);
     }
 
 }
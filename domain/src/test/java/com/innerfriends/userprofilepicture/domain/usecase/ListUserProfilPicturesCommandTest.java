@@ -1,5 +1,6 @@
 package com.innerfriends.userprofilepicture.domain.usecase;
 
+import com.innerfriends.userprofilepicture.domain.PageCursor;
 import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import nl.jqno.equalsverifier.EqualsVerifier;
@@ -28,6 +29,12 @@ public class ListUserProfilPicturesCommandTest {
                 .isInstanceOf(NullPointerException.class);
     }
 
+    @Test
+    public void should_fail_fast_when_page_cursor_is_null() {
+        assertThatThrownBy(() -> new ListUserProfilPicturesCommand(mock(UserPseudo.class), mock(SupportedMediaType.class), null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
     @Test
     public void should_return_user_pseudo() {
         // Given
@@ -48,4 +55,27 @@ public class ListUserProfilPicturesCommandTest {
                 .isEqualTo(givenSupportedMediaType);
     }
 
+    @Test
+    public void should_be_first_page_when_no_page_cursor_is_given() {
+        // Given
+        final ListUserProfilPicturesCommand listUserProfilPicturesCommand = new ListUserProfilPicturesCommand(mock(UserPseudo.class), mock(SupportedMediaType.class));
+
+        // When && Then
+        assertThat(listUserProfilPicturesCommand.isFirstPage()).isTrue();
+        assertThat(listUserProfilPicturesCommand.pageCursor()).isNull();
+    }
+
+    @Test
+    public void should_return_page_cursor() {
+        // Given
+        final PageCursor givenPageCursor = mock(PageCursor.class);
+
+        // When
+        final ListUserProfilPicturesCommand listUserProfilPicturesCommand = new ListUserProfilPicturesCommand(mock(UserPseudo.class), mock(SupportedMediaType.class), givenPageCursor);
+
+        // Then
+        assertThat(listUserProfilPicturesCommand.isFirstPage()).isFalse();
+        assertThat(listUserProfilPicturesCommand.pageCursor()).isEqualTo(givenPageCursor);
+    }
+
 }
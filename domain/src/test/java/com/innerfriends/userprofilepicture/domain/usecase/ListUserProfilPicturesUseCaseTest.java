@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -38,8 +39,9 @@ public class ListUserProfilPicturesUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
         doReturn(true).when(cachedUserProfilePictures).hasUserProfilePictureIdentifiersInCache();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(cachedUserProfilePictures);
         final InOrder inOrder = inOrder(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism);
@@ -52,11 +54,11 @@ public class ListUserProfilPicturesUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any(), any(), any());
         inOrder.verify(cachedUserProfilePictures, times(1)).hasUserProfilePictureIdentifiersInCache();
         inOrder.verify(testResponseTransformer).toResponse(any(CachedUserProfilePictures.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
@@ -67,14 +69,15 @@ public class ListUserProfilPicturesUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
         doReturn(false).when(cachedUserProfilePictures).hasUserProfilePictureIdentifiersInCache();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
-        doReturn(Uni.createFrom().item(Collections.emptyList())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        doReturn(Uni.createFrom().item(emptyUserProfilePictureIdentifiersPage())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
         final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
         doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         final UserProfilePictures userProfilePictures = DomainUserProfilePictures.newBuilder()
                 .withFeaturedStateSelected(Collections.emptyList(), userProfilePictureIdentifier).build();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).store(userPseudo, userProfilePictures);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).store(userPseudo, supportedMediaType, null, userProfilePictures);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictures);
         final InOrder inOrder = inOrder(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
@@ -88,14 +91,14 @@ public class ListUserProfilPicturesUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any(), any(), any());
         inOrder.verify(cachedUserProfilePictures, times(1)).hasUserProfilePictureIdentifiersInCache();
-        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any(), any(), any());
         inOrder.verify(testResponseTransformer).toResponse(any(DomainUserProfilePictures.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
                 userProfilPictureFeaturedRepository, lockMechanism);
     }
@@ -107,13 +110,14 @@ public class ListUserProfilPicturesUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
         doReturn(false).when(cachedUserProfilePictures).hasUserProfilePictureIdentifiersInCache();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
-        doReturn(Uni.createFrom().item(Collections.emptyList())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        doReturn(Uni.createFrom().item(emptyUserProfilePictureIdentifiersPage())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
         doReturn(Uni.createFrom().failure(new NoUserProfilPictureFeaturedYetException(userPseudo))).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         final UserProfilePictures userProfilePictures = DomainUserProfilePictures.newBuilder()
                 .withFeaturedStateNotSelectedYet(Collections.emptyList()).build();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).store(userPseudo, userProfilePictures);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).store(userPseudo, supportedMediaType, null, userProfilePictures);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictures);
         final InOrder inOrder = inOrder(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
@@ -127,14 +131,14 @@ public class ListUserProfilPicturesUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any(), any(), any());
         inOrder.verify(cachedUserProfilePictures, times(1)).hasUserProfilePictureIdentifiersInCache();
-        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any(), any(), any());
         inOrder.verify(testResponseTransformer).toResponse(any(DomainUserProfilePictures.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
                 userProfilPictureFeaturedRepository, lockMechanism);
     }
@@ -146,13 +150,14 @@ public class ListUserProfilPicturesUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
         doReturn(false).when(cachedUserProfilePictures).hasUserProfilePictureIdentifiersInCache();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
-        doReturn(Uni.createFrom().item(Collections.emptyList())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        doReturn(Uni.createFrom().item(emptyUserProfilePictureIdentifiersPage())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
         doReturn(Uni.createFrom().failure(new RuntimeException())).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         final UserProfilePictures userProfilePictures = DomainUserProfilePictures.newBuilder()
                 .withFeaturedStateInErrorWhenRetrieving(Collections.emptyList()).build();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).store(userPseudo, userProfilePictures);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).store(userPseudo, supportedMediaType, null, userProfilePictures);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictures);
         final InOrder inOrder = inOrder(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
@@ -166,14 +171,14 @@ public class ListUserProfilPicturesUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any(), any(), any());
         inOrder.verify(cachedUserProfilePictures, times(1)).hasUserProfilePictureIdentifiersInCache();
-        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any(), any(), any());
         inOrder.verify(testResponseTransformer).toResponse(any(DomainUserProfilePictures.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
                 userProfilPictureFeaturedRepository, lockMechanism);
     }
@@ -185,10 +190,12 @@ public class ListUserProfilPicturesUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
         doReturn(false).when(cachedUserProfilePictures).hasUserProfilePictureIdentifiersInCache();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final UserProfilePictureRepositoryException userProfilePictureRepositoryException = mock(UserProfilePictureRepositoryException.class);
-        doReturn(Uni.createFrom().failure(userProfilePictureRepositoryException)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().failure(userProfilePictureRepositoryException)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().item(mock(UserProfilePictureIdentifier.class))).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureRepositoryException);
         final InOrder inOrder = inOrder(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
@@ -202,12 +209,13 @@ public class ListUserProfilPicturesUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any(), any(), any());
         inOrder.verify(cachedUserProfilePictures, times(1)).hasUserProfilePictureIdentifiersInCache();
-        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureRepositoryException.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
+        verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
                 userProfilPictureFeaturedRepository, lockMechanism);
     }
@@ -219,10 +227,12 @@ public class ListUserProfilPicturesUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
         doReturn(false).when(cachedUserProfilePictures).hasUserProfilePictureIdentifiersInCache();
-        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
         final RuntimeException runtimeException = mock(RuntimeException.class);
-        doReturn(Uni.createFrom().failure(runtimeException)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().failure(runtimeException)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().item(mock(UserProfilePictureIdentifier.class))).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(runtimeException);
         final InOrder inOrder = inOrder(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
@@ -236,12 +246,13 @@ public class ListUserProfilPicturesUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any(), any(), any());
         inOrder.verify(cachedUserProfilePictures, times(1)).hasUserProfilePictureIdentifiersInCache();
-        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
         inOrder.verify(testResponseTransformer).toResponse(any(RuntimeException.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
+        verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, cachedUserProfilePictures, userProfilePictureRepository, userProfilePictureCacheRepository,
                 userProfilPictureFeaturedRepository, lockMechanism);
     }
@@ -251,14 +262,15 @@ public class ListUserProfilPicturesUseCaseTest {
         // Given
         final UserPseudo userPseudo = mock(UserPseudo.class);
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
-        doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).get(userPseudo);
-        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
-        doReturn(Uni.createFrom().item(Collections.emptyList())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType);
+        doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        doReturn(Uni.createFrom().item(emptyUserProfilePictureIdentifiersPage())).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
         final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
         doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
         final UserProfilePictures userProfilePictures = DomainUserProfilePictures.newBuilder()
                 .withFeaturedStateSelected(Collections.emptyList(), userProfilePictureIdentifier).build();
-        doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).store(userPseudo, userProfilePictures);
+        doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).store(userPseudo, supportedMediaType, null, userProfilePictures);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictures);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository,
@@ -272,15 +284,232 @@ public class ListUserProfilPicturesUseCaseTest {
 
         // Then
         subscriber.assertCompleted().assertItem(response);
-        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any());
-        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        inOrder.verify(lockMechanism, times(1)).lockShared(userPseudo);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).get(any(), any(), any());
+        inOrder.verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).store(any(), any(), any(), any());
         inOrder.verify(testResponseTransformer).toResponse(any(DomainUserProfilePictures.class));
-        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        inOrder.verify(lockMechanism, times(1)).unlockShared(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository,
                 userProfilPictureFeaturedRepository, lockMechanism);
     }
 
+    @Test
+    public void should_not_unlock_when_lock_shared_has_failed() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final RuntimeException runtimeException = new RuntimeException();
+        doReturn(Uni.createFrom().failure(runtimeException)).when(lockMechanism).lockShared(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(runtimeException);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
+        verify(testResponseTransformer).toResponse(runtimeException);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository,
+                userProfilPictureFeaturedRepository, lockMechanism);
+    }
+
+    @Test
+    public void should_handle_lock_acquisition_timeout_exception() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final LockAcquisitionTimeoutException lockAcquisitionTimeoutException = new LockAcquisitionTimeoutException(userPseudo);
+        doReturn(Uni.createFrom().failure(lockAcquisitionTimeoutException)).when(lockMechanism).lockShared(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, mock(SupportedMediaType.class)),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(lockMechanism, times(1)).lockShared(userPseudo);
+        verify(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository,
+                userProfilPictureFeaturedRepository, lockMechanism);
+    }
+
+    @Test
+    public void should_coalesce_concurrent_rebuilds_when_not_in_cache() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final CompletableFuture<UserProfilePictureIdentifiersPage> listByUserPseudo = new CompletableFuture<>();
+        doReturn(Uni.createFrom().failure(new UserProfileNotInCacheException(userPseudo))).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        doReturn(Uni.createFrom().completionStage(listByUserPseudo)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        final UserProfilePictures userProfilePictures = DomainUserProfilePictures.newBuilder()
+                .withFeaturedStateSelected(Collections.emptyList(), userProfilePictureIdentifier).build();
+        doReturn(Uni.createFrom().item(mock(CachedUserProfilePictures.class))).when(userProfilePictureCacheRepository).store(userPseudo, supportedMediaType, null, userProfilePictures);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePictures);
+        final UniAssertSubscriber<Response> firstSubscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UniAssertSubscriber<Response> secondSubscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // When
+        listByUserPseudo.complete(emptyUserProfilePictureIdentifiersPage());
+
+        // Then
+        firstSubscriber.assertCompleted().assertItem(response);
+        secondSubscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
+        verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(any());
+        verify(userProfilePictureCacheRepository, times(2)).store(userPseudo, supportedMediaType, null, userProfilePictures);
+        verify(testResponseTransformer, times(2)).toResponse(any(DomainUserProfilePictures.class));
+        verify(lockMechanism, times(2)).unlockShared(userPseudo);
+    }
+
+    @Test
+    public void should_not_store_a_rebuild_whose_caller_has_cancelled() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final CompletableFuture<UserProfilePictureIdentifiersPage> listByUserPseudo = new CompletableFuture<>();
+        doReturn(Uni.createFrom().failure(new UserProfileNotInCacheException(userPseudo))).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        doReturn(Uni.createFrom().completionStage(listByUserPseudo)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().item(mock(UserProfilePictureIdentifier.class))).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        final UniAssertSubscriber<Response> subscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // When
+        subscriber.cancel();
+        listByUserPseudo.complete(emptyUserProfilePictureIdentifiersPage());
+
+        // Then
+        verify(lockMechanism, times(1)).unlockShared(userPseudo);
+        verify(userProfilePictureCacheRepository, never()).store(any(), any(), any(), any());
+    }
+
+    @Test
+    public void should_fetch_user_profile_pictures_and_featured_in_parallel_when_not_in_cache() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final CompletableFuture<UserProfilePictureIdentifiersPage> listByUserPseudo = new CompletableFuture<>();
+        final CompletableFuture<UserProfilePictureIdentifier> getFeatured = new CompletableFuture<>();
+        doReturn(Uni.createFrom().failure(new UserProfileNotInCacheException(userPseudo))).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        doReturn(Uni.createFrom().completionStage(listByUserPseudo)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, null);
+        doReturn(Uni.createFrom().completionStage(getFeatured)).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        final UserProfilePictures userProfilePictures = DomainUserProfilePictures.newBuilder()
+                .withFeaturedStateSelected(Collections.emptyList(), userProfilePictureIdentifier).build();
+        doReturn(Uni.createFrom().item(mock(CachedUserProfilePictures.class))).when(userProfilePictureCacheRepository).store(userPseudo, supportedMediaType, null, userProfilePictures);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePictures);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, supportedMediaType),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        verify(userProfilePictureRepository, times(1)).listByUserPseudo(userPseudo, supportedMediaType, null);
+        verify(userProfilPictureFeaturedRepository, times(1)).getFeatured(userPseudo);
+        subscriber.assertNotTerminated();
+        getFeatured.complete(userProfilePictureIdentifier);
+        listByUserPseudo.complete(emptyUserProfilePictureIdentifiersPage());
+        subscriber.assertCompleted().assertItem(response);
+    }
+
+    @Test
+    public void should_list_next_page_of_user_profile_pictures_using_page_cursor() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final PageCursor pageCursor = mock(PageCursor.class);
+        final PageCursor nextPageCursor = mock(PageCursor.class);
+        final CachedUserProfilePictures cachedUserProfilePictures = mock(CachedUserProfilePictures.class);
+        doReturn(false).when(cachedUserProfilePictures).hasUserProfilePictureIdentifiersInCache();
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, pageCursor);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        final UserProfilePictureIdentifiersPage userProfilePictureIdentifiersPage = emptyUserProfilePictureIdentifiersPage();
+        doReturn(nextPageCursor).when(userProfilePictureIdentifiersPage).nextPageCursor();
+        doReturn(Uni.createFrom().item(userProfilePictureIdentifiersPage)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, pageCursor);
+        final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
+        doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        final UserProfilePictures userProfilePictures = DomainUserProfilePictures.newBuilder()
+                .withFeaturedStateSelected(Collections.emptyList(), userProfilePictureIdentifier)
+                .withNextPageCursor(nextPageCursor).build();
+        doReturn(Uni.createFrom().item(cachedUserProfilePictures)).when(userProfilePictureCacheRepository).store(userPseudo, supportedMediaType, pageCursor, userProfilePictures);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePictures);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, supportedMediaType, pageCursor),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(userProfilePictureCacheRepository, times(1)).get(userPseudo, supportedMediaType, pageCursor);
+        verify(userProfilePictureRepository, times(1)).listByUserPseudo(userPseudo, supportedMediaType, pageCursor);
+        verify(userProfilePictureCacheRepository, times(1)).store(userPseudo, supportedMediaType, pageCursor, userProfilePictures);
+        verify(testResponseTransformer).toResponse(userProfilePictures);
+    }
+
+    @Test
+    public void should_handle_user_profile_pictures_page_cursor_invalid_exception() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
+        final PageCursor pageCursor = mock(PageCursor.class);
+        doReturn(Uni.createFrom().failure(new UserProfileNotInCacheException(userPseudo))).when(userProfilePictureCacheRepository).get(userPseudo, supportedMediaType, pageCursor);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lockShared(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlockShared(userPseudo);
+        final UserProfilePicturesPageCursorInvalidException userProfilePicturesPageCursorInvalidException = new UserProfilePicturesPageCursorInvalidException(userPseudo);
+        doReturn(Uni.createFrom().failure(userProfilePicturesPageCursorInvalidException)).when(userProfilePictureRepository).listByUserPseudo(userPseudo, supportedMediaType, pageCursor);
+        doReturn(Uni.createFrom().failure(new NoUserProfilPictureFeaturedYetException(userPseudo))).when(userProfilPictureFeaturedRepository).getFeatured(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(userProfilePicturesPageCursorInvalidException);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = listUserProfilPicturesUseCase.execute(
+                new ListUserProfilPicturesCommand(userPseudo, supportedMediaType, pageCursor),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(testResponseTransformer).toResponse(userProfilePicturesPageCursorInvalidException);
+        verify(userProfilePictureCacheRepository, never()).store(any(), any(), any(), any());
+        verify(lockMechanism, times(1)).unlockShared(userPseudo);
+    }
+
+    private UserProfilePictureIdentifiersPage emptyUserProfilePictureIdentifiersPage() {
+        final UserProfilePictureIdentifiersPage userProfilePictureIdentifiersPage = mock(UserProfilePictureIdentifiersPage.class);
+        doReturn(Collections.emptyList()).when(userProfilePictureIdentifiersPage).userProfilePictureIdentifiers();
+        return userProfilePictureIdentifiersPage;
+    }
+
 }
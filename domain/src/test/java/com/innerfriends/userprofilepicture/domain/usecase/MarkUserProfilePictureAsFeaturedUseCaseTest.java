@@ -31,15 +31,16 @@ public class MarkUserProfilePictureAsFeaturedUseCaseTest {
     }
 
     @Test
-    public void should_mark_user_profile_picture_as_featured_and_evict_it() {
+    public void should_mark_user_profile_picture_as_featured_and_store_it_in_cache() {
         // Given
         final UserPseudo userPseudo = mock(UserPseudo.class);
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final VersionId versionId = mock(VersionId.class);
         final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(userPseudo);
         doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilPictureFeaturedRepository).markAsFeatured(new MarkUserProfilePictureAsFeaturedCommand(userPseudo, supportedMediaType, versionId));
-        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).evict(userPseudo);
+        doReturn(Uni.createFrom().item(mock(CachedUserProfilePictures.class))).when(userProfilePictureCacheRepository).storeFeatured(userPseudo, userProfilePictureIdentifier);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
@@ -53,7 +54,7 @@ public class MarkUserProfilePictureAsFeaturedUseCaseTest {
         subscriber.assertCompleted().assertItem(response);
         inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).markAsFeatured(any());
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).evict(any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeFeatured(userPseudo, userProfilePictureIdentifier);
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
         inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, lockMechanism);
@@ -66,6 +67,7 @@ public class MarkUserProfilePictureAsFeaturedUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final VersionId versionId = mock(VersionId.class);
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(userPseudo);
         final UserProfilPictureFeaturedRepositoryException userProfilPictureFeaturedRepositoryException = new UserProfilPictureFeaturedRepositoryException();
         doReturn(Uni.createFrom().failure(userProfilPictureFeaturedRepositoryException)).when(userProfilPictureFeaturedRepository)
                 .markAsFeatured(new MarkUserProfilePictureAsFeaturedCommand(userPseudo, supportedMediaType, versionId));
@@ -94,6 +96,7 @@ public class MarkUserProfilePictureAsFeaturedUseCaseTest {
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
         final VersionId versionId = mock(VersionId.class);
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(userPseudo);
         final RuntimeException runtimeException = new RuntimeException();
         doReturn(Uni.createFrom().failure(runtimeException)).when(userProfilPictureFeaturedRepository)
                 .markAsFeatured(new MarkUserProfilePictureAsFeaturedCommand(userPseudo, supportedMediaType, versionId));
@@ -123,7 +126,9 @@ public class MarkUserProfilePictureAsFeaturedUseCaseTest {
         final VersionId versionId = mock(VersionId.class);
         final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(userPseudo);
         doReturn(Uni.createFrom().item(userProfilePictureIdentifier)).when(userProfilPictureFeaturedRepository).markAsFeatured(new MarkUserProfilePictureAsFeaturedCommand(userPseudo, supportedMediaType, versionId));
+        doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).storeFeatured(userPseudo, userProfilePictureIdentifier);
         doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).evict(userPseudo);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureIdentifier);
@@ -138,10 +143,33 @@ public class MarkUserProfilePictureAsFeaturedUseCaseTest {
         subscriber.assertCompleted().assertItem(response);
         inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
         inOrder.verify(userProfilPictureFeaturedRepository, times(1)).markAsFeatured(any());
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).evict(any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeFeatured(userPseudo, userProfilePictureIdentifier);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).evict(userPseudo);
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureIdentifier.class));
         inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository, lockMechanism);
     }
 
+    @Test
+    public void should_handle_lock_acquisition_timeout_exception() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final LockAcquisitionTimeoutException lockAcquisitionTimeoutException = new LockAcquisitionTimeoutException(userPseudo);
+        doReturn(Uni.createFrom().failure(lockAcquisitionTimeoutException)).when(lockMechanism).lock(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = markUserProfilePictureAsFeaturedUseCase.execute(
+                new MarkUserProfilePictureAsFeaturedCommand(userPseudo, mock(SupportedMediaType.class), mock(VersionId.class)),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(lockMechanism, times(1)).lock(userPseudo);
+        verify(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilPictureFeaturedRepository, userProfilePictureCacheRepository, lockMechanism);
+    }
+
 }
@@ -5,6 +5,8 @@ import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
 
+import java.io.InputStream;
+
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
@@ -13,12 +15,12 @@ public class SaveUserContentProfilePictureCommandTest {
 
     @Test
     public void should_verify_equality() {
-        EqualsVerifier.forClass(SaveUserProfilePictureCommand.class).verify();
+        EqualsVerifier.forClass(SaveUserProfilePictureCommand.class).withIgnoredFields("picture").verify();
     }
 
     @Test
     public void should_fail_fast_when_user_pseudo_is_null() {
-        assertThatThrownBy(() -> new SaveUserProfilePictureCommand(null, "picture".getBytes(), SupportedMediaType.IMAGE_JPEG))
+        assertThatThrownBy(() -> new SaveUserProfilePictureCommand(null, mock(InputStream.class), SupportedMediaType.IMAGE_JPEG))
                 .isInstanceOf(NullPointerException.class);
     }
 
@@ -30,7 +32,7 @@ public class SaveUserContentProfilePictureCommandTest {
 
     @Test
     public void should_fail_fast_when_supported_media_type_is_null() {
-        assertThatThrownBy(() -> new SaveUserProfilePictureCommand(mock(UserPseudo.class), "picture".getBytes(), null))
+        assertThatThrownBy(() -> new SaveUserProfilePictureCommand(mock(UserPseudo.class), mock(InputStream.class), null))
                 .isInstanceOf(NullPointerException.class);
     }
 
@@ -40,17 +42,18 @@ public class SaveUserContentProfilePictureCommandTest {
         final UserPseudo givenUserPseudo = mock(UserPseudo.class);
 
         // When && Then
-        assertThat(new SaveUserProfilePictureCommand(givenUserPseudo, "picture".getBytes(), SupportedMediaType.IMAGE_JPEG).userPseudo())
+        assertThat(new SaveUserProfilePictureCommand(givenUserPseudo, mock(InputStream.class), SupportedMediaType.IMAGE_JPEG).userPseudo())
                 .isEqualTo(givenUserPseudo);
     }
 
     @Test
     public void should_return_picture() {
         // Given
+        final InputStream givenPicture = mock(InputStream.class);
 
         // When && Then
-        assertThat(new SaveUserProfilePictureCommand(mock(UserPseudo.class), "picture".getBytes(), SupportedMediaType.IMAGE_JPEG).picture())
-                .isEqualTo("picture".getBytes());
+        assertThat(new SaveUserProfilePictureCommand(mock(UserPseudo.class), givenPicture, SupportedMediaType.IMAGE_JPEG).picture())
+                .isEqualTo(givenPicture);
     }
 
     @Test
@@ -58,7 +61,7 @@ public class SaveUserContentProfilePictureCommandTest {
         // Given
 
         // When && Then
-        assertThat(new SaveUserProfilePictureCommand(mock(UserPseudo.class), "picture".getBytes(), SupportedMediaType.IMAGE_JPEG).mediaType())
+        assertThat(new SaveUserProfilePictureCommand(mock(UserPseudo.class), mock(InputStream.class), SupportedMediaType.IMAGE_JPEG).mediaType())
                 .isEqualTo(SupportedMediaType.IMAGE_JPEG);
     }
 
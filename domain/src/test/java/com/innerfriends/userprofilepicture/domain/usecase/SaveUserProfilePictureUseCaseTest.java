@@ -7,6 +7,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import java.io.InputStream;
+
 import static org.mockito.Mockito.*;
 
 public class SaveUserProfilePictureUseCaseTest {
@@ -30,17 +32,19 @@ public class SaveUserProfilePictureUseCaseTest {
     public void should_save_user_profile_picture_and_cache_it() {
         // Given
         final UserPseudo userPseudo = mock(UserPseudo.class);
+        final InputStream picture = mock(InputStream.class);
         final UserProfilePictureSaved profilePictureSaved = mock(UserProfilePictureSaved.class);
-        doReturn(Uni.createFrom().item(profilePictureSaved)).when(userProfilePictureRepository).save(userPseudo, "content".getBytes(), SupportedMediaType.IMAGE_JPEG);
-        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).evict(userPseudo);
+        doReturn(Uni.createFrom().item(profilePictureSaved)).when(userProfilePictureRepository).save(userPseudo, picture, SupportedMediaType.IMAGE_JPEG);
+        doReturn(Uni.createFrom().item(mock(CachedUserProfilePictures.class))).when(userProfilePictureCacheRepository).storeNewVersion(userPseudo, profilePictureSaved);
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(userPseudo);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(profilePictureSaved);
         final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism);
 
         // When
         final UniAssertSubscriber<Response> subscriber = saveUserProfilePictureUseCase.execute(
-                new SaveUserProfilePictureCommand(userPseudo, "content".getBytes(), SupportedMediaType.IMAGE_JPEG),
+                new SaveUserProfilePictureCommand(userPseudo, picture, SupportedMediaType.IMAGE_JPEG),
                 testResponseTransformer)
                 .subscribe().withSubscriber(UniAssertSubscriber.create());
 
@@ -48,24 +52,57 @@ public class SaveUserProfilePictureUseCaseTest {
         subscriber.assertCompleted().assertItem(response);
         inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
         inOrder.verify(userProfilePictureRepository, times(1)).save(any(), any(), any());
-        inOrder.verify(userProfilePictureCacheRepository, times(1)).evict(any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeNewVersion(userPseudo, profilePictureSaved);
         inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureSaved.class));
         inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
+    @Test
+    public void should_evict_cached_user_profile_pictures_when_new_version_cannot_be_stored_in_cache() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final InputStream picture = mock(InputStream.class);
+        final UserProfilePictureSaved profilePictureSaved = mock(UserProfilePictureSaved.class);
+        doReturn(Uni.createFrom().item(profilePictureSaved)).when(userProfilePictureRepository).save(userPseudo, picture, SupportedMediaType.IMAGE_JPEG);
+        doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).storeNewVersion(userPseudo, profilePictureSaved);
+        doReturn(Uni.createFrom().nullItem()).when(userProfilePictureCacheRepository).evict(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(profilePictureSaved);
+        final InOrder inOrder = inOrder(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = saveUserProfilePictureUseCase.execute(
+                new SaveUserProfilePictureCommand(userPseudo, picture, SupportedMediaType.IMAGE_JPEG),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        inOrder.verify(lockMechanism, times(1)).lock(userPseudo);
+        inOrder.verify(userProfilePictureRepository, times(1)).save(any(), any(), any());
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).storeNewVersion(userPseudo, profilePictureSaved);
+        inOrder.verify(userProfilePictureCacheRepository, times(1)).evict(userPseudo);
+        inOrder.verify(testResponseTransformer).toResponse(any(UserProfilePictureSaved.class));
+        inOrder.verify(lockMechanism, times(1)).unlock(userPseudo);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, lockMechanism);
+    }
+
     @Test
     public void should_handle_user_profile_picture_repository_exception() {
         // Given
         final UserProfilePictureRepositoryException userProfilePictureRepositoryException = mock(UserProfilePictureRepositoryException.class);
         doReturn(Uni.createFrom().failure(userProfilePictureRepositoryException)).when(userProfilePictureRepository).save(any(), any(), any());
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(any());
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(any());
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(userProfilePictureRepositoryException);
 
         // When
         final UniAssertSubscriber<Response> subscriber = saveUserProfilePictureUseCase.execute(
-                new SaveUserProfilePictureCommand(mock(UserPseudo.class), "content".getBytes(), SupportedMediaType.IMAGE_JPEG),
+                new SaveUserProfilePictureCommand(mock(UserPseudo.class), mock(InputStream.class), SupportedMediaType.IMAGE_JPEG),
                 testResponseTransformer)
                 .subscribe().withSubscriber(UniAssertSubscriber.create());
 
@@ -84,12 +121,13 @@ public class SaveUserProfilePictureUseCaseTest {
         final RuntimeException runtimeException = new RuntimeException();
         doReturn(Uni.createFrom().failure(runtimeException)).when(userProfilePictureRepository).save(any(), any(), any());
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(any());
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(any());
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(runtimeException);
 
         // When
         final UniAssertSubscriber<Response> subscriber = saveUserProfilePictureUseCase.execute(
-                new SaveUserProfilePictureCommand(mock(UserPseudo.class), "content".getBytes(), SupportedMediaType.IMAGE_JPEG),
+                new SaveUserProfilePictureCommand(mock(UserPseudo.class), mock(InputStream.class), SupportedMediaType.IMAGE_JPEG),
                 testResponseTransformer)
                 .subscribe().withSubscriber(UniAssertSubscriber.create());
 
@@ -106,16 +144,19 @@ public class SaveUserProfilePictureUseCaseTest {
     public void should_save_user_profile_picture_when_cache_id_down() {
         // Given
         final UserPseudo userPseudo = mock(UserPseudo.class);
+        final InputStream picture = mock(InputStream.class);
         final UserProfilePictureSaved profilePictureSaved = mock(UserProfilePictureSaved.class);
-        doReturn(Uni.createFrom().item(profilePictureSaved)).when(userProfilePictureRepository).save(userPseudo, "content".getBytes(), SupportedMediaType.IMAGE_JPEG);
+        doReturn(Uni.createFrom().item(profilePictureSaved)).when(userProfilePictureRepository).save(userPseudo, picture, SupportedMediaType.IMAGE_JPEG);
+        doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).storeNewVersion(userPseudo, profilePictureSaved);
         doReturn(Uni.createFrom().failure(RuntimeException::new)).when(userProfilePictureCacheRepository).evict(userPseudo);
         doReturn(Uni.createFrom().nullItem()).when(lockMechanism).lock(userPseudo);
+        doReturn(Uni.createFrom().nullItem()).when(lockMechanism).unlock(userPseudo);
         final Response response = mock(Response.class);
         doReturn(response).when(testResponseTransformer).toResponse(profilePictureSaved);
 
         // When
         final UniAssertSubscriber<Response> subscriber = saveUserProfilePictureUseCase.execute(
-                new SaveUserProfilePictureCommand(userPseudo, "content".getBytes(), SupportedMediaType.IMAGE_JPEG),
+                new SaveUserProfilePictureCommand(userPseudo, picture, SupportedMediaType.IMAGE_JPEG),
                 testResponseTransformer)
                 .subscribe().withSubscriber(UniAssertSubscriber.create());
 
@@ -123,10 +164,33 @@ public class SaveUserProfilePictureUseCaseTest {
         subscriber.assertCompleted().assertItem(response);
         verify(lockMechanism, times(1)).lock(any());
         verify(userProfilePictureRepository, times(1)).save(any(), any(), any());
-        verify(userProfilePictureCacheRepository, times(1)).evict(any());
+        verify(userProfilePictureCacheRepository, times(1)).storeNewVersion(userPseudo, profilePictureSaved);
+        verify(userProfilePictureCacheRepository, times(1)).evict(userPseudo);
         verify(testResponseTransformer).toResponse(any(UserProfilePictureSaved.class));
         verify(lockMechanism, times(1)).unlock(any());
         verifyNoMoreInteractions(testResponseTransformer, userProfilePictureCacheRepository, userProfilePictureCacheRepository, lockMechanism);
     }
 
+    @Test
+    public void should_handle_lock_acquisition_timeout_exception() {
+        // Given
+        final UserPseudo userPseudo = mock(UserPseudo.class);
+        final LockAcquisitionTimeoutException lockAcquisitionTimeoutException = new LockAcquisitionTimeoutException(userPseudo);
+        doReturn(Uni.createFrom().failure(lockAcquisitionTimeoutException)).when(lockMechanism).lock(userPseudo);
+        final Response response = mock(Response.class);
+        doReturn(response).when(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+
+        // When
+        final UniAssertSubscriber<Response> subscriber = saveUserProfilePictureUseCase.execute(
+                new SaveUserProfilePictureCommand(userPseudo, mock(InputStream.class), SupportedMediaType.IMAGE_JPEG),
+                testResponseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem(response);
+        verify(lockMechanism, times(1)).lock(userPseudo);
+        verify(testResponseTransformer).toResponse(lockAcquisitionTimeoutException);
+        verifyNoMoreInteractions(testResponseTransformer, userProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism);
+    }
+
 }
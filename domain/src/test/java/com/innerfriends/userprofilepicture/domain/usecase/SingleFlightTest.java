@@ -0,0 +1,119 @@
+package com.innerfriends.userprofilepicture.domain.usecase;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    public void setup() {
+        singleFlight = new SingleFlight<>();
+    }
+
+    @Test
+    public void should_share_in_flight_execution_between_subscribers_of_the_same_key() {
+        // Given
+        final AtomicInteger executions = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final UniAssertSubscriber<String> firstSubscriber = singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return Uni.createFrom().completionStage(result);
+        }).subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UniAssertSubscriber<String> secondSubscriber = singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return Uni.createFrom().completionStage(result);
+        }).subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // When
+        result.complete("value");
+
+        // Then
+        firstSubscriber.assertCompleted().assertItem("value");
+        secondSubscriber.assertCompleted().assertItem("value");
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_share_in_flight_failure_between_subscribers_of_the_same_key() {
+        // Given
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final UniAssertSubscriber<String> firstSubscriber = singleFlight.execute("key", () -> Uni.createFrom().completionStage(result))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UniAssertSubscriber<String> secondSubscriber = singleFlight.execute("key", () -> Uni.createFrom().completionStage(result))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // When
+        result.completeExceptionally(new IllegalStateException());
+
+        // Then
+        firstSubscriber.assertFailedWith(IllegalStateException.class);
+        secondSubscriber.assertFailedWith(IllegalStateException.class);
+    }
+
+    @Test
+    public void should_not_share_execution_between_different_keys() {
+        // Given
+        final AtomicInteger executions = new AtomicInteger();
+
+        // When
+        final UniAssertSubscriber<String> firstSubscriber = singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return Uni.createFrom().item("first");
+        }).subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UniAssertSubscriber<String> secondSubscriber = singleFlight.execute("otherKey", () -> {
+            executions.incrementAndGet();
+            return Uni.createFrom().item("second");
+        }).subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        firstSubscriber.assertCompleted().assertItem("first");
+        secondSubscriber.assertCompleted().assertItem("second");
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_execute_again_once_previous_execution_has_terminated() {
+        // Given
+        final AtomicInteger executions = new AtomicInteger();
+        singleFlight.execute("key", () -> Uni.createFrom().item(executions.incrementAndGet()).map(String::valueOf))
+                .subscribe().withSubscriber(UniAssertSubscriber.create()).assertCompleted().assertItem("1");
+
+        // When
+        final UniAssertSubscriber<String> subscriber = singleFlight.execute("key", () -> Uni.createFrom().item(executions.incrementAndGet()).map(String::valueOf))
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem("2");
+    }
+
+    @Test
+    public void should_execute_again_once_a_subscriber_of_previous_execution_has_cancelled() {
+        // Given
+        final AtomicInteger executions = new AtomicInteger();
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return Uni.createFrom().completionStage(result);
+        }).subscribe().withSubscriber(UniAssertSubscriber.create()).cancel();
+
+        // When
+        final UniAssertSubscriber<String> subscriber = singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return Uni.createFrom().item("second");
+        }).subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.assertCompleted().assertItem("second");
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+}
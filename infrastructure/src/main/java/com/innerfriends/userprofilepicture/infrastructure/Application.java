@@ -23,6 +23,14 @@ public class Application {
         return new GetFeaturedUserProfilePictureUseCase<>(userProfilePictureRepository, userProfilePictureCacheRepository, lockMechanism, userProfilPictureFeaturedRepository);
     }
 
+    @ApplicationScoped
+    @Produces
+    public GetFeaturedUserProfilePicturesUseCase<Response> getFeaturedUserProfilePicturesUseCaseProducer(final UserProfilePictureRepository userProfilePictureRepository,
+                                                                                                         final UserProfilePictureCacheRepository userProfilePictureCacheRepository,
+                                                                                                         final UserProfilPictureFeaturedRepository userProfilPictureFeaturedRepository) {
+        return new GetFeaturedUserProfilePicturesUseCase<>(userProfilePictureRepository, userProfilePictureCacheRepository, userProfilPictureFeaturedRepository);
+    }
+
     @ApplicationScoped
     @Produces
     public SaveUserProfilePictureUseCase<Response> saveUserProfilePictureUseCaseProducer(final UserProfilePictureRepository userProfilePictureRepository,
@@ -42,9 +50,8 @@ public class Application {
 
     @ApplicationScoped
     @Produces
-    public GetUserProfilePictureByVersionUseCase<Response> getUserProfilePictureByVersionUseCaseProducer(final UserProfilePictureRepository userProfilePictureRepository,
-                                                                                                         final LockMechanism lockMechanism) {
-        return new GetUserProfilePictureByVersionUseCase<>(userProfilePictureRepository, lockMechanism);
+    public GetUserProfilePictureByVersionUseCase<Response> getUserProfilePictureByVersionUseCaseProducer(final UserProfilePictureRepository userProfilePictureRepository) {
+        return new GetUserProfilePictureByVersionUseCase<>(userProfilePictureRepository);
     }
 
     @ApplicationScoped
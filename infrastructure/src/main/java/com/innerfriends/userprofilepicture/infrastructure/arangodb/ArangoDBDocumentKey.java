@@ -0,0 +1,18 @@
+package com.innerfriends.userprofilepicture.infrastructure.arangodb;
+
+import java.util.regex.Pattern;
+
+/**
+ * Checks a document key against the ArangoDB key naming conventions before sending it.
+ */
+final class ArangoDBDocumentKey {
+
+    private static final Pattern VALID_KEY = Pattern.compile("[a-zA-Z0-9_\\-:.@()+,=;$!*'%]{1,254}");
+
+    private ArangoDBDocumentKey() {}
+
+    static boolean isValid(final String key) {
+        return key != null && VALID_KEY.matcher(key).matches();
+    }
+
+}
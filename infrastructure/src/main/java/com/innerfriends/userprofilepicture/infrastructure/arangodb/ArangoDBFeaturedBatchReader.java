@@ -0,0 +1,123 @@
+package com.innerfriends.userprofilepicture.infrastructure.arangodb;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.async.ArangoCollectionAsync;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends the featured document reads issued within a window, or until a batch is full, as one multi-document read. Each
+ * caller gets its own document back, or null when the pseudo has no featured picture.
+ */
+final class ArangoDBFeaturedBatchReader {
+
+    static final int DOCUMENT_NOT_FOUND = 1202;
+
+    private final Supplier<ArangoCollectionAsync> collection;
+    private final Long windowInMillis;
+    private final Integer maxBatchSize;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private Map<String, CompletableFuture<ArangoDBProfilePictureIdentifier>> pendingReads;
+
+    ArangoDBFeaturedBatchReader(final Supplier<ArangoCollectionAsync> collection,
+                                final Long windowInMillis,
+                                final Integer maxBatchSize,
+                                final ScheduledExecutorService scheduledExecutorService) {
+        this.collection = Objects.requireNonNull(collection);
+        this.windowInMillis = Objects.requireNonNull(windowInMillis);
+        this.maxBatchSize = Objects.requireNonNull(maxBatchSize);
+        this.scheduledExecutorService = Objects.requireNonNull(scheduledExecutorService);
+        this.pendingReads = new LinkedHashMap<>();
+    }
+
+    CompletableFuture<ArangoDBProfilePictureIdentifier> read(final String key) throws ArangoDBException {
+        // an invalid key must not fail the whole batch
+        if (!ArangoDBDocumentKey.isValid(key)) {
+            throw new ArangoDBException(String.format("Document key %s is not valid", key));
+        }
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> read;
+        Map<String, CompletableFuture<ArangoDBProfilePictureIdentifier>> fullBatch = null;
+        synchronized (this) {
+            final Map<String, CompletableFuture<ArangoDBProfilePictureIdentifier>> batch = pendingReads;
+            final boolean opensBatch = batch.isEmpty();
+            read = batch.computeIfAbsent(key, pendingKey -> new CompletableFuture<>());
+            if (batch.size() >= maxBatchSize) {
+                fullBatch = batch;
+                pendingReads = new LinkedHashMap<>();
+            } else if (opensBatch) {
+                scheduledExecutorService.schedule(() -> sendWhenStillPending(batch), windowInMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            send(fullBatch);
+        }
+        // a copy per caller: a cancelled caller must not cancel the read of the others
+        return read.copy();
+    }
+
+    private void sendWhenStillPending(final Map<String, CompletableFuture<ArangoDBProfilePictureIdentifier>> batch) {
+        synchronized (this) {
+            if (pendingReads != batch) {
+                // already sent when full
+                return;
+            }
+            pendingReads = new LinkedHashMap<>();
+        }
+        send(batch);
+    }
+
+    private void send(final Map<String, CompletableFuture<ArangoDBProfilePictureIdentifier>> batch) {
+        try {
+            collection.get().getDocuments(batch.keySet(), ArangoDBProfilePictureIdentifier.class)
+                    .whenComplete((multiDocumentEntity, exception) -> {
+                        if (exception != null) {
+                            failAll(batch, exception instanceof CompletionException ? exception.getCause() : exception);
+                        } else {
+                            completeAll(batch, multiDocumentEntity);
+                        }
+                    });
+        } catch (final RuntimeException exception) {
+            failAll(batch, exception);
+        }
+    }
+
+    private static void completeAll(final Map<String, CompletableFuture<ArangoDBProfilePictureIdentifier>> batch,
+                                    final MultiDocumentEntity<ArangoDBProfilePictureIdentifier> multiDocumentEntity) {
+        // documents and errors are answered in the order of the requested keys
+        final Iterator<CompletableFuture<ArangoDBProfilePictureIdentifier>> reads = batch.values().iterator();
+        for (final Object documentOrError : multiDocumentEntity.getDocumentsAndErrors()) {
+            if (!reads.hasNext()) {
+                break;
+            }
+            final CompletableFuture<ArangoDBProfilePictureIdentifier> read = reads.next();
+            if (documentOrError instanceof ErrorEntity) {
+                final ErrorEntity errorEntity = (ErrorEntity) documentOrError;
+                if (errorEntity.getErrorNum() == DOCUMENT_NOT_FOUND) {
+                    read.complete(null);
+                } else {
+                    read.completeExceptionally(new ArangoDBException(errorEntity));
+                }
+            } else {
+                read.complete((ArangoDBProfilePictureIdentifier) documentOrError);
+            }
+        }
+        failAll(batch, new ArangoDBException("No answer for the document key in the batch"));
+    }
+
+    private static void failAll(final Map<String, CompletableFuture<ArangoDBProfilePictureIdentifier>> batch,
+                                final Throwable exception) {
+        // no-op on the reads already completed
+        batch.values().forEach(read -> read.completeExceptionally(exception));
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.innerfriends.userprofilepicture.infrastructure.arangodb;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.async.ArangoCollectionAsync;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.model.DocumentCreateOptions;
+import com.arangodb.model.OverwriteMode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Sends the featured upserts issued within a sync interval, or until a group is full, as one multi-document upsert
+ * waiting for sync, in arrival order. Each caller completes once its group is durable.
+ */
+final class ArangoDBFeaturedGroupCommitWriter {
+
+    private final Supplier<ArangoCollectionAsync> collection;
+    private final Long syncIntervalInMillis;
+    private final Integer maxGroupSize;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private List<PendingWrite> pendingWrites;
+
+    ArangoDBFeaturedGroupCommitWriter(final Supplier<ArangoCollectionAsync> collection,
+                                      final Long syncIntervalInMillis,
+                                      final Integer maxGroupSize,
+                                      final ScheduledExecutorService scheduledExecutorService) {
+        this.collection = Objects.requireNonNull(collection);
+        this.syncIntervalInMillis = Objects.requireNonNull(syncIntervalInMillis);
+        this.maxGroupSize = Objects.requireNonNull(maxGroupSize);
+        this.scheduledExecutorService = Objects.requireNonNull(scheduledExecutorService);
+        this.pendingWrites = new ArrayList<>();
+    }
+
+    CompletableFuture<Void> write(final ArangoDBProfilePictureIdentifier document) {
+        final PendingWrite write = new PendingWrite(document);
+        List<PendingWrite> fullGroup = null;
+        synchronized (this) {
+            final List<PendingWrite> group = pendingWrites;
+            group.add(write);
+            if (group.size() >= maxGroupSize) {
+                fullGroup = group;
+                pendingWrites = new ArrayList<>();
+            } else if (group.size() == 1) {
+                scheduledExecutorService.schedule(() -> commitWhenStillPending(group), syncIntervalInMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (fullGroup != null) {
+            commit(fullGroup);
+        }
+        // a copy per caller: a cancelled caller must not fail the group
+        return write.committed.copy();
+    }
+
+    private void commitWhenStillPending(final List<PendingWrite> group) {
+        synchronized (this) {
+            if (pendingWrites != group) {
+                // already committed when full
+                return;
+            }
+            pendingWrites = new ArrayList<>();
+        }
+        commit(group);
+    }
+
+    private void commit(final List<PendingWrite> group) {
+        try {
+            collection.get().insertDocuments(
+                    group.stream()
+                            .map(write -> write.document)
+                            .collect(Collectors.toList()),
+                    new DocumentCreateOptions()
+                            .waitForSync(true)
+                            .overwriteMode(OverwriteMode.update))
+                    .whenComplete((multiDocumentEntity, exception) -> {
+                        if (exception != null) {
+                            failAll(group, exception instanceof CompletionException ? exception.getCause() : exception);
+                        } else {
+                            completeAll(group, multiDocumentEntity);
+                        }
+                    });
+        } catch (final RuntimeException exception) {
+            failAll(group, exception);
+        }
+    }
+
+    private static void completeAll(final List<PendingWrite> group,
+                                    final MultiDocumentEntity<DocumentCreateEntity<ArangoDBProfilePictureIdentifier>> multiDocumentEntity) {
+        // results and errors are answered in the order of the sent documents
+        final Iterator<PendingWrite> writes = group.iterator();
+        for (final Object resultOrError : multiDocumentEntity.getDocumentsAndErrors()) {
+            if (!writes.hasNext()) {
+                break;
+            }
+            final PendingWrite write = writes.next();
+            if (resultOrError instanceof ErrorEntity) {
+                write.committed.completeExceptionally(new ArangoDBException((ErrorEntity) resultOrError));
+            } else {
+                write.committed.complete(null);
+            }
+        }
+        failAll(group, new ArangoDBException("No answer for the document in the group"));
+    }
+
+    private static void failAll(final List<PendingWrite> group, final Throwable exception) {
+        // no-op on the writes already completed
+        group.forEach(write -> write.committed.completeExceptionally(exception));
+    }
+
+    private static final class PendingWrite {
+
+        private final ArangoDBProfilePictureIdentifier document;
+        private final CompletableFuture<Void> committed;
+
+        private PendingWrite(final ArangoDBProfilePictureIdentifier document) {
+            this.document = Objects.requireNonNull(document);
+            this.committed = new CompletableFuture<>();
+        }
+
+    }
+
+}
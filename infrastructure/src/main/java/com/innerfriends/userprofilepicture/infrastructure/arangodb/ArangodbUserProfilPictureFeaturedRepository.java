@@ -5,8 +5,6 @@ import com.arangodb.ArangoDBException;
 import com.arangodb.ArangoDatabase;
 import com.arangodb.async.ArangoDBAsync;
 import com.arangodb.async.ArangoDatabaseAsync;
-import com.arangodb.model.DocumentCreateOptions;
-import com.arangodb.model.OverwriteMode;
 import com.innerfriends.userprofilepicture.domain.*;
 import com.innerfriends.userprofilepicture.infrastructure.tracing.OpenTelemetryTracingService;
 import io.opentelemetry.api.trace.Span;
@@ -16,9 +14,15 @@ import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.context.ManagedExecutor;
 import org.jboss.logging.Logger;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class ArangodbUserProfilPictureFeaturedRepository implements UserProfilPictureFeaturedRepository {
@@ -30,6 +34,9 @@ public class ArangodbUserProfilPictureFeaturedRepository implements UserProfilPi
     private final String dbName;
     private final OpenTelemetryTracingService openTelemetryTracingService;
     private final ManagedExecutor managedExecutor;
+    private final ScheduledExecutorService batchExecutorService;
+    private final ArangoDBFeaturedBatchReader arangoDBFeaturedBatchReader;
+    private final ArangoDBFeaturedGroupCommitWriter arangoDBFeaturedGroupCommitWriter;
     private ArangoDatabaseAsync arangoDatabaseAsync;
 
     private static final Logger LOG = Logger.getLogger(ArangodbUserProfilPictureFeaturedRepository.class);
@@ -38,19 +45,37 @@ public class ArangodbUserProfilPictureFeaturedRepository implements UserProfilPi
                                                        final ArangoDB arangoDB,
                                                        @ConfigProperty(name = "arangodb.dbName") final String dbName,
                                                        final OpenTelemetryTracingService openTelemetryTracingService,
-                                                       final ManagedExecutor managedExecutor) {
+                                                       final ManagedExecutor managedExecutor,
+                                                       @ConfigProperty(name = "arangodb.featured.batch.window.millis", defaultValue = "2") final Long batchWindowInMillis,
+                                                       @ConfigProperty(name = "arangodb.featured.batch.max.size", defaultValue = "100") final Integer batchMaxSize,
+                                                       @ConfigProperty(name = "arangodb.featured.group.commit.interval.millis", defaultValue = "5") final Long groupCommitIntervalInMillis,
+                                                       @ConfigProperty(name = "arangodb.featured.group.commit.max.size", defaultValue = "100") final Integer groupCommitMaxSize) {
         this.arangoDBAsync = Objects.requireNonNull(arangoDBAsync);
         this.arangoDB = Objects.requireNonNull(arangoDB);
         this.dbName = Objects.requireNonNull(dbName);
         this.openTelemetryTracingService = Objects.requireNonNull(openTelemetryTracingService);
         this.managedExecutor = Objects.requireNonNull(managedExecutor);
+        this.batchExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "arangodb-featured-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.arangoDBFeaturedBatchReader = new ArangoDBFeaturedBatchReader(
+                () -> arangoDatabaseAsync.collection(COLLECTION_FEATURE), batchWindowInMillis, batchMaxSize, batchExecutorService);
+        this.arangoDBFeaturedGroupCommitWriter = new ArangoDBFeaturedGroupCommitWriter(
+                () -> arangoDatabaseAsync.collection(COLLECTION_FEATURE), groupCommitIntervalInMillis, groupCommitMaxSize, batchExecutorService);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutorService.shutdown();
     }
 
     @Override
     public Uni<UserProfilePictureIdentifier> getFeatured(final UserPseudo userPseudo) throws NoUserProfilPictureFeaturedYetException, UserProfilPictureFeaturedRepositoryException {
         final Span span = openTelemetryTracingService.startANewSpan("ArangodbUserProfilPictureFeaturedRepository.getFeatured");
         return Uni.createFrom()
-                .completionStage(() -> arangoDatabaseAsync.collection(COLLECTION_FEATURE).getDocument(userPseudo.pseudo(), ArangoDBProfilePictureIdentifier.class))
+                .completionStage(() -> arangoDBFeaturedBatchReader.read(userPseudo.pseudo()))
                 .onItem()
                 .castTo(UserProfilePictureIdentifier.class)
                 .replaceIfNullWith(() -> {
@@ -66,16 +91,46 @@ public class ArangodbUserProfilPictureFeaturedRepository implements UserProfilPi
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
 
+    @Override
+    public Uni<List<UserProfilePictureIdentifier>> getAllFeatured(final Set<UserPseudo> userPseudos) throws UserProfilPictureFeaturedRepositoryException {
+        // a pseudo that cannot be a document key has no featured picture and must not fail the others
+        final Set<String> keys = userPseudos.stream()
+                .map(UserPseudo::pseudo)
+                .filter(ArangoDBDocumentKey::isValid)
+                .collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+        final Span span = openTelemetryTracingService.startANewSpan("ArangodbUserProfilPictureFeaturedRepository.getAllFeatured");
+        return Uni.createFrom()
+                .completionStage(() -> arangoDatabaseAsync.collection(COLLECTION_FEATURE).getDocuments(keys, ArangoDBProfilePictureIdentifier.class))
+                .onItem()
+                .transform(multiDocumentEntity -> {
+                    // a pseudo without featured picture is left out, any other error fails the whole read
+                    multiDocumentEntity.getErrors().stream()
+                            .filter(errorEntity -> errorEntity.getErrorNum() != ArangoDBFeaturedBatchReader.DOCUMENT_NOT_FOUND)
+                            .findFirst()
+                            .ifPresent(errorEntity -> {
+                                throw new ArangoDBException(errorEntity);
+                            });
+                    return List.<UserProfilePictureIdentifier>copyOf(multiDocumentEntity.getDocuments());
+                })
+                .onFailure(ArangoDBException.class)
+                .transform(exception -> {
+                    LOG.error(exception);
+                    openTelemetryTracingService.markSpanInError(span);
+                    return new UserProfilPictureFeaturedRepositoryException();
+                })
+                .onTermination()
+                .invoke(() -> openTelemetryTracingService.endSpan(span));
+    }
+
     @Override
     public Uni<UserProfilePictureIdentifier> markAsFeatured(final UserProfilePictureIdentifier userProfilePictureIdentifier)
             throws UserProfilPictureFeaturedRepositoryException {
         final Span span = openTelemetryTracingService.startANewSpan("ArangodbUserProfilPictureFeaturedRepository.markAsFeatured");
         return Uni.createFrom()
-                .completionStage(() -> arangoDatabaseAsync.collection(COLLECTION_FEATURE).insertDocument(
-                        new ArangoDBProfilePictureIdentifier(userProfilePictureIdentifier),
-                        new DocumentCreateOptions()
-                                .waitForSync(true)
-                                .overwriteMode(OverwriteMode.update)))
+                .completionStage(() -> arangoDBFeaturedGroupCommitWriter.write(new ArangoDBProfilePictureIdentifier(userProfilePictureIdentifier)))
                 .map((response) -> userProfilePictureIdentifier)
                 .onFailure(ArangoDBException.class)
                 .transform(exception -> {
@@ -1,26 +1,56 @@
 package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
 
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
 import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.domain.PageCursor;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifier;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
-import java.io.Serializable;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
-public final class HazelcastCachedUserProfilePictures implements CachedUserProfilePictures, Serializable {
+/**
+ * Cached pictures of a user: the first page of versions inline, following pages by cursor, the featured picture and a
+ * cached absence. Serialized field by field behind a leading format version, up to SERIALIZATION_VERSION.
+ */
+@RegisterForReflection
+public final class HazelcastCachedUserProfilePictures implements CachedUserProfilePictures, DataSerializable {
+
+    static final byte SERIALIZATION_VERSION = 1;
 
     public String userPseudo;
-    public List<HazelcastUserProfilePictureIdentifier> userProfilePictureIdentifiers;
+    public SupportedMediaType mediaType;
+    public String[] versionIds;
+    public String nextPageCursor;
+    public Map<String, HazelcastUserProfilePicturesPage> nextPages;
     public HazelcastUserProfilePictureIdentifier featuredUserProfilePictureIdentifier;
+    public boolean featuredIsLast;
+    public Absence absence;
+    public SupportedMediaType absenceMediaType;
+    public long absenceExpirationMillis;
 
     public HazelcastCachedUserProfilePictures() {}
 
     private HazelcastCachedUserProfilePictures(final Builder builder) {
         this.userPseudo = builder.userPseudo;
-        this.userProfilePictureIdentifiers = builder.userProfilePictureIdentifiers;
+        this.mediaType = builder.mediaType;
+        this.versionIds = builder.versionIds == null ? null : builder.versionIds.toArray(new String[0]);
+        this.nextPageCursor = builder.nextPageCursor;
+        this.nextPages = builder.nextPages;
         this.featuredUserProfilePictureIdentifier = builder.featuredUserProfilePictureIdentifier;
+        this.featuredIsLast = builder.featuredIsLast;
+        this.absence = builder.absence;
+        this.absenceMediaType = builder.absenceMediaType;
+        this.absenceExpirationMillis = builder.absenceExpirationMillis;
     }
 
     public static Builder newBuilder() {
@@ -29,14 +59,21 @@ public final class HazelcastCachedUserProfilePictures implements CachedUserProfi
 
     @Override
     public FeatureState featureState() {
-        return featuredUserProfilePictureIdentifier == null ? FeatureState.NOT_SELECTED_YET : FeatureState.SELECTED;
+        return featured() == null ? FeatureState.NOT_SELECTED_YET : FeatureState.SELECTED;
     }
 
     public static final class Builder {
 
         public String userPseudo;
-        public List<HazelcastUserProfilePictureIdentifier> userProfilePictureIdentifiers;
+        public SupportedMediaType mediaType;
+        public List<String> versionIds;
+        public String nextPageCursor;
+        public Map<String, HazelcastUserProfilePicturesPage> nextPages;
         public HazelcastUserProfilePictureIdentifier featuredUserProfilePictureIdentifier;
+        public boolean featuredIsLast;
+        public Absence absence;
+        public SupportedMediaType absenceMediaType;
+        public long absenceExpirationMillis;
 
         private Builder() {}
 
@@ -46,15 +83,43 @@ public final class HazelcastCachedUserProfilePictures implements CachedUserProfi
         }
 
         public Builder addProfilePictureIdentifier(final HazelcastUserProfilePictureIdentifier userProfilePictureIdentifier) {
-            if (userProfilePictureIdentifiers == null) {
-                userProfilePictureIdentifiers = new ArrayList<>();
+            if (versionIds == null) {
+                versionIds = new ArrayList<>();
+            }
+            this.mediaType = userProfilePictureIdentifier.mediaType;
+            this.versionIds.add(userProfilePictureIdentifier.versionId);
+            return this;
+        }
+
+        public Builder setNextPageCursor(final String nextPageCursor) {
+            this.nextPageCursor = nextPageCursor;
+            return this;
+        }
+
+        public Builder putNextPage(final String pageCursor, final HazelcastUserProfilePicturesPage page) {
+            if (nextPages == null) {
+                nextPages = new LinkedHashMap<>();
             }
-            this.userProfilePictureIdentifiers.add(userProfilePictureIdentifier);
+            this.nextPages.put(pageCursor, page);
             return this;
         }
 
         public Builder setFeaturedUserProfilePictureIdentifier(final HazelcastUserProfilePictureIdentifier featuredUserProfilePictureIdentifier) {
             this.featuredUserProfilePictureIdentifier = featuredUserProfilePictureIdentifier;
+            this.featuredIsLast = false;
+            return this;
+        }
+
+        public Builder setLastAsFeatured(final HazelcastUserProfilePictureIdentifier lastUserProfilePictureIdentifier) {
+            this.featuredUserProfilePictureIdentifier = lastUserProfilePictureIdentifier;
+            this.featuredIsLast = true;
+            return this;
+        }
+
+        public Builder setAbsence(final Absence absence, final SupportedMediaType absenceMediaType, final long absenceExpirationMillis) {
+            this.absence = absence;
+            this.absenceMediaType = absenceMediaType;
+            this.absenceExpirationMillis = absenceExpirationMillis;
             return this;
         }
 
@@ -63,16 +128,188 @@ public final class HazelcastCachedUserProfilePictures implements CachedUserProfi
         }
     }
 
-    public HazelcastCachedUserProfilePictures replaceAllProfilePictureIdentifiers(final List<HazelcastUserProfilePictureIdentifier> userProfilePictureIdentifiers) {
-        this.userProfilePictureIdentifiers = userProfilePictureIdentifiers;
+    public HazelcastCachedUserProfilePictures replaceAllProfilePictureIdentifiers(final String pageCursor,
+                                                                                  final SupportedMediaType mediaType,
+                                                                                  final String[] versionIds,
+                                                                                  final String nextPageCursor,
+                                                                                  final int maxNextPages) {
+        if (pageCursor == null) {
+            this.mediaType = mediaType;
+            this.versionIds = versionIds;
+            this.nextPageCursor = nextPageCursor;
+        } else if (maxNextPages > 0) {
+            if (nextPages == null) {
+                nextPages = new LinkedHashMap<>();
+            }
+            if (!nextPages.containsKey(pageCursor) && nextPages.size() >= maxNextPages) {
+                // pages are kept in the order they were stored: the oldest one makes room
+                nextPages.remove(nextPages.keySet().iterator().next());
+            }
+            nextPages.put(pageCursor, new HazelcastUserProfilePicturesPage(mediaType, versionIds, nextPageCursor));
+        }
         return this;
     }
 
+    public HazelcastCachedUserProfilePictures addNewProfilePictureIdentifier(final HazelcastUserProfilePictureIdentifier newUserProfilePictureIdentifier,
+                                                                             final int listPageSize) {
+        clearAbsence();
+        clearLastAsFeatured();
+        if (versionIds == null) {
+            return this;
+        }
+        final boolean sameMediaType = mediaType == null || mediaType == newUserProfilePictureIdentifier.mediaType;
+        if (sameMediaType && Arrays.asList(versionIds).contains(newUserProfilePictureIdentifier.versionId)) {
+            return this;
+        }
+        if (!sameMediaType || versionIds.length >= listPageSize) {
+            // cached versions belong to another media type, or a full first page would push its last version past the
+            // cursor of the next page: they are dropped to be listed again
+            this.mediaType = null;
+            this.versionIds = null;
+            this.nextPageCursor = null;
+            this.nextPages = null;
+            return this;
+        }
+        // versions are listed newest first, a first page not full yet is the only page
+        final String[] newVersionIds = new String[versionIds.length + 1];
+        newVersionIds[0] = newUserProfilePictureIdentifier.versionId;
+        System.arraycopy(versionIds, 0, newVersionIds, 1, versionIds.length);
+        this.mediaType = newUserProfilePictureIdentifier.mediaType;
+        this.versionIds = newVersionIds;
+        return this;
+    }
+
+    public HazelcastCachedUserProfilePictures page(final SupportedMediaType mediaType, final String pageCursor) {
+        if (pageCursor == null && (versionIds == null || this.mediaType == mediaType)) {
+            return this;
+        }
+        final HazelcastCachedUserProfilePictures cachedPage = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo(userPseudo)
+                .setAbsence(absence, absenceMediaType, absenceExpirationMillis)
+                .build();
+        cachedPage.featuredUserProfilePictureIdentifier = featuredUserProfilePictureIdentifier;
+        cachedPage.featuredIsLast = featuredIsLast;
+        final HazelcastUserProfilePicturesPage page = pageCursor == null || nextPages == null ? null : nextPages.get(pageCursor);
+        if (page != null && page.mediaType == mediaType) {
+            cachedPage.mediaType = page.mediaType;
+            cachedPage.versionIds = page.versionIds;
+            cachedPage.nextPageCursor = page.nextPageCursor;
+        }
+        return cachedPage;
+    }
+
     public HazelcastCachedUserProfilePictures setFeaturedUserProfilePictureIdentifier(final HazelcastUserProfilePictureIdentifier featuredUserProfilePictureIdentifier) {
         this.featuredUserProfilePictureIdentifier = featuredUserProfilePictureIdentifier;
+        this.featuredIsLast = false;
+        clearAbsence();
+        return this;
+    }
+
+    public HazelcastCachedUserProfilePictures setLastAsFeatured(final HazelcastUserProfilePictureIdentifier lastUserProfilePictureIdentifier) {
+        if (featured() != null) {
+            // a selected featured picture always wins over the last one
+            return this;
+        }
+        this.featuredUserProfilePictureIdentifier = lastUserProfilePictureIdentifier;
+        this.featuredIsLast = true;
+        if (absence == Absence.NO_PICTURES_YET && absenceMediaType == lastUserProfilePictureIdentifier.mediaType) {
+            clearAbsence();
+        }
+        return this;
+    }
+
+    public HazelcastCachedUserProfilePictures clearLastAsFeatured() {
+        if (featuredIsLast) {
+            this.featuredUserProfilePictureIdentifier = null;
+            this.featuredIsLast = false;
+        }
+        return this;
+    }
+
+    public HazelcastCachedUserProfilePictures setAbsence(final Absence absence,
+                                                         final SupportedMediaType absenceMediaType,
+                                                         final long absenceExpirationMillis) {
+        this.absence = absence;
+        this.absenceMediaType = absenceMediaType;
+        this.absenceExpirationMillis = absenceExpirationMillis;
+        if (absence == Absence.NO_PICTURES_YET && featuredIsLast && featuredUserProfilePictureIdentifier.mediaType == absenceMediaType) {
+            clearLastAsFeatured();
+        }
         return this;
     }
 
+    public HazelcastCachedUserProfilePictures clearAbsence() {
+        return setAbsence(null, null, 0L);
+    }
+
+    public boolean isEmpty() {
+        return versionIds == null && featuredUserProfilePictureIdentifier == null && absence == null;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeByte(SERIALIZATION_VERSION);
+        out.writeString(userPseudo);
+        out.writeString(mediaType == null ? null : mediaType.name());
+        out.writeStringArray(versionIds);
+        out.writeString(nextPageCursor);
+        out.writeInt(nextPages == null ? -1 : nextPages.size());
+        if (nextPages != null) {
+            for (final Map.Entry<String, HazelcastUserProfilePicturesPage> nextPage : nextPages.entrySet()) {
+                out.writeString(nextPage.getKey());
+                nextPage.getValue().writeData(out);
+            }
+        }
+        HazelcastUserProfilePictureIdentifier.writeNullable(out, featuredUserProfilePictureIdentifier);
+        out.writeString(absence == null ? null : absence.name());
+        out.writeString(absenceMediaType == null ? null : absenceMediaType.name());
+        out.writeLong(absenceExpirationMillis);
+        out.writeBoolean(featuredIsLast);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        checkSerializationVersion(in);
+        this.userPseudo = in.readString();
+        this.mediaType = readMediaType(in);
+        this.versionIds = in.readStringArray();
+        this.nextPageCursor = in.readString();
+        this.nextPages = readNextPages(in);
+        this.featuredUserProfilePictureIdentifier = HazelcastUserProfilePictureIdentifier.readNullable(in);
+        final String absenceName = in.readString();
+        this.absence = absenceName == null ? null : Absence.valueOf(absenceName);
+        this.absenceMediaType = readMediaType(in);
+        this.absenceExpirationMillis = in.readLong();
+        this.featuredIsLast = in.readBoolean();
+    }
+
+    static void checkSerializationVersion(final ObjectDataInput in) throws IOException {
+        final byte serializationVersion = in.readByte();
+        if (serializationVersion < 1 || serializationVersion > SERIALIZATION_VERSION) {
+            throw new IOException("Unsupported serialization version " + serializationVersion);
+        }
+    }
+
+    static SupportedMediaType readMediaType(final ObjectDataInput in) throws IOException {
+        final String mediaTypeName = in.readString();
+        return mediaTypeName == null ? null : SupportedMediaType.valueOf(mediaTypeName);
+    }
+
+    private static Map<String, HazelcastUserProfilePicturesPage> readNextPages(final ObjectDataInput in) throws IOException {
+        final int nbOfNextPages = in.readInt();
+        if (nbOfNextPages < 0) {
+            return null;
+        }
+        final Map<String, HazelcastUserProfilePicturesPage> nextPages = new LinkedHashMap<>();
+        for (int index = 0; index < nbOfNextPages; index++) {
+            final String pageCursor = in.readString();
+            final HazelcastUserProfilePicturesPage nextPage = new HazelcastUserProfilePicturesPage();
+            nextPage.readData(in);
+            nextPages.put(pageCursor, nextPage);
+        }
+        return nextPages;
+    }
+
     @Override
     public UserPseudo userPseudo() {
         return () -> userPseudo;
@@ -80,12 +317,33 @@ public final class HazelcastCachedUserProfilePictures implements CachedUserProfi
 
     @Override
     public List<? extends UserProfilePictureIdentifier> userProfilePictureIdentifiers() {
-        return userProfilePictureIdentifiers;
+        return versionIds == null ? null : new HazelcastUserProfilePictureIdentifiers(userPseudo, mediaType, versionIds);
+    }
+
+    @Override
+    public PageCursor nextPageCursor() {
+        return nextPageCursor == null ? null : () -> nextPageCursor;
     }
 
     @Override
     public UserProfilePictureIdentifier featured() {
-        return featuredUserProfilePictureIdentifier;
+        return featuredIsLast ? null : featuredUserProfilePictureIdentifier;
+    }
+
+    @Override
+    public UserProfilePictureIdentifier lastAsFeatured() {
+        return featuredIsLast ? featuredUserProfilePictureIdentifier : null;
+    }
+
+    @Override
+    public Absence absence() {
+        // 0 means the absence never expires, like a time to live of 0
+        return absence != null && (absenceExpirationMillis == 0L || System.currentTimeMillis() < absenceExpirationMillis) ? absence : null;
+    }
+
+    @Override
+    public SupportedMediaType absenceMediaType() {
+        return absenceMediaType;
     }
 
     @Override
@@ -94,21 +352,37 @@ public final class HazelcastCachedUserProfilePictures implements CachedUserProfi
         if (!(o instanceof HazelcastCachedUserProfilePictures)) return false;
         HazelcastCachedUserProfilePictures that = (HazelcastCachedUserProfilePictures) o;
         return Objects.equals(userPseudo, that.userPseudo) &&
-                Objects.equals(userProfilePictureIdentifiers, that.userProfilePictureIdentifiers) &&
-                Objects.equals(featuredUserProfilePictureIdentifier, that.featuredUserProfilePictureIdentifier);
+                mediaType == that.mediaType &&
+                Arrays.equals(versionIds, that.versionIds) &&
+                Objects.equals(nextPageCursor, that.nextPageCursor) &&
+                Objects.equals(nextPages, that.nextPages) &&
+                Objects.equals(featuredUserProfilePictureIdentifier, that.featuredUserProfilePictureIdentifier) &&
+                featuredIsLast == that.featuredIsLast &&
+                absence == that.absence &&
+                absenceMediaType == that.absenceMediaType &&
+                absenceExpirationMillis == that.absenceExpirationMillis;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(userPseudo, userProfilePictureIdentifiers, featuredUserProfilePictureIdentifier);
+        int result = Objects.hash(userPseudo, mediaType, nextPageCursor, nextPages, featuredUserProfilePictureIdentifier, featuredIsLast, absence, absenceMediaType, absenceExpirationMillis);
+        result = 31 * result + Arrays.hashCode(versionIds);
+        return result;
     }
 
     @Override
     public String toString() {
         return "HazelcastCachedUserProfilePictures{" +
                 "userPseudo='" + userPseudo + '\'' +
-                ", userProfilePictureIdentifiers=" + userProfilePictureIdentifiers +
+                ", mediaType=" + mediaType +
+                ", versionIds=" + Arrays.toString(versionIds) +
+                ", nextPageCursor='" + nextPageCursor + '\'' +
+                ", nextPages=" + nextPages +
                 ", featuredProfilePictureIdentifier=" + featuredUserProfilePictureIdentifier +
+                ", featuredIsLast=" + featuredIsLast +
+                ", absence=" + absence +
+                ", absenceMediaType=" + absenceMediaType +
+                ", absenceExpirationMillis=" + absenceExpirationMillis +
                 '}';
     }
 }
@@ -0,0 +1,92 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to live given to an entry each time an entry processor writes it: the list policy applies as soon as versions
+ * are cached, the featured policy to an entry holding the featured picture, the absence policy to an entry only holding
+ * an absence. An absence stored along with versions expires on its own absence policy. 0 means never expires.
+ */
+@RegisterForReflection
+public final class HazelcastEntryTimeToLive implements DataSerializable {
+
+    private long listTimeToLiveSeconds;
+    private long featuredTimeToLiveSeconds;
+    private long absenceTimeToLiveSeconds;
+
+    public HazelcastEntryTimeToLive() {}
+
+    public HazelcastEntryTimeToLive(final long listTimeToLiveSeconds, final long featuredTimeToLiveSeconds, final long absenceTimeToLiveSeconds) {
+        this.listTimeToLiveSeconds = listTimeToLiveSeconds;
+        this.featuredTimeToLiveSeconds = featuredTimeToLiveSeconds;
+        this.absenceTimeToLiveSeconds = absenceTimeToLiveSeconds;
+    }
+
+    public long timeToLiveSeconds(final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures) {
+        if (hazelcastCachedUserProfilePictures.hasUserProfilePictureIdentifiersInCache()) {
+            return listTimeToLiveSeconds;
+        }
+        if (hazelcastCachedUserProfilePictures.featuredUserProfilePictureIdentifier == null && hazelcastCachedUserProfilePictures.absence != null) {
+            return absenceTimeToLiveSeconds;
+        }
+        return featuredTimeToLiveSeconds;
+    }
+
+    public long absenceExpirationMillis(final long nowInMillis) {
+        return absenceTimeToLiveSeconds == 0L ? 0L : nowInMillis + TimeUnit.SECONDS.toMillis(absenceTimeToLiveSeconds);
+    }
+
+    public void setValue(final Map.Entry<String, HazelcastCachedUserProfilePictures> entry,
+                         final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures) {
+        // entries given to entry processors by the members are always extended ones
+        ((ExtendedMapEntry<String, HazelcastCachedUserProfilePictures>) entry)
+                .setValue(hazelcastCachedUserProfilePictures, timeToLiveSeconds(hazelcastCachedUserProfilePictures), TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeLong(listTimeToLiveSeconds);
+        out.writeLong(featuredTimeToLiveSeconds);
+        out.writeLong(absenceTimeToLiveSeconds);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        this.listTimeToLiveSeconds = in.readLong();
+        this.featuredTimeToLiveSeconds = in.readLong();
+        this.absenceTimeToLiveSeconds = in.readLong();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HazelcastEntryTimeToLive)) return false;
+        HazelcastEntryTimeToLive that = (HazelcastEntryTimeToLive) o;
+        return listTimeToLiveSeconds == that.listTimeToLiveSeconds &&
+                featuredTimeToLiveSeconds == that.featuredTimeToLiveSeconds &&
+                absenceTimeToLiveSeconds == that.absenceTimeToLiveSeconds;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(listTimeToLiveSeconds, featuredTimeToLiveSeconds, absenceTimeToLiveSeconds);
+    }
+
+    @Override
+    public String toString() {
+        return "HazelcastEntryTimeToLive{" +
+                "listTimeToLiveSeconds=" + listTimeToLiveSeconds +
+                ", featuredTimeToLiveSeconds=" + featuredTimeToLiveSeconds +
+                ", absenceTimeToLiveSeconds=" + absenceTimeToLiveSeconds +
+                '}';
+    }
+}
@@ -1,52 +1,183 @@
 package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hazelcast.core.HazelcastInstance;
-import com.hazelcast.cp.lock.FencedLock;
+import com.hazelcast.cp.ISemaphore;
+import com.innerfriends.userprofilepicture.domain.LockAcquisitionTimeoutException;
 import com.innerfriends.userprofilepicture.domain.LockMechanism;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import com.innerfriends.userprofilepicture.infrastructure.tracing.OpenTelemetryTracingService;
 import io.opentelemetry.api.trace.Span;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.unchecked.Unchecked;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Read/write lock built on a CP ISemaphore per user pseudo: a shared holder takes one permit, an exclusive holder takes
+ * all of them. Acquisition runs on a dedicated executor and gives up with a LockAcquisitionTimeoutException.
+ */
 @ApplicationScoped
 public class HazelcastLockMechanism implements LockMechanism {
 
+    private enum AcquisitionState {
+        PENDING, ACQUIRED, CANCELLED
+    }
+
     private final HazelcastInstance hazelcastInstance;
     private final OpenTelemetryTracingService openTelemetryTracingService;
+    private final Integer maxSharedHolders;
+    private final Long acquisitionTimeoutInMillis;
+    private final ExecutorService lockExecutorService;
+    private final Cache<String, Boolean> initializedSemaphores;
 
     public HazelcastLockMechanism(final HazelcastInstance hazelcastInstance,
-                                  final OpenTelemetryTracingService openTelemetryTracingService) {
+                                  final OpenTelemetryTracingService openTelemetryTracingService,
+                                  @ConfigProperty(name = "lock.max.shared.holders", defaultValue = "1024") final Integer maxSharedHolders,
+                                  @ConfigProperty(name = "lock.acquisition.timeout.millis", defaultValue = "1000") final Long acquisitionTimeoutInMillis,
+                                  @ConfigProperty(name = "lock.executor.pool.size", defaultValue = "16") final Integer executorPoolSize,
+                                  @ConfigProperty(name = "lock.initialized.semaphores.max.size", defaultValue = "10000") final Long initializedSemaphoresMaxSize) {
         this.hazelcastInstance = Objects.requireNonNull(hazelcastInstance);
         this.openTelemetryTracingService = Objects.requireNonNull(openTelemetryTracingService);
+        this.maxSharedHolders = Objects.requireNonNull(maxSharedHolders);
+        this.acquisitionTimeoutInMillis = Objects.requireNonNull(acquisitionTimeoutInMillis);
+        this.lockExecutorService = Executors.newFixedThreadPool(Objects.requireNonNull(executorPoolSize));
+        this.initializedSemaphores = Caffeine.newBuilder()
+                .maximumSize(Objects.requireNonNull(initializedSemaphoresMaxSize))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lockExecutorService.shutdown();
     }
 
     @Override
     public Uni<Void> lock(final UserPseudo userPseudo) {
-        final Span span = openTelemetryTracingService.startANewSpan("HazelcastLockMechanism.lock");
+        return acquire(userPseudo, true, "HazelcastLockMechanism.lock");
+    }
+
+    @Override
+    public Uni<Void> unlock(final UserPseudo userPseudo) {
+        return release(userPseudo, maxSharedHolders, "HazelcastLockMechanism.unlock");
+    }
+
+    @Override
+    public Uni<Void> lockShared(final UserPseudo userPseudo) {
+        return acquire(userPseudo, false, "HazelcastLockMechanism.lockShared");
+    }
+
+    @Override
+    public Uni<Void> unlockShared(final UserPseudo userPseudo) {
+        return release(userPseudo, 1, "HazelcastLockMechanism.unlockShared");
+    }
+
+    private Uni<Void> acquire(final UserPseudo userPseudo, final boolean exclusive, final String spanName) {
+        final Span span = openTelemetryTracingService.startANewSpan(spanName);
+        final int permits = exclusive ? maxSharedHolders : 1;
         return Uni.createFrom()
-                .item(() -> {
-                    hazelcastInstance.getCPSubsystem().getLock(userPseudo.pseudo()).lock();
-                    return (Void) null;
+                .deferred(() -> {
+                    final long deadlineInMillis = System.currentTimeMillis() + acquisitionTimeoutInMillis;
+                    final AtomicReference<AcquisitionState> state = new AtomicReference<>(AcquisitionState.PENDING);
+                    return Uni.createFrom()
+                            .item(Unchecked.supplier(() -> {
+                                if (state.get() == AcquisitionState.CANCELLED) {
+                                    return (Void) null;
+                                }
+                                final boolean acquired = exclusive ? tryAcquireExclusive(userPseudo, deadlineInMillis)
+                                        : tryAcquireShared(userPseudo, deadlineInMillis);
+                                if (!acquired) {
+                                    throw new LockAcquisitionTimeoutException(userPseudo);
+                                }
+                                if (!state.compareAndSet(AcquisitionState.PENDING, AcquisitionState.ACQUIRED)) {
+                                    // cancelled while waiting: nobody will unlock
+                                    semaphore(userPseudo).release(permits);
+                                }
+                                return (Void) null;
+                            }))
+                            .runSubscriptionOn(lockExecutorService)
+                            .onCancellation()
+                            .invoke(() -> {
+                                if (!state.compareAndSet(AcquisitionState.PENDING, AcquisitionState.CANCELLED)) {
+                                    // acquired but cancelled before being handed over
+                                    lockExecutorService.execute(() -> semaphore(userPseudo).release(permits));
+                                }
+                            });
                 })
+                .onFailure()
+                .invoke(() -> openTelemetryTracingService.markSpanInError(span))
                 .onTermination()
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
 
-    @Override
-    public Uni<Void> unlock(final UserPseudo userPseudo) {
-        final Span span = openTelemetryTracingService.startANewSpan("HazelcastLockMechanism.unlock");
+    private Uni<Void> release(final UserPseudo userPseudo, final int permits, final String spanName) {
+        final Span span = openTelemetryTracingService.startANewSpan(spanName);
         return Uni.createFrom()
                 .item(() -> {
-                    final FencedLock lock = hazelcastInstance.getCPSubsystem().getLock(userPseudo.pseudo());
-                    if (lock.isLockedByCurrentThread()) {
-                        lock.unlock();
-                    }
+                    semaphore(userPseudo).release(permits);
                     return (Void) null;
                 })
+                .runSubscriptionOn(lockExecutorService)
+                .onFailure()
+                .invoke(() -> openTelemetryTracingService.markSpanInError(span))
                 .onTermination()
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
+
+    private boolean tryAcquireExclusive(final UserPseudo userPseudo, final long deadlineInMillis) throws InterruptedException {
+        final ISemaphore semaphore = semaphore(userPseudo);
+        // a single exclusive holder at a time holds a majority of the permits, so exclusive holders never share the
+        // remaining ones
+        final int majority = maxSharedHolders / 2 + 1;
+        if (!semaphore.tryAcquire(majority, remainingMillis(deadlineInMillis), TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        int acquired = majority;
+        boolean allAcquired = false;
+        try {
+            // shared holders arriving from now on find no permit left and queue with the exclusive holder, which takes
+            // the permits released by the current shared holders one at a time
+            acquired += semaphore.drainPermits();
+            while (acquired < maxSharedHolders) {
+                if (!semaphore.tryAcquire(1, remainingMillis(deadlineInMillis), TimeUnit.MILLISECONDS)) {
+                    return false;
+                }
+                acquired++;
+            }
+            allAcquired = true;
+            return true;
+        } finally {
+            if (!allAcquired) {
+                semaphore.release(acquired);
+            }
+        }
+    }
+
+    private boolean tryAcquireShared(final UserPseudo userPseudo, final long deadlineInMillis) throws InterruptedException {
+        return semaphore(userPseudo).tryAcquire(1, remainingMillis(deadlineInMillis), TimeUnit.MILLISECONDS);
+    }
+
+    private static long remainingMillis(final long deadlineInMillis) {
+        return Math.max(0L, deadlineInMillis - System.currentTimeMillis());
+    }
+
+    private ISemaphore semaphore(final UserPseudo userPseudo) {
+        final ISemaphore semaphore = hazelcastInstance.getCPSubsystem().getSemaphore(userPseudo.pseudo());
+        if (initializedSemaphores.getIfPresent(userPseudo.pseudo()) == null) {
+            // no-op when the semaphore has already been initialized by another instance; remembered only once done so a
+            // failed init is retried by the next caller
+            semaphore.init(maxSharedHolders);
+            initializedSemaphores.put(userPseudo.pseudo(), Boolean.TRUE);
+        }
+        return semaphore;
+    }
+
 }
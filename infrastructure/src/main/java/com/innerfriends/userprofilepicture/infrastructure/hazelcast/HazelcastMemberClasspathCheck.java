@@ -0,0 +1,55 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import io.quarkus.runtime.StartupEvent;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Entry processors and cached values are deserialized by the members from the hazelcast-member jar on their classpath.
+ * The application fails to start when a member misses it, or runs one built with another serialization version.
+ */
+@ApplicationScoped
+public class HazelcastMemberClasspathCheck {
+
+    static final String EXECUTOR_NAME = "default";
+    static final long TIMEOUT_IN_SECONDS = 30L;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    public HazelcastMemberClasspathCheck(final HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = Objects.requireNonNull(hazelcastInstance);
+    }
+
+    public void onStartup(@Observes StartupEvent startupEvent) {
+        final Map<Member, Future<Byte>> serializationVersions = hazelcastInstance.getExecutorService(EXECUTOR_NAME)
+                .submitToAllMembers(new HazelcastMemberClasspathProbe());
+        for (final Map.Entry<Member, Future<Byte>> serializationVersion : serializationVersions.entrySet()) {
+            final Byte memberSerializationVersion = serializationVersion(serializationVersion.getKey(), serializationVersion.getValue());
+            if (!Objects.equals(memberSerializationVersion, HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION)) {
+                throw new IllegalStateException(String.format("Hazelcast member %s runs serialization version %d, expected %d: restart it with the hazelcast-member jar of this build",
+                        serializationVersion.getKey(), memberSerializationVersion, HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION));
+            }
+        }
+    }
+
+    private static Byte serializationVersion(final Member member, final Future<Byte> serializationVersion) {
+        try {
+            return serializationVersion.get(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+        } catch (final ExecutionException | TimeoutException exception) {
+            throw new IllegalStateException(String.format("Hazelcast member %s can not run the cache entry processors: add the hazelcast-member jar to its classpath", member), exception);
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(interruptedException);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Runs on a member with the classes of its own classpath: answers the serialization version they were built with.
+ */
+@RegisterForReflection
+public final class HazelcastMemberClasspathProbe implements Callable<Byte>, DataSerializable {
+
+    @Override
+    public Byte call() {
+        // loading the cached value class loads the domain interfaces it implements as well
+        HazelcastCachedUserProfilePictures.newBuilder();
+        return HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) {
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) {
+    }
+
+}
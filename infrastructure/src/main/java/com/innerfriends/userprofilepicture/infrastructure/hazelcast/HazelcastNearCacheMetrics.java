@@ -0,0 +1,55 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.nearcache.NearCacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+@ApplicationScoped
+public class HazelcastNearCacheMetrics {
+
+    private final HazelcastInstance hazelcastInstance;
+    private final MeterRegistry meterRegistry;
+
+    public HazelcastNearCacheMetrics(final HazelcastInstance hazelcastInstance,
+                                     final MeterRegistry meterRegistry) {
+        this.hazelcastInstance = Objects.requireNonNull(hazelcastInstance);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+    }
+
+    public void onStartup(@Observes StartupEvent startupEvent) {
+        functionCounter("cache.near.hits", NearCacheStats::getHits);
+        functionCounter("cache.near.misses", NearCacheStats::getMisses);
+        functionCounter("cache.near.evictions", NearCacheStats::getEvictions);
+        functionCounter("cache.near.expirations", NearCacheStats::getExpirations);
+        functionCounter("cache.near.invalidations", NearCacheStats::getInvalidations);
+        Gauge.builder("cache.near.entries", this, metrics -> metrics.nearCacheStatistic(NearCacheStats::getOwnedEntryCount))
+                .tag("cache", HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.near.memory", this, metrics -> metrics.nearCacheStatistic(NearCacheStats::getOwnedEntryMemoryCost))
+                .tag("cache", HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private void functionCounter(final String name, final ToDoubleFunction<NearCacheStats> statistic) {
+        FunctionCounter.builder(name, this, metrics -> metrics.nearCacheStatistic(statistic))
+                .tag("cache", HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .register(meterRegistry);
+    }
+
+    private double nearCacheStatistic(final ToDoubleFunction<NearCacheStats> statistic) {
+        final NearCacheStats nearCacheStats = hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .getLocalMapStats().getNearCacheStats();
+        // no statistics when the near cache is not configured for the map
+        return nearCacheStats != null ? statistic.applyAsDouble(nearCacheStats) : 0d;
+    }
+
+}
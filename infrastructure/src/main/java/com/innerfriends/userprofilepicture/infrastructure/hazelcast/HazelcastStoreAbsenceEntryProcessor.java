@@ -0,0 +1,71 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The expiration of the absence is computed by the caller and carried along: the primary and the backup replicas run
+ * the same processor and must store the same expiration.
+ */
+@RegisterForReflection
+public final class HazelcastStoreAbsenceEntryProcessor implements EntryProcessor<String, HazelcastCachedUserProfilePictures, HazelcastCachedUserProfilePictures>, DataSerializable {
+
+    private SupportedMediaType mediaType;
+    private CachedUserProfilePictures.Absence absence;
+    private long absenceExpirationMillis;
+    private HazelcastEntryTimeToLive entryTimeToLive;
+
+    public HazelcastStoreAbsenceEntryProcessor() {}
+
+    public HazelcastStoreAbsenceEntryProcessor(final SupportedMediaType mediaType,
+                                               final CachedUserProfilePictures.Absence absence,
+                                               final long absenceExpirationMillis,
+                                               final HazelcastEntryTimeToLive entryTimeToLive) {
+        this.mediaType = Objects.requireNonNull(mediaType);
+        this.absence = Objects.requireNonNull(absence);
+        this.absenceExpirationMillis = absenceExpirationMillis;
+        this.entryTimeToLive = Objects.requireNonNull(entryTimeToLive);
+    }
+
+    @Override
+    public HazelcastCachedUserProfilePictures process(final Map.Entry<String, HazelcastCachedUserProfilePictures> entry) {
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = entry.getValue() != null ? entry.getValue()
+                : HazelcastCachedUserProfilePictures.newBuilder().setUserPseudo(entry.getKey()).build();
+        // a featured picture selected concurrently is newer than the absence read
+        if (hazelcastCachedUserProfilePictures.featured() != null) {
+            return hazelcastCachedUserProfilePictures;
+        }
+        hazelcastCachedUserProfilePictures.setAbsence(absence, mediaType, absenceExpirationMillis);
+        entryTimeToLive.setValue(entry, hazelcastCachedUserProfilePictures);
+        return hazelcastCachedUserProfilePictures;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeByte(HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION);
+        out.writeString(mediaType.name());
+        out.writeString(absence.name());
+        out.writeLong(absenceExpirationMillis);
+        entryTimeToLive.writeData(out);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        HazelcastCachedUserProfilePictures.checkSerializationVersion(in);
+        this.mediaType = HazelcastCachedUserProfilePictures.readMediaType(in);
+        this.absence = CachedUserProfilePictures.Absence.valueOf(in.readString());
+        this.absenceExpirationMillis = in.readLong();
+        this.entryTimeToLive = new HazelcastEntryTimeToLive();
+        this.entryTimeToLive.readData(in);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+@RegisterForReflection
+public final class HazelcastStoreFeaturedEntryProcessor implements EntryProcessor<String, HazelcastCachedUserProfilePictures, HazelcastCachedUserProfilePictures>, DataSerializable {
+
+    private HazelcastUserProfilePictureIdentifier featuredUserProfilePictureIdentifier;
+    private HazelcastEntryTimeToLive entryTimeToLive;
+
+    public HazelcastStoreFeaturedEntryProcessor() {}
+
+    public HazelcastStoreFeaturedEntryProcessor(final HazelcastUserProfilePictureIdentifier featuredUserProfilePictureIdentifier,
+                                                final HazelcastEntryTimeToLive entryTimeToLive) {
+        this.featuredUserProfilePictureIdentifier = Objects.requireNonNull(featuredUserProfilePictureIdentifier);
+        this.entryTimeToLive = Objects.requireNonNull(entryTimeToLive);
+    }
+
+    @Override
+    public HazelcastCachedUserProfilePictures process(final Map.Entry<String, HazelcastCachedUserProfilePictures> entry) {
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = entry.getValue() != null ? entry.getValue()
+                : HazelcastCachedUserProfilePictures.newBuilder().setUserPseudo(entry.getKey()).build();
+        hazelcastCachedUserProfilePictures.setFeaturedUserProfilePictureIdentifier(featuredUserProfilePictureIdentifier);
+        entryTimeToLive.setValue(entry, hazelcastCachedUserProfilePictures);
+        return hazelcastCachedUserProfilePictures;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeByte(HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION);
+        HazelcastUserProfilePictureIdentifier.writeNullable(out, featuredUserProfilePictureIdentifier);
+        entryTimeToLive.writeData(out);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        HazelcastCachedUserProfilePictures.checkSerializationVersion(in);
+        this.featuredUserProfilePictureIdentifier = HazelcastUserProfilePictureIdentifier.readNullable(in);
+        this.entryTimeToLive = new HazelcastEntryTimeToLive();
+        this.entryTimeToLive.readData(in);
+    }
+
+}
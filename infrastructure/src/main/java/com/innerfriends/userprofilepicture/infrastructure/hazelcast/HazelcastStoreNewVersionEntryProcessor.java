@@ -0,0 +1,67 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+@RegisterForReflection
+public final class HazelcastStoreNewVersionEntryProcessor implements EntryProcessor<String, HazelcastCachedUserProfilePictures, HazelcastCachedUserProfilePictures>, DataSerializable {
+
+    private HazelcastUserProfilePictureIdentifier newUserProfilePictureIdentifier;
+    private int listPageSize;
+    private HazelcastEntryTimeToLive entryTimeToLive;
+
+    public HazelcastStoreNewVersionEntryProcessor() {}
+
+    public HazelcastStoreNewVersionEntryProcessor(final HazelcastUserProfilePictureIdentifier newUserProfilePictureIdentifier,
+                                                  final int listPageSize,
+                                                  final HazelcastEntryTimeToLive entryTimeToLive) {
+        this.newUserProfilePictureIdentifier = Objects.requireNonNull(newUserProfilePictureIdentifier);
+        this.listPageSize = listPageSize;
+        this.entryTimeToLive = Objects.requireNonNull(entryTimeToLive);
+    }
+
+    @Override
+    public HazelcastCachedUserProfilePictures process(final Map.Entry<String, HazelcastCachedUserProfilePictures> entry) {
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = entry.getValue();
+        // the entry is left untouched when neither the list of versions, the last picture nor an absence is cached yet
+        if (hazelcastCachedUserProfilePictures == null
+                || (!hazelcastCachedUserProfilePictures.hasUserProfilePictureIdentifiersInCache()
+                && !hazelcastCachedUserProfilePictures.featuredIsLast
+                && hazelcastCachedUserProfilePictures.absence == null)) {
+            return hazelcastCachedUserProfilePictures;
+        }
+        hazelcastCachedUserProfilePictures.addNewProfilePictureIdentifier(newUserProfilePictureIdentifier, listPageSize);
+        if (hazelcastCachedUserProfilePictures.isEmpty()) {
+            // the entry only held a last picture or an absence, now outdated
+            entry.setValue(null);
+            return null;
+        }
+        entryTimeToLive.setValue(entry, hazelcastCachedUserProfilePictures);
+        return hazelcastCachedUserProfilePictures;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeByte(HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION);
+        HazelcastUserProfilePictureIdentifier.writeNullable(out, newUserProfilePictureIdentifier);
+        out.writeInt(listPageSize);
+        entryTimeToLive.writeData(out);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        HazelcastCachedUserProfilePictures.checkSerializationVersion(in);
+        this.newUserProfilePictureIdentifier = HazelcastUserProfilePictureIdentifier.readNullable(in);
+        this.listPageSize = in.readInt();
+        this.entryTimeToLive = new HazelcastEntryTimeToLive();
+        this.entryTimeToLive.readData(in);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+@RegisterForReflection
+public final class HazelcastStoreUserProfilePicturesEntryProcessor implements EntryProcessor<String, HazelcastCachedUserProfilePictures, HazelcastCachedUserProfilePictures>, DataSerializable {
+
+    private String pageCursor;
+    private SupportedMediaType mediaType;
+    private String[] versionIds;
+    private String nextPageCursor;
+    private int maxNextPages;
+    private HazelcastEntryTimeToLive entryTimeToLive;
+
+    public HazelcastStoreUserProfilePicturesEntryProcessor() {}
+
+    public HazelcastStoreUserProfilePicturesEntryProcessor(final String pageCursor,
+                                                           final SupportedMediaType mediaType,
+                                                           final String[] versionIds,
+                                                           final String nextPageCursor,
+                                                           final int maxNextPages,
+                                                           final HazelcastEntryTimeToLive entryTimeToLive) {
+        this.pageCursor = pageCursor;
+        this.mediaType = mediaType;
+        this.versionIds = Objects.requireNonNull(versionIds);
+        this.nextPageCursor = nextPageCursor;
+        this.maxNextPages = maxNextPages;
+        this.entryTimeToLive = Objects.requireNonNull(entryTimeToLive);
+    }
+
+    @Override
+    public HazelcastCachedUserProfilePictures process(final Map.Entry<String, HazelcastCachedUserProfilePictures> entry) {
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = entry.getValue() != null ? entry.getValue()
+                : HazelcastCachedUserProfilePictures.newBuilder().setUserPseudo(entry.getKey()).build();
+        hazelcastCachedUserProfilePictures.replaceAllProfilePictureIdentifiers(pageCursor, mediaType, versionIds, nextPageCursor, maxNextPages);
+        entryTimeToLive.setValue(entry, hazelcastCachedUserProfilePictures);
+        return hazelcastCachedUserProfilePictures.page(mediaType, pageCursor);
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeByte(HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION);
+        out.writeString(pageCursor);
+        out.writeString(mediaType == null ? null : mediaType.name());
+        out.writeStringArray(versionIds);
+        out.writeString(nextPageCursor);
+        out.writeInt(maxNextPages);
+        entryTimeToLive.writeData(out);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        HazelcastCachedUserProfilePictures.checkSerializationVersion(in);
+        this.pageCursor = in.readString();
+        this.mediaType = HazelcastCachedUserProfilePictures.readMediaType(in);
+        this.versionIds = in.readStringArray();
+        this.nextPageCursor = in.readString();
+        this.maxNextPages = in.readInt();
+        this.entryTimeToLive = new HazelcastEntryTimeToLive();
+        this.entryTimeToLive.readData(in);
+    }
+
+}
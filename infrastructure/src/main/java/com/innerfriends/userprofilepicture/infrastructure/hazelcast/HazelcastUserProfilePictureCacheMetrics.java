@@ -0,0 +1,115 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import java.util.Objects;
+
+/**
+ * Metrics of the cache map named after the Micrometer cache conventions.
+ * A get is a hit when it returns what it is read for: the versions of the requested page, or the featured state.
+ * Evictions and expirations are decided by the members and received as map events: every instance counts those of the
+ * whole cluster.
+ */
+@ApplicationScoped
+public class HazelcastUserProfilePictureCacheMetrics {
+
+    private static final String CACHE_TAG = "cache";
+
+    private final HazelcastInstance hazelcastInstance;
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter skippedPuts;
+    private final Counter explicitEvictions;
+    private final Counter evictions;
+    private final Counter expirations;
+    private final Timer getLatency;
+    private final Timer putLatency;
+
+    public HazelcastUserProfilePictureCacheMetrics(final HazelcastInstance hazelcastInstance,
+                                                   final MeterRegistry meterRegistry) {
+        this.hazelcastInstance = Objects.requireNonNull(hazelcastInstance);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.hits = counter("cache.gets", "result", "hit");
+        this.misses = counter("cache.gets", "result", "miss");
+        this.puts = counter("cache.puts", "result", "stored");
+        this.skippedPuts = counter("cache.puts", "result", "skipped");
+        this.explicitEvictions = counter("cache.evictions", "cause", "explicit");
+        this.evictions = counter("cache.evictions", "cause", "evicted");
+        this.expirations = counter("cache.evictions", "cause", "expired");
+        this.getLatency = timer("cache.get.latency");
+        this.putLatency = timer("cache.put.latency");
+    }
+
+    public void onStartup(@Observes StartupEvent startupEvent) {
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .addEntryListener(new EvictionListener(), false);
+    }
+
+    public Timer.Sample startSample() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordGet(final Timer.Sample sample, final boolean hit) {
+        sample.stop(getLatency);
+        (hit ? hits : misses).increment();
+    }
+
+    public void recordGetAll(final Timer.Sample sample, final int hitCount, final int missCount) {
+        sample.stop(getLatency);
+        hits.increment(hitCount);
+        misses.increment(missCount);
+    }
+
+    public void recordPut(final Timer.Sample sample) {
+        sample.stop(putLatency);
+        puts.increment();
+    }
+
+    public void recordSkippedPut() {
+        skippedPuts.increment();
+    }
+
+    public void recordEviction() {
+        explicitEvictions.increment();
+    }
+
+    private Counter counter(final String name, final String tagKey, final String tagValue) {
+        return Counter.builder(name)
+                .tag(CACHE_TAG, HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .tag(tagKey, tagValue)
+                .register(meterRegistry);
+    }
+
+    private Timer timer(final String name) {
+        return Timer.builder(name)
+                .tag(CACHE_TAG, HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private final class EvictionListener implements EntryEvictedListener<String, Object>, EntryExpiredListener<String, Object> {
+
+        @Override
+        public void entryEvicted(final EntryEvent<String, Object> event) {
+            evictions.increment();
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<String, Object> event) {
+            expirations.increment();
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import java.util.EnumSet;
+import java.util.Objects;
+
+/**
+ * Eviction policy of the cache map, sent to the cluster as a dynamic map config at startup.
+ * Max idle and max size apply to the whole map, the time to live is given per entry by the entry processors so list and
+ * featured entries, and the absences cached by reads, can expire at their own pace.
+ * The list page size bounds the first page of versions kept inline when a new version is stored, the max next pages
+ * the number of following pages kept per user.
+ * The cluster rejects a config conflicting with the one it already has for the map: the application then fails to
+ * start instead of running with a policy it did not ask for.
+ */
+@ApplicationScoped
+public class HazelcastUserProfilePictureCachePolicy {
+
+    private static final EnumSet<EvictionPolicy> SUPPORTED_EVICTION_POLICIES = EnumSet.of(EvictionPolicy.LRU, EvictionPolicy.LFU);
+
+    private final HazelcastInstance hazelcastInstance;
+    private final HazelcastEntryTimeToLive entryTimeToLive;
+    private final Integer maxIdleSeconds;
+    private final EvictionPolicy evictionPolicy;
+    private final MaxSizePolicy maxSizePolicy;
+    private final Integer maxSize;
+    private final Integer listPageSize;
+    private final Integer maxNextPages;
+
+    public HazelcastUserProfilePictureCachePolicy(final HazelcastInstance hazelcastInstance,
+                                                  @ConfigProperty(name = "cache.list.ttl.seconds", defaultValue = "600") final Long listTimeToLiveSeconds,
+                                                  @ConfigProperty(name = "cache.featured.ttl.seconds", defaultValue = "3600") final Long featuredTimeToLiveSeconds,
+                                                  @ConfigProperty(name = "cache.absence.ttl.seconds", defaultValue = "60") final Long absenceTimeToLiveSeconds,
+                                                  @ConfigProperty(name = "cache.max.idle.seconds", defaultValue = "600") final Integer maxIdleSeconds,
+                                                  @ConfigProperty(name = "cache.eviction.policy", defaultValue = "LRU") final EvictionPolicy evictionPolicy,
+                                                  @ConfigProperty(name = "cache.max.size.policy", defaultValue = "PER_NODE") final MaxSizePolicy maxSizePolicy,
+                                                  @ConfigProperty(name = "cache.max.size", defaultValue = "5000") final Integer maxSize,
+                                                  @ConfigProperty(name = "list.page.size", defaultValue = "50") final Integer listPageSize,
+                                                  @ConfigProperty(name = "cache.list.max.next.pages", defaultValue = "4") final Integer maxNextPages) {
+        this.hazelcastInstance = Objects.requireNonNull(hazelcastInstance);
+        this.entryTimeToLive = new HazelcastEntryTimeToLive(
+                requirePositiveOrZero(listTimeToLiveSeconds, "cache.list.ttl.seconds"),
+                requirePositiveOrZero(featuredTimeToLiveSeconds, "cache.featured.ttl.seconds"),
+                requirePositiveOrZero(absenceTimeToLiveSeconds, "cache.absence.ttl.seconds"));
+        this.maxIdleSeconds = requirePositiveOrZero(maxIdleSeconds, "cache.max.idle.seconds");
+        if (!SUPPORTED_EVICTION_POLICIES.contains(Objects.requireNonNull(evictionPolicy))) {
+            throw new IllegalArgumentException("cache.eviction.policy must be one of " + SUPPORTED_EVICTION_POLICIES + ", got " + evictionPolicy);
+        }
+        this.evictionPolicy = evictionPolicy;
+        this.maxSizePolicy = Objects.requireNonNull(maxSizePolicy);
+        if (Objects.requireNonNull(maxSize) <= 0) {
+            throw new IllegalArgumentException("cache.max.size must be positive, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        if (Objects.requireNonNull(listPageSize) <= 0) {
+            throw new IllegalArgumentException("list.page.size must be positive, got " + listPageSize);
+        }
+        this.listPageSize = listPageSize;
+        this.maxNextPages = requirePositiveOrZero(maxNextPages, "cache.list.max.next.pages");
+    }
+
+    public void onStartup(@Observes StartupEvent startupEvent) {
+        hazelcastInstance.getConfig().addMapConfig(mapConfig());
+    }
+
+    public MapConfig mapConfig() {
+        return new MapConfig(HazelcastUserProfilePictureCacheRepository.MAP_NAME)
+                .setMaxIdleSeconds(maxIdleSeconds)
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(evictionPolicy)
+                        .setMaxSizePolicy(maxSizePolicy)
+                        .setSize(maxSize));
+    }
+
+    public HazelcastEntryTimeToLive entryTimeToLive() {
+        return entryTimeToLive;
+    }
+
+    public Integer listPageSize() {
+        return listPageSize;
+    }
+
+    public Integer maxNextPages() {
+        return maxNextPages;
+    }
+
+    private static <T extends Number> T requirePositiveOrZero(final T value, final String name) {
+        if (Objects.requireNonNull(value).longValue() < 0) {
+            throw new IllegalArgumentException(name + " must be positive or zero, got " + value);
+        }
+        return value;
+    }
+
+}
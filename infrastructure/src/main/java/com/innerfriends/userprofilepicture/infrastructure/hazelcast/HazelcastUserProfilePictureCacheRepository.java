@@ -1,15 +1,26 @@
 package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
 import com.innerfriends.userprofilepicture.domain.*;
 import com.innerfriends.userprofilepicture.infrastructure.tracing.OpenTelemetryTracingService;
+import io.micrometer.core.instrument.Timer;
 import io.opentelemetry.api.trace.Span;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+/**
+ * Mutations are sent as entry processors: they run on the partition owning the entry, in one network hop, and
+ * concurrent writers cannot lose each other's update.
+ */
 @ApplicationScoped
 public class HazelcastUserProfilePictureCacheRepository implements UserProfilePictureCacheRepository {
 
@@ -17,28 +28,45 @@ public class HazelcastUserProfilePictureCacheRepository implements UserProfilePi
 
     private final HazelcastInstance hazelcastInstance;
     private final OpenTelemetryTracingService openTelemetryTracingService;
+    private final HazelcastUserProfilePictureCachePolicy hazelcastUserProfilePictureCachePolicy;
+    private final HazelcastUserProfilePictureCacheMetrics hazelcastUserProfilePictureCacheMetrics;
 
     public HazelcastUserProfilePictureCacheRepository(final HazelcastInstance hazelcastInstance,
-                                                      final OpenTelemetryTracingService openTelemetryTracingService) {
+                                                      final OpenTelemetryTracingService openTelemetryTracingService,
+                                                      final HazelcastUserProfilePictureCachePolicy hazelcastUserProfilePictureCachePolicy,
+                                                      final HazelcastUserProfilePictureCacheMetrics hazelcastUserProfilePictureCacheMetrics) {
         this.hazelcastInstance = Objects.requireNonNull(hazelcastInstance);
         this.openTelemetryTracingService = Objects.requireNonNull(openTelemetryTracingService);
+        this.hazelcastUserProfilePictureCachePolicy = Objects.requireNonNull(hazelcastUserProfilePictureCachePolicy);
+        this.hazelcastUserProfilePictureCacheMetrics = Objects.requireNonNull(hazelcastUserProfilePictureCacheMetrics);
     }
 
-    /**
-     * Warning
-     * The putAsync operation returns the old value as result.
-     * I should map the response and returned the new value passed as parameter.
-     * I may face cache propagation issue when requesting values present in the store.
-     */
-
     @Override
     public Uni<CachedUserProfilePictures> get(final UserPseudo userPseudo) throws UserProfileNotInCacheException {
+        return get(userPseudo, UnaryOperator.identity(), HazelcastUserProfilePictureCacheRepository::hasFeaturedStateInCache);
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> get(final UserPseudo userPseudo, final SupportedMediaType mediaType,
+                                              final PageCursor pageCursor) throws UserProfileNotInCacheException {
+        return get(userPseudo, cachedUserProfilePictures -> cachedUserProfilePictures.page(mediaType, value(pageCursor)),
+                CachedUserProfilePictures::hasUserProfilePictureIdentifiersInCache);
+    }
+
+    private Uni<CachedUserProfilePictures> get(final UserPseudo userPseudo,
+                                               final UnaryOperator<HazelcastCachedUserProfilePictures> view,
+                                               final Predicate<CachedUserProfilePictures> hit) {
         final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.get");
+        final Timer.Sample sample = hazelcastUserProfilePictureCacheMetrics.startSample();
         return Uni.createFrom()
                 .completionStage(() -> hazelcastInstance.getMap(MAP_NAME).getAsync(userPseudo.pseudo()))
-                .map(cachedUserProfilePicture -> cachedUserProfilePicture)
+                .onItem().ifNotNull()
+                .transform(cachedUserProfilePicture -> view.apply((HazelcastCachedUserProfilePictures) cachedUserProfilePicture))
                 .onItem()
                 .castTo(CachedUserProfilePictures.class)
+                .onItem()
+                .invoke(cachedUserProfilePictures -> hazelcastUserProfilePictureCacheMetrics.recordGet(sample,
+                        cachedUserProfilePictures != null && hit.test(cachedUserProfilePictures)))
                 .replaceIfNullWith(() -> {
                     throw new UserProfilePicturesNotInCacheException(userPseudo);
                 })
@@ -46,42 +74,123 @@ public class HazelcastUserProfilePictureCacheRepository implements UserProfilePi
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
 
+    /**
+     * IMap.getAll groups the keys by partition owner and fetches them in one call per member. It has no asynchronous
+     * variant: it runs on a worker thread so the calling I/O thread is never blocked.
+     */
     @Override
-    public Uni<CachedUserProfilePictures> store(final UserPseudo userPseudo, final UserProfilePictures userProfilePictures) {
+    public Uni<List<CachedUserProfilePictures>> getAll(final Set<UserPseudo> userPseudos) {
+        final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.getAll");
+        final Timer.Sample sample = hazelcastUserProfilePictureCacheMetrics.startSample();
+        final Set<String> keys = userPseudos.stream()
+                .map(UserPseudo::pseudo)
+                .collect(Collectors.toSet());
+        return Uni.createFrom()
+                .item(() -> cachedUserProfilePicturesMap().getAll(keys))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .onItem()
+                .transform(cachedUserProfilePictures -> List.<CachedUserProfilePictures>copyOf(cachedUserProfilePictures.values()))
+                .onItem()
+                .invoke(cachedUserProfilePictures -> {
+                    final int hitCount = (int) cachedUserProfilePictures.stream()
+                            .filter(HazelcastUserProfilePictureCacheRepository::hasFeaturedStateInCache)
+                            .count();
+                    hazelcastUserProfilePictureCacheMetrics.recordGetAll(sample, hitCount, keys.size() - hitCount);
+                })
+                .onFailure()
+                .invoke(() -> openTelemetryTracingService.markSpanInError(span))
+                .onTermination()
+                .invoke(() -> openTelemetryTracingService.endSpan(span));
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> store(final UserPseudo userPseudo, final SupportedMediaType mediaType,
+                                                final PageCursor pageCursor, final UserProfilePictures userProfilePictures) {
         if (userProfilePictures.canBeStoredInCache()) {
             final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.store");
+            final Timer.Sample sample = hazelcastUserProfilePictureCacheMetrics.startSample();
+            final List<? extends UserProfilePicture> pictures = userProfilePictures.userProfilePictures();
+            final HazelcastStoreUserProfilePicturesEntryProcessor entryProcessor = new HazelcastStoreUserProfilePicturesEntryProcessor(
+                    value(pageCursor),
+                    mediaType,
+                    pictures.stream()
+                            .map(picture -> picture.versionId().version())
+                            .toArray(String[]::new),
+                    value(userProfilePictures.nextPageCursor()),
+                    hazelcastUserProfilePictureCachePolicy.maxNextPages(),
+                    hazelcastUserProfilePictureCachePolicy.entryTimeToLive());
             return Uni.createFrom()
-                    .completionStage(() -> hazelcastInstance.getMap(MAP_NAME).getAsync(userPseudo.pseudo()))
-                    .replaceIfNullWith(() -> HazelcastCachedUserProfilePictures.newBuilder().setUserPseudo(userPseudo.pseudo()).build())
-                    .onItem().castTo(HazelcastCachedUserProfilePictures.class)
-                    .chain(hazelcastCachedUserProfilePicture -> {
-                        hazelcastCachedUserProfilePicture.replaceAllProfilePictureIdentifiers(
-                                userProfilePictures.userProfilePictures().stream()
-                                        .map(HazelcastUserProfilePictureIdentifier::new)
-                                        .collect(Collectors.toList())
-                        );
-                        return Uni.createFrom().completionStage(() -> hazelcastInstance.getMap(MAP_NAME).putAsync(userPseudo.pseudo(), hazelcastCachedUserProfilePicture))
-                                .map(response -> hazelcastCachedUserProfilePicture);
-                    })
+                    .completionStage(() -> cachedUserProfilePicturesMap().submitToKey(userPseudo.pseudo(), entryProcessor))
+                    .onItem().invoke(() -> hazelcastUserProfilePictureCacheMetrics.recordPut(sample))
                     .onItem().castTo(CachedUserProfilePictures.class)
                     .onTermination()
                     .invoke(() -> openTelemetryTracingService.endSpan(span));
         }
+        // a featured picture in error when retrieved must be retrieved again on next call
+        hazelcastUserProfilePictureCacheMetrics.recordSkippedPut();
         return Uni.createFrom().nullItem();
     }
 
+    @Override
+    public Uni<CachedUserProfilePictures> storeNewVersion(final UserPseudo userPseudo, final UserProfilePictureIdentifier newVersion) {
+        final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.storeNewVersion");
+        final Timer.Sample sample = hazelcastUserProfilePictureCacheMetrics.startSample();
+        final HazelcastStoreNewVersionEntryProcessor entryProcessor = new HazelcastStoreNewVersionEntryProcessor(
+                new HazelcastUserProfilePictureIdentifier(newVersion),
+                hazelcastUserProfilePictureCachePolicy.listPageSize(),
+                hazelcastUserProfilePictureCachePolicy.entryTimeToLive());
+        return Uni.createFrom()
+                .completionStage(() -> cachedUserProfilePicturesMap().submitToKey(userPseudo.pseudo(), entryProcessor))
+                .onItem().invoke(() -> hazelcastUserProfilePictureCacheMetrics.recordPut(sample))
+                .onItem().castTo(CachedUserProfilePictures.class)
+                .onTermination()
+                .invoke(() -> openTelemetryTracingService.endSpan(span));
+    }
+
     @Override
     public Uni<CachedUserProfilePictures> storeFeatured(final UserPseudo userPseudo, final UserProfilePictureIdentifier featured) {
         final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.storeFeatured");
+        final Timer.Sample sample = hazelcastUserProfilePictureCacheMetrics.startSample();
+        final HazelcastStoreFeaturedEntryProcessor entryProcessor = new HazelcastStoreFeaturedEntryProcessor(
+                new HazelcastUserProfilePictureIdentifier(featured),
+                hazelcastUserProfilePictureCachePolicy.entryTimeToLive());
         return Uni.createFrom()
-                .completionStage(() -> hazelcastInstance.getMap(MAP_NAME).getAsync(userPseudo.pseudo()))
-                .replaceIfNullWith(() -> HazelcastCachedUserProfilePictures.newBuilder().setUserPseudo(userPseudo.pseudo()).build())
-                .onItem().castTo(HazelcastCachedUserProfilePictures.class)
-                .chain(hazelcastCachedUserProfilePicture -> {
-                    hazelcastCachedUserProfilePicture.setFeaturedUserProfilePictureIdentifier(new HazelcastUserProfilePictureIdentifier(featured));
-                    return Uni.createFrom().completionStage(() -> hazelcastInstance.getMap(MAP_NAME).putAsync(userPseudo.pseudo(), hazelcastCachedUserProfilePicture))
-                            .map(response -> hazelcastCachedUserProfilePicture);
-                })
+                .completionStage(() -> cachedUserProfilePicturesMap().submitToKey(userPseudo.pseudo(), entryProcessor))
+                .onItem().invoke(() -> hazelcastUserProfilePictureCacheMetrics.recordPut(sample))
+                .onItem().castTo(CachedUserProfilePictures.class)
+                .onTermination()
+                .invoke(() -> openTelemetryTracingService.endSpan(span));
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> storeLastAsFeatured(final UserPseudo userPseudo, final UserProfilePictureIdentifier last) {
+        final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.storeLastAsFeatured");
+        final Timer.Sample sample = hazelcastUserProfilePictureCacheMetrics.startSample();
+        final HazelcastStoreLastAsFeaturedEntryProcessor entryProcessor = new HazelcastStoreLastAsFeaturedEntryProcessor(
+                new HazelcastUserProfilePictureIdentifier(last),
+                hazelcastUserProfilePictureCachePolicy.entryTimeToLive());
+        return Uni.createFrom()
+                .completionStage(() -> cachedUserProfilePicturesMap().submitToKey(userPseudo.pseudo(), entryProcessor))
+                .onItem().invoke(() -> hazelcastUserProfilePictureCacheMetrics.recordPut(sample))
+                .onItem().castTo(CachedUserProfilePictures.class)
+                .onTermination()
+                .invoke(() -> openTelemetryTracingService.endSpan(span));
+    }
+
+    @Override
+    public Uni<CachedUserProfilePictures> storeAbsence(final UserPseudo userPseudo, final SupportedMediaType mediaType,
+                                                       final CachedUserProfilePictures.Absence absence) {
+        final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.storeAbsence");
+        final Timer.Sample sample = hazelcastUserProfilePictureCacheMetrics.startSample();
+        final HazelcastEntryTimeToLive entryTimeToLive = hazelcastUserProfilePictureCachePolicy.entryTimeToLive();
+        final HazelcastStoreAbsenceEntryProcessor entryProcessor = new HazelcastStoreAbsenceEntryProcessor(
+                mediaType,
+                absence,
+                entryTimeToLive.absenceExpirationMillis(System.currentTimeMillis()),
+                entryTimeToLive);
+        return Uni.createFrom()
+                .completionStage(() -> cachedUserProfilePicturesMap().submitToKey(userPseudo.pseudo(), entryProcessor))
+                .onItem().invoke(() -> hazelcastUserProfilePictureCacheMetrics.recordPut(sample))
                 .onItem().castTo(CachedUserProfilePictures.class)
                 .onTermination()
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
@@ -92,10 +201,24 @@ public class HazelcastUserProfilePictureCacheRepository implements UserProfilePi
         final Span span = openTelemetryTracingService.startANewSpan("HazelcastUserProfilePictureCacheRepository.evict");
         return Uni.createFrom()
                 .completionStage(() -> hazelcastInstance.getMap(MAP_NAME).removeAsync(userPseudo.pseudo()))
+                .onItem().invoke(hazelcastUserProfilePictureCacheMetrics::recordEviction)
                 .onItemOrFailure()
                 .transform((item, exception) -> (Void) null)
                 .onTermination()
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
 
+    private IMap<String, HazelcastCachedUserProfilePictures> cachedUserProfilePicturesMap() {
+        return hazelcastInstance.getMap(MAP_NAME);
+    }
+
+    private static String value(final PageCursor pageCursor) {
+        return pageCursor == null ? null : pageCursor.value();
+    }
+
+    private static boolean hasFeaturedStateInCache(final CachedUserProfilePictures cachedUserProfilePictures) {
+        return cachedUserProfilePictures.featured() != null || cachedUserProfilePictures.lastAsFeatured() != null
+                || cachedUserProfilePictures.absence() != null;
+    }
+
 }
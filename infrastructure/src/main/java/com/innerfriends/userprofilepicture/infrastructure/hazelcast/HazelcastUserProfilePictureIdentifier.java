@@ -1,14 +1,22 @@
 package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
 
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
 import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifier;
 import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import com.innerfriends.userprofilepicture.domain.VersionId;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
-import java.io.Serializable;
+import java.io.IOException;
 import java.util.Objects;
 
-public final class HazelcastUserProfilePictureIdentifier implements UserProfilePictureIdentifier, Serializable {
+/**
+ * Always written inline by its container, which carries the serialization version.
+ */
+@RegisterForReflection
+public final class HazelcastUserProfilePictureIdentifier implements UserProfilePictureIdentifier, DataSerializable {
 
     public String userPseudo;
     public SupportedMediaType mediaType;
@@ -61,6 +69,37 @@ public final class HazelcastUserProfilePictureIdentifier implements UserProfileP
 
     }
 
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeString(userPseudo);
+        out.writeString(mediaType == null ? null : mediaType.name());
+        out.writeString(versionId);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        this.userPseudo = in.readString();
+        final String mediaTypeName = in.readString();
+        this.mediaType = mediaTypeName == null ? null : SupportedMediaType.valueOf(mediaTypeName);
+        this.versionId = in.readString();
+    }
+
+    static void writeNullable(final ObjectDataOutput out, final HazelcastUserProfilePictureIdentifier userProfilePictureIdentifier) throws IOException {
+        out.writeBoolean(userProfilePictureIdentifier != null);
+        if (userProfilePictureIdentifier != null) {
+            userProfilePictureIdentifier.writeData(out);
+        }
+    }
+
+    static HazelcastUserProfilePictureIdentifier readNullable(final ObjectDataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final HazelcastUserProfilePictureIdentifier userProfilePictureIdentifier = new HazelcastUserProfilePictureIdentifier();
+        userProfilePictureIdentifier.readData(in);
+        return userProfilePictureIdentifier;
+    }
+
     @Override
     public UserPseudo userPseudo() {
         return () -> userPseudo;
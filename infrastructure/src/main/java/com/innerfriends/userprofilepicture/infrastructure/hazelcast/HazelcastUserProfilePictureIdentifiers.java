@@ -0,0 +1,37 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read only view creating the identifiers of packed version ids on access.
+ */
+final class HazelcastUserProfilePictureIdentifiers extends AbstractList<HazelcastUserProfilePictureIdentifier> implements RandomAccess {
+
+    private final String userPseudo;
+    private final SupportedMediaType mediaType;
+    private final String[] versionIds;
+
+    HazelcastUserProfilePictureIdentifiers(final String userPseudo, final SupportedMediaType mediaType, final String[] versionIds) {
+        this.userPseudo = userPseudo;
+        this.mediaType = mediaType;
+        this.versionIds = versionIds;
+    }
+
+    @Override
+    public HazelcastUserProfilePictureIdentifier get(final int index) {
+        return HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo(userPseudo)
+                .setMediaType(mediaType)
+                .setVersionId(versionIds[index])
+                .build();
+    }
+
+    @Override
+    public int size() {
+        return versionIds.length;
+    }
+
+}
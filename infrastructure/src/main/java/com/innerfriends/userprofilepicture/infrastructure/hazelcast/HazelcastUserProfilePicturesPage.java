@@ -0,0 +1,72 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Always written inline by its container, which carries the serialization version.
+ */
+@RegisterForReflection
+public final class HazelcastUserProfilePicturesPage implements DataSerializable {
+
+    public SupportedMediaType mediaType;
+    public String[] versionIds;
+    public String nextPageCursor;
+
+    public HazelcastUserProfilePicturesPage() {}
+
+    public HazelcastUserProfilePicturesPage(final SupportedMediaType mediaType,
+                                            final String[] versionIds,
+                                            final String nextPageCursor) {
+        this.mediaType = mediaType;
+        this.versionIds = versionIds;
+        this.nextPageCursor = nextPageCursor;
+    }
+
+    @Override
+    public void writeData(final ObjectDataOutput out) throws IOException {
+        out.writeString(mediaType == null ? null : mediaType.name());
+        out.writeStringArray(versionIds);
+        out.writeString(nextPageCursor);
+    }
+
+    @Override
+    public void readData(final ObjectDataInput in) throws IOException {
+        this.mediaType = HazelcastCachedUserProfilePictures.readMediaType(in);
+        this.versionIds = in.readStringArray();
+        this.nextPageCursor = in.readString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof HazelcastUserProfilePicturesPage)) return false;
+        HazelcastUserProfilePicturesPage that = (HazelcastUserProfilePicturesPage) o;
+        return mediaType == that.mediaType &&
+                Arrays.equals(versionIds, that.versionIds) &&
+                Objects.equals(nextPageCursor, that.nextPageCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(mediaType, nextPageCursor);
+        result = 31 * result + Arrays.hashCode(versionIds);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "HazelcastUserProfilePicturesPage{" +
+                "mediaType=" + mediaType +
+                ", versionIds=" + Arrays.toString(versionIds) +
+                ", nextPageCursor='" + nextPageCursor + '\'' +
+                '}';
+    }
+}
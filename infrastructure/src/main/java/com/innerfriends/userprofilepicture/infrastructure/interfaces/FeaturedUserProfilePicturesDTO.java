@@ -0,0 +1,37 @@
+package com.innerfriends.userprofilepicture.infrastructure.interfaces;
+
+import com.innerfriends.userprofilepicture.domain.FeaturedUserProfilePictures;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@RegisterForReflection
+public final class FeaturedUserProfilePicturesDTO {
+
+    private final Map<String, UserProfilePictureIdentifierDTO> featuredUserProfilePictures;
+
+    public FeaturedUserProfilePicturesDTO(final FeaturedUserProfilePictures featuredUserProfilePictures) {
+        this.featuredUserProfilePictures = featuredUserProfilePictures.featuredUserProfilePictures().stream()
+                .collect(Collectors.toMap(featured -> featured.userPseudo().pseudo(),
+                        UserProfilePictureIdentifierDTO::new));
+    }
+
+    public Map<String, UserProfilePictureIdentifierDTO> getFeaturedUserProfilePictures() {
+        return featuredUserProfilePictures;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FeaturedUserProfilePicturesDTO)) return false;
+        FeaturedUserProfilePicturesDTO that = (FeaturedUserProfilePicturesDTO) o;
+        return Objects.equals(featuredUserProfilePictures, that.featuredUserProfilePictures);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(featuredUserProfilePictures);
+    }
+}
@@ -0,0 +1,32 @@
+package com.innerfriends.userprofilepicture.infrastructure.interfaces;
+
+import com.innerfriends.userprofilepicture.domain.PageCursor;
+
+import java.util.Objects;
+
+public final class JaxRsPageCursor implements PageCursor {
+
+    private final String value;
+
+    public JaxRsPageCursor(final String value) {
+        this.value = Objects.requireNonNull(value);
+    }
+
+    @Override
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JaxRsPageCursor)) return false;
+        JaxRsPageCursor that = (JaxRsPageCursor) o;
+        return Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value);
+    }
+}
@@ -7,13 +7,13 @@ import javax.ws.rs.core.Response;
 public class JaxRsResponseTransformer implements ResponseTransformer<Response> {
 
     @Override
-    public Response toResponse(final ContentUserProfilePicture contentUserProfilePicture) {
-        return Response.ok(contentUserProfilePicture.picture())
+    public Response toResponse(final StreamedContentUserProfilePicture streamedContentUserProfilePicture) {
+        return Response.ok(new StreamedPictureOutput(streamedContentUserProfilePicture.picture()))
                 .header("Content-Disposition",
-                        String.format("attachment;filename=%s%s", contentUserProfilePicture.userPseudo().pseudo(), contentUserProfilePicture.mediaType().extension()))
-                .header("Content-Type", contentUserProfilePicture.mediaType().contentType())
-                .header("Content-Length", contentUserProfilePicture.contentLength())
-                .header("versionId", contentUserProfilePicture.versionId().version())
+                        String.format("attachment;filename=%s%s", streamedContentUserProfilePicture.userPseudo().pseudo(), streamedContentUserProfilePicture.mediaType().extension()))
+                .header("Content-Type", streamedContentUserProfilePicture.mediaType().contentType())
+                .header("Content-Length", streamedContentUserProfilePicture.contentLength())
+                .header("versionId", streamedContentUserProfilePicture.versionId().version())
                 .build();
     }
 
@@ -33,6 +33,11 @@ public class JaxRsResponseTransformer implements ResponseTransformer<Response> {
         return Response.ok(new UserProfilePicturesDTO(userProfilePictures)).build();
     }
 
+    @Override
+    public Response toResponse(final FeaturedUserProfilePictures featuredUserProfilePictures) {
+        return Response.ok(new FeaturedUserProfilePicturesDTO(featuredUserProfilePictures)).build();
+    }
+
     @Override
     public Response toResponse(final UserProfilePictureNotAvailableYetException userProfilePictureNotAvailableYetException) {
         return Response.status(Response.Status.NOT_FOUND).build();
@@ -43,6 +48,11 @@ public class JaxRsResponseTransformer implements ResponseTransformer<Response> {
         return Response.status(Response.Status.NOT_FOUND).build();
     }
 
+    @Override
+    public Response toResponse(final UserProfilePicturesPageCursorInvalidException userProfilePicturesPageCursorInvalidException) {
+        return Response.status(Response.Status.BAD_REQUEST).build();
+    }
+
     @Override
     public Response toResponse(final UserProfilePictureRepositoryException userProfilePictureRepositoryException) {
         return Response.serverError().build();
@@ -53,6 +63,11 @@ public class JaxRsResponseTransformer implements ResponseTransformer<Response> {
         return Response.serverError().build();
     }
 
+    @Override
+    public Response toResponse(final LockAcquisitionTimeoutException lockAcquisitionTimeoutException) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+    }
+
     @Override
     public Response toResponse(final Throwable throwable) {
         return Response.serverError().build();
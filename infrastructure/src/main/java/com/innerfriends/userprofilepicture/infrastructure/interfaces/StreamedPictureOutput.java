@@ -0,0 +1,111 @@
+package com.innerfriends.userprofilepicture.infrastructure.interfaces;
+
+import io.smallrye.mutiny.Multi;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.jboss.resteasy.spi.AsyncStreamingOutput;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes the chunks of a picture as they are emitted, one at a time: the next chunk is requested once the previous one
+ * has been written, so no thread is blocked and no more than a chunk is buffered.
+ * The picture is subscribed to once. It is cancelled when a write fails, the client having left, or on cancel(): a
+ * picture never written is subscribed to only to be cancelled, which releases the connection it is read from.
+ */
+public final class StreamedPictureOutput implements AsyncStreamingOutput {
+
+    private enum State {
+        NEW, SUBSCRIBED, CANCELLED
+    }
+
+    private final Multi<byte[]> picture;
+    private final AtomicReference<State> state;
+    private final AtomicReference<Subscription> subscription;
+
+    public StreamedPictureOutput(final Multi<byte[]> picture) {
+        this.picture = Objects.requireNonNull(picture);
+        this.state = new AtomicReference<>(State.NEW);
+        this.subscription = new AtomicReference<>();
+    }
+
+    @Override
+    public CompletionStage<Void> asyncWrite(final AsyncOutputStream output) {
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+        if (!state.compareAndSet(State.NEW, State.SUBSCRIBED)) {
+            written.completeExceptionally(new IllegalStateException("Picture already written or cancelled"));
+            return written;
+        }
+        picture.subscribe(new Subscriber<byte[]>() {
+
+            private CompletionStage<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+            @Override
+            public void onSubscribe(final Subscription pictureSubscription) {
+                subscription.set(pictureSubscription);
+                if (state.get() == State.CANCELLED) {
+                    pictureSubscription.cancel();
+                } else {
+                    pictureSubscription.request(1L);
+                }
+            }
+
+            @Override
+            public void onNext(final byte[] chunk) {
+                lastWrite = output.asyncWrite(chunk)
+                        .whenComplete((ignored, failure) -> {
+                            if (failure != null) {
+                                subscription.get().cancel();
+                                written.completeExceptionally(failure);
+                            } else {
+                                subscription.get().request(1L);
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(final Throwable failure) {
+                written.completeExceptionally(failure);
+            }
+
+            @Override
+            public void onComplete() {
+                // completion may be signaled while the last chunk is still being written
+                lastWrite.whenComplete((ignored, failure) -> written.complete(null));
+            }
+
+        });
+        return written;
+    }
+
+    public void cancel() {
+        final State previousState = state.getAndSet(State.CANCELLED);
+        if (previousState == State.NEW) {
+            picture.subscribe(new Subscriber<byte[]>() {
+
+                @Override
+                public void onSubscribe(final Subscription pictureSubscription) {
+                    pictureSubscription.cancel();
+                }
+
+                @Override
+                public void onNext(final byte[] chunk) {}
+
+                @Override
+                public void onError(final Throwable failure) {}
+
+                @Override
+                public void onComplete() {}
+
+            });
+        } else if (previousState == State.SUBSCRIBED && subscription.get() != null) {
+            // no-op once the picture has been fully written
+            subscription.get().cancel();
+        }
+    }
+
+}
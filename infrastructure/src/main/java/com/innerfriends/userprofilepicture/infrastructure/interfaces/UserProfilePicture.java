@@ -7,13 +7,14 @@ import org.jboss.resteasy.annotations.providers.multipart.PartType;
 
 import javax.ws.rs.FormParam;
 import javax.ws.rs.core.MediaType;
+import java.io.InputStream;
 
 public class UserProfilePicture {
 
     @FormParam("picture")
     @Schema(type = SchemaType.STRING, format = "binary", description = "content data")
     @PartType(MediaType.APPLICATION_OCTET_STREAM)
-    public byte[] picture;
+    public InputStream picture;
 
     @FormParam("supportedMediaType")
     @PartType(MediaType.TEXT_PLAIN)
@@ -1,34 +1,61 @@
 package com.innerfriends.userprofilepicture.infrastructure.interfaces;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.innerfriends.userprofilepicture.domain.ResponseTransformer;
 import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.domain.UseCase;
 import com.innerfriends.userprofilepicture.domain.usecase.*;
+import com.innerfriends.userprofilepicture.infrastructure.metrics.MeteredUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.Uni;
+import io.vertx.ext.web.RoutingContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.resteasy.annotations.providers.multipart.MultipartForm;
 
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Path("/users")
 public class UserProfilePictureEndpoint {
 
-    private final SaveUserProfilePictureUseCase<Response> saveUserProfilePictureUseCase;
-    private final GetFeaturedUserProfilePictureUseCase<Response> getFeaturedUserProfilePictureUseCase;
-    private final ListUserProfilPicturesUseCase<Response> listUserProfilPicturesUseCase;
-    private final GetUserProfilePictureByVersionUseCase<Response> getUserProfilePictureByVersionUseCase;
+    private final UseCase<Response, SaveUserProfilePictureCommand> saveUserProfilePictureUseCase;
+    private final UseCase<Response, GetFeaturedUserProfilePictureCommand> getFeaturedUserProfilePictureUseCase;
+    private final UseCase<Response, ListUserProfilPicturesCommand> listUserProfilPicturesUseCase;
+    private final UseCase<Response, GetUserUserProfilePictureByVersionCommand> getUserProfilePictureByVersionUseCase;
+    private final UseCase<Response, GetFeaturedUserProfilePicturesCommand> getFeaturedUserProfilePicturesUseCase;
+    private final Integer featuredBulkMaxPseudos;
+    private final ObjectMapper objectMapper;
 
     private final ResponseTransformer<Response> jaxRsResponseTransformer;
 
     public UserProfilePictureEndpoint(final SaveUserProfilePictureUseCase<Response> saveUserProfilePictureUseCase,
                                       final GetFeaturedUserProfilePictureUseCase<Response> getFeaturedUserProfilePictureUseCase,
                                       final ListUserProfilPicturesUseCase<Response> listUserProfilPicturesUseCase,
-                                      final GetUserProfilePictureByVersionUseCase<Response> getUserProfilePictureByVersionUseCase) {
-        this.saveUserProfilePictureUseCase = Objects.requireNonNull(saveUserProfilePictureUseCase);
-        this.getFeaturedUserProfilePictureUseCase = Objects.requireNonNull(getFeaturedUserProfilePictureUseCase);
-        this.listUserProfilPicturesUseCase = Objects.requireNonNull(listUserProfilPicturesUseCase);
-        this.getUserProfilePictureByVersionUseCase = Objects.requireNonNull(getUserProfilePictureByVersionUseCase);
+                                      final GetUserProfilePictureByVersionUseCase<Response> getUserProfilePictureByVersionUseCase,
+                                      final GetFeaturedUserProfilePicturesUseCase<Response> getFeaturedUserProfilePicturesUseCase,
+                                      final MeterRegistry meterRegistry,
+                                      final ObjectMapper objectMapper,
+                                      @ConfigProperty(name = "featured.bulk.max.pseudos", defaultValue = "200") final Integer featuredBulkMaxPseudos) {
+        this.saveUserProfilePictureUseCase = new MeteredUseCase<>("SaveUserProfilePictureUseCase",
+                saveUserProfilePictureUseCase, meterRegistry);
+        this.getFeaturedUserProfilePictureUseCase = new MeteredUseCase<>("GetFeaturedUserProfilePictureUseCase",
+                getFeaturedUserProfilePictureUseCase, meterRegistry);
+        this.listUserProfilPicturesUseCase = new MeteredUseCase<>("ListUserProfilPicturesUseCase",
+                listUserProfilPicturesUseCase, meterRegistry);
+        this.getUserProfilePictureByVersionUseCase = new MeteredUseCase<>("GetUserProfilePictureByVersionUseCase",
+                getUserProfilePictureByVersionUseCase, meterRegistry);
+        this.getFeaturedUserProfilePicturesUseCase = new MeteredUseCase<>("GetFeaturedUserProfilePicturesUseCase",
+                getFeaturedUserProfilePicturesUseCase, meterRegistry);
+        this.featuredBulkMaxPseudos = Objects.requireNonNull(featuredBulkMaxPseudos);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
         this.jaxRsResponseTransformer = new JaxRsResponseTransformer();
     }
 
@@ -53,14 +80,44 @@ public class UserProfilePictureEndpoint {
                 jaxRsResponseTransformer);
     }
 
+    /**
+     * Featured pictures of many pseudos in one call, keyed by pseudo. A POST: a list of pseudos in a query string would
+     * hit the request line limit long before the bulk limit. The pseudos are a JSON array in the body, read as is as
+     * the Content-Type header carries the media type like on every other endpoint.
+     */
+    @POST
+    @Consumes("image/*")
+    @Path("/featured")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> getFeaturedUserProfilePictures(final String userPseudos,
+                                                        @DefaultValue("image/jpeg; charset=ISO-8859-1") @HeaderParam("Content-Type") final String contentType) {
+        final List<String> pseudos;
+        try {
+            pseudos = userPseudos == null ? null : objectMapper.readValue(userPseudos, new TypeReference<List<String>>() {});
+        } catch (final JsonProcessingException jsonProcessingException) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).build());
+        }
+        if (pseudos == null || pseudos.size() > featuredBulkMaxPseudos) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).build());
+        }
+        return getFeaturedUserProfilePicturesUseCase.execute(new GetFeaturedUserProfilePicturesCommand(
+                pseudos.stream()
+                        .map(JaxRsUserPseudo::new)
+                        .collect(Collectors.toCollection(LinkedHashSet::new)),
+                SupportedMediaType.fromContentType(
+                        new ImageContentType(contentType).imageContentType())),
+                jaxRsResponseTransformer);
+    }
+
     @GET
     @Path("/{userPseudo}")
     public Uni<Response> listUserProfilePictures(@PathParam("userPseudo") final String userPseudo,
-                                                 @DefaultValue("image/jpeg; charset=ISO-8859-1") @HeaderParam("Content-Type") final String contentType) {
-        return listUserProfilPicturesUseCase.execute(new ListUserProfilPicturesCommand(
-                        new JaxRsUserPseudo(userPseudo),
-                        SupportedMediaType.fromContentType(
-                                new ImageContentType(contentType).imageContentType())),
+                                                 @DefaultValue("image/jpeg; charset=ISO-8859-1") @HeaderParam("Content-Type") final String contentType,
+                                                 @QueryParam("pageCursor") final String pageCursor) {
+        final SupportedMediaType mediaType = SupportedMediaType.fromContentType(new ImageContentType(contentType).imageContentType());
+        return listUserProfilPicturesUseCase.execute(pageCursor == null
+                        ? new ListUserProfilPicturesCommand(new JaxRsUserPseudo(userPseudo), mediaType)
+                        : new ListUserProfilPicturesCommand(new JaxRsUserPseudo(userPseudo), mediaType, new JaxRsPageCursor(pageCursor)),
                 jaxRsResponseTransformer);
     }
 
@@ -69,13 +126,21 @@ public class UserProfilePictureEndpoint {
     @Path("/{userPseudo}/version/{versionId}")
     public Uni<Response> downloadUserProfilePictureByVersion(@PathParam("userPseudo") final String userPseudo,
                                                              @PathParam("versionId") final String versionId,
-                                                             @DefaultValue("image/jpeg; charset=ISO-8859-1") @HeaderParam("Content-Type") final String contentType) {
+                                                             @DefaultValue("image/jpeg; charset=ISO-8859-1") @HeaderParam("Content-Type") final String contentType,
+                                                             @Context final RoutingContext routingContext) {
         return getUserProfilePictureByVersionUseCase.execute(new GetUserUserProfilePictureByVersionCommand(
                 new JaxRsUserPseudo(userPseudo),
                         SupportedMediaType.fromContentType(
                                 new ImageContentType(contentType).imageContentType()),
                         new JaxRsVersionId(versionId)),
-                jaxRsResponseTransformer);
+                jaxRsResponseTransformer)
+                .invoke(response -> {
+                    if (response.getEntity() instanceof StreamedPictureOutput) {
+                        // stop reading the picture when the response ends before it is fully written, or without
+                        // writing it at all
+                        routingContext.addEndHandler(ended -> ((StreamedPictureOutput) response.getEntity()).cancel());
+                    }
+                });
     }
 
 //    @POST
@@ -12,12 +12,14 @@ public final class UserProfilePicturesDTO {
 
     private final UserProfilePictures.FeatureState featureState;
     private final List<UserProfilePictureDTO> userProfilePictures;
+    private final String nextPageCursor;
 
     public UserProfilePicturesDTO(final UserProfilePictures userProfilePictures) {
         this.featureState = userProfilePictures.featureState();
         this.userProfilePictures = userProfilePictures.userProfilePictures().stream()
                 .map(UserProfilePictureDTO::new)
                 .collect(Collectors.toList());
+        this.nextPageCursor = userProfilePictures.hasNextPage() ? userProfilePictures.nextPageCursor().value() : null;
     }
 
     public UserProfilePictures.FeatureState getFeatureState() {
@@ -28,17 +30,22 @@ public final class UserProfilePicturesDTO {
         return userProfilePictures;
     }
 
+    public String getNextPageCursor() {
+        return nextPageCursor;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof UserProfilePicturesDTO)) return false;
         UserProfilePicturesDTO that = (UserProfilePicturesDTO) o;
         return featureState == that.featureState &&
-                Objects.equals(userProfilePictures, that.userProfilePictures);
+                Objects.equals(userProfilePictures, that.userProfilePictures) &&
+                Objects.equals(nextPageCursor, that.nextPageCursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(featureState, userProfilePictures);
+        return Objects.hash(featureState, userProfilePictures, nextPageCursor);
     }
 }
@@ -0,0 +1,123 @@
+package com.innerfriends.userprofilepicture.infrastructure.metrics;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Objects;
+
+/**
+ * Counts the outcome of a use case per response transformer branch before delegating the response creation.
+ */
+public final class MeteredResponseTransformer<R> implements ResponseTransformer<R> {
+
+    private final ResponseTransformer<R> responseTransformer;
+    private final Counter success;
+    private final Counter notAvailableYet;
+    private final Counter versionUnknown;
+    private final Counter pageCursorInvalid;
+    private final Counter repositoryError;
+    private final Counter featuredRepositoryError;
+    private final Counter lockAcquisitionTimeout;
+    private final Counter unexpectedError;
+
+    public MeteredResponseTransformer(final String useCaseName,
+                                      final ResponseTransformer<R> responseTransformer,
+                                      final MeterRegistry meterRegistry) {
+        Objects.requireNonNull(useCaseName);
+        Objects.requireNonNull(meterRegistry);
+        this.responseTransformer = Objects.requireNonNull(responseTransformer);
+        this.success = counter(useCaseName, "success", meterRegistry);
+        this.notAvailableYet = counter(useCaseName, "not_available_yet", meterRegistry);
+        this.versionUnknown = counter(useCaseName, "version_unknown", meterRegistry);
+        this.pageCursorInvalid = counter(useCaseName, "page_cursor_invalid", meterRegistry);
+        this.repositoryError = counter(useCaseName, "repository_error", meterRegistry);
+        this.featuredRepositoryError = counter(useCaseName, "featured_repository_error", meterRegistry);
+        this.lockAcquisitionTimeout = counter(useCaseName, "lock_acquisition_timeout", meterRegistry);
+        this.unexpectedError = counter(useCaseName, "unexpected_error", meterRegistry);
+    }
+
+    private static Counter counter(final String useCaseName, final String outcome, final MeterRegistry meterRegistry) {
+        return Counter.builder("usecase.outcomes")
+                .tag("usecase", useCaseName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    boolean decorates(final ResponseTransformer<R> responseTransformer) {
+        return this.responseTransformer == responseTransformer;
+    }
+
+    @Override
+    public R toResponse(final StreamedContentUserProfilePicture streamedContentUserProfilePicture) {
+        success.increment();
+        return responseTransformer.toResponse(streamedContentUserProfilePicture);
+    }
+
+    @Override
+    public R toResponse(final UserProfilePictureSaved profilePictureSaved) {
+        success.increment();
+        return responseTransformer.toResponse(profilePictureSaved);
+    }
+
+    @Override
+    public R toResponse(final UserProfilePictureIdentifier userProfilePictureIdentifiers) {
+        success.increment();
+        return responseTransformer.toResponse(userProfilePictureIdentifiers);
+    }
+
+    @Override
+    public R toResponse(final UserProfilePictures userProfilePictures) {
+        success.increment();
+        return responseTransformer.toResponse(userProfilePictures);
+    }
+
+    @Override
+    public R toResponse(final FeaturedUserProfilePictures featuredUserProfilePictures) {
+        success.increment();
+        return responseTransformer.toResponse(featuredUserProfilePictures);
+    }
+
+    @Override
+    public R toResponse(final UserProfilePictureNotAvailableYetException userProfilePictureNotAvailableYetException) {
+        notAvailableYet.increment();
+        return responseTransformer.toResponse(userProfilePictureNotAvailableYetException);
+    }
+
+    @Override
+    public R toResponse(final UserProfilePictureVersionUnknownException userProfilePictureVersionUnknownException) {
+        versionUnknown.increment();
+        return responseTransformer.toResponse(userProfilePictureVersionUnknownException);
+    }
+
+    @Override
+    public R toResponse(final UserProfilePicturesPageCursorInvalidException userProfilePicturesPageCursorInvalidException) {
+        pageCursorInvalid.increment();
+        return responseTransformer.toResponse(userProfilePicturesPageCursorInvalidException);
+    }
+
+    @Override
+    public R toResponse(final UserProfilePictureRepositoryException userProfilePictureRepositoryException) {
+        repositoryError.increment();
+        return responseTransformer.toResponse(userProfilePictureRepositoryException);
+    }
+
+    @Override
+    public R toResponse(final UserProfilPictureFeaturedRepositoryException userProfilPictureFeaturedRepositoryException) {
+        featuredRepositoryError.increment();
+        return responseTransformer.toResponse(userProfilPictureFeaturedRepositoryException);
+    }
+
+    @Override
+    public R toResponse(final LockAcquisitionTimeoutException lockAcquisitionTimeoutException) {
+        lockAcquisitionTimeout.increment();
+        return responseTransformer.toResponse(lockAcquisitionTimeoutException);
+    }
+
+    @Override
+    public R toResponse(final Throwable throwable) {
+        unexpectedError.increment();
+        return responseTransformer.toResponse(throwable);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.innerfriends.userprofilepicture.infrastructure.metrics;
+
+import com.innerfriends.userprofilepicture.domain.ResponseTransformer;
+import com.innerfriends.userprofilepicture.domain.UseCase;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decorates a use case to record its latency histogram, its outcomes per response transformer branch and its executions
+ * in flight.
+ * Meters are registered once: an execution only updates them, without building tags or looking meters up. The metered
+ * response transformer is kept for the response transformer it decorates, the same one on each execution of an endpoint.
+ */
+public final class MeteredUseCase<R, C> implements UseCase<R, C> {
+
+    private final String useCaseName;
+    private final UseCase<R, C> useCase;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Timer latency;
+    private final AtomicInteger inFlight;
+    private volatile MeteredResponseTransformer<R> meteredResponseTransformer;
+
+    public MeteredUseCase(final String useCaseName,
+                          final UseCase<R, C> useCase,
+                          final MeterRegistry meterRegistry) {
+        this.useCaseName = Objects.requireNonNull(useCaseName);
+        this.useCase = Objects.requireNonNull(useCase);
+        this.meterRegistry = Objects.requireNonNull(meterRegistry);
+        this.clock = meterRegistry.config().clock();
+        this.latency = Timer.builder("usecase.latency")
+                .tag("usecase", useCaseName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.inFlight = meterRegistry.gauge("usecase.inflight", Tags.of("usecase", useCaseName), new AtomicInteger());
+    }
+
+    @Override
+    public Uni<R> execute(final C command, final ResponseTransformer<R> responseTransformer) {
+        final ResponseTransformer<R> meteredResponseTransformer = metered(responseTransformer);
+        return Uni.createFrom().deferred(() -> {
+            inFlight.incrementAndGet();
+            final long startTime = clock.monotonicTime();
+            return useCase.execute(command, meteredResponseTransformer)
+                    .onTermination()
+                    .invoke(() -> {
+                        inFlight.decrementAndGet();
+                        latency.record(clock.monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+                    });
+        });
+    }
+
+    private ResponseTransformer<R> metered(final ResponseTransformer<R> responseTransformer) {
+        MeteredResponseTransformer<R> current = meteredResponseTransformer;
+        if (current == null || !current.decorates(responseTransformer)) {
+            current = new MeteredResponseTransformer<>(useCaseName, responseTransformer, meterRegistry);
+            meteredResponseTransformer = current;
+        }
+        return current;
+    }
+
+}
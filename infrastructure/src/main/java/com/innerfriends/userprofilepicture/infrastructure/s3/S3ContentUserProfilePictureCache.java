@@ -0,0 +1,52 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innerfriends.userprofilepicture.domain.ContentUserProfilePicture;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A version content never changes once written: entries are never invalidated, only evicted when the byte budget is
+ * exceeded. Caffeine admission policy (W-TinyLFU) keeps one-hit wonders from evicting frequently downloaded pictures.
+ */
+@ApplicationScoped
+public class S3ContentUserProfilePictureCache {
+
+    public static final String CACHE_NAME = "userProfilePictureContent";
+
+    private final Cache<S3ObjectVersionKey, ContentUserProfilePicture> cache;
+    private final Long maxEntrySizeInBytes;
+
+    public S3ContentUserProfilePictureCache(final MeterRegistry meterRegistry,
+                                            @ConfigProperty(name = "content.cache.max.size.bytes", defaultValue = "67108864") final Long maxSizeInBytes,
+                                            @ConfigProperty(name = "content.cache.max.entry.size.bytes", defaultValue = "1048576") final Long maxEntrySizeInBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Objects.requireNonNull(maxSizeInBytes))
+                .weigher((S3ObjectVersionKey key, ContentUserProfilePicture contentUserProfilePicture) -> contentUserProfilePicture.picture().length)
+                .recordStats()
+                .build();
+        this.maxEntrySizeInBytes = Objects.requireNonNull(maxEntrySizeInBytes);
+        CaffeineCacheMetrics.monitor(Objects.requireNonNull(meterRegistry), cache, CACHE_NAME);
+    }
+
+    public Optional<ContentUserProfilePicture> get(final S3ObjectVersionKey s3ObjectVersionKey) {
+        return Optional.ofNullable(cache.getIfPresent(s3ObjectVersionKey));
+    }
+
+    public void put(final S3ObjectVersionKey s3ObjectVersionKey, final ContentUserProfilePicture contentUserProfilePicture) {
+        if (accepts(contentUserProfilePicture.picture().length)) {
+            cache.put(s3ObjectVersionKey, contentUserProfilePicture);
+        }
+    }
+
+    public boolean accepts(final long contentLength) {
+        return contentLength <= maxEntrySizeInBytes;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import java.util.Objects;
+
+public final class S3ObjectVersionKey {
+
+    private final String objectKey;
+    private final String versionId;
+
+    public S3ObjectVersionKey(final ObjectKey objectKey, final String versionId) {
+        this.objectKey = Objects.requireNonNull(objectKey).value();
+        this.versionId = Objects.requireNonNull(versionId);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof S3ObjectVersionKey)) return false;
+        S3ObjectVersionKey that = (S3ObjectVersionKey) o;
+        return Objects.equals(objectKey, that.objectKey) &&
+                Objects.equals(versionId, that.versionId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(objectKey, versionId);
+    }
+}
@@ -0,0 +1,67 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import com.innerfriends.userprofilepicture.domain.PageCursor;
+import com.innerfriends.userprofilepicture.domain.UserProfilePicturesPageCursorInvalidException;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque cursor over the key and version id markers returned by a truncated listObjectVersions.
+ */
+public final class S3PageCursor implements PageCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String keyMarker;
+    private final String versionIdMarker;
+
+    public S3PageCursor(final String keyMarker, final String versionIdMarker) {
+        this.keyMarker = Objects.requireNonNull(keyMarker);
+        this.versionIdMarker = Objects.requireNonNull(versionIdMarker);
+    }
+
+    public static S3PageCursor decode(final UserPseudo userPseudo, final PageCursor pageCursor) throws UserProfilePicturesPageCursorInvalidException {
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(pageCursor.value()), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            throw new UserProfilePicturesPageCursorInvalidException(userPseudo);
+        }
+        final int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+        if (separatorIndex <= 0 || separatorIndex == decoded.length() - 1) {
+            throw new UserProfilePicturesPageCursorInvalidException(userPseudo);
+        }
+        return new S3PageCursor(decoded.substring(0, separatorIndex), decoded.substring(separatorIndex + 1));
+    }
+
+    public String keyMarker() {
+        return keyMarker;
+    }
+
+    public String versionIdMarker() {
+        return versionIdMarker;
+    }
+
+    @Override
+    public String value() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((keyMarker + SEPARATOR + versionIdMarker).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof S3PageCursor)) return false;
+        S3PageCursor that = (S3PageCursor) o;
+        return Objects.equals(keyMarker, that.keyMarker) &&
+                Objects.equals(versionIdMarker, that.versionIdMarker);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(keyMarker, versionIdMarker);
+    }
+}
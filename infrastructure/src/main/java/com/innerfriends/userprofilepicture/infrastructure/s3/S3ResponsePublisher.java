@@ -0,0 +1,27 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+public final class S3ResponsePublisher {
+
+    private final GetObjectResponse getObjectResponse;
+    private final SdkPublisher<ByteBuffer> content;
+
+    public S3ResponsePublisher(final GetObjectResponse getObjectResponse, final SdkPublisher<ByteBuffer> content) {
+        this.getObjectResponse = Objects.requireNonNull(getObjectResponse);
+        this.content = Objects.requireNonNull(content);
+    }
+
+    public GetObjectResponse response() {
+        return getObjectResponse;
+    }
+
+    public SdkPublisher<ByteBuffer> content() {
+        return content;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Completes as soon as the response headers are received and hands over the body publisher without buffering it.
+ * The body must be subscribed to, otherwise the underlying connection is not released.
+ */
+public final class S3ResponsePublisherTransformer implements AsyncResponseTransformer<GetObjectResponse, S3ResponsePublisher> {
+
+    private volatile CompletableFuture<S3ResponsePublisher> future;
+    private volatile GetObjectResponse getObjectResponse;
+
+    @Override
+    public CompletableFuture<S3ResponsePublisher> prepare() {
+        // called again on each retry attempt
+        future = new CompletableFuture<>();
+        return future;
+    }
+
+    @Override
+    public void onResponse(final GetObjectResponse getObjectResponse) {
+        this.getObjectResponse = getObjectResponse;
+    }
+
+    @Override
+    public void onStream(final SdkPublisher<ByteBuffer> publisher) {
+        future.complete(new S3ResponsePublisher(getObjectResponse, publisher));
+    }
+
+    @Override
+    public void exceptionOccurred(final Throwable throwable) {
+        future.completeExceptionally(throwable);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.smallrye.mutiny.Multi;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.util.Objects;
+
+public final class S3StreamedContentUserProfilePicture implements StreamedContentUserProfilePicture {
+
+    private final UserPseudo userPseudo;
+    private final Multi<byte[]> picture;
+    private final SupportedMediaType mediaType;
+    private final Long contentLength;
+    private final VersionId versionId;
+
+    public S3StreamedContentUserProfilePicture(final UserPseudo userPseudo,
+                                               final GetObjectResponse getObjectResponse,
+                                               final Multi<byte[]> picture) {
+        this.userPseudo = Objects.requireNonNull(userPseudo);
+        this.picture = Objects.requireNonNull(picture);
+        this.mediaType = SupportedMediaType.fromContentType(getObjectResponse.contentType());
+        this.contentLength = getObjectResponse.contentLength();
+        this.versionId = new S3VersionId(getObjectResponse.versionId());
+    }
+
+    public S3StreamedContentUserProfilePicture(final ContentUserProfilePicture contentUserProfilePicture) {
+        this.userPseudo = contentUserProfilePicture.userPseudo();
+        this.picture = Multi.createFrom().item(contentUserProfilePicture.picture());
+        this.mediaType = contentUserProfilePicture.mediaType();
+        this.contentLength = contentUserProfilePicture.contentLength();
+        this.versionId = contentUserProfilePicture.versionId();
+    }
+
+    @Override
+    public UserPseudo userPseudo() {
+        return userPseudo;
+    }
+
+    @Override
+    public Multi<byte[]> picture() {
+        return picture;
+    }
+
+    @Override
+    public SupportedMediaType mediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public Long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public VersionId versionId() {
+        return versionId;
+    }
+
+}
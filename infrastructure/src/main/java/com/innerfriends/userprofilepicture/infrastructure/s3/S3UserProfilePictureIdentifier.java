@@ -4,6 +4,7 @@ import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifier;
 import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import com.innerfriends.userprofilepicture.domain.VersionId;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ObjectVersion;
 
 import java.util.Objects;
@@ -24,6 +25,14 @@ public class S3UserProfilePictureIdentifier implements UserProfilePictureIdentif
         this.versionId = new S3VersionId(objectVersion);
     }
 
+    public S3UserProfilePictureIdentifier(final UserPseudo userPseudo,
+                                          final SupportedMediaType mediaType,
+                                          final HeadObjectResponse headObjectResponse) {
+        this.userPseudo = Objects.requireNonNull(userPseudo);
+        this.mediaType = Objects.requireNonNull(mediaType);
+        this.versionId = new S3VersionId(headObjectResponse.versionId());
+    }
+
     @Override
     public UserPseudo userPseudo() {
         return userPseudo;
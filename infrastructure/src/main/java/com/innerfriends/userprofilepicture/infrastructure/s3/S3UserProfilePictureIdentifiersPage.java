@@ -0,0 +1,52 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+public final class S3UserProfilePictureIdentifiersPage implements UserProfilePictureIdentifiersPage {
+
+    private final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers;
+    private final PageCursor nextPageCursor;
+
+    public S3UserProfilePictureIdentifiersPage(final UserPseudo userPseudo,
+                                               final SupportedMediaType mediaType,
+                                               final ListObjectVersionsResponse listObjectVersionsResponse) {
+        Objects.requireNonNull(userPseudo);
+        Objects.requireNonNull(mediaType);
+        this.userProfilePictureIdentifiers = listObjectVersionsResponse.versions()
+                .stream()
+                .map(objectVersion -> (UserProfilePictureIdentifier) new S3UserProfilePictureIdentifier(userPseudo, mediaType, objectVersion))
+                .collect(Collectors.toList());
+        this.nextPageCursor = Boolean.TRUE.equals(listObjectVersionsResponse.isTruncated())
+                ? new S3PageCursor(listObjectVersionsResponse.nextKeyMarker(), listObjectVersionsResponse.nextVersionIdMarker())
+                : null;
+    }
+
+    @Override
+    public List<UserProfilePictureIdentifier> userProfilePictureIdentifiers() {
+        return userProfilePictureIdentifiers;
+    }
+
+    @Override
+    public PageCursor nextPageCursor() {
+        return nextPageCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof S3UserProfilePictureIdentifiersPage)) return false;
+        S3UserProfilePictureIdentifiersPage that = (S3UserProfilePictureIdentifiersPage) o;
+        return Objects.equals(userProfilePictureIdentifiers, that.userProfilePictureIdentifiers) &&
+                Objects.equals(nextPageCursor, that.nextPageCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userProfilePictureIdentifiers, nextPageCursor);
+    }
+}
@@ -3,58 +3,80 @@ package com.innerfriends.userprofilepicture.infrastructure.s3;
 import com.innerfriends.userprofilepicture.domain.*;
 import com.innerfriends.userprofilepicture.infrastructure.tracing.OpenTelemetryTracingService;
 import io.opentelemetry.api.trace.Span;
+import io.quarkus.runtime.Startup;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
+import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
-import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.ListObjectVersionsRequest;
-import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.*;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
+@Startup
 @ApplicationScoped
 public class S3UserProfilePictureRepository implements UserProfilePictureRepository {
 
+    // every part of a multipart upload but the last one must be at least this size
+    static final int MIN_MULTIPART_PART_SIZE_IN_BYTES = 5 * 1024 * 1024;
+
     private final S3AsyncClient s3AsyncClient;
     private final String bucketUserProfilePictureName;
     private final S3ObjectKeyProvider s3ObjectKeyProvider;
     private final OpenTelemetryTracingService openTelemetryTracingService;
+    private final S3ContentUserProfilePictureCache s3ContentUserProfilePictureCache;
+    private final Integer multipartPartSizeInBytes;
+    private final Integer listPageSize;
 
     private static final Logger LOG = Logger.getLogger(S3UserProfilePictureRepository.class);
 
     public S3UserProfilePictureRepository(final S3AsyncClient s3AsyncClient,
                                           @ConfigProperty(name = "bucket.user.profile.picture.name") final String bucketUserProfilePictureName,
                                           final S3ObjectKeyProvider s3ObjectKeyProvider,
-                                          final OpenTelemetryTracingService openTelemetryTracingService) {
+                                          final OpenTelemetryTracingService openTelemetryTracingService,
+                                          final S3ContentUserProfilePictureCache s3ContentUserProfilePictureCache,
+                                          @ConfigProperty(name = "upload.multipart.part.size.bytes", defaultValue = "5242880") final Integer multipartPartSizeInBytes,
+                                          @ConfigProperty(name = "list.page.size", defaultValue = "50") final Integer listPageSize) {
         this.s3AsyncClient = Objects.requireNonNull(s3AsyncClient);
         this.bucketUserProfilePictureName = Objects.requireNonNull(bucketUserProfilePictureName);
         this.s3ObjectKeyProvider = Objects.requireNonNull(s3ObjectKeyProvider);
         this.openTelemetryTracingService = Objects.requireNonNull(openTelemetryTracingService);
+        this.s3ContentUserProfilePictureCache = Objects.requireNonNull(s3ContentUserProfilePictureCache);
+        this.multipartPartSizeInBytes = Objects.requireNonNull(multipartPartSizeInBytes);
+        if (multipartPartSizeInBytes < MIN_MULTIPART_PART_SIZE_IN_BYTES) {
+            throw new IllegalArgumentException("upload.multipart.part.size.bytes must be at least " + MIN_MULTIPART_PART_SIZE_IN_BYTES
+                    + ", got " + multipartPartSizeInBytes);
+        }
+        this.listPageSize = Objects.requireNonNull(listPageSize);
     }
 
     @Override
     public Uni<UserProfilePictureSaved> save(final UserPseudo userPseudo,
-                                             final byte[] picture,
+                                             final InputStream picture,
                                              final SupportedMediaType mediaType) throws UserProfilePictureRepositoryException {
         final Span span = openTelemetryTracingService.startANewSpan("S3ProfilePictureRepository.save");
-        final PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                .bucket(bucketUserProfilePictureName)
-                .key(s3ObjectKeyProvider.objectKey(userPseudo, mediaType).value())
-                .contentType(mediaType.contentType())
-                .build();
-        return Uni.createFrom()
-                .completionStage(() -> s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes(picture)))
-                .map(putObjectResponse -> new S3UserProfilePictureSaved(userPseudo, mediaType, putObjectResponse))
-                .onFailure(SdkException.class)
+        final String key = s3ObjectKeyProvider.objectKey(userPseudo, mediaType).value();
+        return readPart(picture)
+                .chain(firstPart -> {
+                    if (firstPart.length < multipartPartSizeInBytes) {
+                        return putObject(key, mediaType, firstPart)
+                                .map(putObjectResponse -> new S3UserProfilePictureSaved(userPseudo, mediaType, putObjectResponse));
+                    }
+                    return multipartUpload(key, mediaType, firstPart, picture)
+                            .map(completeMultipartUploadResponse -> new S3UserProfilePictureSaved(userPseudo, mediaType, completeMultipartUploadResponse));
+                })
+                .onFailure(exception -> exception instanceof SdkException || exception instanceof UncheckedIOException)
                 .transform(exception -> {
                     LOG.error(exception);
                     openTelemetryTracingService.markSpanInError(span);
@@ -62,56 +84,132 @@ public class S3UserProfilePictureRepository implements UserProfilePictureReposit
                 })
                 .onItem().castTo(UserProfilePictureSaved.class)
                 .onTermination()
-                .invoke(() -> openTelemetryTracingService.endSpan(span));
+                .invoke(() -> {
+                    close(picture);
+                    openTelemetryTracingService.endSpan(span);
+                });
+    }
+
+    private static void close(final InputStream picture) {
+        try {
+            picture.close();
+        } catch (final IOException exception) {
+            // the picture has been saved, or has failed to be, already
+            LOG.warn(exception);
+        }
+    }
+
+    private Uni<PutObjectResponse> putObject(final String key, final SupportedMediaType mediaType, final byte[] picture) {
+        final PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .key(key)
+                .contentType(mediaType.contentType())
+                .build();
+        return Uni.createFrom()
+                .completionStage(() -> s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes(picture)));
+    }
+
+    private Uni<CompleteMultipartUploadResponse> multipartUpload(final String key, final SupportedMediaType mediaType,
+                                                                 final byte[] firstPart, final InputStream picture) {
+        final CreateMultipartUploadRequest createMultipartUploadRequest = CreateMultipartUploadRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .key(key)
+                .contentType(mediaType.contentType())
+                .build();
+        return Uni.createFrom()
+                .completionStage(() -> s3AsyncClient.createMultipartUpload(createMultipartUploadRequest))
+                .map(CreateMultipartUploadResponse::uploadId)
+                .chain(uploadId -> uploadParts(key, uploadId, firstPart, 1, picture, new ArrayList<>())
+                        .chain(completedParts -> Uni.createFrom()
+                                .completionStage(() -> s3AsyncClient.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                                        .bucket(bucketUserProfilePictureName)
+                                        .key(key)
+                                        .uploadId(uploadId)
+                                        .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                                        .build())))
+                        // do not leave uploaded parts behind: they are billed until the upload is aborted
+                        .onFailure()
+                        .call(() -> Uni.createFrom()
+                                .completionStage(() -> s3AsyncClient.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                                        .bucket(bucketUserProfilePictureName)
+                                        .key(key)
+                                        .uploadId(uploadId)
+                                        .build()))
+                                .onFailure().recoverWithNull()));
+    }
+
+    private Uni<List<CompletedPart>> uploadParts(final String key, final String uploadId, final byte[] part, final int partNumber,
+                                                 final InputStream picture, final List<CompletedPart> completedParts) {
+        final UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) part.length)
+                .build();
+        return Uni.createFrom()
+                .completionStage(() -> s3AsyncClient.uploadPart(uploadPartRequest, AsyncRequestBody.fromBytes(part)))
+                .invoke(uploadPartResponse -> completedParts.add(CompletedPart.builder()
+                        .partNumber(partNumber)
+                        .eTag(uploadPartResponse.eTag())
+                        .build()))
+                .chain(() -> readPart(picture))
+                .chain(nextPart -> nextPart.length == 0
+                        ? Uni.createFrom().item(completedParts)
+                        : uploadParts(key, uploadId, nextPart, partNumber + 1, picture, completedParts));
+    }
+
+    private Uni<byte[]> readPart(final InputStream picture) {
+        // reading the request body is blocking: keep it away from the I/O and S3 client threads
+        return Uni.createFrom()
+                .item(() -> {
+                    try {
+                        return picture.readNBytes(multipartPartSizeInBytes);
+                    } catch (final IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                })
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
     }
 
     @Override
     public Uni<UserProfilePictureIdentifier> getLast(final UserPseudo userPseudo, final SupportedMediaType mediaType)
             throws UserProfilePictureNotAvailableYetException, UserProfilePictureRepositoryException {
         final Span span = openTelemetryTracingService.startANewSpan("S3ProfilePictureRepository.getLast");
-        final ListObjectVersionsRequest listObjectVersionsRequest = ListObjectVersionsRequest.builder()
+        // the current version of the key is the last saved one: no need to list every version
+        final HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
                 .bucket(bucketUserProfilePictureName)
-                .prefix(s3ObjectKeyProvider.objectKey(userPseudo, mediaType).value())
+                .key(s3ObjectKeyProvider.objectKey(userPseudo, mediaType).value())
                 .build();
         return Uni.createFrom()
-                .completionStage(() -> s3AsyncClient.listObjectVersions(listObjectVersionsRequest))
-                .map(listObjectVersionsResponse -> {
-                    final Optional<UserProfilePictureIdentifier> profilePictureIdentifier = listObjectVersionsResponse.versions()
-                            .stream()
-                            .findFirst()
-                            .map(objectVersion -> new S3UserProfilePictureIdentifier(userPseudo, mediaType, objectVersion));
-                    if (!profilePictureIdentifier.isPresent()) {
-                        throw new UserProfilePictureNotAvailableYetException(userPseudo);
-                    }
-                    return profilePictureIdentifier.get();
-                })
+                .completionStage(() -> s3AsyncClient.headObject(headObjectRequest))
+                .map(headObjectResponse -> new S3UserProfilePictureIdentifier(userPseudo, mediaType, headObjectResponse))
+                .onFailure(NoSuchKeyException.class)
+                .transform(exception -> new UserProfilePictureNotAvailableYetException(userPseudo))
                 .onFailure(SdkException.class)
                 .transform(exception -> {
                     LOG.error(exception);
                     openTelemetryTracingService.markSpanInError(span);
                     return new UserProfilePictureRepositoryException();
                 })
+                .onItem().castTo(UserProfilePictureIdentifier.class)
                 .onTermination()
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
 
     @Override
-    public Uni<List<UserProfilePictureIdentifier>> listByUserPseudo(final UserPseudo userPseudo,
-                                                                    final SupportedMediaType mediaType)
-            throws UserProfilePictureRepositoryException {
+    public Uni<UserProfilePictureIdentifiersPage> listByUserPseudo(final UserPseudo userPseudo,
+                                                                   final SupportedMediaType mediaType,
+                                                                   final PageCursor pageCursor)
+            throws UserProfilePicturesPageCursorInvalidException, UserProfilePictureRepositoryException {
         final Span span = openTelemetryTracingService.startANewSpan("S3ProfilePictureRepository.listByUserPseudo");
-        final ListObjectVersionsRequest listObjectVersionsRequest = ListObjectVersionsRequest.builder()
-                .bucket(bucketUserProfilePictureName)
-                .prefix(s3ObjectKeyProvider.objectKey(userPseudo, mediaType).value())
-                .build();
         return Uni.createFrom()
-                .completionStage(() -> s3AsyncClient.listObjectVersions(listObjectVersionsRequest))
-                .map(listObjectVersionsResponse ->
-                        listObjectVersionsResponse
-                                .versions()
-                                .stream()
-                                .map(objectVersion -> (UserProfilePictureIdentifier) new S3UserProfilePictureIdentifier(userPseudo, mediaType, objectVersion))
-                                .collect(Collectors.toList()))
+                .item(() -> listObjectVersionsRequest(userPseudo, mediaType, pageCursor))
+                .chain(listObjectVersionsRequest -> Uni.createFrom()
+                        .completionStage(() -> s3AsyncClient.listObjectVersions(listObjectVersionsRequest)))
+                .map(listObjectVersionsResponse -> (UserProfilePictureIdentifiersPage) new S3UserProfilePictureIdentifiersPage(userPseudo, mediaType, listObjectVersionsResponse))
+                .onFailure(UserProfilePicturesPageCursorInvalidException.class)
+                .invoke(() -> openTelemetryTracingService.markSpanInError(span))
                 .onFailure(SdkException.class)
                 .transform(exception -> {
                     LOG.error(exception);
@@ -122,17 +220,43 @@ public class S3UserProfilePictureRepository implements UserProfilePictureReposit
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
 
+    private ListObjectVersionsRequest listObjectVersionsRequest(final UserPseudo userPseudo,
+                                                                final SupportedMediaType mediaType,
+                                                                final PageCursor pageCursor) throws UserProfilePicturesPageCursorInvalidException {
+        final String key = s3ObjectKeyProvider.objectKey(userPseudo, mediaType).value();
+        final ListObjectVersionsRequest.Builder listObjectVersionsRequestBuilder = ListObjectVersionsRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .prefix(key)
+                .maxKeys(listPageSize);
+        if (pageCursor != null) {
+            final S3PageCursor s3PageCursor = S3PageCursor.decode(userPseudo, pageCursor);
+            if (!s3PageCursor.keyMarker().equals(key)) {
+                throw new UserProfilePicturesPageCursorInvalidException(userPseudo);
+            }
+            listObjectVersionsRequestBuilder
+                    .keyMarker(s3PageCursor.keyMarker())
+                    .versionIdMarker(s3PageCursor.versionIdMarker());
+        }
+        return listObjectVersionsRequestBuilder.build();
+    }
+
     @Override
-    public Uni<ContentUserProfilePicture> getContentByVersionId(final UserProfilePictureIdentifier userProfilePictureIdentifier)
+    public Uni<StreamedContentUserProfilePicture> streamContentByVersionId(final UserProfilePictureIdentifier userProfilePictureIdentifier)
             throws UserProfilePictureVersionUnknownException, UserProfilePictureRepositoryException {
-        final Span span = openTelemetryTracingService.startANewSpan("S3ProfilePictureRepository.getContentByVersion");
+        final Span span = openTelemetryTracingService.startANewSpan("S3ProfilePictureRepository.streamContentByVersion");
+        final ObjectKey objectKey = s3ObjectKeyProvider.objectKey(userProfilePictureIdentifier.userPseudo(), userProfilePictureIdentifier.mediaType());
+        final S3ObjectVersionKey s3ObjectVersionKey = new S3ObjectVersionKey(objectKey, userProfilePictureIdentifier.versionId().version());
         final GetObjectRequest getObjectRequest = GetObjectRequest.builder().bucket(bucketUserProfilePictureName)
-                .key(s3ObjectKeyProvider.objectKey(userProfilePictureIdentifier.userPseudo(), userProfilePictureIdentifier.mediaType()).value())
+                .key(objectKey.value())
                 .versionId(userProfilePictureIdentifier.versionId().version())
                 .build();
         return Uni.createFrom()
-                .completionStage(() -> s3AsyncClient.getObject(getObjectRequest, AsyncResponseTransformer.toBytes()))
-                .map(getObjectResponse -> new S3ContentUserProfilePicture(userProfilePictureIdentifier.userPseudo(), getObjectResponse))
+                .optional(() -> s3ContentUserProfilePictureCache.get(s3ObjectVersionKey)
+                        .map(contentUserProfilePicture -> (StreamedContentUserProfilePicture) new S3StreamedContentUserProfilePicture(contentUserProfilePicture)))
+                .onItem().ifNull().switchTo(() -> Uni.createFrom()
+                        .completionStage(() -> s3AsyncClient.getObject(getObjectRequest, new S3ResponsePublisherTransformer()))
+                        .map(s3ResponsePublisher -> new S3StreamedContentUserProfilePicture(userProfilePictureIdentifier.userPseudo(),
+                                s3ResponsePublisher.response(), picture(userProfilePictureIdentifier, s3ObjectVersionKey, s3ResponsePublisher))))
                 .onFailure(NoSuchKeyException.class)
                 .transform(exception -> {
                     openTelemetryTracingService.markSpanInError(span);
@@ -146,9 +270,31 @@ public class S3UserProfilePictureRepository implements UserProfilePictureReposit
                     }
                     return new UserProfilePictureRepositoryException();
                 })
-                .onItem().castTo(ContentUserProfilePicture.class)
                 .onTermination()
                 .invoke(() -> openTelemetryTracingService.endSpan(span));
     }
 
+    private Multi<byte[]> picture(final UserProfilePictureIdentifier userProfilePictureIdentifier,
+                                  final S3ObjectVersionKey s3ObjectVersionKey,
+                                  final S3ResponsePublisher s3ResponsePublisher) {
+        final Multi<byte[]> picture = Multi.createFrom().publisher(s3ResponsePublisher.content())
+                .map(byteBuffer -> {
+                    final byte[] chunk = new byte[byteBuffer.remaining()];
+                    byteBuffer.get(chunk);
+                    return chunk;
+                });
+        final Long contentLength = s3ResponsePublisher.response().contentLength();
+        if (contentLength == null || !s3ContentUserProfilePictureCache.accepts(contentLength)) {
+            return picture;
+        }
+        // small enough to be cached: keep a copy of the chunks while they are streamed
+        final ByteArrayOutputStream content = new ByteArrayOutputStream(contentLength.intValue());
+        return picture
+                .invoke(chunk -> content.write(chunk, 0, chunk.length))
+                .onCompletion()
+                .invoke(() -> s3ContentUserProfilePictureCache.put(s3ObjectVersionKey,
+                        new S3ContentUserProfilePicture(userProfilePictureIdentifier.userPseudo(),
+                                ResponseBytes.fromByteArray(s3ResponsePublisher.response(), content.toByteArray()))));
+    }
+
 }
@@ -4,6 +4,7 @@ import com.innerfriends.userprofilepicture.domain.UserProfilePictureSaved;
 import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import com.innerfriends.userprofilepicture.domain.VersionId;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 
 import java.util.Objects;
@@ -15,9 +16,17 @@ public final class S3UserProfilePictureSaved implements UserProfilePictureSaved
     private final VersionId versionId;
 
     public S3UserProfilePictureSaved(final UserPseudo userPseudo, final SupportedMediaType mediaType, final PutObjectResponse putObjectResponse) {
+        this(userPseudo, mediaType, putObjectResponse.versionId());
+    }
+
+    public S3UserProfilePictureSaved(final UserPseudo userPseudo, final SupportedMediaType mediaType, final CompleteMultipartUploadResponse completeMultipartUploadResponse) {
+        this(userPseudo, mediaType, completeMultipartUploadResponse.versionId());
+    }
+
+    private S3UserProfilePictureSaved(final UserPseudo userPseudo, final SupportedMediaType mediaType, final String versionId) {
         this.userPseudo = Objects.requireNonNull(userPseudo);
         this.mediaType = Objects.requireNonNull(mediaType);
-        this.versionId = new S3VersionId(Objects.requireNonNull(putObjectResponse.versionId()));
+        this.versionId = new S3VersionId(Objects.requireNonNull(versionId));
     }
 
     @Override
@@ -291,7 +291,7 @@ public class E2ETest {
 
         assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("pseudoE2E")).isNotNull();
         assertThat(((HazelcastCachedUserProfilePictures) hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("pseudoE2E"))
-                .userProfilePictureIdentifiers).isNotNull();
+                .userProfilePictureIdentifiers()).isNotNull();
     }
 
     @Test
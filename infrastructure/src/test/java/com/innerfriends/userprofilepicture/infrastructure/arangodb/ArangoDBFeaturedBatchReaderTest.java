@@ -0,0 +1,159 @@
+package com.innerfriends.userprofilepicture.infrastructure.arangodb;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.async.ArangoCollectionAsync;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ArangoDBFeaturedBatchReaderTest {
+
+    private ArangoCollectionAsync arangoCollectionAsync;
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @BeforeEach
+    public void setup() {
+        arangoCollectionAsync = mock(ArangoCollectionAsync.class);
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_send_reads_of_a_window_as_one_multi_document_read() throws Exception {
+        // Given
+        final ArangoDBFeaturedBatchReader arangoDBFeaturedBatchReader = batchReader(50L, 100);
+        final ArangoDBProfilePictureIdentifier first = identifier("first");
+        doReturn(CompletableFuture.completedFuture(multiDocumentEntity(first, notFound())))
+                .when(arangoCollectionAsync).getDocuments(any(), eq(ArangoDBProfilePictureIdentifier.class));
+
+        // When
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> firstRead = arangoDBFeaturedBatchReader.read("first");
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> secondRead = arangoDBFeaturedBatchReader.read("second");
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> firstReadAgain = arangoDBFeaturedBatchReader.read("first");
+
+        // Then
+        assertThat(firstRead.get(1, TimeUnit.SECONDS)).isEqualTo(first);
+        assertThat(secondRead.get(1, TimeUnit.SECONDS)).isNull();
+        assertThat(firstReadAgain.get(1, TimeUnit.SECONDS)).isEqualTo(first);
+        final ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(arangoCollectionAsync, times(1)).getDocuments(keys.capture(), eq(ArangoDBProfilePictureIdentifier.class));
+        assertThat(keys.getValue()).containsExactly("first", "second");
+    }
+
+    @Test
+    public void should_send_a_full_batch_without_waiting_for_the_window() throws Exception {
+        // Given
+        final ArangoDBFeaturedBatchReader arangoDBFeaturedBatchReader = batchReader(60000L, 2);
+        final ArangoDBProfilePictureIdentifier first = identifier("first");
+        final ArangoDBProfilePictureIdentifier second = identifier("second");
+        doReturn(CompletableFuture.completedFuture(multiDocumentEntity(first, second)))
+                .when(arangoCollectionAsync).getDocuments(any(), eq(ArangoDBProfilePictureIdentifier.class));
+
+        // When
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> firstRead = arangoDBFeaturedBatchReader.read("first");
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> secondRead = arangoDBFeaturedBatchReader.read("second");
+
+        // Then
+        assertThat(firstRead.get(1, TimeUnit.SECONDS)).isEqualTo(first);
+        assertThat(secondRead.get(1, TimeUnit.SECONDS)).isEqualTo(second);
+    }
+
+    @Test
+    public void should_fail_the_read_of_a_key_in_error_only() throws Exception {
+        // Given
+        final ArangoDBFeaturedBatchReader arangoDBFeaturedBatchReader = batchReader(60000L, 2);
+        final ArangoDBProfilePictureIdentifier second = identifier("second");
+        final ErrorEntity error = mock(ErrorEntity.class);
+        doReturn(1221).when(error).getErrorNum();
+        doReturn(CompletableFuture.completedFuture(multiDocumentEntity(error, second)))
+                .when(arangoCollectionAsync).getDocuments(any(), eq(ArangoDBProfilePictureIdentifier.class));
+
+        // When
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> firstRead = arangoDBFeaturedBatchReader.read("first");
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> secondRead = arangoDBFeaturedBatchReader.read("second");
+
+        // Then
+        assertThatThrownBy(() -> firstRead.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ArangoDBException.class);
+        assertThat(secondRead.get(1, TimeUnit.SECONDS)).isEqualTo(second);
+    }
+
+    @Test
+    public void should_fail_every_read_of_a_batch_in_error() {
+        // Given
+        final ArangoDBFeaturedBatchReader arangoDBFeaturedBatchReader = batchReader(0L, 100);
+        final ArangoDBException arangoDBException = new ArangoDBException("error");
+        doReturn(CompletableFuture.failedFuture(arangoDBException))
+                .when(arangoCollectionAsync).getDocuments(any(), eq(ArangoDBProfilePictureIdentifier.class));
+
+        // When
+        final CompletableFuture<ArangoDBProfilePictureIdentifier> read = arangoDBFeaturedBatchReader.read("first");
+
+        // Then
+        assertThatThrownBy(() -> read.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(arangoDBException);
+    }
+
+    @Test
+    public void should_fail_invalid_key_without_sending_it() {
+        // Given
+        final ArangoDBFeaturedBatchReader arangoDBFeaturedBatchReader = batchReader(0L, 100);
+
+        // When && Then
+        assertThatThrownBy(() -> arangoDBFeaturedBatchReader.read(""))
+                .isInstanceOf(ArangoDBException.class);
+        assertThatThrownBy(() -> arangoDBFeaturedBatchReader.read("invalid key"))
+                .isInstanceOf(ArangoDBException.class);
+        verifyNoInteractions(arangoCollectionAsync);
+    }
+
+    private ArangoDBFeaturedBatchReader batchReader(final Long windowInMillis, final Integer maxBatchSize) {
+        return new ArangoDBFeaturedBatchReader(() -> arangoCollectionAsync, windowInMillis, maxBatchSize, scheduledExecutorService);
+    }
+
+    private static ArangoDBProfilePictureIdentifier identifier(final String pseudo) {
+        final ArangoDBProfilePictureIdentifier identifier = new ArangoDBProfilePictureIdentifier();
+        identifier.userPseudo = pseudo;
+        identifier.mediaType = SupportedMediaType.IMAGE_JPEG;
+        identifier.versionId = "v0";
+        return identifier;
+    }
+
+    private static ErrorEntity notFound() {
+        final ErrorEntity notFound = mock(ErrorEntity.class);
+        doReturn(1202).when(notFound).getErrorNum();
+        return notFound;
+    }
+
+    private static MultiDocumentEntity<ArangoDBProfilePictureIdentifier> multiDocumentEntity(final Object... documentsAndErrors) {
+        final MultiDocumentEntity<ArangoDBProfilePictureIdentifier> multiDocumentEntity = new MultiDocumentEntity<>();
+        multiDocumentEntity.setDocumentsAndErrors(Arrays.asList(documentsAndErrors));
+        return multiDocumentEntity;
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.innerfriends.userprofilepicture.infrastructure.arangodb;
+
+import com.arangodb.ArangoDBException;
+import com.arangodb.async.ArangoCollectionAsync;
+import com.arangodb.entity.DocumentCreateEntity;
+import com.arangodb.entity.ErrorEntity;
+import com.arangodb.entity.MultiDocumentEntity;
+import com.arangodb.model.DocumentCreateOptions;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ArangoDBFeaturedGroupCommitWriterTest {
+
+    private ArangoCollectionAsync arangoCollectionAsync;
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @BeforeEach
+    public void setup() {
+        arangoCollectionAsync = mock(ArangoCollectionAsync.class);
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduledExecutorService.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_commit_writes_of_an_interval_as_one_synced_upsert_in_arrival_order() throws Exception {
+        // Given
+        final ArangoDBFeaturedGroupCommitWriter arangoDBFeaturedGroupCommitWriter = groupCommitWriter(50L, 100);
+        final ArangoDBProfilePictureIdentifier first = identifier("pseudo", "v0");
+        final ArangoDBProfilePictureIdentifier second = identifier("pseudo", "v1");
+        doReturn(CompletableFuture.completedFuture(multiDocumentEntity(new DocumentCreateEntity<>(), new DocumentCreateEntity<>())))
+                .when(arangoCollectionAsync).insertDocuments(any(), any());
+
+        // When
+        final CompletableFuture<Void> firstWrite = arangoDBFeaturedGroupCommitWriter.write(first);
+        final CompletableFuture<Void> secondWrite = arangoDBFeaturedGroupCommitWriter.write(second);
+
+        // Then
+        firstWrite.get(1, TimeUnit.SECONDS);
+        secondWrite.get(1, TimeUnit.SECONDS);
+        final ArgumentCaptor<Collection<ArangoDBProfilePictureIdentifier>> documents = ArgumentCaptor.forClass(Collection.class);
+        final ArgumentCaptor<DocumentCreateOptions> options = ArgumentCaptor.forClass(DocumentCreateOptions.class);
+        verify(arangoCollectionAsync, times(1)).insertDocuments(documents.capture(), options.capture());
+        assertThat(documents.getValue()).containsExactly(first, second);
+        assertThat(options.getValue().getWaitForSync()).isTrue();
+    }
+
+    @Test
+    public void should_commit_a_full_group_without_waiting_for_the_interval() throws Exception {
+        // Given
+        final ArangoDBFeaturedGroupCommitWriter arangoDBFeaturedGroupCommitWriter = groupCommitWriter(60000L, 1);
+        doReturn(CompletableFuture.completedFuture(multiDocumentEntity(new DocumentCreateEntity<>())))
+                .when(arangoCollectionAsync).insertDocuments(any(), any());
+
+        // When
+        final CompletableFuture<Void> write = arangoDBFeaturedGroupCommitWriter.write(identifier("pseudo", "v0"));
+
+        // Then
+        write.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void should_not_complete_a_write_before_its_group_is_committed() {
+        // Given
+        final ArangoDBFeaturedGroupCommitWriter arangoDBFeaturedGroupCommitWriter = groupCommitWriter(0L, 100);
+        final CompletableFuture<MultiDocumentEntity<DocumentCreateEntity<ArangoDBProfilePictureIdentifier>>> commit = new CompletableFuture<>();
+        doReturn(commit).when(arangoCollectionAsync).insertDocuments(any(), any());
+
+        // When
+        final CompletableFuture<Void> write = arangoDBFeaturedGroupCommitWriter.write(identifier("pseudo", "v0"));
+
+        // Then
+        verify(arangoCollectionAsync, timeout(1000).times(1)).insertDocuments(any(), any());
+        assertThat(write).isNotDone();
+        commit.complete(multiDocumentEntity(new DocumentCreateEntity<>()));
+        assertThat(write).isCompleted();
+    }
+
+    @Test
+    public void should_fail_the_write_of_a_document_in_error_only() throws Exception {
+        // Given
+        final ArangoDBFeaturedGroupCommitWriter arangoDBFeaturedGroupCommitWriter = groupCommitWriter(60000L, 2);
+        doReturn(CompletableFuture.completedFuture(multiDocumentEntity(mock(ErrorEntity.class), new DocumentCreateEntity<>())))
+                .when(arangoCollectionAsync).insertDocuments(any(), any());
+
+        // When
+        final CompletableFuture<Void> firstWrite = arangoDBFeaturedGroupCommitWriter.write(identifier("", "v0"));
+        final CompletableFuture<Void> secondWrite = arangoDBFeaturedGroupCommitWriter.write(identifier("pseudo", "v0"));
+
+        // Then
+        assertThatThrownBy(() -> firstWrite.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ArangoDBException.class);
+        secondWrite.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void should_fail_every_write_of_a_group_in_error() {
+        // Given
+        final ArangoDBFeaturedGroupCommitWriter arangoDBFeaturedGroupCommitWriter = groupCommitWriter(0L, 100);
+        final ArangoDBException arangoDBException = new ArangoDBException("error");
+        doReturn(CompletableFuture.failedFuture(arangoDBException)).when(arangoCollectionAsync).insertDocuments(any(), any());
+
+        // When
+        final CompletableFuture<Void> write = arangoDBFeaturedGroupCommitWriter.write(identifier("pseudo", "v0"));
+
+        // Then
+        assertThatThrownBy(() -> write.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(arangoDBException);
+    }
+
+    private ArangoDBFeaturedGroupCommitWriter groupCommitWriter(final Long syncIntervalInMillis, final Integer maxGroupSize) {
+        return new ArangoDBFeaturedGroupCommitWriter(() -> arangoCollectionAsync, syncIntervalInMillis, maxGroupSize, scheduledExecutorService);
+    }
+
+    private static ArangoDBProfilePictureIdentifier identifier(final String pseudo, final String versionId) {
+        final ArangoDBProfilePictureIdentifier identifier = new ArangoDBProfilePictureIdentifier();
+        identifier.userPseudo = pseudo;
+        identifier.mediaType = SupportedMediaType.IMAGE_JPEG;
+        identifier.versionId = versionId;
+        return identifier;
+    }
+
+    private static MultiDocumentEntity<DocumentCreateEntity<ArangoDBProfilePictureIdentifier>> multiDocumentEntity(final Object... resultsAndErrors) {
+        final MultiDocumentEntity<DocumentCreateEntity<ArangoDBProfilePictureIdentifier>> multiDocumentEntity = new MultiDocumentEntity<>();
+        multiDocumentEntity.setDocumentsAndErrors(Arrays.asList(resultsAndErrors));
+        return multiDocumentEntity;
+    }
+
+}
@@ -16,6 +16,7 @@ import org.mockito.InOrder;
 import javax.inject.Inject;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -98,6 +99,46 @@ public class ArangodbUserProfilPictureFeaturedRepositoryTest {
         inOrder.verify(openTelemetryTracingService, atLeast(1)).endSpan(any());
     }
 
+    @Test
+    public void should_return_all_featured_user_profile_pictures_of_featured_pseudos_only() {
+        // Given
+        final String query = "INSERT { _key: \"pseudo\", mediaType : \"IMAGE_JPEG\" , versionId: \"v0\" } INTO FEATURE";
+        arangoDB.db(dbName).query(query, Void.class);
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+
+        // When
+        final Uni<List<UserProfilePictureIdentifier>> uni = arangodbUserProfilPictureFeaturedRepository.getAllFeatured(Set.of(() -> "pseudo", () -> "user"));
+
+        // Then
+        final UniAssertSubscriber<List<UserProfilePictureIdentifier>> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(userProfilePictureIdentifiers).hasSize(1);
+        assertThat(userProfilePictureIdentifiers.get(0).userPseudo().pseudo()).isEqualTo("pseudo");
+        assertThat(userProfilePictureIdentifiers.get(0).mediaType()).isEqualTo(SupportedMediaType.IMAGE_JPEG);
+        assertThat(userProfilePictureIdentifiers.get(0).versionId().version()).isEqualTo("v0");
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan("ArangodbUserProfilPictureFeaturedRepository.getAllFeatured");
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).endSpan(any());
+    }
+
+    @Test
+    public void should_return_all_featured_user_profile_pictures_leaving_out_invalid_pseudos() {
+        // Given
+        final String query = "INSERT { _key: \"pseudo\", mediaType : \"IMAGE_JPEG\" , versionId: \"v0\" } INTO FEATURE";
+        arangoDB.db(dbName).query(query, Void.class);
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+
+        // When
+        final Uni<List<UserProfilePictureIdentifier>> uni = arangodbUserProfilPictureFeaturedRepository.getAllFeatured(Set.of(() -> "pseudo", () -> "invalid key"));
+
+        // Then
+        final UniAssertSubscriber<List<UserProfilePictureIdentifier>> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(userProfilePictureIdentifiers).hasSize(1);
+        assertThat(userProfilePictureIdentifiers.get(0).userPseudo().pseudo()).isEqualTo("pseudo");
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan("ArangodbUserProfilPictureFeaturedRepository.getAllFeatured");
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).endSpan(any());
+    }
+
     @Test
     public void should_mark_user_profile_picture_has_featured_when_not_done_previously() {
         // Given
@@ -1,15 +1,312 @@
 package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
 
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifier;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictures;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
 public class HazelcastCachedUserProfilePicturesTest {
 
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
     @Test
     public void should_verify_partial_equality() {
         EqualsVerifier.forClass(HazelcastCachedUserProfilePictures.class)
                 .suppress(Warning.NONFINAL_FIELDS).verify();
     }
 
+    @Test
+    public void should_serialize_and_deserialize_all_fields() {
+        // Given
+        final HazelcastUserProfilePictureIdentifier v0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build();
+        final HazelcastUserProfilePictureIdentifier v1 = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v1").build();
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(v1)
+                .setNextPageCursor("cursor")
+                .putNextPage("cursor", new HazelcastUserProfilePicturesPage(SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, null))
+                .setFeaturedUserProfilePictureIdentifier(v0)
+                .build();
+
+        // When
+        final Object deserialized = serializationService.toObject(serializationService.toData(givenHazelcastCachedUserProfilePictures));
+
+        // Then
+        assertThat(deserialized).isEqualTo(givenHazelcastCachedUserProfilePictures);
+    }
+
+    @Test
+    public void should_serialize_and_deserialize_missing_fields() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .build();
+
+        // When
+        final Object deserialized = serializationService.toObject(serializationService.toData(givenHazelcastCachedUserProfilePictures));
+
+        // Then
+        assertThat(deserialized).isEqualTo(givenHazelcastCachedUserProfilePictures);
+    }
+
+    @Test
+    public void should_serialize_and_deserialize_absence() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setAbsence(CachedUserProfilePictures.Absence.NO_PICTURES_YET, SupportedMediaType.IMAGE_JPEG, 1234L)
+                .build();
+
+        // When
+        final Object deserialized = serializationService.toObject(serializationService.toData(givenHazelcastCachedUserProfilePictures));
+
+        // Then
+        assertThat(deserialized).isEqualTo(givenHazelcastCachedUserProfilePictures);
+    }
+
+    @Test
+    public void should_expose_absence_until_expired() {
+        // Given
+        final long now = System.currentTimeMillis();
+
+        // When && Then
+        assertThat(HazelcastCachedUserProfilePictures.newBuilder()
+                .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, now + 60000L).build().absence())
+                .isEqualTo(CachedUserProfilePictures.Absence.NO_FEATURED_YET);
+        assertThat(HazelcastCachedUserProfilePictures.newBuilder()
+                .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, now - 1L).build().hasNoFeaturedYetInCache())
+                .isFalse();
+        assertThat(HazelcastCachedUserProfilePictures.newBuilder()
+                .setAbsence(CachedUserProfilePictures.Absence.NO_PICTURES_YET, SupportedMediaType.IMAGE_JPEG, 0L).build().hasNoPicturesYetInCache(SupportedMediaType.IMAGE_JPEG))
+                .isTrue();
+    }
+
+    @Test
+    public void should_clear_absence_when_featured_is_set() {
+        // Given
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, 0L)
+                .build();
+
+        // When
+        hazelcastCachedUserProfilePictures.setFeaturedUserProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build());
+
+        // Then
+        assertThat(hazelcastCachedUserProfilePictures.absence()).isNull();
+        assertThat(hazelcastCachedUserProfilePictures.absenceExpirationMillis).isZero();
+    }
+
+    @Test
+    public void should_serialize_and_deserialize_last_as_featured() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setLastAsFeatured(HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v0").build())
+                .build();
+
+        // When
+        final Object deserialized = serializationService.toObject(serializationService.toData(givenHazelcastCachedUserProfilePictures));
+
+        // Then
+        assertThat(deserialized).isEqualTo(givenHazelcastCachedUserProfilePictures);
+    }
+
+    @Test
+    public void should_expose_last_as_featured_apart_from_featured() {
+        // Given
+        final HazelcastUserProfilePictureIdentifier v0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build();
+
+        // When
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(v0)
+                .setLastAsFeatured(v0)
+                .build();
+
+        // Then
+        assertThat(hazelcastCachedUserProfilePictures.featured()).isNull();
+        assertThat(hazelcastCachedUserProfilePictures.hasFeaturedInCache()).isFalse();
+        assertThat(hazelcastCachedUserProfilePictures.featureState()).isEqualTo(UserProfilePictures.FeatureState.NOT_SELECTED_YET);
+        assertThat(hazelcastCachedUserProfilePictures.lastAsFeatured()).isEqualTo(v0);
+        assertThat(hazelcastCachedUserProfilePictures.hasLastAsFeaturedInCache(SupportedMediaType.IMAGE_JPEG)).isTrue();
+        assertThat(hazelcastCachedUserProfilePictures.userProfilePictures().get(0).isFeatured()).isFalse();
+    }
+
+    @Test
+    public void should_clear_last_as_featured_when_a_new_version_is_added() {
+        // Given
+        final HazelcastUserProfilePictureIdentifier v0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build();
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setLastAsFeatured(v0)
+                .build();
+
+        // When
+        hazelcastCachedUserProfilePictures.addNewProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v1").build(), 50);
+
+        // Then
+        assertThat(hazelcastCachedUserProfilePictures.lastAsFeatured()).isNull();
+        assertThat(hazelcastCachedUserProfilePictures.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_expose_packed_versions_as_user_profile_picture_identifiers() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .build()
+                .replaceAllProfilePictureIdentifiers(null, SupportedMediaType.IMAGE_JPEG, new String[] {"v1", "v0"}, null, 4);
+
+        // When
+        final List<? extends UserProfilePictureIdentifier> userProfilePictureIdentifiers = givenHazelcastCachedUserProfilePictures.userProfilePictureIdentifiers();
+
+        // Then
+        assertThat(userProfilePictureIdentifiers).isEqualTo(List.of(
+                HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v1").build(),
+                HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v0").build()));
+    }
+
+    @Test
+    public void should_drop_the_oldest_next_page_when_max_next_pages_is_reached() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .build()
+                .replaceAllProfilePictureIdentifiers("cursor1", SupportedMediaType.IMAGE_JPEG, new String[] {"v2"}, "cursor2", 2)
+                .replaceAllProfilePictureIdentifiers("cursor2", SupportedMediaType.IMAGE_JPEG, new String[] {"v1"}, "cursor3", 2);
+
+        // When
+        givenHazelcastCachedUserProfilePictures.replaceAllProfilePictureIdentifiers("cursor3", SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, null, 2);
+
+        // Then
+        assertThat(givenHazelcastCachedUserProfilePictures.nextPages).containsOnlyKeys("cursor2", "cursor3");
+    }
+
+    @Test
+    public void should_not_expose_versions_listed_for_another_media_type() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .build()
+                .replaceAllProfilePictureIdentifiers(null, null, new String[] {"v1"}, "cursor", 4)
+                .replaceAllProfilePictureIdentifiers("cursor", null, new String[] {"v0"}, null, 4);
+
+        // When
+        final HazelcastCachedUserProfilePictures firstPage = givenHazelcastCachedUserProfilePictures.page(SupportedMediaType.IMAGE_JPEG, null);
+        final HazelcastCachedUserProfilePictures nextPage = givenHazelcastCachedUserProfilePictures.page(SupportedMediaType.IMAGE_JPEG, "cursor");
+
+        // Then
+        assertThat(firstPage.hasUserProfilePictureIdentifiersInCache()).isFalse();
+        assertThat(nextPage.hasUserProfilePictureIdentifiersInCache()).isFalse();
+    }
+
+    @Test
+    public void should_keep_last_as_featured_of_another_media_type_when_no_pictures_yet_is_set() {
+        // Given
+        final HazelcastUserProfilePictureIdentifier v0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build();
+        final SupportedMediaType otherMediaType = mock(SupportedMediaType.class);
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setLastAsFeatured(v0)
+                .build();
+
+        // When
+        hazelcastCachedUserProfilePictures.setAbsence(CachedUserProfilePictures.Absence.NO_PICTURES_YET, otherMediaType, 0L);
+
+        // Then
+        assertThat(hazelcastCachedUserProfilePictures.hasLastAsFeaturedInCache(SupportedMediaType.IMAGE_JPEG)).isTrue();
+        assertThat(hazelcastCachedUserProfilePictures.hasNoPicturesYetInCache(SupportedMediaType.IMAGE_JPEG)).isFalse();
+        assertThat(hazelcastCachedUserProfilePictures.hasNoPicturesYetInCache(otherMediaType)).isTrue();
+    }
+
+    @Test
+    public void should_read_entries_serialized_with_the_first_version() throws IOException {
+        // Given
+        final ObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeByte(1);
+        out.writeString("user");
+        out.writeString(SupportedMediaType.IMAGE_JPEG.name());
+        out.writeStringArray(new String[] {"v0"});
+        out.writeString(null);
+        out.writeInt(-1);
+        out.writeBoolean(false);
+        out.writeString(CachedUserProfilePictures.Absence.NO_FEATURED_YET.name());
+        out.writeString(SupportedMediaType.IMAGE_JPEG.name());
+        out.writeLong(1234L);
+        out.writeBoolean(false);
+        final ObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+
+        // When
+        final HazelcastCachedUserProfilePictures deserialized = new HazelcastCachedUserProfilePictures();
+        deserialized.readData(in);
+
+        // Then
+        assertThat(deserialized).isEqualTo(HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v0").build())
+                .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, 1234L)
+                .build());
+    }
+
+    @Test
+    public void should_fail_reading_entries_serialized_with_a_newer_version() throws IOException {
+        // Given
+        final ObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeByte(HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION + 1);
+        final ObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+
+        // When && Then
+        assertThatThrownBy(() -> new HazelcastCachedUserProfilePictures().readData(in))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unsupported serialization version 2");
+    }
+
 }
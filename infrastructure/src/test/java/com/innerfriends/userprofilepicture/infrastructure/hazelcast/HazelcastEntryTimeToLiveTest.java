@@ -0,0 +1,108 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HazelcastEntryTimeToLiveTest {
+
+    private final HazelcastEntryTimeToLive entryTimeToLive = new HazelcastEntryTimeToLive(600, 3600, 60);
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(HazelcastEntryTimeToLive.class)
+                .suppress(Warning.NONFINAL_FIELDS).verify();
+    }
+
+    @Test
+    public void should_apply_list_time_to_live_when_versions_are_cached() {
+        // Given
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v0").build())
+                .build();
+
+        // When
+        final long timeToLiveSeconds = entryTimeToLive.timeToLiveSeconds(hazelcastCachedUserProfilePictures);
+
+        // Then
+        assertThat(timeToLiveSeconds).isEqualTo(600L);
+    }
+
+    @Test
+    public void should_apply_featured_time_to_live_when_versions_are_not_cached() {
+        // Given
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v0").build())
+                .build();
+
+        // When
+        final long timeToLiveSeconds = entryTimeToLive.timeToLiveSeconds(hazelcastCachedUserProfilePictures);
+
+        // Then
+        assertThat(timeToLiveSeconds).isEqualTo(3600L);
+    }
+
+    @Test
+    public void should_apply_absence_time_to_live_when_only_an_absence_is_cached() {
+        // Given
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, 0L)
+                .build();
+
+        // When
+        final long timeToLiveSeconds = entryTimeToLive.timeToLiveSeconds(hazelcastCachedUserProfilePictures);
+
+        // Then
+        assertThat(timeToLiveSeconds).isEqualTo(60L);
+    }
+
+    @Test
+    public void should_compute_absence_expiration_from_absence_time_to_live() {
+        assertThat(entryTimeToLive.absenceExpirationMillis(1000L)).isEqualTo(61000L);
+        assertThat(new HazelcastEntryTimeToLive(600, 3600, 0).absenceExpirationMillis(1000L)).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_set_value_with_time_to_live() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+        final HazelcastCachedUserProfilePictures hazelcastCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .build();
+
+        // When
+        entryTimeToLive.setValue(entry, hazelcastCachedUserProfilePictures);
+
+        // Then
+        assertThat(entry.getValue()).isEqualTo(hazelcastCachedUserProfilePictures);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(3600L);
+    }
+
+    @Test
+    public void should_serialize_and_deserialize() {
+        // Given
+        final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        // When
+        final Object deserialized = serializationService.toObject(serializationService.toData(entryTimeToLive));
+
+        // Then
+        assertThat(deserialized).isEqualTo(entryTimeToLive);
+    }
+
+}
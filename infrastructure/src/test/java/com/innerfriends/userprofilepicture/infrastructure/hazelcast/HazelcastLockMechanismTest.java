@@ -1,15 +1,20 @@
 package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.innerfriends.userprofilepicture.domain.LockAcquisitionTimeoutException;
 import com.innerfriends.userprofilepicture.infrastructure.tracing.OpenTelemetryTracingService;
 import io.opentelemetry.api.trace.Span;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectMock;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
 import javax.inject.Inject;
 import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,6 +23,8 @@ import static org.mockito.Mockito.*;
 @QuarkusTest
 public class HazelcastLockMechanismTest {
 
+    private static final int MAX_SHARED_HOLDERS = 1024;
+
     @Inject
     HazelcastLockMechanism hazelcastLockMechanism;
 
@@ -38,11 +45,11 @@ public class HazelcastLockMechanismTest {
         hazelcastLockMechanism.lock(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
 
         // Then
-        assertThat(hazelcastInstance.getCPSubsystem().getLock("pseudoToLock").isLocked()).isTrue();
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoToLock").availablePermits()).isEqualTo(0);
         inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
         // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
-        hazelcastInstance.getCPSubsystem().getLock("pseudoToLock").unlock();
+        hazelcastLockMechanism.unlock(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
     }
 
     @Test
@@ -51,16 +58,155 @@ public class HazelcastLockMechanismTest {
         final Span span = mock(Span.class);
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
         final InOrder inOrder = inOrder(openTelemetryTracingService);
-        hazelcastInstance.getCPSubsystem().getLock("pseudoToLock").lock();
+        hazelcastLockMechanism.lock(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
 
         // When
         hazelcastLockMechanism.unlock(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
 
         // Then
-        assertThat(hazelcastInstance.getCPSubsystem().getLock("pseudoToLock").isLocked()).isFalse();
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoToLock").availablePermits()).isEqualTo(MAX_SHARED_HOLDERS);
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
+        // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
+        inOrder.verify(openTelemetryTracingService, times(2)).endSpan(span);
+    }
+
+    @Test
+    public void should_lock_shared() throws Exception {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan("HazelcastLockMechanism.lockShared");
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+
+        // When
+        hazelcastLockMechanism.lockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+
+        // Then
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoToLock").availablePermits()).isEqualTo(MAX_SHARED_HOLDERS - 1);
         inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
         // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+        hazelcastLockMechanism.unlockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+    }
+
+    @Test
+    public void should_allow_many_shared_holders_at_once() throws Exception {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+        hazelcastLockMechanism.lockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+
+        // When
+        hazelcastLockMechanism.lockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+
+        // Then
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoToLock").availablePermits()).isEqualTo(MAX_SHARED_HOLDERS - 2);
+        hazelcastLockMechanism.unlockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+        hazelcastLockMechanism.unlockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+    }
+
+    @Test
+    public void should_unlock_shared() throws Exception {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+        hazelcastLockMechanism.lockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+
+        // When
+        hazelcastLockMechanism.unlockShared(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+
+        // Then
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoToLock").availablePermits()).isEqualTo(MAX_SHARED_HOLDERS);
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
+        // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
+        inOrder.verify(openTelemetryTracingService, times(2)).endSpan(span);
+    }
+
+    @Test
+    public void should_fail_with_lock_acquisition_timeout_exception_when_lock_is_already_held() {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+        hazelcastLockMechanism.lock(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+
+        // When
+        final UniAssertSubscriber<Void> subscriber = hazelcastLockMechanism.lockShared(() -> "pseudoToLock")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        subscriber.awaitFailure(Duration.ofSeconds(5l)).assertFailedWith(LockAcquisitionTimeoutException.class);
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoToLock").availablePermits()).isEqualTo(0);
+        verify(openTelemetryTracingService, times(1)).markSpanInError(span);
+        hazelcastLockMechanism.unlock(() -> "pseudoToLock").await().atMost(Duration.ofSeconds(1l));
+    }
+
+    @Test
+    public void should_release_permits_acquired_for_a_cancelled_subscriber() throws Exception {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+        hazelcastLockMechanism.lock(() -> "pseudoToCancel").await().atMost(Duration.ofSeconds(1l));
+        final UniAssertSubscriber<Void> cancelledSubscriber = hazelcastLockMechanism.lockShared(() -> "pseudoToCancel")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        Thread.sleep(100L);
+        cancelledSubscriber.cancel();
+
+        // When
+        hazelcastLockMechanism.unlock(() -> "pseudoToCancel").await().atMost(Duration.ofSeconds(1l));
+
+        // Then
+        hazelcastLockMechanism.lock(() -> "pseudoToCancel").await().atMost(Duration.ofSeconds(1l));
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoToCancel").availablePermits()).isEqualTo(0);
+        hazelcastLockMechanism.unlock(() -> "pseudoToCancel").await().atMost(Duration.ofSeconds(1l));
+    }
+
+    @Test
+    public void should_lock_while_shared_holders_keep_arriving() throws Exception {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+        final ScheduledExecutorService sharedHolders = Executors.newSingleThreadScheduledExecutor();
+        sharedHolders.scheduleAtFixedRate(() -> hazelcastLockMechanism.lockShared(() -> "pseudoWithSharedHolders")
+                .onItem().delayIt().by(Duration.ofMillis(50))
+                .onItem().transformToUni(ignored -> hazelcastLockMechanism.unlockShared(() -> "pseudoWithSharedHolders"))
+                .subscribe().with(ignored -> {}, failure -> {}), 0L, 10L, TimeUnit.MILLISECONDS);
+        Thread.sleep(200L);
+
+        try {
+            // When
+            final UniAssertSubscriber<Void> subscriber = hazelcastLockMechanism.lock(() -> "pseudoWithSharedHolders")
+                    .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+            // Then
+            subscriber.awaitItem(Duration.ofSeconds(5l)).assertCompleted();
+            assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoWithSharedHolders").availablePermits()).isEqualTo(0);
+            hazelcastLockMechanism.unlock(() -> "pseudoWithSharedHolders").await().atMost(Duration.ofSeconds(1l));
+        } finally {
+            sharedHolders.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_hand_the_lock_over_between_exclusive_holders_waiting_for_a_shared_holder() throws Exception {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+        hazelcastLockMechanism.lockShared(() -> "pseudoWithWaitingHolders").await().atMost(Duration.ofSeconds(1l));
+        final UniAssertSubscriber<Void> firstExclusiveHolder = hazelcastLockMechanism.lock(() -> "pseudoWithWaitingHolders")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UniAssertSubscriber<Void> secondExclusiveHolder = hazelcastLockMechanism.lock(() -> "pseudoWithWaitingHolders")
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+        Thread.sleep(100L);
+
+        // When
+        hazelcastLockMechanism.unlockShared(() -> "pseudoWithWaitingHolders").await().atMost(Duration.ofSeconds(1l));
+        firstExclusiveHolder.awaitItem(Duration.ofSeconds(1l)).assertCompleted();
+        hazelcastLockMechanism.unlock(() -> "pseudoWithWaitingHolders").await().atMost(Duration.ofSeconds(1l));
+
+        // Then
+        secondExclusiveHolder.awaitItem(Duration.ofSeconds(1l)).assertCompleted();
+        assertThat(hazelcastInstance.getCPSubsystem().getSemaphore("pseudoWithWaitingHolders").availablePermits()).isEqualTo(0);
+        hazelcastLockMechanism.unlock(() -> "pseudoWithWaitingHolders").await().atMost(Duration.ofSeconds(1l));
     }
 
 }
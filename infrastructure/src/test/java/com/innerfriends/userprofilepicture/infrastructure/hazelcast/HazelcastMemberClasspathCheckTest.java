@@ -0,0 +1,72 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class HazelcastMemberClasspathCheckTest {
+
+    private HazelcastInstance hazelcastInstance;
+    private IExecutorService executorService;
+    private HazelcastMemberClasspathCheck hazelcastMemberClasspathCheck;
+
+    @BeforeEach
+    public void setup() {
+        hazelcastInstance = mock(HazelcastInstance.class);
+        executorService = mock(IExecutorService.class);
+        doReturn(executorService).when(hazelcastInstance).getExecutorService(HazelcastMemberClasspathCheck.EXECUTOR_NAME);
+        hazelcastMemberClasspathCheck = new HazelcastMemberClasspathCheck(hazelcastInstance);
+    }
+
+    @Test
+    public void should_start_when_every_member_runs_the_same_serialization_version() {
+        // Given
+        doReturn(Map.of(mock(Member.class), CompletableFuture.completedFuture(HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION)))
+                .when(executorService).submitToAllMembers(any(HazelcastMemberClasspathProbe.class));
+
+        // When && Then
+        assertThatCode(() -> hazelcastMemberClasspathCheck.onStartup(null)).doesNotThrowAnyException();
+    }
+
+    @Test
+    public void should_fail_to_start_when_a_member_runs_another_serialization_version() {
+        // Given
+        doReturn(Map.of(mock(Member.class), CompletableFuture.completedFuture((byte) (HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION + 1))))
+                .when(executorService).submitToAllMembers(any(HazelcastMemberClasspathProbe.class));
+
+        // When && Then
+        assertThatThrownBy(() -> hazelcastMemberClasspathCheck.onStartup(null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void should_fail_to_start_when_a_member_can_not_run_the_probe() {
+        // Given
+        doReturn(Map.of(mock(Member.class), CompletableFuture.failedFuture(new ClassNotFoundException())))
+                .when(executorService).submitToAllMembers(any(HazelcastMemberClasspathProbe.class));
+
+        // When && Then
+        assertThatThrownBy(() -> hazelcastMemberClasspathCheck.onStartup(null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(ExecutionException.class);
+    }
+
+    @Test
+    public void should_probe_answer_the_serialization_version_of_the_member_classes() {
+        // When && Then
+        assertThat(new HazelcastMemberClasspathProbe().call()).isEqualTo(HazelcastCachedUserProfilePictures.SERIALIZATION_VERSION);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+public class HazelcastNearCacheMetricsTest {
+
+    @Inject
+    HazelcastInstance hazelcastInstance;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    @AfterEach
+    public void flush() {
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).clear();
+    }
+
+    @Test
+    public void should_count_near_cache_hits_and_misses() {
+        // Given
+        final IMap<String, String> map = hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME);
+        map.put("pseudo", "value");
+        final double hits = counter("cache.near.hits");
+        final double misses = counter("cache.near.misses");
+
+        // When
+        map.get("pseudo");
+        map.get("pseudo");
+
+        // Then
+        assertThat(counter("cache.near.misses")).isEqualTo(misses + 1);
+        assertThat(counter("cache.near.hits")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    public void should_expose_near_cache_entries() {
+        // Given
+        final IMap<String, String> map = hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME);
+        map.put("pseudo", "value");
+
+        // When
+        map.get("pseudo");
+
+        // Then
+        assertThat(meterRegistry.get("cache.near.entries").tag("cache", "userProfilePicture").gauge().value()).isEqualTo(1d);
+    }
+
+    private double counter(final String name) {
+        return meterRegistry.get(name).tag("cache", "userProfilePicture").functionCounter().count();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HazelcastStoreAbsenceEntryProcessorTest {
+
+    private static final HazelcastUserProfilePictureIdentifier V0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v0").build();
+
+    private static final HazelcastEntryTimeToLive ENTRY_TIME_TO_LIVE = new HazelcastEntryTimeToLive(600, 3600, 60);
+
+    private static final long ABSENCE_EXPIRATION_MILLIS = System.currentTimeMillis() + 60000L;
+
+    @Test
+    public void should_fail_fast_when_absence_is_null() {
+        assertThatThrownBy(() -> new HazelcastStoreAbsenceEntryProcessor(SupportedMediaType.IMAGE_JPEG, null, ABSENCE_EXPIRATION_MILLIS, ENTRY_TIME_TO_LIVE))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_store_absence_with_absence_time_to_live_when_entry_absent() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreAbsenceEntryProcessor(
+                SupportedMediaType.IMAGE_JPEG, CachedUserProfilePictures.Absence.NO_PICTURES_YET, ABSENCE_EXPIRATION_MILLIS, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue()).isEqualTo(result);
+        assertThat(result.absence()).isEqualTo(CachedUserProfilePictures.Absence.NO_PICTURES_YET);
+        assertThat(result.absenceExpirationMillis).isEqualTo(ABSENCE_EXPIRATION_MILLIS);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(60L);
+    }
+
+    @Test
+    public void should_keep_cached_versions_time_to_live_when_storing_absence() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .build());
+
+        // When
+        new HazelcastStoreAbsenceEntryProcessor(SupportedMediaType.IMAGE_JPEG, CachedUserProfilePictures.Absence.NO_FEATURED_YET, ABSENCE_EXPIRATION_MILLIS, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue().absence()).isEqualTo(CachedUserProfilePictures.Absence.NO_FEATURED_YET);
+        assertThat(entry.getValue().versionIds).containsExactly("v0");
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(600L);
+    }
+
+    @Test
+    public void should_not_store_absence_when_featured_is_cached() {
+        // Given
+        final HazelcastCachedUserProfilePictures cached = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(V0)
+                .build();
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", cached);
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreAbsenceEntryProcessor(
+                SupportedMediaType.IMAGE_JPEG, CachedUserProfilePictures.Absence.NO_FEATURED_YET, ABSENCE_EXPIRATION_MILLIS, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(result.absence()).isNull();
+        assertThat(result.featured()).isEqualTo(V0);
+        assertThat(entry.timeToLiveSeconds()).isNull();
+    }
+
+    @Test
+    public void should_serialize_and_deserialize() {
+        // Given
+        final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        // When
+        final HazelcastStoreAbsenceEntryProcessor deserialized = serializationService.toObject(serializationService.toData(
+                new HazelcastStoreAbsenceEntryProcessor(SupportedMediaType.IMAGE_JPEG, CachedUserProfilePictures.Absence.NO_FEATURED_YET, ABSENCE_EXPIRATION_MILLIS, ENTRY_TIME_TO_LIVE)));
+
+        // Then
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+        deserialized.process(entry);
+        assertThat(entry.getValue().absence()).isEqualTo(CachedUserProfilePictures.Absence.NO_FEATURED_YET);
+        assertThat(entry.getValue().absenceMediaType()).isEqualTo(SupportedMediaType.IMAGE_JPEG);
+        assertThat(entry.getValue().absenceExpirationMillis).isEqualTo(ABSENCE_EXPIRATION_MILLIS);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(60L);
+    }
+
+    @Test
+    public void should_store_the_same_absence_expiration_on_primary_and_backup() throws InterruptedException {
+        // Given
+        final HazelcastStoreAbsenceEntryProcessor entryProcessor = new HazelcastStoreAbsenceEntryProcessor(
+                SupportedMediaType.IMAGE_JPEG, CachedUserProfilePictures.Absence.NO_FEATURED_YET, ABSENCE_EXPIRATION_MILLIS, ENTRY_TIME_TO_LIVE);
+        final TestExtendedMapEntry primaryEntry = new TestExtendedMapEntry("user", null);
+        final TestExtendedMapEntry backupEntry = new TestExtendedMapEntry("user", null);
+
+        // When
+        entryProcessor.process(primaryEntry);
+        Thread.sleep(5L);
+        entryProcessor.getBackupProcessor().process(backupEntry);
+
+        // Then
+        assertThat(backupEntry.getValue()).isEqualTo(primaryEntry.getValue());
+    }
+
+}
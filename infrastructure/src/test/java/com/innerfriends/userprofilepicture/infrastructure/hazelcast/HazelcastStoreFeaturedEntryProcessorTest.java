@@ -0,0 +1,79 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HazelcastStoreFeaturedEntryProcessorTest {
+
+    private static final HazelcastUserProfilePictureIdentifier V0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v0").build();
+
+    private static final HazelcastEntryTimeToLive ENTRY_TIME_TO_LIVE = new HazelcastEntryTimeToLive(600, 3600, 60);
+
+    @Test
+    public void should_fail_fast_when_featured_user_profile_picture_identifier_is_null() {
+        assertThatThrownBy(() -> new HazelcastStoreFeaturedEntryProcessor(null, ENTRY_TIME_TO_LIVE))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_store_featured_when_entry_absent() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreFeaturedEntryProcessor(V0, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        final HazelcastCachedUserProfilePictures expected = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(V0)
+                .build();
+        assertThat(entry.getValue()).isEqualTo(expected);
+        assertThat(result).isEqualTo(expected);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(3600L);
+    }
+
+    @Test
+    public void should_keep_cached_versions_when_storing_featured() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .build());
+
+        // When
+        new HazelcastStoreFeaturedEntryProcessor(V0, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue()).isEqualTo(HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(V0)
+                .setFeaturedUserProfilePictureIdentifier(V0)
+                .build());
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(600L);
+    }
+
+    @Test
+    public void should_serialize_and_deserialize() {
+        // Given
+        final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        // When
+        final HazelcastStoreFeaturedEntryProcessor deserialized = serializationService.toObject(serializationService.toData(new HazelcastStoreFeaturedEntryProcessor(V0, ENTRY_TIME_TO_LIVE)));
+
+        // Then
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+        deserialized.process(entry);
+        assertThat(entry.getValue().featuredUserProfilePictureIdentifier).isEqualTo(V0);
+    }
+
+}
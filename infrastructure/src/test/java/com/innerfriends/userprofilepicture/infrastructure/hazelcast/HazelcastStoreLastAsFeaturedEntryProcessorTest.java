@@ -0,0 +1,101 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HazelcastStoreLastAsFeaturedEntryProcessorTest {
+
+    private static final HazelcastUserProfilePictureIdentifier V0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v0").build();
+
+    private static final HazelcastUserProfilePictureIdentifier V1 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v1").build();
+
+    private static final HazelcastEntryTimeToLive ENTRY_TIME_TO_LIVE = new HazelcastEntryTimeToLive(600, 3600, 60);
+
+    @Test
+    public void should_fail_fast_when_last_user_profile_picture_identifier_is_null() {
+        assertThatThrownBy(() -> new HazelcastStoreLastAsFeaturedEntryProcessor(null, ENTRY_TIME_TO_LIVE))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_store_last_as_featured_when_entry_absent() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreLastAsFeaturedEntryProcessor(V0, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        final HazelcastCachedUserProfilePictures expected = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setLastAsFeatured(V0)
+                .build();
+        assertThat(entry.getValue()).isEqualTo(expected);
+        assertThat(result).isEqualTo(expected);
+        assertThat(result.featured()).isNull();
+        assertThat(result.lastAsFeatured()).isEqualTo(V0);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(3600L);
+    }
+
+    @Test
+    public void should_keep_no_featured_yet_absence_when_storing_last_as_featured() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, 0L)
+                        .build());
+
+        // When
+        new HazelcastStoreLastAsFeaturedEntryProcessor(V0, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue().hasNoFeaturedYetInCache()).isTrue();
+        assertThat(entry.getValue().lastAsFeatured()).isEqualTo(V0);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(3600L);
+    }
+
+    @Test
+    public void should_not_replace_selected_featured() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .setFeaturedUserProfilePictureIdentifier(V0)
+                        .build());
+
+        // When
+        new HazelcastStoreLastAsFeaturedEntryProcessor(V1, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue().featured()).isEqualTo(V0);
+        assertThat(entry.getValue().lastAsFeatured()).isNull();
+    }
+
+    @Test
+    public void should_serialize_and_deserialize() {
+        // Given
+        final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        // When
+        final HazelcastStoreLastAsFeaturedEntryProcessor deserialized = serializationService.toObject(serializationService.toData(new HazelcastStoreLastAsFeaturedEntryProcessor(V0, ENTRY_TIME_TO_LIVE)));
+
+        // Then
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+        deserialized.process(entry);
+        assertThat(entry.getValue().lastAsFeatured()).isEqualTo(V0);
+    }
+
+}
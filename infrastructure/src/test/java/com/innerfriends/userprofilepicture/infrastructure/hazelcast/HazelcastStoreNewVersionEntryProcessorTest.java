@@ -0,0 +1,221 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HazelcastStoreNewVersionEntryProcessorTest {
+
+    private static final HazelcastUserProfilePictureIdentifier V0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v0").build();
+
+    private static final HazelcastUserProfilePictureIdentifier V1 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v1").build();
+
+    private static final HazelcastEntryTimeToLive ENTRY_TIME_TO_LIVE = new HazelcastEntryTimeToLive(600, 3600, 60);
+
+    private static final int LIST_PAGE_SIZE = 50;
+
+    @Test
+    public void should_fail_fast_when_new_user_profile_picture_identifier_is_null() {
+        assertThatThrownBy(() -> new HazelcastStoreNewVersionEntryProcessor(null, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_prepend_new_version() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .build());
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        final HazelcastCachedUserProfilePictures expected = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(V1)
+                .addProfilePictureIdentifier(V0)
+                .build();
+        assertThat(entry.getValue()).isEqualTo(expected);
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void should_drop_cached_versions_when_new_version_overflows_the_first_page() {
+        // Given
+        final HazelcastCachedUserProfilePictures.Builder builder = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setNextPageCursor("cursor")
+                .putNextPage("cursor", new HazelcastUserProfilePicturesPage(SupportedMediaType.IMAGE_JPEG, new String[] {"next"}, null))
+                .setFeaturedUserProfilePictureIdentifier(V0);
+        IntStream.range(0, LIST_PAGE_SIZE).forEach(version -> builder.addProfilePictureIdentifier(HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("cached" + version).build()));
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", builder.build());
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        final HazelcastCachedUserProfilePictures expected = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(V0)
+                .build();
+        assertThat(entry.getValue()).isEqualTo(expected);
+        assertThat(result).isEqualTo(expected);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(3600L);
+    }
+
+    @Test
+    public void should_prepend_new_version_filling_the_first_page() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .build());
+
+        // When
+        new HazelcastStoreNewVersionEntryProcessor(V1, 2, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue().versionIds).containsExactly("v1", "v0");
+    }
+
+    @Test
+    public void should_not_prepend_an_already_cached_version() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .build());
+
+        // When
+        new HazelcastStoreNewVersionEntryProcessor(V0, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue().userProfilePictureIdentifiers()).isEqualTo(List.of(V0));
+    }
+
+    @Test
+    public void should_not_create_entry_when_absent() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(entry.getValue()).isNull();
+    }
+
+    @Test
+    public void should_clear_absence_and_keep_cached_versions() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, 0L)
+                        .build());
+
+        // When
+        new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue()).isEqualTo(HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(V1)
+                .addProfilePictureIdentifier(V0)
+                .build());
+    }
+
+    @Test
+    public void should_remove_entry_only_holding_an_absence() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .setAbsence(CachedUserProfilePictures.Absence.NO_PICTURES_YET, SupportedMediaType.IMAGE_JPEG, 0L)
+                        .build());
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(entry.getValue()).isNull();
+    }
+
+    @Test
+    public void should_remove_entry_only_holding_last_as_featured() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .setLastAsFeatured(V0)
+                        .build());
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(result).isNull();
+        assertThat(entry.getValue()).isNull();
+    }
+
+    @Test
+    public void should_keep_selected_featured() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .setFeaturedUserProfilePictureIdentifier(V0)
+                        .build());
+
+        // When
+        new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue().featured()).isEqualTo(V0);
+    }
+
+    @Test
+    public void should_serialize_and_deserialize() {
+        // Given
+        final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        // When
+        final HazelcastStoreNewVersionEntryProcessor deserialized = serializationService.toObject(serializationService.toData(new HazelcastStoreNewVersionEntryProcessor(V1, LIST_PAGE_SIZE, ENTRY_TIME_TO_LIVE)));
+
+        // Then
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .addProfilePictureIdentifier(V0)
+                        .build());
+        deserialized.process(entry);
+        assertThat(entry.getValue().userProfilePictureIdentifiers()).isEqualTo(List.of(V1, V0));
+    }
+
+}
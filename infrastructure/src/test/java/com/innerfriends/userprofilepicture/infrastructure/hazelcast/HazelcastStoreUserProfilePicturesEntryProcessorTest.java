@@ -0,0 +1,96 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HazelcastStoreUserProfilePicturesEntryProcessorTest {
+
+    private static final HazelcastUserProfilePictureIdentifier V0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v0").build();
+
+    private static final HazelcastUserProfilePictureIdentifier V1 = HazelcastUserProfilePictureIdentifier.newBuilder()
+            .setUserPseudo("user")
+            .setMediaType(SupportedMediaType.IMAGE_JPEG)
+            .setVersionId("v1").build();
+
+    private static final HazelcastEntryTimeToLive ENTRY_TIME_TO_LIVE = new HazelcastEntryTimeToLive(600, 3600, 60);
+
+    @Test
+    public void should_fail_fast_when_version_ids_is_null() {
+        assertThatThrownBy(() -> new HazelcastStoreUserProfilePicturesEntryProcessor(null, null, null, null, 4, ENTRY_TIME_TO_LIVE))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_create_entry_when_absent() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreUserProfilePicturesEntryProcessor(null, SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, "cursor", 4, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        final HazelcastCachedUserProfilePictures expected = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(V0)
+                .setNextPageCursor("cursor")
+                .build();
+        assertThat(entry.getValue()).isEqualTo(expected);
+        assertThat(result).isEqualTo(expected);
+        assertThat(entry.timeToLiveSeconds()).isEqualTo(600L);
+    }
+
+    @Test
+    public void should_keep_featured_and_store_next_page_when_entry_present() {
+        // Given
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user",
+                HazelcastCachedUserProfilePictures.newBuilder()
+                        .setUserPseudo("user")
+                        .setFeaturedUserProfilePictureIdentifier(V1)
+                        .addProfilePictureIdentifier(V1)
+                        .setNextPageCursor("cursor")
+                        .build());
+
+        // When
+        final HazelcastCachedUserProfilePictures result = new HazelcastStoreUserProfilePicturesEntryProcessor("cursor", SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, null, 4, ENTRY_TIME_TO_LIVE).process(entry);
+
+        // Then
+        assertThat(entry.getValue()).isEqualTo(HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(V1)
+                .addProfilePictureIdentifier(V1)
+                .setNextPageCursor("cursor")
+                .putNextPage("cursor", new HazelcastUserProfilePicturesPage(SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, null))
+                .build());
+        assertThat(result).isEqualTo(HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(V1)
+                .addProfilePictureIdentifier(V0)
+                .build());
+    }
+
+    @Test
+    public void should_serialize_and_deserialize() {
+        // Given
+        final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        // When
+        final HazelcastStoreUserProfilePicturesEntryProcessor deserialized = serializationService.toObject(serializationService.toData(new HazelcastStoreUserProfilePicturesEntryProcessor("cursor", SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, "nextCursor", 4, ENTRY_TIME_TO_LIVE)));
+
+        // Then
+        final TestExtendedMapEntry entry = new TestExtendedMapEntry("user", null);
+        deserialized.process(entry);
+        assertThat(entry.getValue().page(SupportedMediaType.IMAGE_JPEG, "cursor").userProfilePictureIdentifiers()).isEqualTo(List.of(V0));
+        assertThat(entry.getValue().page(SupportedMediaType.IMAGE_JPEG, "cursor").nextPageCursor).isEqualTo("nextCursor");
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class HazelcastUserProfilePictureCacheMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HazelcastUserProfilePictureCacheMetrics hazelcastUserProfilePictureCacheMetrics = new HazelcastUserProfilePictureCacheMetrics(
+            mock(HazelcastInstance.class), meterRegistry);
+
+    @Test
+    public void should_record_hits_and_misses_with_get_latency() {
+        // Given
+
+        // When
+        hazelcastUserProfilePictureCacheMetrics.recordGet(hazelcastUserProfilePictureCacheMetrics.startSample(), true);
+        hazelcastUserProfilePictureCacheMetrics.recordGet(hazelcastUserProfilePictureCacheMetrics.startSample(), true);
+        hazelcastUserProfilePictureCacheMetrics.recordGet(hazelcastUserProfilePictureCacheMetrics.startSample(), false);
+
+        // Then
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(2d);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(1d);
+        assertThat(meterRegistry.get("cache.get.latency").tag("cache", "userProfilePicture").timer().count()).isEqualTo(3L);
+    }
+
+    @Test
+    public void should_record_hits_and_misses_of_a_multi_key_get_with_one_get_latency() {
+        // Given
+
+        // When
+        hazelcastUserProfilePictureCacheMetrics.recordGetAll(hazelcastUserProfilePictureCacheMetrics.startSample(), 3, 2);
+
+        // Then
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(3d);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(2d);
+        assertThat(meterRegistry.get("cache.get.latency").tag("cache", "userProfilePicture").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_record_stored_and_skipped_puts() {
+        // Given
+
+        // When
+        hazelcastUserProfilePictureCacheMetrics.recordPut(hazelcastUserProfilePictureCacheMetrics.startSample());
+        hazelcastUserProfilePictureCacheMetrics.recordSkippedPut();
+
+        // Then
+        assertThat(counter("cache.puts", "result", "stored")).isEqualTo(1d);
+        assertThat(counter("cache.puts", "result", "skipped")).isEqualTo(1d);
+        assertThat(meterRegistry.get("cache.put.latency").tag("cache", "userProfilePicture").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_record_explicit_evictions() {
+        // Given
+
+        // When
+        hazelcastUserProfilePictureCacheMetrics.recordEviction();
+
+        // Then
+        assertThat(counter("cache.evictions", "cause", "explicit")).isEqualTo(1d);
+        assertThat(counter("cache.evictions", "cause", "evicted")).isEqualTo(0d);
+        assertThat(counter("cache.evictions", "cause", "expired")).isEqualTo(0d);
+    }
+
+    private double counter(final String name, final String tagKey, final String tagValue) {
+        return meterRegistry.get(name).tag("cache", "userProfilePicture").tag(tagKey, tagValue).counter().count();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class HazelcastUserProfilePictureCachePolicyTest {
+
+    private final HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+
+    @Test
+    public void should_build_map_config_from_properties() {
+        // Given
+        final HazelcastUserProfilePictureCachePolicy hazelcastUserProfilePictureCachePolicy = new HazelcastUserProfilePictureCachePolicy(
+                hazelcastInstance, 600L, 3600L, 60L, 300, EvictionPolicy.LFU, MaxSizePolicy.PER_PARTITION, 1000, 50, 4);
+
+        // When
+        final MapConfig mapConfig = hazelcastUserProfilePictureCachePolicy.mapConfig();
+
+        // Then
+        assertThat(mapConfig.getName()).isEqualTo("userProfilePicture");
+        assertThat(mapConfig.getMaxIdleSeconds()).isEqualTo(300);
+        assertThat(mapConfig.getEvictionConfig().getEvictionPolicy()).isEqualTo(EvictionPolicy.LFU);
+        assertThat(mapConfig.getEvictionConfig().getMaxSizePolicy()).isEqualTo(MaxSizePolicy.PER_PARTITION);
+        assertThat(mapConfig.getEvictionConfig().getSize()).isEqualTo(1000);
+        assertThat(hazelcastUserProfilePictureCachePolicy.entryTimeToLive()).isEqualTo(new HazelcastEntryTimeToLive(600L, 3600L, 60L));
+        assertThat(hazelcastUserProfilePictureCachePolicy.listPageSize()).isEqualTo(50);
+        assertThat(hazelcastUserProfilePictureCachePolicy.maxNextPages()).isEqualTo(4);
+    }
+
+    @Test
+    public void should_send_map_config_to_the_cluster_on_startup() {
+        // Given
+        final Config config = mock(Config.class);
+        doReturn(config).when(hazelcastInstance).getConfig();
+        final HazelcastUserProfilePictureCachePolicy hazelcastUserProfilePictureCachePolicy = new HazelcastUserProfilePictureCachePolicy(
+                hazelcastInstance, 600L, 3600L, 60L, 600, EvictionPolicy.LRU, MaxSizePolicy.PER_NODE, 5000, 50, 4);
+
+        // When
+        hazelcastUserProfilePictureCachePolicy.onStartup(null);
+
+        // Then
+        verify(config, times(1)).addMapConfig(hazelcastUserProfilePictureCachePolicy.mapConfig());
+    }
+
+    @Test
+    public void should_reject_unsupported_eviction_policy() {
+        assertThatThrownBy(() -> new HazelcastUserProfilePictureCachePolicy(
+                hazelcastInstance, 600L, 3600L, 60L, 600, EvictionPolicy.RANDOM, MaxSizePolicy.PER_NODE, 5000, 50, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_reject_negative_time_to_live() {
+        assertThatThrownBy(() -> new HazelcastUserProfilePictureCachePolicy(
+                hazelcastInstance, -1L, 3600L, 60L, 600, EvictionPolicy.LRU, MaxSizePolicy.PER_NODE, 5000, 50, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_reject_non_positive_max_size() {
+        assertThatThrownBy(() -> new HazelcastUserProfilePictureCachePolicy(
+                hazelcastInstance, 600L, 3600L, 60L, 600, EvictionPolicy.LRU, MaxSizePolicy.PER_NODE, 0, 50, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_reject_non_positive_list_page_size() {
+        assertThatThrownBy(() -> new HazelcastUserProfilePictureCachePolicy(
+                hazelcastInstance, 600L, 3600L, 60L, 600, EvictionPolicy.LRU, MaxSizePolicy.PER_NODE, 5000, 0, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_reject_negative_max_next_pages() {
+        assertThatThrownBy(() -> new HazelcastUserProfilePictureCachePolicy(
+                hazelcastInstance, 600L, 3600L, 60L, 600, EvictionPolicy.LRU, MaxSizePolicy.PER_NODE, 5000, 50, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.innerfriends.userprofilepicture.domain.*;
 import com.innerfriends.userprofilepicture.infrastructure.tracing.OpenTelemetryTracingService;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.trace.Span;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.mockito.InjectMock;
@@ -16,6 +17,7 @@ import org.mockito.InOrder;
 import javax.inject.Inject;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -35,6 +37,9 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
     @InjectMock
     OpenTelemetryTracingService openTelemetryTracingService;
 
+    @Inject
+    MeterRegistry meterRegistry;
+
     @BeforeEach
     @AfterEach
     public void flush() {
@@ -92,6 +97,7 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
         final InOrder inOrder = inOrder(openTelemetryTracingService);
         final Span span = mock(Span.class);
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+        final double misses = counter("cache.gets", "result", "miss");
 
         // When
         final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.get(() -> "user");
@@ -99,6 +105,7 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
         // Then
         final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
         subscriber.awaitFailure().assertFailedWith(UserProfilePicturesNotInCacheException.class);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(misses + 1);
         inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
         // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
@@ -178,20 +185,114 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
                 .isEqualTo(expectedHazelcastCachedUserProfilePicture);
     }
 
+    @Test
+    public void should_store_new_version_first_when_user_profile_pictures_in_cache() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePicture = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v0").build())
+                .build();
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", givenHazelcastCachedUserProfilePicture);
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.storeNewVersion(() -> "user",
+                HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v1").build());
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final HazelcastCachedUserProfilePictures expectedHazelcastCachedUserProfilePicture = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v1").build())
+                .addProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v0").build())
+                .build();
+        assertThat(subscriber.awaitItem().assertCompleted().getItem()).isEqualTo(expectedHazelcastCachedUserProfilePicture);
+        assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user")).isEqualTo(expectedHazelcastCachedUserProfilePicture);
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
+        // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
+        inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+    }
+
+    @Test
+    public void should_not_store_new_version_when_user_profile_pictures_not_in_cache() {
+        // Given
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.storeNewVersion(() -> "user",
+                HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v1").build());
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        assertThat(subscriber.awaitItem().assertCompleted().getItem()).isNull();
+        assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user")).isNull();
+        verify(openTelemetryTracingService, times(1)).endSpan(span);
+    }
+
+    @Test
+    public void should_not_store_new_version_when_only_featured_is_in_cache() {
+        // Given
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePicture = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v0").build())
+                .build();
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", givenHazelcastCachedUserProfilePicture);
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.storeNewVersion(() -> "user",
+                HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v1").build());
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        assertThat(subscriber.awaitItem().assertCompleted().getItem()).isEqualTo(givenHazelcastCachedUserProfilePicture);
+        assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user")).isEqualTo(givenHazelcastCachedUserProfilePicture);
+    }
+
     @Test
     public void should_not_store_profile_picture_identifier_when_cannot_be_stored() {
         // Given
         final UserProfilePictures userProfilePictures = mock(UserProfilePictures.class);
         doReturn(false).when(userProfilePictures).canBeStoredInCache();
+        final double skippedPuts = counter("cache.puts", "result", "skipped");
 
         // When
-        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.store(() -> "user", userProfilePictures);
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.store(() -> "user", SupportedMediaType.IMAGE_JPEG, null, userProfilePictures);
 
         // Then
         final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
         assertThat(subscriber.awaitItem().assertCompleted().getItem()).isEqualTo(null);
         assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user")).isNull();
         verify(userProfilePictures, times(1)).canBeStoredInCache();
+        assertThat(counter("cache.puts", "result", "skipped")).isEqualTo(skippedPuts + 1);
     }
 
     @Test
@@ -205,7 +306,7 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
 
         // When
-        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.store(() -> "user", userProfilePictures);
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.store(() -> "user", SupportedMediaType.IMAGE_JPEG, null, userProfilePictures);
 
         // Then
         final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
@@ -265,7 +366,7 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
 
         // When
-        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.store(() -> "user", userProfilePictures);
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.store(() -> "user", SupportedMediaType.IMAGE_JPEG, null, userProfilePictures);
 
         // Then
         final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
@@ -285,6 +386,237 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
     }
 
+    @Test
+    public void should_store_next_page_of_profile_picture_identifiers_without_replacing_first_page() {
+        // Given
+        final UserProfilePictures userProfilePictures = mock(UserProfilePictures.class);
+        doReturn(true).when(userProfilePictures).canBeStoredInCache();
+        doReturn(buildUserProfilePicture(1)).when(userProfilePictures).userProfilePictures();
+        final HazelcastCachedUserProfilePictures givenHazelcastCachedUserProfilePicture = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v1").build())
+                .setNextPageCursor("cursor")
+                .build();
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", givenHazelcastCachedUserProfilePicture);
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.store(() -> "user", SupportedMediaType.IMAGE_JPEG, () -> "cursor", userProfilePictures);
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final HazelcastUserProfilePictureIdentifier nextPageUserProfilePictureIdentifier = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build();
+        final HazelcastCachedUserProfilePictures expectedHazelcastCachedUserProfilePicture = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v1").build())
+                .setNextPageCursor("cursor")
+                .putNextPage("cursor", new HazelcastUserProfilePicturesPage(SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, null))
+                .build();
+        final HazelcastCachedUserProfilePictures expectedPage = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(nextPageUserProfilePictureIdentifier)
+                .build();
+        assertThat(subscriber.awaitItem().assertCompleted().getItem()).isEqualTo(expectedPage);
+        assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user")).isEqualTo(expectedHazelcastCachedUserProfilePicture);
+    }
+
+    @Test
+    public void should_get_return_stored_next_page_of_cached_user_profile_picture() {
+        // Given
+        final HazelcastUserProfilePictureIdentifier nextPageUserProfilePictureIdentifier = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build();
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .addProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v1").build())
+                .setNextPageCursor("cursor")
+                .putNextPage("cursor", new HazelcastUserProfilePicturesPage(SupportedMediaType.IMAGE_JPEG, new String[] {"v0"}, null))
+                .build());
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.get(() -> "user", SupportedMediaType.IMAGE_JPEG, () -> "cursor");
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final CachedUserProfilePictures cachedUserProfilePictures = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(cachedUserProfilePictures.userProfilePictureIdentifiers()).isEqualTo(List.of(nextPageUserProfilePictureIdentifier));
+        assertThat(cachedUserProfilePictures.nextPageCursor()).isNull();
+    }
+
+    @Test
+    public void should_get_return_no_user_profile_picture_identifiers_when_next_page_is_not_cached() {
+        // Given
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setNextPageCursor("cursor")
+                .build());
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+        final double misses = counter("cache.gets", "result", "miss");
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.get(() -> "user", SupportedMediaType.IMAGE_JPEG, () -> "cursor");
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        assertThat(subscriber.awaitItem().assertCompleted().getItem().hasUserProfilePictureIdentifiersInCache()).isFalse();
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(misses + 1);
+    }
+
+    @Test
+    public void should_get_all_return_cached_user_profile_pictures_of_pseudos_in_cache_only() {
+        // Given
+        final CachedUserProfilePictures givenCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v0").build())
+                .build();
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", givenCachedUserProfilePictures);
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan("HazelcastUserProfilePictureCacheRepository.getAll");
+        final double hits = counter("cache.gets", "result", "hit");
+        final double misses = counter("cache.gets", "result", "miss");
+
+        // When
+        final Uni<List<CachedUserProfilePictures>> uni = hazelcastUserProfilePictureCacheRepository.getAll(Set.of(() -> "user", () -> "unknown"));
+
+        // Then
+        final UniAssertSubscriber<List<CachedUserProfilePictures>> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        assertThat(subscriber.awaitItem().assertCompleted().getItem()).containsExactly(givenCachedUserProfilePictures);
+        assertThat(counter("cache.gets", "result", "hit")).isEqualTo(hits + 1);
+        assertThat(counter("cache.gets", "result", "miss")).isEqualTo(misses + 1);
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
+        inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+    }
+
+    @Test
+    public void should_store_last_as_featured_when_user_profile_picture_not_in_cache() {
+        // Given
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.storeLastAsFeatured(() -> "user",
+                HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v0").build());
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final CachedUserProfilePictures cachedUserProfilePictures = subscriber.awaitItem().assertCompleted().getItem();
+        final HazelcastCachedUserProfilePictures expectedHazelcastCachedUserProfilePicture = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setLastAsFeatured(
+                        HazelcastUserProfilePictureIdentifier.newBuilder()
+                                .setUserPseudo("user")
+                                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                                .setVersionId("v0").build())
+                .build();
+        assertThat(cachedUserProfilePictures).isEqualTo(expectedHazelcastCachedUserProfilePicture);
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
+        // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
+        inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+
+        assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user"))
+                .isEqualTo(expectedHazelcastCachedUserProfilePicture);
+    }
+
+    @Test
+    public void should_keep_featured_profile_picture_when_storing_last_as_featured() {
+        // Given
+        final HazelcastUserProfilePictureIdentifier v0 = HazelcastUserProfilePictureIdentifier.newBuilder()
+                .setUserPseudo("user")
+                .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                .setVersionId("v0").build();
+        final CachedUserProfilePictures givenCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setFeaturedUserProfilePictureIdentifier(v0)
+                .build();
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", givenCachedUserProfilePictures);
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.storeLastAsFeatured(() -> "user",
+                HazelcastUserProfilePictureIdentifier.newBuilder()
+                        .setUserPseudo("user")
+                        .setMediaType(SupportedMediaType.IMAGE_JPEG)
+                        .setVersionId("v1").build());
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.awaitItem().assertCompleted();
+        assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user"))
+                .isEqualTo(givenCachedUserProfilePictures);
+    }
+
+    @Test
+    public void should_store_absence_when_user_profile_picture_not_in_cache() {
+        // Given
+        final InOrder inOrder = inOrder(openTelemetryTracingService);
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.storeAbsence(() -> "user", SupportedMediaType.IMAGE_JPEG,
+                CachedUserProfilePictures.Absence.NO_FEATURED_YET);
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final CachedUserProfilePictures cachedUserProfilePictures = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(cachedUserProfilePictures.hasNoFeaturedYetInCache()).isTrue();
+        assertThat(cachedUserProfilePictures.hasNoPicturesYetInCache(SupportedMediaType.IMAGE_JPEG)).isFalse();
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
+        // I cannot do @InjectSpy on hazelcastInstance to verify the call in order
+        inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+
+        assertThat(hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user"))
+                .isEqualTo(cachedUserProfilePictures);
+    }
+
+    @Test
+    public void should_store_absence_when_user_profile_picture_with_absence_in_cache() {
+        // Given
+        final CachedUserProfilePictures givenCachedUserProfilePictures = HazelcastCachedUserProfilePictures.newBuilder()
+                .setUserPseudo("user")
+                .setAbsence(CachedUserProfilePictures.Absence.NO_FEATURED_YET, SupportedMediaType.IMAGE_JPEG, 0L)
+                .build();
+        hazelcastInstance.getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).put("user", givenCachedUserProfilePictures);
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+
+        // When
+        final Uni<CachedUserProfilePictures> uni = hazelcastUserProfilePictureCacheRepository.storeAbsence(() -> "user", SupportedMediaType.IMAGE_JPEG,
+                CachedUserProfilePictures.Absence.NO_PICTURES_YET);
+
+        // Then
+        final UniAssertSubscriber<CachedUserProfilePictures> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.awaitItem().assertCompleted();
+        final CachedUserProfilePictures storedCachedUserProfilePictures = (CachedUserProfilePictures) hazelcastInstance
+                .getMap(HazelcastUserProfilePictureCacheRepository.MAP_NAME).get("user");
+        assertThat(storedCachedUserProfilePictures.hasNoPicturesYetInCache(SupportedMediaType.IMAGE_JPEG)).isTrue();
+    }
+
     @Test
     public void should_evict_user_profile_pictures() {
         // Given
@@ -390,4 +722,8 @@ public class HazelcastUserProfilePictureCacheRepositoryTest {
 
     }
 
+    private double counter(final String name, final String tagKey, final String tagValue) {
+        return meterRegistry.get(name).tag("cache", "userProfilePicture").tag(tagKey, tagValue).counter().count();
+    }
+
 }
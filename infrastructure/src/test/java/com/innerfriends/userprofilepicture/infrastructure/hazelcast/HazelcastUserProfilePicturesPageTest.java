@@ -0,0 +1,15 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+public class HazelcastUserProfilePicturesPageTest {
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(HazelcastUserProfilePicturesPage.class)
+                .suppress(Warning.NONFINAL_FIELDS).verify();
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.innerfriends.userprofilepicture.infrastructure.hazelcast;
+
+import com.hazelcast.map.ExtendedMapEntry;
+
+import java.util.AbstractMap;
+import java.util.concurrent.TimeUnit;
+
+public final class TestExtendedMapEntry extends AbstractMap.SimpleEntry<String, HazelcastCachedUserProfilePictures>
+        implements ExtendedMapEntry<String, HazelcastCachedUserProfilePictures> {
+
+    private Long timeToLiveSeconds;
+
+    public TestExtendedMapEntry(final String key, final HazelcastCachedUserProfilePictures value) {
+        super(key, value);
+    }
+
+    @Override
+    public HazelcastCachedUserProfilePictures setValue(final HazelcastCachedUserProfilePictures value, final long ttl, final TimeUnit ttlUnit) {
+        this.timeToLiveSeconds = ttlUnit.toSeconds(ttl);
+        return setValue(value);
+    }
+
+    public Long timeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+}
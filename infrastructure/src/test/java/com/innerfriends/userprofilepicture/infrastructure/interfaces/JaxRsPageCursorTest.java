@@ -0,0 +1,27 @@
+package com.innerfriends.userprofilepicture.infrastructure.interfaces;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+public class JaxRsPageCursorTest {
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(JaxRsPageCursor.class).verify();
+    }
+
+    @Test
+    public void should_fail_fast_when_value_is_null() {
+        assertThatThrownBy(() -> new JaxRsPageCursor(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_return_value() {
+        assertThat(new JaxRsPageCursor("cursor").value())
+                .isEqualTo("cursor");
+    }
+}
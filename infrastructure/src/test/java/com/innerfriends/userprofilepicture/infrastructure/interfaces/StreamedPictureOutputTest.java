@@ -0,0 +1,116 @@
+package com.innerfriends.userprofilepicture.infrastructure.interfaces;
+
+import io.smallrye.mutiny.Multi;
+import org.jboss.resteasy.spi.AsyncOutputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamedPictureOutputTest {
+
+    private static final class TestAsyncOutputStream extends AsyncOutputStream {
+
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        private final boolean failing;
+
+        TestAsyncOutputStream(final boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public void write(final int b) {
+            written.write(b);
+        }
+
+        @Override
+        public CompletionStage<Void> asyncFlush() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletionStage<Void> asyncWrite(final byte[] bytes, final int offset, final int length) {
+            if (failing) {
+                return CompletableFuture.failedFuture(new IOException("Connection reset by peer"));
+            }
+            written.write(bytes, offset, length);
+            return CompletableFuture.completedFuture(null);
+        }
+
+    }
+
+    @Test
+    public void should_write_every_chunk_of_the_picture() throws Exception {
+        // Given
+        final TestAsyncOutputStream output = new TestAsyncOutputStream(false);
+        final StreamedPictureOutput streamedPictureOutput = new StreamedPictureOutput(
+                Multi.createFrom().items("pic".getBytes(), "ture".getBytes()));
+
+        // When
+        streamedPictureOutput.asyncWrite(output).toCompletableFuture().get(1, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(output.written.toByteArray()).isEqualTo("picture".getBytes());
+    }
+
+    @Test
+    public void should_cancel_the_picture_when_a_write_fails() {
+        // Given
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final StreamedPictureOutput streamedPictureOutput = new StreamedPictureOutput(
+                Multi.createFrom().items("pic".getBytes(), "ture".getBytes())
+                        .onCancellation().invoke(() -> cancelled.set(true)));
+
+        // When
+        final CompletionStage<Void> written = streamedPictureOutput.asyncWrite(new TestAsyncOutputStream(true));
+
+        // Then
+        assertThatThrownBy(() -> written.toCompletableFuture().get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class);
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    public void should_cancel_the_picture_never_written() {
+        // Given
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final StreamedPictureOutput streamedPictureOutput = new StreamedPictureOutput(
+                Multi.createFrom().<byte[]>nothing()
+                        .onCancellation().invoke(() -> cancelled.set(true)));
+
+        // When
+        streamedPictureOutput.cancel();
+
+        // Then
+        assertThat(cancelled).isTrue();
+        assertThat(streamedPictureOutput.asyncWrite(new TestAsyncOutputStream(false)).toCompletableFuture())
+                .isCompletedExceptionally();
+    }
+
+    @Test
+    public void should_cancel_the_picture_being_written() {
+        // Given
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final StreamedPictureOutput streamedPictureOutput = new StreamedPictureOutput(
+                Multi.createFrom().<byte[]>nothing()
+                        .onCancellation().invoke(() -> cancelled.set(true)));
+        final CompletionStage<Void> written = streamedPictureOutput.asyncWrite(new TestAsyncOutputStream(false));
+
+        // When
+        streamedPictureOutput.cancel();
+
+        // Then
+        assertThat(cancelled).isTrue();
+        assertThat(written.toCompletableFuture()).isNotDone();
+    }
+
+}
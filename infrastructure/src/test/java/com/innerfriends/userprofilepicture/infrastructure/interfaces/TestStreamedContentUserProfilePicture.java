@@ -1,11 +1,12 @@
 package com.innerfriends.userprofilepicture.infrastructure.interfaces;
 
-import com.innerfriends.userprofilepicture.domain.ContentUserProfilePicture;
+import com.innerfriends.userprofilepicture.domain.StreamedContentUserProfilePicture;
 import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import com.innerfriends.userprofilepicture.domain.VersionId;
+import io.smallrye.mutiny.Multi;
 
-public class TestContentUserProfilePicture implements ContentUserProfilePicture {
+public class TestStreamedContentUserProfilePicture implements StreamedContentUserProfilePicture {
 
     @Override
     public UserPseudo userPseudo() {
@@ -13,8 +14,8 @@ public class TestContentUserProfilePicture implements ContentUserProfilePicture
     }
 
     @Override
-    public byte[] picture() {
-        return "picture".getBytes();
+    public Multi<byte[]> picture() {
+        return Multi.createFrom().items("pic".getBytes(), "ture".getBytes());
     }
 
     @Override
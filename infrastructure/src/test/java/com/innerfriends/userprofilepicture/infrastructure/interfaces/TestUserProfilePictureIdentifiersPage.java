@@ -0,0 +1,31 @@
+package com.innerfriends.userprofilepicture.infrastructure.interfaces;
+
+import com.innerfriends.userprofilepicture.domain.PageCursor;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifier;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictureIdentifiersPage;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TestUserProfilePictureIdentifiersPage implements UserProfilePictureIdentifiersPage {
+
+    private final PageCursor nextPageCursor;
+
+    public TestUserProfilePictureIdentifiersPage() {
+        this(null);
+    }
+
+    public TestUserProfilePictureIdentifiersPage(final PageCursor nextPageCursor) {
+        this.nextPageCursor = nextPageCursor;
+    }
+
+    @Override
+    public List<UserProfilePictureIdentifier> userProfilePictureIdentifiers() {
+        return Collections.singletonList(new TestUserProfilePictureIdentifier());
+    }
+
+    @Override
+    public PageCursor nextPageCursor() {
+        return nextPageCursor;
+    }
+}
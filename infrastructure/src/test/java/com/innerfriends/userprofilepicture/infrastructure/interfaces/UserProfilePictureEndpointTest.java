@@ -9,12 +9,14 @@ import io.smallrye.mutiny.Uni;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
-import java.nio.file.Files;
-import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
 
 @QuarkusTest
@@ -27,9 +29,9 @@ public class UserProfilePictureEndpointTest {
     public void should_upload_user_profile_picture() throws Exception {
         // Given
         doReturn(Uni.createFrom().item(new TestUserProfilePictureSaved())).when(userProfilePictureRepository).save(
-                new JaxRsUserPseudo("pseudo"),
-                Files.readAllBytes(getFileFromResource("given/1px_white.jpg").toPath()),
-                SupportedMediaType.IMAGE_JPEG);
+                eq(new JaxRsUserPseudo("pseudo")),
+                any(InputStream.class),
+                eq(SupportedMediaType.IMAGE_JPEG));
 
         // When && Then
         given()
@@ -52,9 +54,9 @@ public class UserProfilePictureEndpointTest {
     public void should_upload_user_profile_picture_return_expected_response_when_profile_picture_repository_exception_is_thrown() throws Exception {
         // Given
         doReturn(Uni.createFrom().failure(new UserProfilePictureRepositoryException())).when(userProfilePictureRepository).save(
-                new JaxRsUserPseudo("pseudo"),
-                Files.readAllBytes(getFileFromResource("given/1px_white.jpg").toPath()),
-                SupportedMediaType.IMAGE_JPEG);
+                eq(new JaxRsUserPseudo("pseudo")),
+                any(InputStream.class),
+                eq(SupportedMediaType.IMAGE_JPEG));
 
         // When && Then
         given()
@@ -71,7 +73,7 @@ public class UserProfilePictureEndpointTest {
     @Test
     public void should_get_featured_user_profile_picture() {
         // Given
-        doReturn(Uni.createFrom().item(new TestContentUserProfilePicture())).when(userProfilePictureRepository)
+        doReturn(Uni.createFrom().item(new TestUserProfilePictureIdentifier())).when(userProfilePictureRepository)
                 .getLast(new JaxRsUserPseudo("pseudo"), SupportedMediaType.IMAGE_JPEG);
 
         // When && Then
@@ -89,6 +91,62 @@ public class UserProfilePictureEndpointTest {
         verify(userProfilePictureRepository, times(1)).getLast(any(), any());
     }
 
+    @Test
+    public void should_get_featured_user_profile_pictures_of_many_pseudos() {
+        // Given
+        doReturn(Uni.createFrom().item(new TestUserProfilePictureIdentifier())).when(userProfilePictureRepository)
+                .getLast(new JaxRsUserPseudo("pseudo"), SupportedMediaType.IMAGE_JPEG);
+        doReturn(Uni.createFrom().failure(new UserProfilePictureNotAvailableYetException(new JaxRsUserPseudo("unknown"))))
+                .when(userProfilePictureRepository).getLast(new JaxRsUserPseudo("unknown"), SupportedMediaType.IMAGE_JPEG);
+
+        // When && Then
+        given()
+                .contentType("image/jpeg; charset=ISO-8859-1")
+                .body("[\"pseudo\", \"unknown\"]")
+                .when()
+                .post("/users/featured")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body("featuredUserProfilePictures.pseudo.userPseudo", equalTo("pseudo"))
+                .body("featuredUserProfilePictures.pseudo.mediaType", equalTo("IMAGE_JPEG"))
+                .body("featuredUserProfilePictures.pseudo.versionId", equalTo("v0"))
+                .body("featuredUserProfilePictures.unknown", nullValue());
+    }
+
+    @Test
+    public void should_get_featured_user_profile_pictures_return_bad_request_when_too_many_pseudos_are_requested() {
+        // Given
+        final String userPseudos = IntStream.rangeClosed(0, 200)
+                .mapToObj(index -> "\"pseudo" + index + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        // When && Then
+        given()
+                .contentType("image/jpeg; charset=ISO-8859-1")
+                .body(userPseudos)
+                .when()
+                .post("/users/featured")
+                .then()
+                .log().all()
+                .statusCode(400);
+        verify(userProfilePictureRepository, never()).getLast(any(), any());
+    }
+
+    @Test
+    public void should_get_featured_user_profile_pictures_return_bad_request_when_pseudos_are_not_a_json_array() {
+        // When && Then
+        given()
+                .contentType("image/jpeg; charset=ISO-8859-1")
+                .body("pseudo")
+                .when()
+                .post("/users/featured")
+                .then()
+                .log().all()
+                .statusCode(400);
+        verify(userProfilePictureRepository, never()).getLast(any(), any());
+    }
+
     @Test
     public void should_get_featured_user_profile_picture_return_expected_response_when_profile_picture_not_available_yet_is_thrown() {
         // Given
@@ -126,9 +184,9 @@ public class UserProfilePictureEndpointTest {
     @Test
     public void should_list_user_profile_pictures() {
         // Given
-        doReturn(Uni.createFrom().item(Collections.singletonList(new TestUserProfilePictureIdentifier())))
+        doReturn(Uni.createFrom().item(new TestUserProfilePictureIdentifiersPage()))
                 .when(userProfilePictureRepository)
-                .listByUserPseudo(new JaxRsUserPseudo("pseudo"), SupportedMediaType.IMAGE_JPEG);
+                .listByUserPseudo(new JaxRsUserPseudo("pseudo"), SupportedMediaType.IMAGE_JPEG, null);
 
         // When && Then
         given()
@@ -143,9 +201,10 @@ public class UserProfilePictureEndpointTest {
                 .body("userProfilePictures[0].userPseudo", equalTo("pseudo"))
                 .body("userProfilePictures[0].mediaType", equalTo("IMAGE_JPEG"))
                 .body("userProfilePictures[0].versionId", equalTo("v0"))
-                .body("userProfilePictures[0].featured", equalTo(true));
+                .body("userProfilePictures[0].featured", equalTo(true))
+                .body("nextPageCursor", nullValue());
 
-        verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
     }
 
     @Test
@@ -153,7 +212,7 @@ public class UserProfilePictureEndpointTest {
         // Given
         doReturn(Uni.createFrom().failure(new UserProfilePictureRepositoryException()))
                 .when(userProfilePictureRepository)
-                .listByUserPseudo(new JaxRsUserPseudo("pseudo"), SupportedMediaType.IMAGE_JPEG);
+                .listByUserPseudo(new JaxRsUserPseudo("pseudo"), SupportedMediaType.IMAGE_JPEG, null);
 
         // When && Then
         given()
@@ -163,14 +222,58 @@ public class UserProfilePictureEndpointTest {
                 .then()
                 .log().all()
                 .statusCode(500);
-        verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any());
+        verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
+    }
+
+    @Test
+    public void should_list_user_profile_pictures_page_using_page_cursor() {
+        // Given
+        doReturn(Uni.createFrom().item(new TestUserProfilePictureIdentifiersPage(new JaxRsPageCursor("nextCursor"))))
+                .when(userProfilePictureRepository)
+                .listByUserPseudo(new JaxRsUserPseudo("pagedPseudo"), SupportedMediaType.IMAGE_JPEG, new JaxRsPageCursor("cursor"));
+
+        // When && Then
+        given()
+                .header("Content-Type", "image/jpeg")
+                .queryParam("pageCursor", "cursor")
+                .when()
+                .get("/users/pagedPseudo")
+                .then()
+                .log().all()
+                .statusCode(200)
+                .body(JsonSchemaValidator.matchesJsonSchemaInClasspath("expected/profilePictures.json"))
+                .body("featureState", equalTo("NOT_SELECTED_YET"))
+                .body("userProfilePictures[0].versionId", equalTo("v0"))
+                .body("userProfilePictures[0].featured", equalTo(false))
+                .body("nextPageCursor", equalTo("nextCursor"));
+
+        verify(userProfilePictureRepository, times(1)).listByUserPseudo(new JaxRsUserPseudo("pagedPseudo"), SupportedMediaType.IMAGE_JPEG, new JaxRsPageCursor("cursor"));
+    }
+
+    @Test
+    public void should_list_user_profile_pictures_return_expected_response_when_page_cursor_is_invalid() {
+        // Given
+        doReturn(Uni.createFrom().failure(new UserProfilePicturesPageCursorInvalidException(new JaxRsUserPseudo("pagedPseudo"))))
+                .when(userProfilePictureRepository)
+                .listByUserPseudo(new JaxRsUserPseudo("pagedPseudo"), SupportedMediaType.IMAGE_JPEG, new JaxRsPageCursor("invalid"));
+
+        // When && Then
+        given()
+                .header("Content-Type", "image/jpeg")
+                .queryParam("pageCursor", "invalid")
+                .when()
+                .get("/users/pagedPseudo")
+                .then()
+                .log().all()
+                .statusCode(400);
+        verify(userProfilePictureRepository, times(1)).listByUserPseudo(any(), any(), any());
     }
 
     @Test
     public void should_download_user_profile_picture_by_version() {
         // Given
-        doReturn(Uni.createFrom().item(new TestContentUserProfilePicture())).when(userProfilePictureRepository)
-                .getContentByVersionId(new GetUserUserProfilePictureByVersionCommand(
+        doReturn(Uni.createFrom().item(new TestStreamedContentUserProfilePicture())).when(userProfilePictureRepository)
+                .streamContentByVersionId(new GetUserUserProfilePictureByVersionCommand(
                         new JaxRsUserPseudo("pseudo"),
                         SupportedMediaType.IMAGE_JPEG,
                         new JaxRsVersionId("v0")));
@@ -186,15 +289,16 @@ public class UserProfilePictureEndpointTest {
                 .header("Content-Disposition", "attachment;filename=pseudo.jpeg")
                 .header("Content-Type","image/jpeg")
                 .header("Content-Length","7")
-                .header("versionId","v0");
-        verify(userProfilePictureRepository, times(1)).getContentByVersionId(any());
+                .header("versionId","v0")
+                .body(equalTo("picture"));
+        verify(userProfilePictureRepository, times(1)).streamContentByVersionId(any());
     }
 
     @Test
     public void should_download_user_profile_picture_by_version_return_expected_response_when_profile_picture_version_unknown_is_thrown() {
         // Given
         doReturn(Uni.createFrom().failure(new UserProfilePictureVersionUnknownException(mock(UserProfilePictureIdentifier.class))))
-                .when(userProfilePictureRepository).getContentByVersionId(new GetUserUserProfilePictureByVersionCommand(
+                .when(userProfilePictureRepository).streamContentByVersionId(new GetUserUserProfilePictureByVersionCommand(
                 new JaxRsUserPseudo("pseudo"),
                 SupportedMediaType.IMAGE_JPEG,
                 new JaxRsVersionId("v0")));
@@ -207,14 +311,14 @@ public class UserProfilePictureEndpointTest {
                 .then()
                 .log().all()
                 .statusCode(404);
-        verify(userProfilePictureRepository, times(1)).getContentByVersionId(any());
+        verify(userProfilePictureRepository, times(1)).streamContentByVersionId(any());
     }
 
     @Test
     public void should_download_user_profile_picture_by_version_return_expected_response_when_profile_picture_repository_exception_is_thrown() {
         // Given
         doReturn(Uni.createFrom().failure(new UserProfilePictureRepositoryException())).when(userProfilePictureRepository)
-                .getContentByVersionId(new GetUserUserProfilePictureByVersionCommand(
+                .streamContentByVersionId(new GetUserUserProfilePictureByVersionCommand(
                         new JaxRsUserPseudo("pseudo"),
                         SupportedMediaType.IMAGE_JPEG,
                         new JaxRsVersionId("v0")));
@@ -227,7 +331,7 @@ public class UserProfilePictureEndpointTest {
                 .then()
                 .log().all()
                 .statusCode(500);
-        verify(userProfilePictureRepository, times(1)).getContentByVersionId(any());
+        verify(userProfilePictureRepository, times(1)).streamContentByVersionId(any());
     }
 
     private File getFileFromResource(final String fileName) throws Exception {
@@ -0,0 +1,101 @@
+package com.innerfriends.userprofilepicture.infrastructure.metrics;
+
+import com.innerfriends.userprofilepicture.domain.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class MeteredResponseTransformerTest {
+
+    private MeterRegistry meterRegistry;
+    private ResponseTransformer<String> responseTransformer;
+    private MeteredResponseTransformer<String> meteredResponseTransformer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseTransformer = mock(ResponseTransformer.class);
+        meteredResponseTransformer = new MeteredResponseTransformer<>("TestUseCase", responseTransformer, meterRegistry);
+    }
+
+    @Test
+    public void should_count_success_and_delegate() {
+        // Given
+        final UserProfilePictureSaved userProfilePictureSaved = mock(UserProfilePictureSaved.class);
+        doReturn("created").when(responseTransformer).toResponse(userProfilePictureSaved);
+
+        // When
+        final String response = meteredResponseTransformer.toResponse(userProfilePictureSaved);
+
+        // Then
+        assertThat(response).isEqualTo("created");
+        assertThat(outcome("success")).isEqualTo(1d);
+    }
+
+    @Test
+    public void should_count_featured_user_profile_pictures_as_success_and_delegate() {
+        // Given
+        final FeaturedUserProfilePictures featuredUserProfilePictures = mock(FeaturedUserProfilePictures.class);
+        doReturn("ok").when(responseTransformer).toResponse(featuredUserProfilePictures);
+
+        // When
+        final String response = meteredResponseTransformer.toResponse(featuredUserProfilePictures);
+
+        // Then
+        assertThat(response).isEqualTo("ok");
+        assertThat(outcome("success")).isEqualTo(1d);
+    }
+
+    @Test
+    public void should_count_not_available_yet_and_delegate() {
+        // Given
+        final UserProfilePictureNotAvailableYetException exception = new UserProfilePictureNotAvailableYetException(() -> "pseudo");
+        doReturn("notFound").when(responseTransformer).toResponse(exception);
+
+        // When
+        final String response = meteredResponseTransformer.toResponse(exception);
+
+        // Then
+        assertThat(response).isEqualTo("notFound");
+        assertThat(outcome("not_available_yet")).isEqualTo(1d);
+        assertThat(outcome("success")).isEqualTo(0d);
+    }
+
+    @Test
+    public void should_count_repository_error_and_delegate() {
+        // Given
+        final UserProfilePictureRepositoryException exception = new UserProfilePictureRepositoryException();
+        doReturn("serverError").when(responseTransformer).toResponse(exception);
+
+        // When
+        final String response = meteredResponseTransformer.toResponse(exception);
+
+        // Then
+        assertThat(response).isEqualTo("serverError");
+        assertThat(outcome("repository_error")).isEqualTo(1d);
+    }
+
+    @Test
+    public void should_count_unexpected_error_and_delegate() {
+        // Given
+        final Throwable throwable = new RuntimeException();
+        doReturn("serverError").when(responseTransformer).toResponse(throwable);
+
+        // When
+        final String response = meteredResponseTransformer.toResponse(throwable);
+
+        // Then
+        assertThat(response).isEqualTo("serverError");
+        assertThat(outcome("unexpected_error")).isEqualTo(1d);
+    }
+
+    private double outcome(final String outcome) {
+        return meterRegistry.get("usecase.outcomes").tag("usecase", "TestUseCase").tag("outcome", outcome).counter().count();
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.innerfriends.userprofilepicture.infrastructure.metrics;
+
+import com.innerfriends.userprofilepicture.domain.ResponseTransformer;
+import com.innerfriends.userprofilepicture.domain.UseCase;
+import com.innerfriends.userprofilepicture.domain.UseCaseCommand;
+import com.innerfriends.userprofilepicture.domain.UserProfilePictures;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MeteredUseCaseTest {
+
+    private MeterRegistry meterRegistry;
+    private UseCase<String, UseCaseCommand> useCase;
+    private ResponseTransformer<String> responseTransformer;
+    private MeteredUseCase<String, UseCaseCommand> meteredUseCase;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        useCase = mock(UseCase.class);
+        responseTransformer = mock(ResponseTransformer.class);
+        meteredUseCase = new MeteredUseCase<>("TestUseCase", useCase, meterRegistry);
+    }
+
+    @Test
+    public void should_record_latency_and_outcome_of_an_execution() {
+        // Given
+        final UseCaseCommand command = mock(UseCaseCommand.class);
+        final UserProfilePictures userProfilePictures = mock(UserProfilePictures.class);
+        doReturn("response").when(responseTransformer).toResponse(userProfilePictures);
+        doAnswer(invocation -> Uni.createFrom().item(invocation.<ResponseTransformer<String>>getArgument(1).toResponse(userProfilePictures)))
+                .when(useCase).execute(eq(command), any());
+
+        // When
+        final Uni<String> uni = meteredUseCase.execute(command, responseTransformer);
+
+        // Then
+        final UniAssertSubscriber<String> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.assertCompleted().assertItem("response");
+        assertThat(meterRegistry.get("usecase.latency").tag("usecase", "TestUseCase").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("usecase.outcomes").tag("usecase", "TestUseCase").tag("outcome", "success").counter().count()).isEqualTo(1d);
+        assertThat(inFlight()).isEqualTo(0d);
+    }
+
+    @Test
+    public void should_count_executions_in_flight() {
+        // Given
+        final AtomicReference<UniEmitter<? super String>> emitter = new AtomicReference<>();
+        doReturn(Uni.createFrom().<String>emitter(emitter::set)).when(useCase).execute(any(), any());
+
+        // When
+        final UniAssertSubscriber<String> subscriber = meteredUseCase.execute(mock(UseCaseCommand.class), responseTransformer)
+                .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        // Then
+        assertThat(inFlight()).isEqualTo(1d);
+        emitter.get().complete("response");
+        subscriber.assertCompleted();
+        assertThat(inFlight()).isEqualTo(0d);
+    }
+
+    @Test
+    public void should_not_execute_before_subscription() {
+        // Given
+        doReturn(Uni.createFrom().item("response")).when(useCase).execute(any(), any());
+
+        // When
+        meteredUseCase.execute(mock(UseCaseCommand.class), responseTransformer);
+
+        // Then
+        verify(useCase, never()).execute(any(), any());
+        assertThat(inFlight()).isEqualTo(0d);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_count_outcomes_of_executions_with_another_response_transformer() {
+        // Given
+        final UseCaseCommand command = mock(UseCaseCommand.class);
+        final UserProfilePictures userProfilePictures = mock(UserProfilePictures.class);
+        final ResponseTransformer<String> anotherResponseTransformer = mock(ResponseTransformer.class);
+        doReturn("response").when(responseTransformer).toResponse(userProfilePictures);
+        doReturn("another response").when(anotherResponseTransformer).toResponse(userProfilePictures);
+        doAnswer(invocation -> Uni.createFrom().item(invocation.<ResponseTransformer<String>>getArgument(1).toResponse(userProfilePictures)))
+                .when(useCase).execute(eq(command), any());
+        meteredUseCase.execute(command, responseTransformer).await().indefinitely();
+
+        // When
+        final Uni<String> uni = meteredUseCase.execute(command, anotherResponseTransformer);
+
+        // Then
+        final UniAssertSubscriber<String> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.assertCompleted().assertItem("another response");
+        assertThat(meterRegistry.get("usecase.outcomes").tag("usecase", "TestUseCase").tag("outcome", "success").counter().count()).isEqualTo(2d);
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("usecase.inflight").tag("usecase", "TestUseCase").gauge().value();
+    }
+
+}
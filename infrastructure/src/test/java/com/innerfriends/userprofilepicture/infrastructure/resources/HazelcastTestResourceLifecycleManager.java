@@ -1,12 +1,17 @@
 package com.innerfriends.userprofilepicture.infrastructure.resources;
 
+import com.innerfriends.userprofilepicture.domain.CachedUserProfilePictures;
+import com.innerfriends.userprofilepicture.infrastructure.hazelcast.HazelcastCachedUserProfilePictures;
 import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.containers.wait.strategy.Wait;
 
+import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.Map;
 
 public class HazelcastTestResourceLifecycleManager implements QuarkusTestResourceLifecycleManager {
@@ -20,6 +25,10 @@ public class HazelcastTestResourceLifecycleManager implements QuarkusTestResourc
         final Slf4jLogConsumer logConsumer = new Slf4jLogConsumer(logger);
         hazelcastContainer = new GenericContainer("hazelcast/hazelcast:4.1.5")
                 .withExposedPorts(5701)
+                // the members deserialize the entry processors and the cached values: same classes as the hazelcast-member jar
+                .withFileSystemBind(classpathEntry(HazelcastCachedUserProfilePictures.class), "/opt/hazelcast/CLASSPATH_EXT/infrastructure", BindMode.READ_ONLY)
+                .withFileSystemBind(classpathEntry(CachedUserProfilePictures.class), "/opt/hazelcast/CLASSPATH_EXT/domain", BindMode.READ_ONLY)
+                .withEnv("CLASSPATH", "/opt/hazelcast/CLASSPATH_EXT/infrastructure:/opt/hazelcast/CLASSPATH_EXT/domain")
                 .waitingFor(
                         Wait.forLogMessage(".*is STARTED.*\\n", 1)
                 );
@@ -32,6 +41,14 @@ public class HazelcastTestResourceLifecycleManager implements QuarkusTestResourc
         );
     }
 
+    private static String classpathEntry(final Class<?> clazz) {
+        try {
+            return Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (final URISyntaxException uriSyntaxException) {
+            throw new IllegalStateException(uriSyntaxException);
+        }
+    }
+
     @Override
     public void stop() {
         if (hazelcastContainer != null) {
@@ -4,6 +4,7 @@ import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
 import com.innerfriends.userprofilepicture.domain.UserPseudo;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -31,7 +32,13 @@ public class S3ContentProfilePictureSavedTest {
 
     @Test
     public void should_fail_fast_when_put_object_response_is_null() {
-        assertThatThrownBy(() -> new S3UserProfilePictureSaved(mock(UserPseudo.class), mock(SupportedMediaType.class), null))
+        assertThatThrownBy(() -> new S3UserProfilePictureSaved(mock(UserPseudo.class), mock(SupportedMediaType.class), (PutObjectResponse) null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_fail_fast_when_complete_multipart_upload_response_is_null() {
+        assertThatThrownBy(() -> new S3UserProfilePictureSaved(mock(UserPseudo.class), mock(SupportedMediaType.class), (CompleteMultipartUploadResponse) null))
                 .isInstanceOf(NullPointerException.class);
     }
 
@@ -73,4 +80,16 @@ public class S3ContentProfilePictureSavedTest {
         verify(givenPutObjectResponse, times(1)).versionId();
     }
 
+    @Test
+    public void should_return_versionId_of_complete_multipart_upload() {
+        // Given
+        final CompleteMultipartUploadResponse givenCompleteMultipartUploadResponse = mock(CompleteMultipartUploadResponse.class);
+        doReturn("versionId").when(givenCompleteMultipartUploadResponse).versionId();
+
+        // When && Then
+        assertThat(new S3UserProfilePictureSaved(mock(UserPseudo.class), mock(SupportedMediaType.class), givenCompleteMultipartUploadResponse).versionId())
+                .isEqualTo(new S3VersionId("versionId"));
+        verify(givenCompleteMultipartUploadResponse, times(1)).versionId();
+    }
+
 }
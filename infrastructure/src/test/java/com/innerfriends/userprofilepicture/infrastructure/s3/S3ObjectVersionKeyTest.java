@@ -0,0 +1,28 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class S3ObjectVersionKeyTest {
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(S3ObjectVersionKey.class).verify();
+    }
+
+    @Test
+    public void should_fail_fast_when_object_key_is_null() {
+        assertThatThrownBy(() -> new S3ObjectVersionKey(null, "v0"))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_fail_fast_when_version_id_is_null() {
+        assertThatThrownBy(() -> new S3ObjectVersionKey(mock(ObjectKey.class), null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import com.innerfriends.userprofilepicture.domain.UserProfilePicturesPageCursorInvalidException;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class S3PageCursorTest {
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(S3PageCursor.class).verify();
+    }
+
+    @Test
+    public void should_fail_fast_when_key_marker_is_null() {
+        assertThatThrownBy(() -> new S3PageCursor(null, "versionId"))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_fail_fast_when_version_id_marker_is_null() {
+        assertThatThrownBy(() -> new S3PageCursor("user.jpeg", null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_decode_encoded_value() {
+        // Given
+        final S3PageCursor givenS3PageCursor = new S3PageCursor("user.jpeg", "versionId");
+
+        // When
+        final S3PageCursor s3PageCursor = S3PageCursor.decode(mock(UserPseudo.class), givenS3PageCursor::value);
+
+        // Then
+        assertThat(s3PageCursor).isEqualTo(givenS3PageCursor);
+        assertThat(s3PageCursor.keyMarker()).isEqualTo("user.jpeg");
+        assertThat(s3PageCursor.versionIdMarker()).isEqualTo("versionId");
+    }
+
+    @Test
+    public void should_fail_decoding_when_value_is_not_base64() {
+        assertThatThrownBy(() -> S3PageCursor.decode(mock(UserPseudo.class), () -> "not base64 !"))
+                .isInstanceOf(UserProfilePicturesPageCursorInvalidException.class);
+    }
+
+    @Test
+    public void should_fail_decoding_when_value_has_no_version_id_marker() {
+        final String value = Base64.getUrlEncoder().withoutPadding().encodeToString("user.jpeg".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> S3PageCursor.decode(mock(UserPseudo.class), () -> value))
+                .isInstanceOf(UserProfilePicturesPageCursorInvalidException.class);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import com.innerfriends.userprofilepicture.domain.ContentUserProfilePicture;
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import io.smallrye.mutiny.Multi;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class S3StreamedContentUserProfilePictureTest {
+
+    @Test
+    public void should_fail_fast_when_user_pseudo_is_null() {
+        assertThatThrownBy(() -> new S3StreamedContentUserProfilePicture(null, mock(GetObjectResponse.class), Multi.createFrom().empty()))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_fail_fast_when_picture_is_null() {
+        assertThatThrownBy(() -> new S3StreamedContentUserProfilePicture(mock(UserPseudo.class), mock(GetObjectResponse.class), null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_build_from_get_object_response() {
+        // Given
+        final UserPseudo givenUserPseudo = mock(UserPseudo.class);
+        final GetObjectResponse givenGetObjectResponse = mock(GetObjectResponse.class);
+        doReturn("image/jpeg").when(givenGetObjectResponse).contentType();
+        doReturn(7L).when(givenGetObjectResponse).contentLength();
+        doReturn("v0").when(givenGetObjectResponse).versionId();
+        final Multi<byte[]> givenPicture = Multi.createFrom().item("picture".getBytes());
+
+        // When
+        final S3StreamedContentUserProfilePicture s3StreamedContentUserProfilePicture = new S3StreamedContentUserProfilePicture(givenUserPseudo, givenGetObjectResponse, givenPicture);
+
+        // Then
+        assertThat(s3StreamedContentUserProfilePicture.userPseudo()).isEqualTo(givenUserPseudo);
+        assertThat(s3StreamedContentUserProfilePicture.picture()).isEqualTo(givenPicture);
+        assertThat(s3StreamedContentUserProfilePicture.mediaType()).isEqualTo(SupportedMediaType.IMAGE_JPEG);
+        assertThat(s3StreamedContentUserProfilePicture.contentLength()).isEqualTo(7L);
+        assertThat(s3StreamedContentUserProfilePicture.versionId()).isEqualTo(new S3VersionId("v0"));
+    }
+
+    @Test
+    public void should_stream_cached_content_as_a_single_chunk() {
+        // Given
+        final UserPseudo givenUserPseudo = mock(UserPseudo.class);
+        final ContentUserProfilePicture givenContentUserProfilePicture = mock(ContentUserProfilePicture.class);
+        doReturn(givenUserPseudo).when(givenContentUserProfilePicture).userPseudo();
+        doReturn("picture".getBytes()).when(givenContentUserProfilePicture).picture();
+        doReturn(SupportedMediaType.IMAGE_JPEG).when(givenContentUserProfilePicture).mediaType();
+        doReturn(7L).when(givenContentUserProfilePicture).contentLength();
+        doReturn(new S3VersionId("v0")).when(givenContentUserProfilePicture).versionId();
+
+        // When
+        final S3StreamedContentUserProfilePicture s3StreamedContentUserProfilePicture = new S3StreamedContentUserProfilePicture(givenContentUserProfilePicture);
+
+        // Then
+        assertThat(s3StreamedContentUserProfilePicture.picture().collect().asList().await().indefinitely())
+                .containsExactly("picture".getBytes());
+        assertThat(s3StreamedContentUserProfilePicture.userPseudo()).isEqualTo(givenUserPseudo);
+        assertThat(s3StreamedContentUserProfilePicture.mediaType()).isEqualTo(SupportedMediaType.IMAGE_JPEG);
+        assertThat(s3StreamedContentUserProfilePicture.contentLength()).isEqualTo(7L);
+        assertThat(s3StreamedContentUserProfilePicture.versionId()).isEqualTo(new S3VersionId("v0"));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.innerfriends.userprofilepicture.infrastructure.s3;
+
+import com.innerfriends.userprofilepicture.domain.SupportedMediaType;
+import com.innerfriends.userprofilepicture.domain.UserPseudo;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse;
+import software.amazon.awssdk.services.s3.model.ObjectVersion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class S3UserProfilePictureIdentifiersPageTest {
+
+    @Test
+    public void should_verify_equality() {
+        EqualsVerifier.forClass(S3UserProfilePictureIdentifiersPage.class).verify();
+    }
+
+    @Test
+    public void should_fail_fast_when_user_pseudo_is_null() {
+        assertThatThrownBy(() -> new S3UserProfilePictureIdentifiersPage(null, SupportedMediaType.IMAGE_JPEG, ListObjectVersionsResponse.builder().build()))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_fail_fast_when_media_type_is_null() {
+        assertThatThrownBy(() -> new S3UserProfilePictureIdentifiersPage(mock(UserPseudo.class), null, ListObjectVersionsResponse.builder().build()))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void should_return_user_profile_picture_identifiers() {
+        // Given
+        final UserPseudo givenUserPseudo = mock(UserPseudo.class);
+        final ListObjectVersionsResponse givenListObjectVersionsResponse = ListObjectVersionsResponse.builder()
+                .versions(ObjectVersion.builder().versionId("v0").build())
+                .build();
+
+        // When && Then
+        assertThat(new S3UserProfilePictureIdentifiersPage(givenUserPseudo, SupportedMediaType.IMAGE_JPEG, givenListObjectVersionsResponse).userProfilePictureIdentifiers())
+                .containsExactly(new S3UserProfilePictureIdentifier(givenUserPseudo, SupportedMediaType.IMAGE_JPEG, ObjectVersion.builder().versionId("v0").build()));
+    }
+
+    @Test
+    public void should_return_next_page_cursor_when_truncated() {
+        // Given
+        final ListObjectVersionsResponse givenListObjectVersionsResponse = ListObjectVersionsResponse.builder()
+                .isTruncated(true)
+                .nextKeyMarker("user.jpeg")
+                .nextVersionIdMarker("v0")
+                .build();
+
+        // When && Then
+        assertThat(new S3UserProfilePictureIdentifiersPage(mock(UserPseudo.class), SupportedMediaType.IMAGE_JPEG, givenListObjectVersionsResponse).nextPageCursor())
+                .isEqualTo(new S3PageCursor("user.jpeg", "v0"));
+    }
+
+    @Test
+    public void should_not_return_next_page_cursor_when_not_truncated() {
+        // Given
+        final ListObjectVersionsResponse givenListObjectVersionsResponse = ListObjectVersionsResponse.builder()
+                .isTruncated(false)
+                .build();
+
+        // When && Then
+        assertThat(new S3UserProfilePictureIdentifiersPage(mock(UserPseudo.class), SupportedMediaType.IMAGE_JPEG, givenListObjectVersionsResponse).hasNextPage())
+                .isFalse();
+    }
+
+}
@@ -20,9 +20,15 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 
 import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @QuarkusTest
@@ -34,6 +40,12 @@ public class S3UserProfilePictureRepositoryTest {
     @ConfigProperty(name = "bucket.user.profile.picture.name")
     String bucketUserProfilePictureName;
 
+    @ConfigProperty(name = "upload.multipart.part.size.bytes")
+    Integer multipartPartSizeInBytes;
+
+    @ConfigProperty(name = "list.page.size")
+    Integer listPageSize;
+
     @Inject
     S3Client s3Client;
 
@@ -67,7 +79,7 @@ public class S3UserProfilePictureRepositoryTest {
     }
 
     @Test
-    public void should_save_user_profile_picture() {
+    public void should_save_user_profile_picture() throws Exception {
         // Given
         final UserPseudo userPseudo = () -> "user";
         doReturn(new S3ObjectKey(userPseudo, SupportedMediaType.IMAGE_JPEG))
@@ -76,10 +88,12 @@ public class S3UserProfilePictureRepositoryTest {
         doReturn(span).when(openTelemetryTracingService).startANewSpan("S3ProfilePictureRepository.save");
         final InOrder inOrder = inOrder(openTelemetryTracingService, s3AsyncClient);
 
+        final ByteArrayInputStream picture = spy(new ByteArrayInputStream("picture".getBytes()));
+
         // When
         final Uni<UserProfilePictureSaved> uni = s3UserProfilePictureRepository.save(
                 userPseudo,
-                "picture".getBytes(),
+                picture,
                 SupportedMediaType.IMAGE_JPEG);
 
         // Then
@@ -101,6 +115,7 @@ public class S3UserProfilePictureRepositoryTest {
         inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
         inOrder.verify(s3AsyncClient, times(1)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+        verify(picture).close();
     }
 
     @Test
@@ -111,11 +126,11 @@ public class S3UserProfilePictureRepositoryTest {
                 .when(s3ObjectKeyProvider).objectKey(userPseudo, SupportedMediaType.IMAGE_JPEG);
         final Span span = mock(Span.class);
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
-        s3UserProfilePictureRepository.save(userPseudo, "picture".getBytes(), SupportedMediaType.IMAGE_JPEG)
+        s3UserProfilePictureRepository.save(userPseudo, new ByteArrayInputStream("picture".getBytes()), SupportedMediaType.IMAGE_JPEG)
                 .subscribe().withSubscriber(UniAssertSubscriber.create()).awaitItem().assertCompleted();
 
         // When
-        s3UserProfilePictureRepository.save(userPseudo, "picture".getBytes(), SupportedMediaType.IMAGE_JPEG)
+        s3UserProfilePictureRepository.save(userPseudo, new ByteArrayInputStream("picture".getBytes()), SupportedMediaType.IMAGE_JPEG)
                 .subscribe().withSubscriber(UniAssertSubscriber.create()).awaitItem().assertCompleted();
 
         // Then
@@ -130,7 +145,49 @@ public class S3UserProfilePictureRepositoryTest {
     }
 
     @Test
-    public void should_save_return_profile_picture_repository_exception_when_object_key_value_is_invalid() {
+    public void should_save_user_profile_picture_using_multipart_upload_when_bigger_than_part_size() throws Exception {
+        // Given
+        final UserPseudo userPseudo = () -> "user";
+        doReturn(new S3ObjectKey(userPseudo, SupportedMediaType.IMAGE_JPEG))
+                .when(s3ObjectKeyProvider).objectKey(userPseudo, SupportedMediaType.IMAGE_JPEG);
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan("S3ProfilePictureRepository.save");
+        final byte[] picture = new byte[multipartPartSizeInBytes * 2 + 1];
+        Arrays.fill(picture, (byte) 'p');
+
+        // When
+        final Uni<UserProfilePictureSaved> uni = s3UserProfilePictureRepository.save(
+                userPseudo,
+                new ByteArrayInputStream(picture),
+                SupportedMediaType.IMAGE_JPEG);
+
+        // Then
+        final UniAssertSubscriber<UserProfilePictureSaved> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UserProfilePictureSaved profilePictureSaved = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(profilePictureSaved.versionId()).isNotNull();
+
+        final List<ObjectVersion> objectVersions = s3Client.listObjectVersions(ListObjectVersionsRequest
+                .builder()
+                .bucket(bucketUserProfilePictureName)
+                .prefix("user")
+                .build()).versions();
+        assertThat(objectVersions.size()).isEqualTo(1);
+        assertThat(objectVersions.get(0).versionId()).isEqualTo(profilePictureSaved.versionId().version());
+        assertThat(s3AsyncClient.getObject(GetObjectRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .key("user.jpeg")
+                .versionId(profilePictureSaved.versionId().version())
+                .build(), AsyncResponseTransformer.toBytes()).get().asByteArray()).isEqualTo(picture);
+
+        verify(s3AsyncClient, never()).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient, times(1)).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        verify(s3AsyncClient, times(3)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        verify(s3AsyncClient, times(1)).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        verify(openTelemetryTracingService, times(1)).endSpan(span);
+    }
+
+    @Test
+    public void should_save_return_profile_picture_repository_exception_when_object_key_value_is_invalid() throws Exception {
         // Given
         final UserPseudo userPseudo = () -> "user";
         final SupportedMediaType supportedMediaType = mock(SupportedMediaType.class);
@@ -140,10 +197,12 @@ public class S3UserProfilePictureRepositoryTest {
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
         final InOrder inOrder = inOrder(openTelemetryTracingService, s3AsyncClient);
 
+        final ByteArrayInputStream picture = spy(new ByteArrayInputStream("picture".getBytes()));
+
         // When
         final Uni<UserProfilePictureSaved> uni = s3UserProfilePictureRepository.save(
                 userPseudo,
-                "picture".getBytes(),
+                picture,
                 supportedMediaType);
 
         // Then
@@ -162,6 +221,14 @@ public class S3UserProfilePictureRepositoryTest {
         inOrder.verify(s3AsyncClient, times(1)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
         inOrder.verify(openTelemetryTracingService, times(1)).markSpanInError(span);
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+        verify(picture).close();
+    }
+
+    @Test
+    public void should_reject_a_multipart_part_size_smaller_than_the_s3_minimum() {
+        assertThatThrownBy(() -> new S3UserProfilePictureRepository(s3AsyncClient, bucketUserProfilePictureName, s3ObjectKeyProvider,
+                openTelemetryTracingService, mock(S3ContentUserProfilePictureCache.class), 5 * 1024 * 1024 - 1, 50))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -176,8 +243,8 @@ public class S3UserProfilePictureRepositoryTest {
                 .key("user.jpeg")
                 .contentType("image/jpeg")
                 .build();
-        s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes()));
-        s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes()));
+        s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes())).join();
+        s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes())).join();
 
         final Span span = mock(Span.class);
         doReturn(span).when(openTelemetryTracingService).startANewSpan("S3ProfilePictureRepository.getLast");
@@ -203,8 +270,9 @@ public class S3UserProfilePictureRepositoryTest {
         assertThat(lastObjectVersion.isLatest()).isEqualTo(true);
         verify(s3ObjectKeyProvider, times(1)).objectKey(any(), any());
         inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
-        inOrder.verify(s3AsyncClient, times(1)).listObjectVersions(any(ListObjectVersionsRequest.class));
+        inOrder.verify(s3AsyncClient, times(1)).headObject(any(HeadObjectRequest.class));
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+        verify(s3AsyncClient, never()).listObjectVersions(any(ListObjectVersionsRequest.class));
     }
 
     @Test
@@ -225,8 +293,9 @@ public class S3UserProfilePictureRepositoryTest {
         subscriber.awaitFailure().assertFailedWith(UserProfilePictureNotAvailableYetException.class);
         verify(s3ObjectKeyProvider, times(1)).objectKey(any(), any());
         inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
-        inOrder.verify(s3AsyncClient, times(1)).listObjectVersions(any(ListObjectVersionsRequest.class));
+        inOrder.verify(s3AsyncClient, times(1)).headObject(any(HeadObjectRequest.class));
         inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+        verify(s3AsyncClient, never()).listObjectVersions(any(ListObjectVersionsRequest.class));
     }
 
     @Test
@@ -247,11 +316,13 @@ public class S3UserProfilePictureRepositoryTest {
         final InOrder inOrder = inOrder(openTelemetryTracingService, s3AsyncClient);
 
         // When
-        final Uni<List<UserProfilePictureIdentifier>> uni = s3UserProfilePictureRepository.listByUserPseudo(userPseudo, SupportedMediaType.IMAGE_JPEG);
+        final Uni<UserProfilePictureIdentifiersPage> uni = s3UserProfilePictureRepository.listByUserPseudo(userPseudo, SupportedMediaType.IMAGE_JPEG, null);
 
         // Then
-        final UniAssertSubscriber<List<UserProfilePictureIdentifier>> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
-        final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers = subscriber.awaitItem().assertCompleted().getItem();
+        final UniAssertSubscriber<UserProfilePictureIdentifiersPage> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UserProfilePictureIdentifiersPage userProfilePictureIdentifiersPage = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(userProfilePictureIdentifiersPage.hasNextPage()).isFalse();
+        final List<UserProfilePictureIdentifier> userProfilePictureIdentifiers = userProfilePictureIdentifiersPage.userProfilePictureIdentifiers();
         assertThat(userProfilePictureIdentifiers.size()).isEqualTo(1);
         assertThat(userProfilePictureIdentifiers.get(0).userPseudo().pseudo()).isEqualTo("user");
         assertThat(userProfilePictureIdentifiers.get(0).mediaType()).isEqualTo(SupportedMediaType.IMAGE_JPEG);
@@ -263,58 +334,121 @@ public class S3UserProfilePictureRepositoryTest {
     }
 
     @Test
-    public void should_get_content_by_version_id() throws Exception {
+    public void should_list_next_page_by_user_pseudo_using_page_cursor() throws Exception {
         // Given
+        final UserPseudo userPseudo = () -> "user";
+        doReturn(new S3ObjectKey(userPseudo, SupportedMediaType.IMAGE_JPEG))
+                .when(s3ObjectKeyProvider).objectKey(userPseudo, SupportedMediaType.IMAGE_JPEG);
         final PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                 .bucket(bucketUserProfilePictureName)
                 .key("user.jpeg")
                 .contentType("image/jpeg")
                 .build();
-        final String versionId = s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes())).get().versionId();
-        final TestUserProfilePictureIdentifier testProfilePictureIdentifier = new TestUserProfilePictureIdentifier(versionId);
-        doReturn(new S3ObjectKey(testProfilePictureIdentifier.userPseudo(), testProfilePictureIdentifier.mediaType()))
-                .when(s3ObjectKeyProvider).objectKey(testProfilePictureIdentifier.userPseudo(), testProfilePictureIdentifier.mediaType());
+        for (int version = 0; version < listPageSize + 1; version++) {
+            s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes())).join();
+        }
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan("S3ProfilePictureRepository.listByUserPseudo");
+        final UserProfilePictureIdentifiersPage firstPage = s3UserProfilePictureRepository.listByUserPseudo(userPseudo, SupportedMediaType.IMAGE_JPEG, null)
+                .subscribe().withSubscriber(UniAssertSubscriber.create()).awaitItem().assertCompleted().getItem();
+        assertThat(firstPage.userProfilePictureIdentifiers().size()).isEqualTo(listPageSize);
+        assertThat(firstPage.hasNextPage()).isTrue();
+
+        // When
+        final Uni<UserProfilePictureIdentifiersPage> uni = s3UserProfilePictureRepository.listByUserPseudo(userPseudo, SupportedMediaType.IMAGE_JPEG, firstPage.nextPageCursor());
+
+        // Then
+        final UniAssertSubscriber<UserProfilePictureIdentifiersPage> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final UserProfilePictureIdentifiersPage nextPage = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(nextPage.userProfilePictureIdentifiers().size()).isEqualTo(1);
+        assertThat(nextPage.hasNextPage()).isFalse();
+        assertThat(firstPage.userProfilePictureIdentifiers()).doesNotContainAnyElementsOf(nextPage.userProfilePictureIdentifiers());
+    }
+
+    @Test
+    public void should_fail_listing_by_user_pseudo_when_page_cursor_is_invalid() {
+        // Given
+        final UserPseudo userPseudo = () -> "user";
+        doReturn(new S3ObjectKey(userPseudo, SupportedMediaType.IMAGE_JPEG))
+                .when(s3ObjectKeyProvider).objectKey(userPseudo, SupportedMediaType.IMAGE_JPEG);
         final Span span = mock(Span.class);
-        doReturn(span).when(openTelemetryTracingService).startANewSpan("S3ProfilePictureRepository.getContentByVersion");
-        final InOrder inOrder = inOrder(openTelemetryTracingService, s3AsyncClient);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan("S3ProfilePictureRepository.listByUserPseudo");
 
         // When
-        final Uni<ContentUserProfilePicture> uni = s3UserProfilePictureRepository.getContentByVersionId(new TestUserProfilePictureIdentifier(versionId));
+        final Uni<UserProfilePictureIdentifiersPage> uni = s3UserProfilePictureRepository.listByUserPseudo(userPseudo, SupportedMediaType.IMAGE_JPEG,
+                new S3PageCursor("otherUser.jpeg", "versionId"));
 
         // Then
-        final UniAssertSubscriber<ContentUserProfilePicture> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
-        final ContentUserProfilePicture contentUserProfilePicture = subscriber.awaitItem().assertCompleted().getItem();
-        assertThat(contentUserProfilePicture.userPseudo().pseudo()).isEqualTo("user");
-        assertThat(contentUserProfilePicture.picture()).isEqualTo("picture".getBytes());
-        assertThat(contentUserProfilePicture.mediaType()).isEqualTo(SupportedMediaType.IMAGE_JPEG);
-        assertThat(contentUserProfilePicture.contentLength()).isEqualTo(7l);
-        assertThat(contentUserProfilePicture.versionId().version()).isEqualTo(versionId);
-        verify(s3ObjectKeyProvider, times(1)).objectKey(any(), any());
-        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
-        inOrder.verify(s3AsyncClient, times(1)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
-        inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+        uni.subscribe().withSubscriber(UniAssertSubscriber.create())
+                .assertFailedWith(UserProfilePicturesPageCursorInvalidException.class);
+        verify(s3AsyncClient, never()).listObjectVersions(any(ListObjectVersionsRequest.class));
+        verify(openTelemetryTracingService, times(1)).markSpanInError(span);
+        verify(openTelemetryTracingService, times(1)).endSpan(span);
     }
 
     @Test
-    public void should_get_content_by_version_id_return_profile_picture_version_unknown_exception_when_picture_not_found() {
+    public void should_stream_content_by_version_id_while_new_versions_are_concurrently_saved() throws Exception {
+        // Given
+        final PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .key("user.jpeg")
+                .contentType("image/jpeg")
+                .build();
+        final String versionId = s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes())).get().versionId();
+        final UserPseudo userPseudo = new TestUserProfilePictureIdentifier(versionId).userPseudo();
+        doReturn(new S3ObjectKey(userPseudo, SupportedMediaType.IMAGE_JPEG))
+                .when(s3ObjectKeyProvider).objectKey(any(), any());
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+        final List<Uni<UserProfilePictureSaved>> saves = IntStream.range(0, 10)
+                .mapToObj(index -> s3UserProfilePictureRepository.save(userPseudo, new ByteArrayInputStream(("newPicture" + index).getBytes()), SupportedMediaType.IMAGE_JPEG))
+                .collect(Collectors.toList());
+        final List<Uni<StreamedContentUserProfilePicture>> reads = IntStream.range(0, 10)
+                .mapToObj(index -> s3UserProfilePictureRepository.streamContentByVersionId(new TestUserProfilePictureIdentifier(versionId)))
+                .collect(Collectors.toList());
+
+        // When
+        final List<UniAssertSubscriber<UserProfilePictureSaved>> savesSubscribers = saves.stream()
+                .map(save -> save.subscribe().withSubscriber(UniAssertSubscriber.<UserProfilePictureSaved>create()))
+                .collect(Collectors.toList());
+        final List<UniAssertSubscriber<StreamedContentUserProfilePicture>> readsSubscribers = reads.stream()
+                .map(read -> read.subscribe().withSubscriber(UniAssertSubscriber.<StreamedContentUserProfilePicture>create()))
+                .collect(Collectors.toList());
+
+        // Then
+        savesSubscribers.forEach(subscriber -> subscriber.awaitItem().assertCompleted());
+        readsSubscribers.forEach(subscriber -> {
+            final StreamedContentUserProfilePicture streamedContentUserProfilePicture = subscriber.awaitItem().assertCompleted().getItem();
+            assertThat(content(streamedContentUserProfilePicture)).isEqualTo("picture".getBytes());
+            assertThat(streamedContentUserProfilePicture.contentLength()).isEqualTo(7l);
+            assertThat(streamedContentUserProfilePicture.versionId().version()).isEqualTo(versionId);
+        });
+        final List<ObjectVersion> objectVersions = s3Client.listObjectVersions(ListObjectVersionsRequest
+                .builder()
+                .bucket(bucketUserProfilePictureName)
+                .prefix("user")
+                .build()).versions();
+        assertThat(objectVersions.size()).isEqualTo(11);
+    }
+
+    @Test
+    public void should_stream_content_by_version_id_return_profile_picture_repository_exception_when_s3_object_key_is_invalid() {
         // Given
         final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
         final UserPseudo userPseudo = mock(UserPseudo.class);
         doReturn(new S3VersionId("v0")).when(userProfilePictureIdentifier).versionId();
         doReturn(userPseudo).when(userProfilePictureIdentifier).userPseudo();
         doReturn(SupportedMediaType.IMAGE_JPEG).when(userProfilePictureIdentifier).mediaType();
-        doReturn(new S3ObjectKey(userPseudo, SupportedMediaType.IMAGE_JPEG))
+        doReturn((ObjectKey) () -> null)
                 .when(s3ObjectKeyProvider).objectKey(userPseudo, SupportedMediaType.IMAGE_JPEG);
         final Span span = mock(Span.class);
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
         final InOrder inOrder = inOrder(openTelemetryTracingService, s3AsyncClient);
 
         // When
-        final Uni<ContentUserProfilePicture> uni = s3UserProfilePictureRepository.getContentByVersionId(userProfilePictureIdentifier);
+        final Uni<StreamedContentUserProfilePicture> uni = s3UserProfilePictureRepository.streamContentByVersionId(userProfilePictureIdentifier);
 
         // Then
-        final UniAssertSubscriber<ContentUserProfilePicture> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
-        subscriber.awaitFailure().assertFailedWith(UserProfilePictureVersionUnknownException.class);
+        final UniAssertSubscriber<StreamedContentUserProfilePicture> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.awaitFailure().assertFailedWith(UserProfilePictureRepositoryException.class);
         verify(userProfilePictureIdentifier, times(1)).versionId();
         verify(userProfilePictureIdentifier, times(1)).mediaType();
         verify(userProfilePictureIdentifier, times(1)).userPseudo();
@@ -325,32 +459,93 @@ public class S3UserProfilePictureRepositoryTest {
     }
 
     @Test
-    public void should_get_content_by_version_id_return_profile_picture_repository_exception_when_s3_object_key_is_invalid() {
+    public void should_stream_content_by_version_id() throws Exception {
+        // Given
+        final PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .key("user.jpeg")
+                .contentType("image/jpeg")
+                .build();
+        final String versionId = s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes())).get().versionId();
+        final TestUserProfilePictureIdentifier testProfilePictureIdentifier = new TestUserProfilePictureIdentifier(versionId);
+        doReturn(new S3ObjectKey(testProfilePictureIdentifier.userPseudo(), testProfilePictureIdentifier.mediaType()))
+                .when(s3ObjectKeyProvider).objectKey(testProfilePictureIdentifier.userPseudo(), testProfilePictureIdentifier.mediaType());
+        final Span span = mock(Span.class);
+        doReturn(span).when(openTelemetryTracingService).startANewSpan("S3ProfilePictureRepository.streamContentByVersion");
+        final InOrder inOrder = inOrder(openTelemetryTracingService, s3AsyncClient);
+
+        // When
+        final Uni<StreamedContentUserProfilePicture> uni = s3UserProfilePictureRepository.streamContentByVersionId(testProfilePictureIdentifier);
+
+        // Then
+        final UniAssertSubscriber<StreamedContentUserProfilePicture> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final StreamedContentUserProfilePicture streamedContentUserProfilePicture = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(streamedContentUserProfilePicture.userPseudo().pseudo()).isEqualTo("user");
+        assertThat(streamedContentUserProfilePicture.mediaType()).isEqualTo(SupportedMediaType.IMAGE_JPEG);
+        assertThat(streamedContentUserProfilePicture.contentLength()).isEqualTo(7l);
+        assertThat(streamedContentUserProfilePicture.versionId().version()).isEqualTo(versionId);
+        assertThat(content(streamedContentUserProfilePicture)).isEqualTo("picture".getBytes());
+        verify(s3ObjectKeyProvider, times(1)).objectKey(any(), any());
+        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
+        inOrder.verify(s3AsyncClient, times(1)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+        inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+    }
+
+    @Test
+    public void should_stream_content_by_version_id_from_cache_when_already_streamed() throws Exception {
+        // Given
+        final PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketUserProfilePictureName)
+                .key("user.jpeg")
+                .contentType("image/jpeg")
+                .build();
+        final String versionId = s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes("picture".getBytes())).get().versionId();
+        final TestUserProfilePictureIdentifier testProfilePictureIdentifier = new TestUserProfilePictureIdentifier(versionId);
+        doReturn(new S3ObjectKey(testProfilePictureIdentifier.userPseudo(), testProfilePictureIdentifier.mediaType()))
+                .when(s3ObjectKeyProvider).objectKey(testProfilePictureIdentifier.userPseudo(), testProfilePictureIdentifier.mediaType());
+        doReturn(mock(Span.class)).when(openTelemetryTracingService).startANewSpan(any());
+        content(s3UserProfilePictureRepository.streamContentByVersionId(testProfilePictureIdentifier)
+                .subscribe().withSubscriber(UniAssertSubscriber.create()).awaitItem().assertCompleted().getItem());
+
+        // When
+        final Uni<StreamedContentUserProfilePicture> uni = s3UserProfilePictureRepository.streamContentByVersionId(testProfilePictureIdentifier);
+
+        // Then
+        final UniAssertSubscriber<StreamedContentUserProfilePicture> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        final StreamedContentUserProfilePicture streamedContentUserProfilePicture = subscriber.awaitItem().assertCompleted().getItem();
+        assertThat(content(streamedContentUserProfilePicture)).isEqualTo("picture".getBytes());
+        assertThat(streamedContentUserProfilePicture.versionId().version()).isEqualTo(versionId);
+        verify(s3AsyncClient, times(1)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+    }
+
+    @Test
+    public void should_stream_content_by_version_id_return_profile_picture_version_unknown_exception_when_picture_not_found() {
         // Given
         final UserProfilePictureIdentifier userProfilePictureIdentifier = mock(UserProfilePictureIdentifier.class);
         final UserPseudo userPseudo = mock(UserPseudo.class);
         doReturn(new S3VersionId("v0")).when(userProfilePictureIdentifier).versionId();
         doReturn(userPseudo).when(userProfilePictureIdentifier).userPseudo();
         doReturn(SupportedMediaType.IMAGE_JPEG).when(userProfilePictureIdentifier).mediaType();
-        doReturn((ObjectKey) () -> null)
+        doReturn(new S3ObjectKey(userPseudo, SupportedMediaType.IMAGE_JPEG))
                 .when(s3ObjectKeyProvider).objectKey(userPseudo, SupportedMediaType.IMAGE_JPEG);
         final Span span = mock(Span.class);
         doReturn(span).when(openTelemetryTracingService).startANewSpan(any());
-        final InOrder inOrder = inOrder(openTelemetryTracingService, s3AsyncClient);
 
         // When
-        final Uni<ContentUserProfilePicture> uni = s3UserProfilePictureRepository.getContentByVersionId(userProfilePictureIdentifier);
+        final Uni<StreamedContentUserProfilePicture> uni = s3UserProfilePictureRepository.streamContentByVersionId(userProfilePictureIdentifier);
 
         // Then
-        final UniAssertSubscriber<ContentUserProfilePicture> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
-        subscriber.awaitFailure().assertFailedWith(UserProfilePictureRepositoryException.class);
-        verify(userProfilePictureIdentifier, times(1)).versionId();
-        verify(userProfilePictureIdentifier, times(1)).mediaType();
-        verify(userProfilePictureIdentifier, times(1)).userPseudo();
-        inOrder.verify(openTelemetryTracingService, atLeast(1)).startANewSpan(any());
-        inOrder.verify(s3AsyncClient, times(1)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
-        inOrder.verify(openTelemetryTracingService, times(1)).markSpanInError(span);
-        inOrder.verify(openTelemetryTracingService, times(1)).endSpan(span);
+        final UniAssertSubscriber<StreamedContentUserProfilePicture> subscriber = uni.subscribe().withSubscriber(UniAssertSubscriber.create());
+        subscriber.awaitFailure().assertFailedWith(UserProfilePictureVersionUnknownException.class);
+        verify(openTelemetryTracingService, times(1)).markSpanInError(span);
+        verify(openTelemetryTracingService, times(1)).endSpan(span);
+    }
+
+    private byte[] content(final StreamedContentUserProfilePicture streamedContentUserProfilePicture) {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        streamedContentUserProfilePicture.picture().subscribe().asIterable()
+                .forEach(chunk -> content.write(chunk, 0, chunk.length));
+        return content.toByteArray();
     }
 
 }